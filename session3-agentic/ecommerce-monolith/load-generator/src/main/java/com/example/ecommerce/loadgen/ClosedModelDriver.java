@@ -0,0 +1,96 @@
+package com.example.ecommerce.loadgen;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed load model: a fixed number of users, each sending its next request only after
+ * the previous response, as a connection pool or a batch client does.
+ * With a target rate, each user is paced to {@code rate / users} requests per second on a
+ * fixed schedule, and response times are measured from the scheduled send time, so a slow
+ * response delays and penalises the requests queued behind it rather than silently lowering
+ * the load (coordinated-omission correction). With a rate of 0, users send back to back and
+ * only service times can be measured.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+public class ClosedModelDriver implements LoadDriver {
+    private final OperationExecutor executor;
+    private final TrafficMix mix;
+    private final int users;
+    private final double rate;
+    private final long randomSeed;
+
+    /**
+     * @param executor Runs each operation
+     * @param mix Chooses each operation
+     * @param users Concurrent users
+     * @param rate Total paced requests per second across all users, or 0 for no pacing
+     * @param randomSeed Seed for the operation sequences
+     */
+    public ClosedModelDriver(OperationExecutor executor, TrafficMix mix, int users, double rate, long randomSeed) {
+        if (users <= 0 || rate < 0) {
+            throw new IllegalArgumentException("users must be positive and rate must not be negative");
+        }
+        this.executor = executor;
+        this.mix = mix;
+        this.users = users;
+        this.rate = rate;
+        this.randomSeed = randomSeed;
+    }
+
+    @Override
+    public LatencyStats run(Duration warmup, Duration duration) throws InterruptedException {
+        LatencyStats stats = new LatencyStats();
+        SplittableRandom seeds = new SplittableRandom(randomSeed);
+        long start = System.nanoTime();
+        long recordFrom = start + warmup.toNanos();
+        long end = recordFrom + duration.toNanos();
+        long interval = rate > 0 ? Math.round(users * 1e9 / rate) : 0;
+
+        List<Future<?>> running = new ArrayList<>(users);
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int user = 0; user < users; user++) {
+                SplittableRandom random = seeds.split();
+                // Stagger paced users across one interval so they do not fire in lockstep
+                long firstStart = start + interval * user / users;
+                running.add(workers.submit(() -> {
+                    runUser(stats, random, firstStart, interval, recordFrom, end);
+                    return null;
+                }));
+            }
+        }
+        for (Future<?> user : running) {
+            Pacing.rethrowFailure(user);
+        }
+        return stats;
+    }
+
+    private void runUser(LatencyStats stats, SplittableRandom random, long firstStart, long interval,
+                         long recordFrom, long end) throws InterruptedException {
+        long intendedStart = firstStart;
+        while (true) {
+            if (interval > 0) {
+                Pacing.sleepUntil(intendedStart);
+            } else {
+                intendedStart = System.nanoTime();
+            }
+            if (intendedStart >= end) {
+                return;
+            }
+            Operation operation = mix.next(random);
+            long actualStart = System.nanoTime();
+            boolean succeeded = Pacing.execute(executor, operation);
+            if (intendedStart >= recordFrom) {
+                stats.record(operation, intendedStart, actualStart, System.nanoTime(), succeeded);
+            }
+            intendedStart += interval;
+        }
+    }
+}
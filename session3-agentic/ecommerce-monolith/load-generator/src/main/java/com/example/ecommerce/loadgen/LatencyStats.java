@@ -0,0 +1,74 @@
+package com.example.ecommerce.loadgen;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and error counts per operation, safe to record into from many threads.
+ * Each request is recorded twice: its response time, measured from when the load model
+ * intended to send it, and its service time, measured from when it was actually sent.
+ * The response time includes any wait behind slow earlier requests, so it is free of
+ * coordinated omission; the service time shows what a naive client would have reported.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+public class LatencyStats {
+    // One microsecond to one minute, three significant digits
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<Operation, Histogram> responseTimes = new EnumMap<>(Operation.class);
+    private final Map<Operation, Histogram> serviceTimes = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    public LatencyStats() {
+        for (Operation operation : Operation.values()) {
+            responseTimes.put(operation, new ConcurrentHistogram(1, HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS));
+            serviceTimes.put(operation, new ConcurrentHistogram(1, HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    /**
+     * Records one completed request.
+     *
+     * @param operation The operation
+     * @param intendedStartNanos When the load model meant to send it, from {@link System#nanoTime()}
+     * @param actualStartNanos When it was sent
+     * @param endNanos When its response arrived
+     * @param succeeded Whether it succeeded
+     */
+    public void record(Operation operation, long intendedStartNanos, long actualStartNanos, long endNanos, boolean succeeded) {
+        responseTimes.get(operation).recordValue(toMicros(endNanos - intendedStartNanos));
+        serviceTimes.get(operation).recordValue(toMicros(endNanos - actualStartNanos));
+        if (!succeeded) {
+            errors.get(operation).increment();
+        }
+    }
+
+    public Histogram responseTimes(Operation operation) {
+        return responseTimes.get(operation);
+    }
+
+    public Histogram serviceTimes(Operation operation) {
+        return serviceTimes.get(operation);
+    }
+
+    public long errors(Operation operation) {
+        return errors.get(operation).sum();
+    }
+
+    public long requests(Operation operation) {
+        return responseTimes.get(operation).getTotalCount();
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+}
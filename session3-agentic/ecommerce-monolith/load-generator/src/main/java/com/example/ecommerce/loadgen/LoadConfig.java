@@ -0,0 +1,149 @@
+package com.example.ecommerce.loadgen;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Function;
+
+/**
+ * Settings for one load test run, read from {@code loadgen.properties}.
+ *
+ * @param baseUrl Root URL of the monolith
+ * @param model Open or closed load model
+ * @param rate Open: requests per second. Closed: total paced requests per second, or 0 for no pacing
+ * @param users Closed: concurrent users. Open: most requests in flight
+ * @param warmup Time to run before recording
+ * @param duration Time to record for
+ * @param randomSeed Seed for operation choice and request data, so runs are repeatable
+ * @param seedUsers Users to create before the run
+ * @param seedProducts Products to create before the run
+ * @param mix Relative weight per operation
+ * @param maxErrorRate Largest acceptable share of failed requests
+ * @param p99Slos Largest acceptable corrected p99 per operation, in milliseconds
+ * @param reportDir Where to write percentile distributions, or null for none
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+public record LoadConfig(
+        URI baseUrl,
+        Model model,
+        double rate,
+        int users,
+        Duration warmup,
+        Duration duration,
+        long randomSeed,
+        int seedUsers,
+        int seedProducts,
+        Map<Operation, Integer> mix,
+        double maxErrorRate,
+        Map<Operation, Double> p99Slos,
+        Path reportDir
+) {
+    public LoadConfig {
+        if (users <= 0) {
+            throw new IllegalArgumentException("users must be positive");
+        }
+        if (rate < 0 || (model == Model.OPEN && rate == 0)) {
+            throw new IllegalArgumentException("rate must be positive for the open model and not negative for the closed model");
+        }
+        if (seedUsers <= 0 || seedProducts <= 0) {
+            throw new IllegalArgumentException("seed.users and seed.products must be positive");
+        }
+    }
+
+    /**
+     * How requests are issued.
+     */
+    public enum Model {
+        /** Requests arrive at a fixed rate whether or not earlier ones have completed. */
+        OPEN,
+        /** A fixed number of users each wait for a response before sending the next request. */
+        CLOSED
+    }
+
+    /**
+     * Reads the bundled defaults, then the given file if any, then {@code key=value} overrides.
+     *
+     * @param file Properties file to apply over the defaults, or null
+     * @param overrides Settings that win over both files
+     * @return The configuration
+     * @throws IllegalArgumentException if a setting is missing or malformed
+     */
+    public static LoadConfig load(Path file, Map<String, String> overrides) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream defaults = LoadConfig.class.getResourceAsStream("/loadgen.properties")) {
+            if (defaults == null) {
+                throw new IllegalStateException("loadgen.properties is missing from the classpath");
+            }
+            properties.load(defaults);
+        }
+        if (file != null) {
+            try (Reader reader = Files.newBufferedReader(file)) {
+                properties.load(reader);
+            }
+        }
+        properties.putAll(overrides);
+        return from(properties);
+    }
+
+    /**
+     * Builds a configuration from flat properties.
+     *
+     * @param properties Settings, as in {@code loadgen.properties}
+     * @return The configuration
+     * @throws IllegalArgumentException if a setting is missing or malformed
+     */
+    public static LoadConfig from(Properties properties) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        Map<Operation, Double> p99Slos = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            String weight = properties.getProperty("mix." + operation.key());
+            if (weight != null) {
+                mix.put(operation, parse(weight, "mix." + operation.key(), Integer::parseInt));
+            }
+            String p99 = properties.getProperty("slo." + operation.key() + ".p99-ms");
+            if (p99 != null) {
+                p99Slos.put(operation, parse(p99, "slo." + operation.key() + ".p99-ms", Double::parseDouble));
+            }
+        }
+        String reportDir = properties.getProperty("report-dir", "").strip();
+        return new LoadConfig(
+                URI.create(required(properties, "base-url")),
+                Model.valueOf(required(properties, "model").toUpperCase()),
+                parse(required(properties, "rate"), "rate", Double::parseDouble),
+                parse(required(properties, "users"), "users", Integer::parseInt),
+                Duration.ofSeconds(parse(required(properties, "warmup-seconds"), "warmup-seconds", Long::parseLong)),
+                Duration.ofSeconds(parse(required(properties, "duration-seconds"), "duration-seconds", Long::parseLong)),
+                parse(required(properties, "random-seed"), "random-seed", Long::parseLong),
+                parse(required(properties, "seed.users"), "seed.users", Integer::parseInt),
+                parse(required(properties, "seed.products"), "seed.products", Integer::parseInt),
+                mix,
+                parse(properties.getProperty("slo.error-rate", "1"), "slo.error-rate", Double::parseDouble),
+                p99Slos,
+                reportDir.isEmpty() ? null : Path.of(reportDir));
+    }
+
+    private static String required(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing setting: " + key);
+        }
+        return value.strip();
+    }
+
+    private static <T> T parse(String value, String key, Function<String, T> parser) {
+        try {
+            return parser.apply(value.strip());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Setting " + key + " is not a number: " + value);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.ecommerce.loadgen;
+
+import java.time.Duration;
+
+/**
+ * Issues operations according to a load model and records their latencies.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+public interface LoadDriver {
+
+    /**
+     * Runs the load, discarding results during the warmup.
+     *
+     * @param warmup Time to run before recording
+     * @param duration Time to record for
+     * @return Latencies and errors recorded after the warmup
+     * @throws InterruptedException if interrupted while running
+     */
+    LatencyStats run(Duration warmup, Duration duration) throws InterruptedException;
+}
@@ -0,0 +1,70 @@
+package com.example.ecommerce.loadgen;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command-line entry point: seeds the monolith through its API, replays the configured
+ * traffic mix under the open or closed load model, prints a percentile report and exits
+ * with status 1 if any service level objective was missed.
+ * <p>
+ * Arguments are {@code --config=<file>} for a properties file applied over the bundled
+ * {@code loadgen.properties}, and any number of {@code key=value} overrides, e.g.
+ * {@code ./gradlew :load-generator:run --args="model=closed users=64 rate=0"}.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+public final class LoadGenerator {
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path configFile = null;
+        Map<String, String> overrides = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--config=")) {
+                configFile = Path.of(arg.substring("--config=".length()));
+            } else if (arg.contains("=")) {
+                overrides.put(arg.substring(0, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            } else {
+                throw new IllegalArgumentException("Expected --config=<file> or key=value, got: " + arg);
+            }
+        }
+        LoadConfig config = LoadConfig.load(configFile, overrides);
+        System.exit(run(config) ? 0 : 1);
+    }
+
+    /**
+     * Runs one load test.
+     *
+     * @param config Run settings
+     * @return Whether every service level objective was met
+     */
+    public static boolean run(LoadConfig config) throws Exception {
+        ShopClient client = new ShopClient(config.baseUrl());
+        System.out.printf("Seeding %d users and %d products at %s%n", config.seedUsers(), config.seedProducts(), config.baseUrl());
+        client.seed(config.seedUsers(), config.seedProducts(), config.randomSeed());
+
+        TrafficMix mix = new TrafficMix(config.mix());
+        LoadDriver driver = switch (config.model()) {
+            case OPEN -> new OpenModelDriver(client, mix, config.rate(), config.users(), config.randomSeed());
+            case CLOSED -> new ClosedModelDriver(client, mix, config.users(), config.rate(), config.randomSeed());
+        };
+        System.out.printf("Running %s model, rate %s/s, %d users: %d s warmup, %d s measured%n",
+                config.model().name().toLowerCase(), config.rate() > 0 ? config.rate() : "unpaced", config.users(),
+                config.warmup().toSeconds(), config.duration().toSeconds());
+        LatencyStats stats = driver.run(config.warmup(), config.duration());
+
+        SloReport report = new SloReport(config.p99Slos(), config.maxErrorRate());
+        System.out.println();
+        boolean passed = report.print(System.out, stats, config.duration());
+        if (config.reportDir() != null) {
+            report.writeDistributions(config.reportDir(), stats);
+            System.out.println("Percentile distributions written to " + config.reportDir().toAbsolutePath());
+        }
+        return passed;
+    }
+}
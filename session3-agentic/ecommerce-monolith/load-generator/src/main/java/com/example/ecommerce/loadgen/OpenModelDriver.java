@@ -0,0 +1,80 @@
+package com.example.ecommerce.loadgen;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Open load model: requests arrive at a fixed rate whether or not earlier ones have completed,
+ * as independent customers do. Each request has an intended send time on a fixed schedule,
+ * and its response time is measured from that time. When the system stalls, requests that
+ * should have been sent during the stall are sent late, and the wait counts against them,
+ * so a stall shows in the percentiles instead of being hidden (coordinated omission).
+ * Requests run on virtual threads; once {@code maxInFlight} are outstanding, new arrivals
+ * wait, still measured from their intended send time.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+public class OpenModelDriver implements LoadDriver {
+    private final OperationExecutor executor;
+    private final TrafficMix mix;
+    private final double rate;
+    private final int maxInFlight;
+    private final long randomSeed;
+
+    /**
+     * @param executor Runs each operation
+     * @param mix Chooses each operation
+     * @param rate Arrivals per second
+     * @param maxInFlight Most requests outstanding at once
+     * @param randomSeed Seed for the operation sequence
+     */
+    public OpenModelDriver(OperationExecutor executor, TrafficMix mix, double rate, int maxInFlight, long randomSeed) {
+        if (rate <= 0 || maxInFlight <= 0) {
+            throw new IllegalArgumentException("rate and maxInFlight must be positive");
+        }
+        this.executor = executor;
+        this.mix = mix;
+        this.rate = rate;
+        this.maxInFlight = maxInFlight;
+        this.randomSeed = randomSeed;
+    }
+
+    @Override
+    public LatencyStats run(Duration warmup, Duration duration) throws InterruptedException {
+        LatencyStats stats = new LatencyStats();
+        SplittableRandom random = new SplittableRandom(randomSeed);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long start = System.nanoTime();
+        long recordFrom = start + warmup.toNanos();
+        long end = recordFrom + duration.toNanos();
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long arrival = 0; ; arrival++) {
+                // Computed from the start rather than accumulated, so rounding never drifts the schedule
+                long intendedStart = start + Math.round(arrival * 1e9 / rate);
+                if (intendedStart >= end) {
+                    break;
+                }
+                Pacing.sleepUntil(intendedStart);
+                Operation operation = mix.next(random);
+                inFlight.acquire();
+                workers.submit(() -> {
+                    try {
+                        long actualStart = System.nanoTime();
+                        boolean succeeded = Pacing.execute(executor, operation);
+                        if (intendedStart >= recordFrom) {
+                            stats.record(operation, intendedStart, actualStart, System.nanoTime(), succeeded);
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        return stats;
+    }
+}
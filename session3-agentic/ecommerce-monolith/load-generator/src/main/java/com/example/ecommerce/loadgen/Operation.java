@@ -0,0 +1,33 @@
+package com.example.ecommerce.loadgen;
+
+/**
+ * A user action the load generator replays against the REST API.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+public enum Operation {
+    /** {@code GET /api/products/{id}} for a random seeded product. */
+    BROWSE_PRODUCTS("browse-products"),
+    /** {@code GET /api/products/search} for a word used in product names. */
+    SEARCH("search"),
+    /** {@code POST /api/users} with a new username. */
+    CREATE_USER("create-user"),
+    /** {@code POST /api/orders} for a random user with one to three random products. */
+    CREATE_ORDER("create-order"),
+    /** {@code POST /api/payments} for an unpaid order, then {@code POST /api/payments/{id}/process}. */
+    PAY("pay");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Returns the name used for this operation in configuration keys and reports.
+     */
+    public String key() {
+        return key;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.ecommerce.loadgen;
+
+/**
+ * Performs one operation against the system under test.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+@FunctionalInterface
+public interface OperationExecutor {
+
+    /**
+     * Runs the operation and waits for its response.
+     *
+     * @param operation The operation to run
+     * @return Whether it succeeded; failures are counted as errors
+     * @throws Exception if the request could not be completed, also counted as an error
+     */
+    boolean execute(Operation operation) throws Exception;
+}
@@ -0,0 +1,49 @@
+package com.example.ecommerce.loadgen;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Scheduling helpers shared by the load drivers.
+ */
+final class Pacing {
+
+    private Pacing() {
+    }
+
+    /**
+     * Parks until {@link System#nanoTime()} reaches the deadline; returns at once if it has passed.
+     */
+    static void sleepUntil(long deadlineNanos) throws InterruptedException {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    /**
+     * Runs an operation, treating any exception as a failed request.
+     */
+    static boolean execute(OperationExecutor executor, Operation operation) {
+        try {
+            return executor.execute(operation);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    static void rethrowFailure(Future<?> future) throws InterruptedException {
+        try {
+            future.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Load driver thread failed", e.getCause());
+        }
+    }
+}
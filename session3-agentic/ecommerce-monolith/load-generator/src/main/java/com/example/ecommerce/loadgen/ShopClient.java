@@ -0,0 +1,198 @@
+package com.example.ecommerce.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs load generator operations against the monolith's REST API, and seeds the users and
+ * products they need through the same API. Seed data is derived from the random seed;
+ * per-request choices such as which product to view are random per thread.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+public class ShopClient implements OperationExecutor {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int MAX_UNPAID_ORDERS = 10_000;
+    private static final String[] ADJECTIVES = {"Classic", "Compact", "Deluxe", "Ergonomic", "Portable", "Rugged", "Smart", "Vintage"};
+    private static final String[] NOUNS = {"Backpack", "Blender", "Headphones", "Keyboard", "Lamp", "Mug", "Notebook", "Speaker", "Watch"};
+    private static final String[] CATEGORIES = {"Electronics", "Home", "Office", "Outdoor", "Kitchen"};
+
+    private final URI baseUrl;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // Tells this run's users and products apart from those of earlier runs against the same server
+    private final String runTag = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicInteger nextUser = new AtomicInteger();
+    private final List<Long> userIds = new ArrayList<>();
+    private final Queue<Long> unpaidOrderIds = new ConcurrentLinkedQueue<>();
+    private final AtomicLong unpaidOrders = new AtomicLong();
+    private List<Long> productIds = List.of();
+
+    public ShopClient(URI baseUrl) {
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    /**
+     * Creates users and products through the API so the operations have data to work on.
+     *
+     * @param users Users to create
+     * @param products Products to create, spread over a few categories and named from a small vocabulary
+     * @param randomSeed Seed for product names, categories and prices
+     * @throws IllegalStateException if the API refuses any of them
+     */
+    public void seed(int users, int products, long randomSeed) throws IOException, InterruptedException {
+        SplittableRandom random = new SplittableRandom(randomSeed);
+        List<Long> created = new ArrayList<>(products);
+        for (int i = 0; i < products; i++) {
+            ObjectNode product = objectMapper.createObjectNode()
+                    .put("name", ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + NOUNS[random.nextInt(NOUNS.length)] + " " + i)
+                    .put("sku", "LG-" + runTag + "-" + i)
+                    .put("category", CATEGORIES[random.nextInt(CATEGORIES.length)])
+                    .put("price", BigDecimal.valueOf(random.nextInt(500, 50_000), 2))
+                    // Enough stock that orders never run out during a run
+                    .put("stockQuantity", 1_000_000_000);
+            created.add(idOf(send(post("/api/products", product)), "product"));
+        }
+        productIds = List.copyOf(created);
+        for (int i = 0; i < users; i++) {
+            addUser(idOf(send(post("/api/users", newUser())), "user"));
+        }
+    }
+
+    @Override
+    public boolean execute(Operation operation) throws IOException, InterruptedException {
+        return switch (operation) {
+            case BROWSE_PRODUCTS -> succeeded(send(get("/api/products/" + randomProduct())));
+            case SEARCH -> succeeded(send(get("/api/products/search?size=20&query="
+                    + URLEncoder.encode(NOUNS[ThreadLocalRandom.current().nextInt(NOUNS.length)], StandardCharsets.UTF_8))));
+            case CREATE_USER -> createUser();
+            case CREATE_ORDER -> createOrder() != null;
+            case PAY -> pay();
+        };
+    }
+
+    private boolean createUser() throws IOException, InterruptedException {
+        HttpResponse<String> response = send(post("/api/users", newUser()));
+        if (!succeeded(response)) {
+            return false;
+        }
+        addUser(idOf(response, "user"));
+        return true;
+    }
+
+    // Returns the new order's ID, or null if it was refused
+    private Long createOrder() throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        ArrayNode lines = objectMapper.createArrayNode();
+        int lineCount = random.nextInt(1, 4);
+        for (int i = 0; i < lineCount; i++) {
+            lines.addObject().put("productId", randomProduct()).put("quantity", random.nextInt(1, 3));
+        }
+        HttpResponse<String> response = send(post("/api/orders?userId=" + randomUser(), lines));
+        if (!succeeded(response)) {
+            return null;
+        }
+        Long orderId = idOf(response, "order");
+        if (unpaidOrders.incrementAndGet() <= MAX_UNPAID_ORDERS) {
+            unpaidOrderIds.add(orderId);
+        } else {
+            unpaidOrders.decrementAndGet();
+        }
+        return orderId;
+    }
+
+    // Pays a waiting order, creating one first when none is waiting
+    private boolean pay() throws IOException, InterruptedException {
+        Long orderId = unpaidOrderIds.poll();
+        if (orderId != null) {
+            unpaidOrders.decrementAndGet();
+        } else if ((orderId = createOrder()) == null) {
+            return false;
+        }
+        HttpResponse<String> payment = send(post("/api/payments?paymentMethod=CREDIT_CARD&orderId=" + orderId, null));
+        if (!succeeded(payment)) {
+            return false;
+        }
+        return succeeded(send(post("/api/payments/" + idOf(payment, "payment") + "/process", null)));
+    }
+
+    private ObjectNode newUser() {
+        String username = "lg_" + runTag + "_" + nextUser.incrementAndGet();
+        return objectMapper.createObjectNode()
+                .put("username", username)
+                .put("email", username + "@example.com")
+                .put("password", "Secret123");
+    }
+
+    private void addUser(long userId) {
+        synchronized (userIds) {
+            userIds.add(userId);
+        }
+    }
+
+    private long randomUser() {
+        synchronized (userIds) {
+            return userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+        }
+    }
+
+    private long randomProduct() {
+        return productIds.get(ThreadLocalRandom.current().nextInt(productIds.size()));
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUrl.resolve(path)).timeout(REQUEST_TIMEOUT).GET().build();
+    }
+
+    private HttpRequest post(String path, JsonNode body) throws IOException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(baseUrl.resolve(path)).timeout(REQUEST_TIMEOUT);
+        if (body == null) {
+            return request.POST(HttpRequest.BodyPublishers.noBody()).build();
+        }
+        return request.header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private long idOf(HttpResponse<String> response, String what) throws IOException {
+        if (!succeeded(response)) {
+            throw new IllegalStateException("Creating a " + what + " failed with HTTP " + response.statusCode()
+                    + " from " + response.request().uri() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body()).path("id").asLong();
+    }
+
+    private static boolean succeeded(HttpResponse<?> response) {
+        return response.statusCode() / 100 == 2;
+    }
+}
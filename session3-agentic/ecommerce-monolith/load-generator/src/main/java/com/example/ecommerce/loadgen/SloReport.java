@@ -0,0 +1,120 @@
+package com.example.ecommerce.loadgen;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Percentile report of a load test run, checked against service level objectives.
+ * Percentiles are of response times, measured from each request's intended send time;
+ * the service-time p99 is shown next to them to make any coordinated omission visible.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+public class SloReport {
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<Operation, Double> p99Slos;
+    private final double maxErrorRate;
+
+    /**
+     * @param p99Slos Largest acceptable p99 response time per operation, in milliseconds
+     * @param maxErrorRate Largest acceptable share of failed requests over all operations
+     */
+    public SloReport(Map<Operation, Double> p99Slos, double maxErrorRate) {
+        this.p99Slos = Map.copyOf(p99Slos);
+        this.maxErrorRate = maxErrorRate;
+    }
+
+    /**
+     * Lists every objective the run missed.
+     *
+     * @param stats Recorded latencies and errors
+     * @return One message per missed objective; empty if the run passed
+     */
+    public List<String> violations(LatencyStats stats) {
+        List<String> violations = new ArrayList<>();
+        long requests = 0;
+        long errors = 0;
+        for (Operation operation : Operation.values()) {
+            requests += stats.requests(operation);
+            errors += stats.errors(operation);
+            Double limit = p99Slos.get(operation);
+            if (limit != null && stats.requests(operation) > 0) {
+                double p99 = millis(stats.responseTimes(operation), 99.0);
+                if (p99 > limit) {
+                    violations.add(String.format("%s p99 %.1f ms exceeds %.1f ms", operation.key(), p99, limit));
+                }
+            }
+        }
+        double errorRate = requests == 0 ? 0 : (double) errors / requests;
+        if (errorRate > maxErrorRate) {
+            violations.add(String.format("error rate %.2f%% exceeds %.2f%%", errorRate * 100, maxErrorRate * 100));
+        }
+        return violations;
+    }
+
+    /**
+     * Prints the percentile table and the outcome of every objective.
+     *
+     * @param out Where to print
+     * @param stats Recorded latencies and errors
+     * @param duration How long recording ran, for throughput
+     * @return Whether every objective was met
+     */
+    public boolean print(PrintStream out, LatencyStats stats, Duration duration) {
+        double seconds = duration.toMillis() / 1000.0;
+        out.printf("%-16s %9s %7s %8s %9s %9s %9s %9s %9s %12s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "svc p99 ms");
+        for (Operation operation : Operation.values()) {
+            long requests = stats.requests(operation);
+            if (requests == 0) {
+                continue;
+            }
+            Histogram response = stats.responseTimes(operation);
+            out.printf("%-16s %9d %7d %8.1f %9.2f %9.2f %9.2f %9.2f %9.2f %12.2f%n",
+                    operation.key(), requests, stats.errors(operation), requests / seconds,
+                    millis(response, 50.0), millis(response, 90.0), millis(response, 99.0), millis(response, 99.9),
+                    response.getMaxValue() / MICROS_PER_MILLI, millis(stats.serviceTimes(operation), 99.0));
+        }
+        List<String> violations = violations(stats);
+        out.println();
+        if (violations.isEmpty()) {
+            out.println("SLO PASS");
+        } else {
+            violations.forEach(violation -> out.println("SLO FAIL: " + violation));
+        }
+        return violations.isEmpty();
+    }
+
+    /**
+     * Writes each operation's full response-time distribution as an HdrHistogram {@code .hgrm} file,
+     * in milliseconds, for plotting or comparing runs.
+     *
+     * @param directory Directory to write to, created if missing
+     * @param stats Recorded latencies
+     */
+    public void writeDistributions(Path directory, LatencyStats stats) throws IOException {
+        Files.createDirectories(directory);
+        for (Operation operation : Operation.values()) {
+            if (stats.requests(operation) == 0) {
+                continue;
+            }
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(operation.key() + ".hgrm")))) {
+                stats.responseTimes(operation).outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+}
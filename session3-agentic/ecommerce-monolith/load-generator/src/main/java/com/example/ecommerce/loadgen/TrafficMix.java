@@ -0,0 +1,54 @@
+package com.example.ecommerce.loadgen;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Picks operations at random in proportion to their configured weights.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+public class TrafficMix {
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    /**
+     * @param weights Relative weight per operation; operations with weight 0 or no weight are never picked
+     * @throws IllegalArgumentException if a weight is negative or all weights are 0
+     */
+    public TrafficMix(Map<Operation, Integer> weights) {
+        Map<Operation, Integer> positive = new EnumMap<>(Operation.class);
+        weights.forEach((operation, weight) -> {
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weight of " + operation.key() + " must not be negative");
+            }
+            if (weight > 0) {
+                positive.put(operation, weight);
+            }
+        });
+        if (positive.isEmpty()) {
+            throw new IllegalArgumentException("Traffic mix needs at least one operation with a positive weight");
+        }
+        operations = positive.keySet().toArray(Operation[]::new);
+        cumulativeWeights = new int[operations.length];
+        int sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += positive.get(operations[i]);
+            cumulativeWeights[i] = sum;
+        }
+        totalWeight = sum;
+    }
+
+    public Operation next(RandomGenerator random) {
+        int ticket = random.nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (ticket < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("Unreachable: ticket " + ticket + " of " + totalWeight);
+    }
+}
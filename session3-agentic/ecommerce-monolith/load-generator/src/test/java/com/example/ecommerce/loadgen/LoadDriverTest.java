@@ -0,0 +1,84 @@
+package com.example.ecommerce.loadgen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the open and closed load drivers.
+ * Tests cover that a stall of the system under test shows in response times even though
+ * only one request was slow, which a client measuring service times alone would hide.
+ */
+@DisplayName("Load Driver Unit Tests")
+class LoadDriverTest {
+
+    private static final TrafficMix BROWSE_ONLY = new TrafficMix(Map.of(Operation.BROWSE_PRODUCTS, 1));
+
+    @Test
+    @DisplayName("Open model should charge a stall to every request that arrived during it")
+    void openModel_CorrectsCoordinatedOmission() throws InterruptedException {
+        // Given - one request in flight at a time, 100 arrivals per second, one 500 ms stall
+        LoadDriver driver = new OpenModelDriver(stallingOnce(), BROWSE_ONLY, 100, 1, 42);
+
+        // When
+        LatencyStats stats = driver.run(Duration.ZERO, Duration.ofSeconds(2));
+
+        // Then - about 50 arrivals queued behind the stall, so well over 1% of requests were slow
+        assertThat(stats.requests(Operation.BROWSE_PRODUCTS)).isBetween(190L, 201L);
+        assertThat(stats.responseTimes(Operation.BROWSE_PRODUCTS).getValueAtPercentile(99.0)).isGreaterThan(300_000);
+        assertThat(stats.serviceTimes(Operation.BROWSE_PRODUCTS).getValueAtPercentile(99.0)).isLessThan(100_000);
+        assertThat(stats.errors(Operation.BROWSE_PRODUCTS)).isZero();
+    }
+
+    @Test
+    @DisplayName("Paced closed model should measure from the scheduled send time")
+    void closedModel_CorrectsCoordinatedOmission() throws InterruptedException {
+        // Given - one user paced to 100 requests per second, one 500 ms stall
+        LoadDriver driver = new ClosedModelDriver(stallingOnce(), BROWSE_ONLY, 1, 100, 42);
+
+        // When
+        LatencyStats stats = driver.run(Duration.ZERO, Duration.ofSeconds(2));
+
+        // Then
+        assertThat(stats.responseTimes(Operation.BROWSE_PRODUCTS).getValueAtPercentile(99.0)).isGreaterThan(300_000);
+        assertThat(stats.serviceTimes(Operation.BROWSE_PRODUCTS).getValueAtPercentile(99.0)).isLessThan(100_000);
+    }
+
+    @Test
+    @DisplayName("Should count failed and throwing operations as errors and skip the warmup")
+    void errorsAndWarmup() throws InterruptedException {
+        // Given - every other request fails or throws
+        AtomicBoolean flip = new AtomicBoolean();
+        OperationExecutor flaky = operation -> {
+            if (flip.getAndSet(!flip.get())) {
+                throw new IllegalStateException("connection reset");
+            }
+            return false;
+        };
+        LoadDriver driver = new ClosedModelDriver(flaky, BROWSE_ONLY, 2, 100, 42);
+
+        // When
+        LatencyStats stats = driver.run(Duration.ofMillis(500), Duration.ofSeconds(1));
+
+        // Then - only the measured second is recorded
+        assertThat(stats.requests(Operation.BROWSE_PRODUCTS)).isBetween(90L, 102L);
+        assertThat(stats.errors(Operation.BROWSE_PRODUCTS)).isEqualTo(stats.requests(Operation.BROWSE_PRODUCTS));
+    }
+
+    // Answers at once, except for one request half a second in, which takes 500 ms
+    private static OperationExecutor stallingOnce() {
+        long stallAt = System.nanoTime() + Duration.ofMillis(500).toNanos();
+        AtomicBoolean stalled = new AtomicBoolean();
+        return operation -> {
+            if (System.nanoTime() >= stallAt && stalled.compareAndSet(false, true)) {
+                Thread.sleep(500);
+            }
+            return true;
+        };
+    }
+}
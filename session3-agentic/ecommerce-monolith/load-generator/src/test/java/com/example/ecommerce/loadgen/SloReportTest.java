@@ -0,0 +1,76 @@
+package com.example.ecommerce.loadgen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for SloReport.
+ * Tests cover p99 and error-rate objectives, the printed table and the distribution files.
+ */
+@DisplayName("SloReport Unit Tests")
+class SloReportTest {
+
+    @Test
+    @DisplayName("Should pass when every p99 and the error rate are within their objectives")
+    void violations_NoneWhenWithinObjectives() {
+        // Given - 100 searches of 10 ms, one of them failed
+        LatencyStats stats = recordSearches(100, 10, 1);
+        SloReport report = new SloReport(Map.of(Operation.SEARCH, 20.0), 0.02);
+
+        // When / Then
+        assertThat(report.violations(stats)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should report each missed objective")
+    void violations_ListsEachMissedObjective() {
+        // Given - 100 searches of 50 ms, five of them failed
+        LatencyStats stats = recordSearches(100, 50, 5);
+        SloReport report = new SloReport(Map.of(Operation.SEARCH, 20.0, Operation.PAY, 1.0), 0.01);
+
+        // When
+        var violations = report.violations(stats);
+
+        // Then - pay had no requests, so its objective is not judged
+        assertThat(violations).hasSize(2);
+        assertThat(violations.get(0)).startsWith("search p99 50.0");
+        assertThat(violations.get(1)).startsWith("error rate 5.00%");
+    }
+
+    @Test
+    @DisplayName("Should print percentiles per operation and write their distributions")
+    void print_WritesTableAndDistributions(@TempDir Path directory) throws Exception {
+        // Given
+        LatencyStats stats = recordSearches(100, 10, 0);
+        SloReport report = new SloReport(Map.of(), 1.0);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        boolean passed = report.print(new PrintStream(out, true), stats, Duration.ofSeconds(10));
+        report.writeDistributions(directory, stats);
+
+        // Then
+        assertThat(passed).isTrue();
+        assertThat(out.toString()).contains("search").contains("10.0").contains("SLO PASS").doesNotContain("pay");
+        assertThat(Files.readString(directory.resolve("search.hgrm"))).contains("Percentile");
+        assertThat(directory.resolve("pay.hgrm")).doesNotExist();
+    }
+
+    private static LatencyStats recordSearches(int count, long millis, int failures) {
+        LatencyStats stats = new LatencyStats();
+        for (int i = 0; i < count; i++) {
+            stats.record(Operation.SEARCH, 0, 0, Duration.ofMillis(millis).toNanos(), i >= failures);
+        }
+        return stats;
+    }
+}
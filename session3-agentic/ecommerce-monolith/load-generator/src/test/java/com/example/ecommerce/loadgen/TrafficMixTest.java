@@ -0,0 +1,59 @@
+package com.example.ecommerce.loadgen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for TrafficMix.
+ * Tests cover weighted selection, repeatability from a seed and invalid weights.
+ */
+@DisplayName("TrafficMix Unit Tests")
+class TrafficMixTest {
+
+    @Test
+    @DisplayName("Should pick operations in proportion to their weights")
+    void next_FollowsWeights() {
+        // Given
+        TrafficMix mix = new TrafficMix(Map.of(Operation.BROWSE_PRODUCTS, 3, Operation.PAY, 1, Operation.SEARCH, 0));
+        SplittableRandom random = new SplittableRandom(42);
+        Map<Operation, Integer> picks = new EnumMap<>(Operation.class);
+
+        // When
+        for (int i = 0; i < 40_000; i++) {
+            picks.merge(mix.next(random), 1, Integer::sum);
+        }
+
+        // Then
+        assertThat(picks).containsOnlyKeys(Operation.BROWSE_PRODUCTS, Operation.PAY);
+        assertThat(picks.get(Operation.BROWSE_PRODUCTS)).isBetween(29_000, 31_000);
+    }
+
+    @Test
+    @DisplayName("Should pick the same sequence from the same seed")
+    void next_RepeatableFromSeed() {
+        // Given
+        TrafficMix mix = new TrafficMix(Map.of(Operation.SEARCH, 1, Operation.CREATE_ORDER, 1));
+        SplittableRandom first = new SplittableRandom(7);
+        SplittableRandom second = new SplittableRandom(7);
+
+        // When / Then
+        for (int i = 0; i < 100; i++) {
+            assertThat(mix.next(first)).isEqualTo(mix.next(second));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject negative weights and a mix with nothing to pick")
+    void constructor_RejectsInvalidWeights() {
+        assertThatThrownBy(() -> new TrafficMix(Map.of(Operation.SEARCH, -1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TrafficMix(Map.of(Operation.SEARCH, 0)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
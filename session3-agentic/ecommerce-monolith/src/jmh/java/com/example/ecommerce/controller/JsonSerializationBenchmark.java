@@ -0,0 +1,87 @@
+package com.example.ecommerce.controller;
+
+import com.example.ecommerce.entity.Order;
+import com.example.ecommerce.entity.OrderItem;
+import com.example.ecommerce.entity.Product;
+import com.example.ecommerce.entity.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the {@code Order} and {@code Product} lists the controllers return,
+ * with an {@link ObjectMapper} configured as Spring Boot configures it. Each order has five lines.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+    private static final int LINES_PER_ORDER = 5;
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private ObjectWriter orderListWriter;
+    private ObjectWriter productListWriter;
+    private List<Order> orders;
+    private List<Product> products;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        orderListWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, Order.class));
+        productListWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, Product.class));
+
+        products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Product product = new Product("Product " + i, "SKU-" + i, new BigDecimal("9.99").add(BigDecimal.valueOf(i, 2)), 100);
+            product.setId((long) i);
+            product.setDescription("A sturdy, well-reviewed product number " + i);
+            product.setCategory("Category " + i % 10);
+            products.add(product);
+        }
+
+        User user = new User("jane_doe", "jane@example.com", "Secret123");
+        user.setId(1L);
+        orders = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Order order = new Order(user);
+            order.setId((long) i);
+            order.setShippingAddress("1 Main Street, Springfield");
+            for (int line = 0; line < LINES_PER_ORDER; line++) {
+                Product product = products.get((i + line) % size);
+                order.addOrderItem(new OrderItem(product, line + 1, product.getPrice()));
+            }
+            orders.add(order);
+        }
+    }
+
+    @Benchmark
+    public byte[] orders() throws Exception {
+        return orderListWriter.writeValueAsBytes(orders);
+    }
+
+    @Benchmark
+    public byte[] products() throws Exception {
+        return productListWriter.writeValueAsBytes(products);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.ecommerce.money;
+
+import com.example.ecommerce.entity.Order;
+import com.example.ecommerce.entity.OrderItem;
+import com.example.ecommerce.entity.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order pricing with {@link Money} against the {@link BigDecimal} arithmetic it replaced.
+ * The BigDecimal methods reproduce the former {@code OrderItem.calculateSubtotal} and
+ * {@code Order.calculateTotalAmount}; the Money methods call the entities themselves.
+ * Run with {@code ./gradlew jmh -Pjmh.args="MoneyBenchmark -prof gc"} to see bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    private int lines;
+
+    private BigDecimal[] decimalPrices;
+    private BigDecimal[] decimalSubtotals;
+    private int[] quantities;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        decimalPrices = new BigDecimal[lines];
+        decimalSubtotals = new BigDecimal[lines];
+        quantities = new int[lines];
+        order = new Order();
+        for (int i = 0; i < lines; i++) {
+            decimalPrices[i] = new BigDecimal("19.99").add(BigDecimal.valueOf(i, 2));
+            quantities[i] = 1 + i % 5;
+            decimalSubtotals[i] = decimalPrices[i].multiply(BigDecimal.valueOf(quantities[i]));
+            Product product = new Product("Product " + i, "SKU-" + i, decimalPrices[i], 100);
+            order.addOrderItem(new OrderItem(product, quantities[i], product.getPrice()));
+        }
+    }
+
+    @Benchmark
+    public void subtotalsBigDecimal(Blackhole blackhole) {
+        for (int i = 0; i < lines; i++) {
+            blackhole.consume(decimalPrices[i].multiply(BigDecimal.valueOf(quantities[i])));
+        }
+    }
+
+    @Benchmark
+    public void subtotalsMoney(Blackhole blackhole) {
+        List<OrderItem> items = order.getOrderItems();
+        for (OrderItem item : items) {
+            item.calculateSubtotal();
+            blackhole.consume(item.getSubtotal());
+        }
+    }
+
+    @Benchmark
+    public BigDecimal totalBigDecimal() {
+        return List.of(decimalSubtotals).stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public Money totalMoney() {
+        order.calculateTotalAmount();
+        return order.getTotalAmount();
+    }
+}
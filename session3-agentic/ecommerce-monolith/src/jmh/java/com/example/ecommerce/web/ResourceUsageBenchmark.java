@@ -0,0 +1,54 @@
+package com.example.ecommerce.web;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of {@link ResourceUsageFilter}: reading the thread's allocation and CPU
+ * counters before and after, and recording the result into the endpoint's histograms.
+ * Run with several threads, since the recording side is shared by all request threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class ResourceUsageBenchmark {
+
+    private com.sun.management.ThreadMXBean threads;
+    private EndpointResourceStats stats;
+
+    @Setup
+    public void setUp() {
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        stats = new EndpointResourceStats(new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public long readCounters() {
+        return threads.getCurrentThreadAllocatedBytes() + threads.getCurrentThreadCpuTime();
+    }
+
+    @Benchmark
+    public void measureAndRecord() {
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long cpuBefore = threads.getCurrentThreadCpuTime();
+        stats.record("OrderController.getAllOrders",
+                threads.getCurrentThreadAllocatedBytes() - allocatedBefore, threads.getCurrentThreadCpuTime() - cpuBefore);
+    }
+}
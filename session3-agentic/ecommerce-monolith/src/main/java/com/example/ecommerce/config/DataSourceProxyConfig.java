@@ -0,0 +1,95 @@
+package com.example.ecommerce.config;
+
+import com.example.ecommerce.sql.SlowQueryLog;
+import com.example.ecommerce.web.SqlStatementListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wraps the application data source in a datasource-proxy that reports every statement
+ * and result-set row to {@link SqlStatementListener}, for per-request SQL metrics and budgets,
+ * and every statement's execution time to {@link SlowQueryLog}.
+ * Turn them off with {@code ecommerce.sql.metrics.enabled=false} and
+ * {@code ecommerce.sql.slow-query.enabled=false}; with both off the data source is not wrapped.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+@Configuration
+public class DataSourceProxyConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "ecommerce.sql.metrics.enabled", havingValue = "true", matchIfMissing = true)
+    public SqlStatementListener sqlStatementListener() {
+        return new SqlStatementListener();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "ecommerce.sql.slow-query.enabled", havingValue = "true", matchIfMissing = true)
+    public SlowQueryLog slowQueryLog(ObjectProvider<DataSource> dataSource,
+                                     ObjectProvider<MeterRegistry> meterRegistry,
+                                     @Qualifier("slowQueryExplainExecutor") ExecutorService slowQueryExplainExecutor,
+                                     @Value("${ecommerce.sql.slow-query.threshold-ms:100}") long thresholdMillis,
+                                     @Value("${ecommerce.sql.slow-query.capacity:200}") int capacity,
+                                     @Value("${ecommerce.sql.slow-query.explain:true}") boolean explain) {
+        return new SlowQueryLog(dataSource, meterRegistry, slowQueryExplainExecutor, thresholdMillis, capacity, explain);
+    }
+
+    /**
+     * One thread fetching {@code EXPLAIN} plans for slow statements. A burst of slow statements
+     * beyond its queue is logged without plans rather than queueing more work on a struggling database.
+     * The thread is virtual when {@code spring.threads.virtual.enabled} is set, as it spends its time waiting on JDBC.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "ecommerce.sql.slow-query.enabled", havingValue = "true", matchIfMissing = true)
+    public ExecutorService slowQueryExplainExecutor(Environment environment) {
+        Thread.Builder threads = Threading.VIRTUAL.isActive(environment)
+                ? Thread.ofVirtual().name("slow-query-explain-", 0)
+                : Thread.ofPlatform().name("slow-query-explain-", 0).daemon();
+        return new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(100), threads.factory());
+    }
+
+    @Bean
+    public static BeanPostProcessor sqlMetricsDataSourceProxy(ObjectProvider<SqlStatementListener> listener,
+                                                              ObjectProvider<SlowQueryLog> slowQueryLog) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                SqlStatementListener sqlListener = listener.getIfAvailable();
+                SlowQueryLog slowQueries = slowQueryLog.getIfAvailable();
+                if (sqlListener == null && slowQueries == null) {
+                    return bean;
+                }
+                ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(beanName, dataSource);
+                if (sqlListener != null) {
+                    builder.listener(sqlListener)
+                            .methodListener(sqlListener)
+                            .proxyResultSet();
+                }
+                if (slowQueries != null) {
+                    builder.listener(slowQueries);
+                }
+                return builder.build();
+            }
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.ecommerce.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Executor for payment gateway calls.
+ * Each call runs on its own virtual thread, so a slow gateway parks a cheap virtual
+ * thread instead of a Tomcat request thread. Closing the executor on shutdown waits
+ * for in-flight gateway calls to finish.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+@Configuration
+public class PaymentExecutorConfig {
+
+    @Bean(destroyMethod = "close")
+    public ExecutorService paymentExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("payment-", 0).factory());
+    }
+}
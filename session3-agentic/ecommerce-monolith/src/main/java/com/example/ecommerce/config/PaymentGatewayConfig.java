@@ -0,0 +1,36 @@
+package com.example.ecommerce.config;
+
+import com.example.ecommerce.gateway.BatchingPaymentGateway;
+import com.example.ecommerce.gateway.PaymentGateway;
+import com.example.ecommerce.gateway.StubPaymentGateway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Wires the payment gateway adapter.
+ * Uses the local stub gateway, optionally behind the micro-batching decorator
+ * when {@code ecommerce.payment.gateway.batching.enabled=true}.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+@Configuration
+public class PaymentGatewayConfig {
+
+    @Bean
+    public PaymentGateway paymentGateway(
+            @Value("${ecommerce.payment.gateway.latency-ms:1000}") long latencyMs,
+            @Value("${ecommerce.payment.gateway.batching.enabled:false}") boolean batchingEnabled,
+            @Value("${ecommerce.payment.gateway.batching.max-size:50}") int maxBatchSize,
+            @Value("${ecommerce.payment.gateway.batching.max-wait-ms:20}") long maxWaitMs,
+            @Value("${ecommerce.payment.gateway.batching.timeout-ms:10000}") long timeoutMs) {
+        PaymentGateway gateway = new StubPaymentGateway(Duration.ofMillis(latencyMs));
+        if (!batchingEnabled) {
+            return gateway;
+        }
+        return new BatchingPaymentGateway(gateway, maxBatchSize, Duration.ofMillis(maxWaitMs), Duration.ofMillis(timeoutMs));
+    }
+}
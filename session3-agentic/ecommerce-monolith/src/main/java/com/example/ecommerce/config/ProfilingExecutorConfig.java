@@ -0,0 +1,25 @@
+package com.example.ecommerce.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Scheduler for on-demand flight recordings.
+ * One platform thread stops each recording when its time is up and parses it, so
+ * parsing never holds up {@code @Scheduled} jobs or request threads. Shutting down
+ * drops recordings still waiting to be stopped instead of waiting out their duration.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+@Configuration
+public class ProfilingExecutorConfig {
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService profilingScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("profiling-", 0).daemon().factory());
+    }
+}
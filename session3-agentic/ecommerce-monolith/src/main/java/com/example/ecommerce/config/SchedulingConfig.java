@@ -0,0 +1,17 @@
+package com.example.ecommerce.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background work such as write-behind flushes.
+ * Jobs run on Spring Boot's scheduler, which uses virtual threads when
+ * {@code spring.threads.virtual.enabled} is set, like the request threads.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
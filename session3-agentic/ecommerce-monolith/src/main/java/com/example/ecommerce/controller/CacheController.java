@@ -0,0 +1,25 @@
+package com.example.ecommerce.controller;
+
+import com.example.ecommerce.dto.CacheStats;
+import com.example.ecommerce.service.ProductCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/caches")
+public class CacheController {
+    private final ProductCache productCache;
+
+    public CacheController(ProductCache productCache) {
+        this.productCache = productCache;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<CacheStats>> getCacheStats() {
+        return ResponseEntity.ok(productCache.getStats());
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.ecommerce.controller;
+
+import com.example.ecommerce.dto.IdempotencyStats;
+import com.example.ecommerce.service.IdempotencyStore;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/idempotency")
+public class IdempotencyController {
+    private final IdempotencyStore idempotencyStore;
+
+    public IdempotencyController(IdempotencyStore idempotencyStore) {
+        this.idempotencyStore = idempotencyStore;
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<IdempotencyStats> getStats() {
+        return ResponseEntity.ok(idempotencyStore.getStats());
+    }
+}
@@ -1,16 +1,34 @@
 package com.example.ecommerce.controller;
 
+import com.example.ecommerce.dto.CursorPage;
+import com.example.ecommerce.dto.CursorPageRequest;
+import com.example.ecommerce.dto.OrderDetail;
+import com.example.ecommerce.dto.OrderExportFilter;
+import com.example.ecommerce.dto.OrderLineRequest;
+import com.example.ecommerce.dto.OrderSummary;
 import com.example.ecommerce.entity.Order;
 import com.example.ecommerce.entity.OrderItem;
+import com.example.ecommerce.service.OrderCommitPendingException;
+import com.example.ecommerce.service.OrderExportService;
+import com.example.ecommerce.service.OrderGroupCommitter;
+import com.example.ecommerce.service.OrderImportService;
 import com.example.ecommerce.service.OrderService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -18,53 +36,92 @@ import java.util.List;
 @Validated
 public class OrderController {
     private final OrderService orderService;
+    private final OrderExportService orderExportService;
+    private final OrderImportService orderImportService;
+    private final OrderGroupCommitter orderGroupCommitter;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, OrderExportService orderExportService,
+                           OrderImportService orderImportService, ObjectProvider<OrderGroupCommitter> orderGroupCommitter) {
         this.orderService = orderService;
+        this.orderExportService = orderExportService;
+        this.orderImportService = orderImportService;
+        this.orderGroupCommitter = orderGroupCommitter.getIfAvailable();
     }
 
     @PostMapping
-    public ResponseEntity<Order> createOrder(@RequestParam @Positive(message = "User ID must be positive") Long userId,
-                                            @Valid @RequestBody List<OrderItem> items) {
+    public ResponseEntity<OrderDetail> createOrder(@RequestParam @Positive(message = "User ID must be positive") Long userId,
+                                                   @RequestBody @NotEmpty(message = "Order must have at least one line") List<@Valid OrderLineRequest> lines) {
+        List<OrderItem> items = lines.stream().map(OrderLineRequest::toOrderItem).toList();
         try {
-            Order createdOrder = orderService.createOrder(userId, items);
-            return ResponseEntity.status(HttpStatus.CREATED).body(createdOrder);
+            Order createdOrder = orderGroupCommitter != null
+                    ? orderGroupCommitter.createOrder(userId, items)
+                    : orderService.createOrder(userId, items);
+            return ResponseEntity.status(HttpStatus.CREATED).body(orderService.getOrderDetail(createdOrder.getId()).orElseThrow());
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
+        } catch (OrderCommitPendingException e) {
+            // Not a server error, so an Idempotency-Key keeps this answer and a retry cannot place the order twice
+            return ResponseEntity.accepted().build();
         }
     }
 
     @GetMapping
-    public ResponseEntity<List<Order>> getAllOrders() {
-        List<Order> orders = orderService.getAllOrders();
+    public ResponseEntity<CursorPage<OrderSummary>> getAllOrders(@RequestParam(required = false) String cursor,
+                                                                 @RequestParam(defaultValue = "20") @Positive(message = "Page size must be positive")
+                                                                 @Max(value = 100, message = "Page size cannot exceed 100") int size,
+                                                                 @RequestParam(defaultValue = "false") boolean includeTotal) {
+        CursorPage<OrderSummary> orders = orderService.getOrders(CursorPageRequest.of(cursor, size, includeTotal));
         return ResponseEntity.ok(orders);
     }
 
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportOrders(@RequestParam(required = false) Order.OrderStatus status,
+                                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        OrderExportFilter filter = new OrderExportFilter(status, from, to);
+        StreamingResponseBody body = out -> orderExportService.export(filter, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importOrders(HttpServletRequest request) {
+        StreamingResponseBody body = out -> orderImportService.importOrders(request.getInputStream(), out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Order> getOrderById(@PathVariable @Positive(message = "Order ID must be positive") Long id) {
-        return orderService.getOrderById(id)
+    public ResponseEntity<OrderDetail> getOrderById(@PathVariable @Positive(message = "Order ID must be positive") Long id) {
+        return orderService.getOrderDetail(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Order>> getOrdersByUserId(@PathVariable @Positive(message = "User ID must be positive") Long userId) {
-        List<Order> orders = orderService.getOrdersByUserId(userId);
+    public ResponseEntity<CursorPage<OrderSummary>> getOrdersByUserId(@PathVariable @Positive(message = "User ID must be positive") Long userId,
+                                                                      @RequestParam(required = false) String cursor,
+                                                                      @RequestParam(defaultValue = "20") @Positive(message = "Page size must be positive")
+                                                                      @Max(value = 100, message = "Page size cannot exceed 100") int size,
+                                                                      @RequestParam(defaultValue = "false") boolean includeTotal) {
+        CursorPage<OrderSummary> orders = orderService.getOrdersByUserId(userId, CursorPageRequest.of(cursor, size, includeTotal));
         return ResponseEntity.ok(orders);
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Order>> getOrdersByStatus(@PathVariable @NotNull(message = "Order status cannot be null") Order.OrderStatus status) {
-        List<Order> orders = orderService.getOrdersByStatus(status);
+    public ResponseEntity<CursorPage<OrderSummary>> getOrdersByStatus(@PathVariable @NotNull(message = "Order status cannot be null") Order.OrderStatus status,
+                                                                      @RequestParam(required = false) String cursor,
+                                                                      @RequestParam(defaultValue = "20") @Positive(message = "Page size must be positive")
+                                                                      @Max(value = 100, message = "Page size cannot exceed 100") int size,
+                                                                      @RequestParam(defaultValue = "false") boolean includeTotal) {
+        CursorPage<OrderSummary> orders = orderService.getOrdersByStatus(status, CursorPageRequest.of(cursor, size, includeTotal));
         return ResponseEntity.ok(orders);
     }
 
     @PatchMapping("/{id}/status")
-    public ResponseEntity<Order> updateOrderStatus(@PathVariable @Positive(message = "Order ID must be positive") Long id,
-                                                   @RequestParam @NotNull(message = "Order status cannot be null") Order.OrderStatus status) {
+    public ResponseEntity<OrderDetail> updateOrderStatus(@PathVariable @Positive(message = "Order ID must be positive") Long id,
+                                                         @RequestParam @NotNull(message = "Order status cannot be null") Order.OrderStatus status) {
         try {
-            Order updatedOrder = orderService.updateOrderStatus(id, status);
-            return ResponseEntity.ok(updatedOrder);
+            orderService.updateOrderStatus(id, status);
+            return ResponseEntity.ok(orderService.getOrderDetail(id).orElseThrow());
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
@@ -1,22 +1,32 @@
 package com.example.ecommerce.controller;
 
+import com.example.ecommerce.dto.PaymentStatusResponse;
 import com.example.ecommerce.entity.Payment;
+import com.example.ecommerce.service.PaymentProcessor;
 import com.example.ecommerce.service.PaymentService;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.time.Duration;
 
 @RestController
 @RequestMapping("/api/payments")
 @Validated
 public class PaymentController {
     private final PaymentService paymentService;
+    private final PaymentProcessor paymentProcessor;
 
-    public PaymentController(PaymentService paymentService) {
+    public PaymentController(PaymentService paymentService, PaymentProcessor paymentProcessor) {
         this.paymentService = paymentService;
+        this.paymentProcessor = paymentProcessor;
     }
 
     @PostMapping
@@ -44,11 +54,29 @@ public class PaymentController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/{id}/status")
+    public ResponseEntity<PaymentStatusResponse> getPaymentStatus(@PathVariable @Positive(message = "Payment ID must be positive") Long id) {
+        return paymentService.getPaymentById(id)
+                .map(payment -> ResponseEntity.ok(PaymentStatusResponse.from(payment, statusUrl(id).toString())))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Answers 202 at once, or with waitMs 200 and the final status if the gateway answers in time.
+    // The wait holds the request thread, so many at once need spring.threads.virtual.enabled=true.
     @PostMapping("/{id}/process")
-    public ResponseEntity<Payment> processPayment(@PathVariable @Positive(message = "Payment ID must be positive") Long id) {
+    public ResponseEntity<PaymentStatusResponse> processPayment(@PathVariable @Positive(message = "Payment ID must be positive") Long id,
+                                                                @RequestParam(defaultValue = "0") @PositiveOrZero(message = "Wait cannot be negative")
+                                                                @Max(value = 30000, message = "Wait cannot exceed 30000 ms") long waitMs) throws InterruptedException {
         try {
-            Payment processedPayment = paymentService.processPayment(id);
-            return ResponseEntity.ok(processedPayment);
+            Payment acceptedPayment = paymentProcessor.submit(id);
+            URI statusUrl = statusUrl(id);
+            if (waitMs > 0 && paymentProcessor.awaitCompletion(id, Duration.ofMillis(waitMs))) {
+                Payment finishedPayment = paymentService.getPaymentById(id).orElseThrow();
+                return ResponseEntity.ok(PaymentStatusResponse.from(finishedPayment, statusUrl.toString()));
+            }
+            return ResponseEntity.accepted()
+                    .location(statusUrl)
+                    .body(PaymentStatusResponse.from(acceptedPayment, statusUrl.toString()));
         } catch (IllegalArgumentException | IllegalStateException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -63,4 +91,11 @@ public class PaymentController {
             return ResponseEntity.badRequest().build();
         }
     }
+
+    private static URI statusUrl(Long paymentId) {
+        return ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/payments/{id}/status")
+                .buildAndExpand(paymentId)
+                .toUri();
+    }
 }
@@ -1,10 +1,17 @@
 package com.example.ecommerce.controller;
 
+import com.example.ecommerce.dto.CursorPage;
+import com.example.ecommerce.dto.CursorPageRequest;
+import com.example.ecommerce.dto.ProductFacets;
+import com.example.ecommerce.dto.ProductSearchPage;
 import com.example.ecommerce.entity.Product;
 import com.example.ecommerce.service.ProductService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -29,41 +36,70 @@ public class ProductController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Product>> getAllProducts() {
-        List<Product> products = productService.getAllProducts();
+    public ResponseEntity<CursorPage<Product>> getAllProducts(@RequestParam(required = false) String cursor,
+                                                              @RequestParam(defaultValue = "20") @Positive(message = "Page size must be positive")
+                                                              @Max(value = 100, message = "Page size cannot exceed 100") int size,
+                                                              @RequestParam(defaultValue = "false") boolean includeTotal) {
+        CursorPage<Product> products = productService.getProducts(CursorPageRequest.of(cursor, size, includeTotal));
         return ResponseEntity.ok(products);
     }
 
     @GetMapping("/active")
-    public ResponseEntity<List<Product>> getActiveProducts() {
-        List<Product> products = productService.getActiveProducts();
+    public ResponseEntity<CursorPage<Product>> getActiveProducts(@RequestParam(required = false) String cursor,
+                                                                 @RequestParam(defaultValue = "20") @Positive(message = "Page size must be positive")
+                                                                 @Max(value = 100, message = "Page size cannot exceed 100") int size,
+                                                                 @RequestParam(defaultValue = "false") boolean includeTotal,
+                                                                 @RequestHeader(value = HttpHeaders.CACHE_CONTROL, required = false) String cacheControl) {
+        CursorPage<Product> products = productService.getActiveProducts(CursorPageRequest.of(cursor, size, includeTotal),
+                bypassCache(cacheControl));
         return ResponseEntity.ok(products);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Product> getProductById(@PathVariable @Positive(message = "Product ID must be positive") Long id) {
-        return productService.getProductById(id)
+    public ResponseEntity<Product> getProductById(@PathVariable @Positive(message = "Product ID must be positive") Long id,
+                                                  @RequestHeader(value = HttpHeaders.CACHE_CONTROL, required = false) String cacheControl) {
+        return productService.getProductById(id, bypassCache(cacheControl))
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/sku/{sku}")
-    public ResponseEntity<Product> getProductBySku(@PathVariable @NotBlank(message = "SKU cannot be blank") String sku) {
-        return productService.getProductBySku(sku)
+    public ResponseEntity<Product> getProductBySku(@PathVariable @NotBlank(message = "SKU cannot be blank") String sku,
+                                                   @RequestHeader(value = HttpHeaders.CACHE_CONTROL, required = false) String cacheControl) {
+        return productService.getProductBySku(sku, bypassCache(cacheControl))
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<Product>> getProductsByCategory(@PathVariable @NotBlank(message = "Category cannot be blank") String category) {
-        List<Product> products = productService.getProductsByCategory(category);
+    public ResponseEntity<CursorPage<Product>> getProductsByCategory(@PathVariable @NotBlank(message = "Category cannot be blank") String category,
+                                                                     @RequestParam(required = false) String cursor,
+                                                                     @RequestParam(defaultValue = "20") @Positive(message = "Page size must be positive")
+                                                                     @Max(value = 100, message = "Page size cannot exceed 100") int size,
+                                                                     @RequestParam(defaultValue = "false") boolean includeTotal,
+                                                                     @RequestHeader(value = HttpHeaders.CACHE_CONTROL, required = false) String cacheControl) {
+        CursorPage<Product> products = productService.getProductsByCategory(category,
+                CursorPageRequest.of(cursor, size, includeTotal), bypassCache(cacheControl));
         return ResponseEntity.ok(products);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<Product>> searchProducts(@RequestParam @NotBlank(message = "Search query cannot be blank") String query) {
-        List<Product> products = productService.searchProducts(query);
-        return ResponseEntity.ok(products);
+    public ResponseEntity<ProductSearchPage> searchProducts(@RequestParam @NotBlank(message = "Search query cannot be blank") String query,
+                                                            @RequestParam(defaultValue = "0") @PositiveOrZero(message = "Page cannot be negative") int page,
+                                                            @RequestParam(defaultValue = "20") @Positive(message = "Page size must be positive")
+                                                            @Max(value = 100, message = "Page size cannot exceed 100") int size) {
+        ProductSearchPage results = productService.searchProducts(query, page, size);
+        return ResponseEntity.ok(results);
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<ProductFacets> getFacets(@RequestParam(required = false) List<String> category,
+                                                   @RequestParam(required = false) Boolean active,
+                                                   @RequestParam(defaultValue = "0") @PositiveOrZero(message = "Offset cannot be negative") int offset,
+                                                   @RequestParam(defaultValue = "100") @PositiveOrZero(message = "Limit cannot be negative")
+                                                   @Max(value = 1000, message = "Limit cannot exceed 1000") int limit) {
+        ProductFacets facets = productService.getFacets(category == null ? List.of() : category, active, offset, limit);
+        return ResponseEntity.ok(facets);
     }
 
     @PutMapping("/{id}")
@@ -96,4 +132,8 @@ public class ProductController {
             return ResponseEntity.badRequest().build();
         }
     }
+
+    private static boolean bypassCache(String cacheControl) {
+        return cacheControl != null && (cacheControl.contains("no-cache") || cacheControl.contains("no-store"));
+    }
 }
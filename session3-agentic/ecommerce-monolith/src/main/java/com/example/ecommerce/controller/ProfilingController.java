@@ -0,0 +1,79 @@
+package com.example.ecommerce.controller;
+
+import com.example.ecommerce.dto.ProfilingRecording;
+import com.example.ecommerce.profiling.FlightRecorderService;
+import jakarta.validation.constraints.Positive;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/profiling/recordings")
+@Validated
+public class ProfilingController {
+    private final FlightRecorderService flightRecorderService;
+
+    public ProfilingController(FlightRecorderService flightRecorderService) {
+        this.flightRecorderService = flightRecorderService;
+    }
+
+    @PostMapping
+    public ResponseEntity<ProfilingRecording> startRecording(
+            @RequestParam(defaultValue = "30") @Positive(message = "Duration must be positive") long durationSeconds,
+            @RequestParam(defaultValue = "default") String profile) {
+        try {
+            ProfilingRecording recording = flightRecorderService.start(profile, Duration.ofSeconds(durationSeconds));
+            return ResponseEntity.accepted()
+                    .location(recordingUrl(recording.id()))
+                    .body(recording);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ProfilingRecording>> getRecordings() {
+        return ResponseEntity.ok(flightRecorderService.getRecordings());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ProfilingRecording> getRecording(@PathVariable @Positive(message = "Recording ID must be positive") Long id) {
+        return flightRecorderService.getRecording(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{id}/jfr")
+    public ResponseEntity<Resource> downloadRecording(@PathVariable @Positive(message = "Recording ID must be positive") Long id) {
+        return flightRecorderService.getRecordingFile(id)
+                .map(ProfilingController::attachment)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    private static URI recordingUrl(long recordingId) {
+        return ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/admin/profiling/recordings/{id}")
+                .buildAndExpand(recordingId)
+                .toUri();
+    }
+
+    private static ResponseEntity<Resource> attachment(Path file) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+                .body(new FileSystemResource(file));
+    }
+}
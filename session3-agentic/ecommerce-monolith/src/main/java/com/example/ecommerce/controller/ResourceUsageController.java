@@ -0,0 +1,32 @@
+package com.example.ecommerce.controller;
+
+import com.example.ecommerce.dto.EndpointResourceUsage;
+import com.example.ecommerce.web.EndpointResourceStats;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/allocations")
+@Validated
+public class ResourceUsageController {
+    private final EndpointResourceStats endpointResourceStats;
+
+    public ResourceUsageController(EndpointResourceStats endpointResourceStats) {
+        this.endpointResourceStats = endpointResourceStats;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<EndpointResourceUsage>> getTopAllocators(
+            @RequestParam(defaultValue = "10") @Positive(message = "Limit must be positive")
+            @Max(value = 100, message = "Limit cannot exceed 100") int limit) {
+        return ResponseEntity.ok(endpointResourceStats.topAllocators(limit));
+    }
+}
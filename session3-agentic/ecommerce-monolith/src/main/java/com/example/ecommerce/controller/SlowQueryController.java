@@ -0,0 +1,46 @@
+package com.example.ecommerce.controller;
+
+import com.example.ecommerce.dto.SlowQuery;
+import com.example.ecommerce.sql.SlowQueryLog;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/slow-queries")
+@Validated
+public class SlowQueryController {
+    private final SlowQueryLog slowQueryLog;
+
+    public SlowQueryController(ObjectProvider<SlowQueryLog> slowQueryLog) {
+        this.slowQueryLog = slowQueryLog.getIfAvailable();
+    }
+
+    @GetMapping
+    public ResponseEntity<List<SlowQuery>> getSlowQueries(
+            @RequestParam(defaultValue = "50") @Positive(message = "Limit must be positive")
+            @Max(value = 1000, message = "Limit cannot exceed 1000") int limit) {
+        if (slowQueryLog == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(slowQueryLog.getSlowQueries(limit));
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> clearSlowQueries() {
+        if (slowQueryLog == null) {
+            return ResponseEntity.notFound().build();
+        }
+        slowQueryLog.clear();
+        return ResponseEntity.noContent().build();
+    }
+}
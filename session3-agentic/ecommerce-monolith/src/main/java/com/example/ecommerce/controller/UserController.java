@@ -1,8 +1,11 @@
 package com.example.ecommerce.controller;
 
+import com.example.ecommerce.dto.CursorPage;
+import com.example.ecommerce.dto.CursorPageRequest;
 import com.example.ecommerce.entity.User;
 import com.example.ecommerce.service.UserService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
 import org.slf4j.Logger;
@@ -12,8 +15,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 /**
  * REST controller for user management operations.
  * Provides endpoints for creating, retrieving, updating, and deleting users.
@@ -53,15 +54,21 @@ public class UserController {
     }
 
     /**
-     * Retrieves all users.
+     * Retrieves one page of users in creation order.
      * 
-     * @return ResponseEntity with list of all users and HTTP 200 status
+     * @param cursor The nextCursor of the previous page, or absent for the first page
+     * @param size The maximum number of users to return (1-100)
+     * @param includeTotal Whether to count all users, up to 10,000
+     * @return ResponseEntity with the page of users and HTTP 200 status
      */
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
-        log.debug("GET /api/users - Retrieving all users");
-        List<User> users = userService.getAllUsers();
-        log.debug("Retrieved {} users via API", users.size());
+    public ResponseEntity<CursorPage<User>> getAllUsers(@RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = "20") @Positive(message = "Page size must be positive")
+                                                        @Max(value = 100, message = "Page size cannot exceed 100") int size,
+                                                        @RequestParam(defaultValue = "false") boolean includeTotal) {
+        log.debug("GET /api/users - Retrieving page of {} users", size);
+        CursorPage<User> users = userService.getUsers(CursorPageRequest.of(cursor, size, includeTotal));
+        log.debug("Retrieved {} users via API", users.items().size());
         return ResponseEntity.ok(users);
     }
 
@@ -0,0 +1,30 @@
+package com.example.ecommerce.dto;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+/**
+ * Data Transfer Object with the effectiveness counters of one in-process cache.
+ *
+ * @param name Cache name
+ * @param size Entries currently held
+ * @param hits Lookups answered from the cache
+ * @param misses Lookups that had to load
+ * @param hitRatio Hits divided by all lookups, 1.0 when there were none
+ * @param averageLoadMillis Mean time spent loading a missing entry
+ * @param evictions Entries dropped by size or age
+ */
+public record CacheStats(
+        String name,
+        long size,
+        long hits,
+        long misses,
+        double hitRatio,
+        double averageLoadMillis,
+        long evictions
+) {
+    public static CacheStats from(String name, Cache<?, ?> cache) {
+        com.github.benmanes.caffeine.cache.stats.CacheStats stats = cache.stats();
+        return new CacheStats(name, cache.estimatedSize(), stats.hitCount(), stats.missCount(), stats.hitRate(),
+                stats.averageLoadPenalty() / 1_000_000.0, stats.evictionCount());
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.ecommerce.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object with one page of a list ordered by creation time and ID.
+ *
+ * @param items Rows on this page
+ * @param nextCursor Cursor for the following page, or null if this is the last page
+ * @param totalCount Number of matching rows if requested, at most {@link CursorPageRequest#MAX_TOTAL_COUNT}
+ * @param totalCountCapped Whether counting stopped at the cap, so there are more rows than reported
+ * @param <T> Row type
+ */
+public record CursorPage<T>(
+        List<T> items,
+        String nextCursor,
+        Long totalCount,
+        Boolean totalCountCapped
+) {
+}
@@ -0,0 +1,33 @@
+package com.example.ecommerce.dto;
+
+/**
+ * Data Transfer Object describing which page of a keyset-paginated list to return.
+ *
+ * @param after Position after which the page starts, or null for the first page
+ * @param size Most rows to return
+ * @param includeTotal Whether to count all matching rows, up to {@link #MAX_TOTAL_COUNT}
+ */
+public record CursorPageRequest(
+        PageCursor after,
+        int size,
+        boolean includeTotal
+) {
+    /**
+     * Counting stops here, so asking for a total never scans more than this many rows.
+     */
+    public static final int MAX_TOTAL_COUNT = 10_000;
+
+    public CursorPageRequest {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+    }
+
+    public static CursorPageRequest of(String cursor, int size, boolean includeTotal) {
+        return new CursorPageRequest(cursor == null || cursor.isBlank() ? null : PageCursor.decode(cursor), size, includeTotal);
+    }
+
+    public static CursorPageRequest first(int size) {
+        return new CursorPageRequest(null, size, false);
+    }
+}
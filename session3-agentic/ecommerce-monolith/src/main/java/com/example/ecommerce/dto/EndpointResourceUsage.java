@@ -0,0 +1,26 @@
+package com.example.ecommerce.dto;
+
+/**
+ * Data Transfer Object with the heap allocation and CPU time charged to one endpoint
+ * since startup, measured on the request thread.
+ *
+ * @param endpoint Controller simple name and method name, e.g. {@code OrderController.getAllOrders}
+ * @param requests Requests measured
+ * @param allocatedBytes Bytes allocated by all of them
+ * @param allocationShare Fraction of the bytes allocated by all measured requests
+ * @param meanAllocatedBytes Bytes allocated per request
+ * @param maxAllocatedBytes Most bytes a single request allocated
+ * @param cpuMillis CPU time used by all of them
+ * @param meanCpuMillis CPU time per request
+ */
+public record EndpointResourceUsage(
+        String endpoint,
+        long requests,
+        long allocatedBytes,
+        double allocationShare,
+        long meanAllocatedBytes,
+        long maxAllocatedBytes,
+        double cpuMillis,
+        double meanCpuMillis
+) {
+}
@@ -0,0 +1,19 @@
+package com.example.ecommerce.dto;
+
+/**
+ * Data Transfer Object with counters for the idempotency-key store.
+ *
+ * @param hits Requests answered with a stored response
+ * @param misses Requests that ran because their key was new
+ * @param evictions Stored responses dropped from memory by size or age
+ * @param size Stored responses currently held in memory
+ * @param inFlight Keys whose first request is still running
+ */
+public record IdempotencyStats(
+        long hits,
+        long misses,
+        long evictions,
+        long size,
+        long inFlight
+) {
+}
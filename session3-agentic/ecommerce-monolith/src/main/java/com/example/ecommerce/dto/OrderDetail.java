@@ -0,0 +1,50 @@
+package com.example.ecommerce.dto;
+
+import com.example.ecommerce.entity.Order;
+import com.example.ecommerce.money.Money;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Data Transfer Object for a single order with all of its lines.
+ *
+ * @param id Order ID
+ * @param user The ordering user
+ * @param status Order status
+ * @param totalAmount Order total
+ * @param shippingAddress Shipping address, if any
+ * @param billingAddress Billing address, if any
+ * @param createdAt When the order was placed
+ * @param updatedAt When the order last changed, if ever
+ * @param completedAt When the order was delivered, if it was
+ * @param items Order lines
+ */
+public record OrderDetail(
+        Long id,
+        UserSummary user,
+        Order.OrderStatus status,
+        Money totalAmount,
+        String shippingAddress,
+        String billingAddress,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        LocalDateTime completedAt,
+        List<OrderItemLine> items
+) {
+    /**
+     * Flat form used by constructor expressions, which cannot nest. Lines are added
+     * with {@link #withItems(List)} after a second query.
+     */
+    public OrderDetail(Long id, Long userId, String username, String email, String firstName, String lastName,
+                       Order.OrderStatus status, Money totalAmount, String shippingAddress, String billingAddress,
+                       LocalDateTime createdAt, LocalDateTime updatedAt, LocalDateTime completedAt) {
+        this(id, new UserSummary(userId, username, email, firstName, lastName), status, totalAmount,
+                shippingAddress, billingAddress, createdAt, updatedAt, completedAt, List.of());
+    }
+
+    public OrderDetail withItems(List<OrderItemLine> items) {
+        return new OrderDetail(id, user, status, totalAmount, shippingAddress, billingAddress,
+                createdAt, updatedAt, completedAt, List.copyOf(items));
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.ecommerce.dto;
+
+import com.example.ecommerce.entity.Order;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object selecting the orders included in an export.
+ *
+ * @param status Only orders in this status, or null for all
+ * @param from Only orders created at or after this time, or null for no lower bound
+ * @param to Only orders created before this time, or null for no upper bound
+ */
+public record OrderExportFilter(
+        Order.OrderStatus status,
+        LocalDateTime from,
+        LocalDateTime to
+) {
+    public OrderExportFilter {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("Export range start must be before its end");
+        }
+    }
+}
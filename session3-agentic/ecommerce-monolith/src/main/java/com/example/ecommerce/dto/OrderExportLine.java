@@ -0,0 +1,61 @@
+package com.example.ecommerce.dto;
+
+import com.example.ecommerce.entity.Order;
+import com.example.ecommerce.entity.OrderItem;
+import com.example.ecommerce.money.Money;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Data Transfer Object for one order in an NDJSON export, written as a single line.
+ *
+ * @param id Order ID
+ * @param userId ID of the ordering user
+ * @param username Username of the ordering user
+ * @param status Order status
+ * @param totalAmount Order total
+ * @param shippingAddress Shipping address, if any
+ * @param billingAddress Billing address, if any
+ * @param createdAt When the order was placed
+ * @param updatedAt When the order last changed, if ever
+ * @param completedAt When the order was delivered, if it was
+ * @param items Order lines
+ */
+public record OrderExportLine(
+        Long id,
+        Long userId,
+        String username,
+        Order.OrderStatus status,
+        Money totalAmount,
+        String shippingAddress,
+        String billingAddress,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        LocalDateTime completedAt,
+        List<Item> items
+) {
+    public static OrderExportLine from(Order order, List<OrderItem> orderItems) {
+        return new OrderExportLine(order.getId(), order.getUser().getId(), order.getUser().getUsername(),
+                order.getStatus(), order.getTotalAmount(), order.getShippingAddress(), order.getBillingAddress(),
+                order.getCreatedAt(), order.getUpdatedAt(), order.getCompletedAt(),
+                orderItems.stream().map(Item::from).toList());
+    }
+
+    /**
+     * One order line.
+     *
+     * @param productId Product ID
+     * @param sku Product SKU
+     * @param productName Product name
+     * @param quantity Quantity ordered
+     * @param price Unit price at the time of the order
+     * @param subtotal Quantity times unit price
+     */
+    public record Item(Long productId, String sku, String productName, Integer quantity, Money price, Money subtotal) {
+        static Item from(OrderItem item) {
+            return new Item(item.getProduct().getId(), item.getProduct().getSku(), item.getProduct().getName(),
+                    item.getQuantity(), item.getPrice(), item.getSubtotal());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.ecommerce.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for one order in an NDJSON bulk import, read from a single line.
+ *
+ * @param reference Partner's own order reference, echoed back in the result
+ * @param userId ID of the ordering user
+ * @param shippingAddress Shipping address, if any
+ * @param billingAddress Billing address, if any
+ * @param items Requested lines
+ */
+public record OrderImportRecord(
+        String reference,
+        Long userId,
+        String shippingAddress,
+        String billingAddress,
+        List<Item> items
+) {
+    /**
+     * One requested line of an imported order.
+     *
+     * @param productId Product ID
+     * @param quantity Quantity ordered
+     */
+    public record Item(Long productId, Integer quantity) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.ecommerce.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Data Transfer Object for the outcome of one record of an NDJSON bulk import, written as a single line.
+ *
+ * @param line Line number of the record in the request body
+ * @param reference The record's partner reference, if it could be read
+ * @param status Whether the order was created
+ * @param orderId ID of the created order
+ * @param error Why the record was rejected
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record OrderImportResult(long line, String reference, Status status, Long orderId, String error) {
+
+    public static OrderImportResult created(long line, String reference, Long orderId) {
+        return new OrderImportResult(line, reference, Status.CREATED, orderId, null);
+    }
+
+    public static OrderImportResult rejected(long line, String reference, String error) {
+        return new OrderImportResult(line, reference, Status.REJECTED, null, error);
+    }
+
+    public enum Status {
+        CREATED,
+        REJECTED
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.ecommerce.dto;
+
+import com.example.ecommerce.money.Money;
+
+/**
+ * Data Transfer Object for one line of an order with the product it refers to.
+ * Built directly by a JPQL constructor expression.
+ *
+ * @param id Order item ID
+ * @param productId Product ID
+ * @param productName Product name
+ * @param sku Product SKU
+ * @param quantity Quantity ordered
+ * @param price Unit price at the time of the order
+ * @param subtotal Quantity times unit price
+ */
+public record OrderItemLine(
+        Long id,
+        Long productId,
+        String productName,
+        String sku,
+        Integer quantity,
+        Money price,
+        Money subtotal
+) {
+}
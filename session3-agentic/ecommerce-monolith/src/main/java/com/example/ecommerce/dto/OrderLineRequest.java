@@ -0,0 +1,25 @@
+package com.example.ecommerce.dto;
+
+import com.example.ecommerce.entity.OrderItem;
+import com.example.ecommerce.entity.Product;
+import com.example.ecommerce.money.Money;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Data Transfer Object for one requested line of a new order.
+ * The unit price is not part of the request; the order takes it from the product.
+ *
+ * @param productId Product ID
+ * @param quantity Quantity ordered
+ */
+public record OrderLineRequest(
+        @NotNull(message = "Product ID is required") @Positive(message = "Product ID must be positive") Long productId,
+        @NotNull(message = "Quantity is required") @Positive(message = "Quantity must be positive") Integer quantity
+) {
+    public OrderItem toOrderItem() {
+        Product product = new Product();
+        product.setId(productId);
+        return new OrderItem(product, quantity, Money.ZERO);
+    }
+}
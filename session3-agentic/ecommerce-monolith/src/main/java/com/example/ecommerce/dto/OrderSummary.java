@@ -0,0 +1,34 @@
+package com.example.ecommerce.dto;
+
+import com.example.ecommerce.entity.Order;
+import com.example.ecommerce.money.Money;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for an order in a list: the header, who placed it and how many lines it has.
+ * Built directly by a JPQL constructor expression.
+ *
+ * @param id Order ID
+ * @param user The ordering user
+ * @param status Order status
+ * @param totalAmount Order total
+ * @param itemCount Number of order lines
+ * @param createdAt When the order was placed
+ */
+public record OrderSummary(
+        Long id,
+        UserSummary user,
+        Order.OrderStatus status,
+        Money totalAmount,
+        long itemCount,
+        LocalDateTime createdAt
+) {
+    /**
+     * Flat form used by constructor expressions, which cannot nest.
+     */
+    public OrderSummary(Long id, Long userId, String username, String email, String firstName, String lastName,
+                        Order.OrderStatus status, Money totalAmount, long itemCount, LocalDateTime createdAt) {
+        this(id, new UserSummary(userId, username, email, firstName, lastName), status, totalAmount, itemCount, createdAt);
+    }
+}
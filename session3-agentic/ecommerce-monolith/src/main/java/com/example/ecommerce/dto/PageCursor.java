@@ -0,0 +1,66 @@
+package com.example.ecommerce.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Position in a list ordered by creation time and ID, handed to clients as an opaque token.
+ * The next page starts with the first row created after {@code createdAt}, or at the
+ * same time with a greater {@code id}.
+ *
+ * @param createdAt Creation time of the last row on the previous page
+ * @param id ID of the last row on the previous page
+ */
+public record PageCursor(LocalDateTime createdAt, Long id) {
+
+    /**
+     * Encodes the cursor as a URL-safe token.
+     *
+     * @return The opaque cursor token
+     */
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @param token The opaque cursor token
+     * @return The cursor
+     * @throws IllegalArgumentException if the token is not a valid cursor
+     */
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new PageCursor(LocalDateTime.parse(raw.substring(0, separator)), Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+    }
+
+    /**
+     * Returns the cursor as keyset values keyed by entity property.
+     *
+     * @return The createdAt and id values
+     */
+    public Map<String, Object> toKeys() {
+        return Map.of("createdAt", createdAt, "id", id);
+    }
+
+    /**
+     * Returns whether a row comes after this cursor in creation-time, ID order.
+     *
+     * @param rowCreatedAt The row's creation time
+     * @param rowId The row's ID
+     * @return true if the row belongs to a later page
+     */
+    public boolean isBefore(LocalDateTime rowCreatedAt, Long rowId) {
+        int byTime = rowCreatedAt.compareTo(createdAt);
+        return byTime > 0 || (byTime == 0 && rowId > id);
+    }
+}
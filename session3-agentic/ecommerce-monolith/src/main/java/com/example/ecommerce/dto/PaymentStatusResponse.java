@@ -0,0 +1,27 @@
+package com.example.ecommerce.dto;
+
+import com.example.ecommerce.entity.Payment;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object describing where a payment is in its processing life cycle.
+ *
+ * @param paymentId The payment ID
+ * @param status Current payment status
+ * @param transactionId Gateway transaction ID, once the payment has completed
+ * @param completedAt When the payment completed, if it has
+ * @param statusUrl URL to poll for the latest status
+ */
+public record PaymentStatusResponse(
+        Long paymentId,
+        Payment.PaymentStatus status,
+        String transactionId,
+        LocalDateTime completedAt,
+        String statusUrl
+) {
+    public static PaymentStatusResponse from(Payment payment, String statusUrl) {
+        return new PaymentStatusResponse(payment.getId(), payment.getStatus(), payment.getTransactionId(),
+                payment.getCompletedAt(), statusUrl);
+    }
+}
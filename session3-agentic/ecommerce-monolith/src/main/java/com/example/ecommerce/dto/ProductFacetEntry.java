@@ -0,0 +1,20 @@
+package com.example.ecommerce.dto;
+
+import com.example.ecommerce.entity.Product;
+
+/**
+ * Data Transfer Object with the browse facets of one product.
+ *
+ * @param productId The product ID
+ * @param category Product category, if any
+ * @param active Whether the product is listed
+ */
+public record ProductFacetEntry(
+        Long productId,
+        String category,
+        boolean active
+) {
+    public static ProductFacetEntry from(Product product) {
+        return new ProductFacetEntry(product.getId(), product.getCategory(), Boolean.TRUE.equals(product.getActive()));
+    }
+}
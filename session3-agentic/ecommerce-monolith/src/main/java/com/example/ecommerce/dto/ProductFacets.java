@@ -0,0 +1,22 @@
+package com.example.ecommerce.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data Transfer Object with the products matching a set of browse filters and
+ * the counts for each facet value. Counts for a facet apply every filter except
+ * that facet's own, so they show how many products picking that value would give.
+ *
+ * @param totalMatches Number of products matching all filters
+ * @param productIds Matching product IDs in ascending order, limited to the requested window
+ * @param categoryCounts Matching products per category
+ * @param activeCounts Matching products per active flag
+ */
+public record ProductFacets(
+        long totalMatches,
+        List<Long> productIds,
+        Map<String, Long> categoryCounts,
+        Map<Boolean, Long> activeCounts
+) {
+}
@@ -0,0 +1,25 @@
+package com.example.ecommerce.dto;
+
+import com.example.ecommerce.entity.Product;
+
+/**
+ * Data Transfer Object with the searchable text of one product.
+ *
+ * @param productId The product ID
+ * @param name Product name
+ * @param description Product description, if any
+ * @param category Product category, if any
+ * @param sku Stock keeping unit
+ */
+public record ProductSearchDocument(
+        Long productId,
+        String name,
+        String description,
+        String category,
+        String sku
+) {
+    public static ProductSearchDocument from(Product product) {
+        return new ProductSearchDocument(product.getId(), product.getName(), product.getDescription(),
+                product.getCategory(), product.getSku());
+    }
+}
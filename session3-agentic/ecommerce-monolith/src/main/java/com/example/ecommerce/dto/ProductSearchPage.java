@@ -0,0 +1,23 @@
+package com.example.ecommerce.dto;
+
+import com.example.ecommerce.entity.Product;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object with one page of product search results, best match first.
+ *
+ * @param query The search query
+ * @param page Zero-based page number
+ * @param size Requested page size
+ * @param totalHits Number of products matching the query
+ * @param products Products on this page
+ */
+public record ProductSearchPage(
+        String query,
+        int page,
+        int size,
+        long totalHits,
+        List<Product> products
+) {
+}
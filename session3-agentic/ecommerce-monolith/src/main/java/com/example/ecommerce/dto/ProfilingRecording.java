@@ -0,0 +1,41 @@
+package com.example.ecommerce.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object describing one on-demand flight recording.
+ *
+ * @param id Recording ID
+ * @param profile JFR settings used, {@code default} or {@code profile}
+ * @param status Where the recording is in its lifecycle
+ * @param startedAt When recording started
+ * @param durationSeconds How long it records for
+ * @param fileSizeBytes Size of the {@code .jfr} file, or 0 while still recording
+ * @param summary Hot methods, allocation sites, lock contention and GC pauses; null until completed
+ * @param error Why parsing failed; null unless failed
+ */
+public record ProfilingRecording(
+        long id,
+        String profile,
+        Status status,
+        LocalDateTime startedAt,
+        long durationSeconds,
+        long fileSizeBytes,
+        ProfilingSummary summary,
+        String error
+) {
+
+    /**
+     * Lifecycle of a recording.
+     */
+    public enum Status {
+        /** Collecting events. */
+        RUNNING,
+        /** Stopped and being parsed. */
+        ANALYZING,
+        /** Parsed; the summary and the file are available. */
+        COMPLETED,
+        /** Stopping or parsing failed; the file may still be available. */
+        FAILED
+    }
+}
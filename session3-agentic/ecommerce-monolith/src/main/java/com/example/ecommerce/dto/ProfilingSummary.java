@@ -0,0 +1,61 @@
+package com.example.ecommerce.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object summarising a flight recording: where the CPU went, what was
+ * allocated, which locks threads waited on and how long the JVM paused for GC.
+ * Methods are named {@code fully.qualified.Class.method}.
+ *
+ * @param executionSamples Java stack samples taken; the share of a hot method is relative to these
+ * @param sampledAllocationBytes Heap bytes the allocation samples stand for
+ * @param topCpuMethods Methods most often on top of the stack, most samples first
+ * @param topAllocationSites Allocating method and allocated class, most bytes first
+ * @param lockContention Monitors and locks threads blocked on, longest total wait first
+ * @param gcPauses Pauses per garbage collector
+ */
+public record ProfilingSummary(
+        long executionSamples,
+        long sampledAllocationBytes,
+        List<HotMethod> topCpuMethods,
+        List<AllocationSite> topAllocationSites,
+        List<LockContention> lockContention,
+        List<GcPauses> gcPauses
+) {
+
+    /**
+     * @param method Method executing when sampled
+     * @param samples Samples with this method on top of the stack
+     * @param share Fraction of all execution samples
+     */
+    public record HotMethod(String method, long samples, double share) {
+    }
+
+    /**
+     * @param method Method that allocated
+     * @param objectClass Class of the allocated objects
+     * @param bytes Heap bytes the samples stand for
+     * @param share Fraction of all sampled bytes
+     */
+    public record AllocationSite(String method, String objectClass, long bytes, double share) {
+    }
+
+    /**
+     * @param lockClass Class of the contended monitor or lock
+     * @param method First application method waiting for it, or the top frame if there is none
+     * @param events Waits recorded; only waits above the profile's threshold (10 or 20 ms) are recorded
+     * @param totalMillis Time spent waiting
+     * @param maxMillis Longest single wait
+     */
+    public record LockContention(String lockClass, String method, long events, double totalMillis, double maxMillis) {
+    }
+
+    /**
+     * @param collector Collector name, e.g. {@code G1New}
+     * @param collections Collections run
+     * @param totalPauseMillis Time application threads were paused
+     * @param longestPauseMillis Longest single pause
+     */
+    public record GcPauses(String collector, long collections, double totalPauseMillis, double longestPauseMillis) {
+    }
+}
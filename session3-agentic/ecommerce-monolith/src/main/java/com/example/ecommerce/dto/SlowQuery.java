@@ -0,0 +1,30 @@
+package com.example.ecommerce.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Data Transfer Object describing one SQL statement that took longer than the slow-query threshold.
+ * Bind values are not kept, only their types, so the log holds no customer data.
+ *
+ * @param occurredAt When the statement finished
+ * @param elapsedMillis How long it ran, including any batch it belonged to
+ * @param sql Statement with literals replaced by {@code ?} and whitespace collapsed
+ * @param parameterTypes Type of each bind parameter in order, e.g. {@code Long} or {@code null}
+ * @param batchSize Statements sent in the same JDBC batch, or 0 if not batched
+ * @param callSite Repository method that ran it, e.g. {@code OrderRepository.findByUserId}, or the
+ *                 first application method on the stack when it ran outside a repository
+ * @param success Whether it completed without an exception
+ * @param plan Database plan from {@code EXPLAIN}, or null if the statement cannot be explained
+ */
+public record SlowQuery(
+        LocalDateTime occurredAt,
+        long elapsedMillis,
+        String sql,
+        List<String> parameterTypes,
+        int batchSize,
+        String callSite,
+        boolean success,
+        String plan
+) {
+}
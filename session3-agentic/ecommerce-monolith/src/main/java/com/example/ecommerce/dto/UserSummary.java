@@ -0,0 +1,19 @@
+package com.example.ecommerce.dto;
+
+/**
+ * Data Transfer Object with the public identity of a user, shown on orders.
+ *
+ * @param id User ID
+ * @param username Username
+ * @param email Email address
+ * @param firstName First name, if given
+ * @param lastName Last name, if given
+ */
+public record UserSummary(
+        Long id,
+        String username,
+        String email,
+        String firstName,
+        String lastName
+) {
+}
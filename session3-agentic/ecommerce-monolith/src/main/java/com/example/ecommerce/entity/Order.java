@@ -1,21 +1,38 @@
 package com.example.ecommerce.entity;
 
+import com.example.ecommerce.money.Money;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@NamedEntityGraph(name = Order.SUMMARY_GRAPH)
+@NamedEntityGraph(name = Order.WITH_ITEMS_GRAPH,
+        attributeNodes = @NamedAttributeNode(value = "orderItems", subgraph = "items"),
+        subgraphs = @NamedSubgraph(name = "items", attributeNodes = @NamedAttributeNode("product")))
+@NamedEntityGraph(name = Order.FULL_GRAPH,
+        attributeNodes = {@NamedAttributeNode("user"), @NamedAttributeNode(value = "orderItems", subgraph = "items")},
+        subgraphs = @NamedSubgraph(name = "items", attributeNodes = @NamedAttributeNode("product")))
 @Table(name = "orders")
 public class Order {
+    /** Fetch plan for the order row alone. */
+    public static final String SUMMARY_GRAPH = "Order.summary";
+    /** Fetch plan for the order with its items and their products. */
+    public static final String WITH_ITEMS_GRAPH = "Order.withItems";
+    /** Fetch plan for the whole aggregate: items, their products and the user. */
+    public static final String FULL_GRAPH = "Order.full";
+
+    // Pooled sequence rather than IDENTITY, so order and item inserts can be sent as JDBC batches
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
+    // Not optional, so derived queries on user.id use an inner join the database can start from the user_id index
     @NotNull(message = "User is required")
-    @ManyToOne
+    @ManyToOne(optional = false)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
@@ -24,7 +41,7 @@ public class Order {
 
     @NotNull(message = "Total amount is required")
     @Column(nullable = false)
-    private BigDecimal totalAmount = BigDecimal.ZERO;
+    private Money totalAmount = Money.ZERO;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -50,7 +67,8 @@ public class Order {
     public void addOrderItem(OrderItem item) {
         orderItems.add(item);
         item.setOrder(this);
-        calculateTotalAmount();
+        // Add the new line rather than re-summing every line, which made large orders quadratic
+        totalAmount = totalAmount.plus(item.getSubtotal());
     }
 
     public void removeOrderItem(OrderItem item) {
@@ -60,9 +78,12 @@ public class Order {
     }
 
     public void calculateTotalAmount() {
-        this.totalAmount = orderItems.stream()
-                .map(OrderItem::getSubtotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // Sum the cents in a primitive and allocate only the result
+        long total = 0;
+        for (OrderItem item : orderItems) {
+            total = Math.addExact(total, item.getSubtotal().minorUnits());
+        }
+        this.totalAmount = Money.ofMinor(total);
     }
 
     // Getters and Setters
@@ -90,11 +111,11 @@ public class Order {
         this.orderItems = orderItems;
     }
 
-    public BigDecimal getTotalAmount() {
+    public Money getTotalAmount() {
         return totalAmount;
     }
 
-    public void setTotalAmount(BigDecimal totalAmount) {
+    public void setTotalAmount(Money totalAmount) {
         this.totalAmount = totalAmount;
     }
 
@@ -1,17 +1,21 @@
 package com.example.ecommerce.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.example.ecommerce.money.Money;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
-import java.math.BigDecimal;
 
 @Entity
 @Table(name = "order_items")
 public class OrderItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", sequenceName = "order_items_seq", allocationSize = 50)
     private Long id;
 
+    // Back-reference; serializing it would recurse into the order forever
+    @JsonIgnore
     @NotNull
     @ManyToOne
     @JoinColumn(name = "order_id", nullable = false)
@@ -29,15 +33,15 @@ public class OrderItem {
 
     @NotNull(message = "Price is required")
     @Column(nullable = false)
-    private BigDecimal price;
+    private Money price;
 
     @Column(nullable = false)
-    private BigDecimal subtotal;
+    private Money subtotal;
 
     // Constructors
     public OrderItem() {}
 
-    public OrderItem(Product product, Integer quantity, BigDecimal price) {
+    public OrderItem(Product product, Integer quantity, Money price) {
         this.product = product;
         this.quantity = quantity;
         this.price = price;
@@ -46,7 +50,7 @@ public class OrderItem {
 
     // Business methods
     public void calculateSubtotal() {
-        this.subtotal = price.multiply(BigDecimal.valueOf(quantity));
+        this.subtotal = price.times(quantity);
     }
 
     // Getters and Setters
@@ -83,20 +87,20 @@ public class OrderItem {
         calculateSubtotal();
     }
 
-    public BigDecimal getPrice() {
+    public Money getPrice() {
         return price;
     }
 
-    public void setPrice(BigDecimal price) {
+    public void setPrice(Money price) {
         this.price = price;
         calculateSubtotal();
     }
 
-    public BigDecimal getSubtotal() {
+    public Money getSubtotal() {
         return subtotal;
     }
 
-    public void setSubtotal(BigDecimal subtotal) {
+    public void setSubtotal(Money subtotal) {
         this.subtotal = subtotal;
     }
 
@@ -1,8 +1,8 @@
 package com.example.ecommerce.entity;
 
+import com.example.ecommerce.money.Money;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
@@ -12,14 +12,15 @@ public class Payment {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Not optional, so derived queries on order.id use an inner join the database can start from the order_id index
     @NotNull(message = "Order is required")
-    @OneToOne
+    @OneToOne(optional = false)
     @JoinColumn(name = "order_id", nullable = false)
     private Order order;
 
     @NotNull(message = "Amount is required")
     @Column(nullable = false)
-    private BigDecimal amount;
+    private Money amount;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -41,7 +42,7 @@ public class Payment {
     // Constructors
     public Payment() {}
 
-    public Payment(Order order, BigDecimal amount, PaymentMethod paymentMethod) {
+    public Payment(Order order, Money amount, PaymentMethod paymentMethod) {
         this.order = order;
         this.amount = amount;
         this.paymentMethod = paymentMethod;
@@ -64,11 +65,11 @@ public class Payment {
         this.order = order;
     }
 
-    public BigDecimal getAmount() {
+    public Money getAmount() {
         return amount;
     }
 
-    public void setAmount(BigDecimal amount) {
+    public void setAmount(Money amount) {
         this.amount = amount;
     }
 
@@ -133,6 +134,14 @@ public class Payment {
         this.updatedAt = LocalDateTime.now();
     }
 
+    // Business methods
+    public void transitionTo(PaymentStatus newStatus) {
+        if (!status.canTransitionTo(newStatus)) {
+            throw new IllegalStateException("Payment cannot move from " + status + " to " + newStatus);
+        }
+        this.status = newStatus;
+    }
+
     public enum PaymentMethod {
         CREDIT_CARD,
         DEBIT_CARD,
@@ -146,6 +155,19 @@ public class Payment {
         PROCESSING,
         COMPLETED,
         FAILED,
-        REFUNDED
+        REFUNDED;
+
+        public boolean canTransitionTo(PaymentStatus next) {
+            return switch (this) {
+                case PENDING -> next == PROCESSING;
+                case PROCESSING -> next == COMPLETED || next == FAILED;
+                case COMPLETED -> next == REFUNDED;
+                case FAILED, REFUNDED -> false;
+            };
+        }
+
+        public boolean isFinal() {
+            return this != PENDING && this != PROCESSING;
+        }
     }
 }
@@ -1,13 +1,18 @@
 package com.example.ecommerce.entity;
 
+import com.example.ecommerce.money.Money;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import org.hibernate.annotations.DynamicUpdate;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
+// Updates write only the changed columns, so saving a product leaves stock_quantity to the
+// guarded stock updates and the stock ledger's flushes unless the stock itself was changed
+@DynamicUpdate
 @Table(name = "products")
 public class Product {
     @Id
@@ -24,7 +29,7 @@ public class Product {
     @NotNull(message = "Price is required")
     @Positive(message = "Price must be positive")
     @Column(nullable = false)
-    private BigDecimal price;
+    private Money price;
 
     @NotBlank(message = "SKU is required")
     @Column(unique = true, nullable = false)
@@ -48,13 +53,17 @@ public class Product {
     // Constructors
     public Product() {}
 
-    public Product(String name, String sku, BigDecimal price, Integer stockQuantity) {
+    public Product(String name, String sku, Money price, Integer stockQuantity) {
         this.name = name;
         this.sku = sku;
         this.price = price;
         this.stockQuantity = stockQuantity;
     }
 
+    public Product(String name, String sku, BigDecimal price, Integer stockQuantity) {
+        this(name, sku, Money.of(price), stockQuantity);
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -80,11 +89,11 @@ public class Product {
         this.description = description;
     }
 
-    public BigDecimal getPrice() {
+    public Money getPrice() {
         return price;
     }
 
-    public void setPrice(BigDecimal price) {
+    public void setPrice(Money price) {
         this.price = price;
     }
 
@@ -0,0 +1,41 @@
+package com.example.ecommerce.event;
+
+import com.example.ecommerce.entity.Product;
+
+/**
+ * Published by {@code ProductService} whenever a product is written, so in-memory
+ * views of the catalog can update themselves once the change has committed.
+ *
+ * @param type What kind of write happened
+ * @param product The product as written; for deletions, as it was before
+ * @param previousCategory The category before an update, which may differ from the current one
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+public record ProductChangedEvent(ChangeType type, Product product, String previousCategory) {
+
+    public static ProductChangedEvent created(Product product) {
+        return new ProductChangedEvent(ChangeType.CREATED, product, product.getCategory());
+    }
+
+    public static ProductChangedEvent updated(Product product, String previousCategory) {
+        return new ProductChangedEvent(ChangeType.UPDATED, product, previousCategory);
+    }
+
+    public static ProductChangedEvent stockChanged(Product product) {
+        return new ProductChangedEvent(ChangeType.STOCK_CHANGED, product, product.getCategory());
+    }
+
+    public static ProductChangedEvent deleted(Product product) {
+        return new ProductChangedEvent(ChangeType.DELETED, product, product.getCategory());
+    }
+
+    public Long productId() {
+        return product.getId();
+    }
+
+    public enum ChangeType {
+        CREATED, UPDATED, STOCK_CHANGED, DELETED
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.ecommerce.gateway;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Micro-batching decorator for a payment gateway.
+ * Charges from concurrent callers are queued and sent to the delegate as one batch call
+ * once {@code maxBatchSize} charges are waiting or the oldest has waited {@code maxWait},
+ * whichever comes first. Each caller blocks until the result for its own payment is back,
+ * or gives up once {@code timeout} has passed without one: a charge still queued then fails,
+ * while one already sent throws {@link ChargeOutcomeUnknownException}, as it may have gone through.
+ * Several batches can be in flight at once, so a slow gateway does not stall the queue.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+public class BatchingPaymentGateway implements PaymentGateway, AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(BatchingPaymentGateway.class);
+
+    private final PaymentGateway delegate;
+    private final int maxBatchSize;
+    private final Duration maxWait;
+    private final Duration timeout;
+    private final BlockingQueue<PendingCharge> queue = new LinkedBlockingQueue<>();
+    private final ExecutorService batchExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("payment-batch-", 0).factory());
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+
+    /**
+     * Constructs a new BatchingPaymentGateway and starts its dispatcher.
+     *
+     * @param delegate The gateway that receives the batch calls
+     * @param maxBatchSize Most charges sent in one batch call
+     * @param maxWait Longest time a charge waits for its batch to fill up
+     * @param timeout Longest time a caller waits for its result, batching and gateway call included
+     */
+    public BatchingPaymentGateway(PaymentGateway delegate, int maxBatchSize, Duration maxWait, Duration timeout) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        this.delegate = delegate;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWait = maxWait;
+        this.timeout = timeout;
+        this.dispatcher = Thread.ofVirtual().name("payment-batch-dispatcher").start(this::dispatchLoop);
+    }
+
+    @Override
+    public GatewayResult charge(ChargeRequest request) {
+        if (!running) {
+            throw new IllegalStateException("Payment gateway is shut down");
+        }
+        PendingCharge pending = new PendingCharge(request, new CompletableFuture<>());
+        queue.add(pending);
+        // close() may have drained the queue between the check above and the add; take the charge back if so
+        if (!running && queue.remove(pending)) {
+            throw new IllegalStateException("Payment gateway is shut down");
+        }
+        try {
+            return pending.result().get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw giveUp(pending, "Interrupted while waiting for the payment gateway", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Payment gateway batch call failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw giveUp(pending, "No payment gateway result within " + timeout.toMillis() + " ms", e);
+        }
+    }
+
+    // Still queued means it was never sent, so it is safe to drop; otherwise its batch call is in flight
+    private IllegalStateException giveUp(PendingCharge pending, String message, Exception cause) {
+        if (queue.remove(pending)) {
+            return new IllegalStateException(message + "; the charge was not sent", cause);
+        }
+        return new ChargeOutcomeUnknownException(message + "; the charge was sent and may have gone through", cause);
+    }
+
+    @Override
+    public List<GatewayResult> chargeAll(List<ChargeRequest> requests) {
+        return delegate.chargeAll(requests);
+    }
+
+    /**
+     * Stops accepting charges, sends what is queued and waits for in-flight batches.
+     * Charges the dispatcher did not pick up, e.g. because it was interrupted, fail at once.
+     * If the calling thread is interrupted it stops waiting for the dispatcher and keeps its interrupt status.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            dispatcher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<PendingCharge> leftover = new ArrayList<>();
+        queue.drainTo(leftover);
+        IllegalStateException shutDown = new IllegalStateException("Payment gateway is shut down");
+        leftover.forEach(pending -> pending.result().completeExceptionally(shutDown));
+        batchExecutor.close();
+    }
+
+    private void dispatchLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingCharge first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<PendingCharge> batch = collectBatch(first);
+                batchExecutor.execute(() -> submit(batch));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private List<PendingCharge> collectBatch(PendingCharge first) throws InterruptedException {
+        List<PendingCharge> batch = new ArrayList<>(maxBatchSize);
+        batch.add(first);
+        long deadline = System.nanoTime() + maxWait.toNanos();
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remaining <= 0) {
+                break;
+            }
+            PendingCharge next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private void submit(List<PendingCharge> batch) {
+        try {
+            List<GatewayResult> results = delegate.chargeAll(batch.stream().map(PendingCharge::request).toList());
+            Map<Long, GatewayResult> resultsByPayment = new HashMap<>();
+            for (GatewayResult result : results) {
+                resultsByPayment.put(result.paymentId(), result);
+            }
+            for (PendingCharge pending : batch) {
+                Long paymentId = pending.request().paymentId();
+                pending.result().complete(resultsByPayment.getOrDefault(paymentId,
+                        GatewayResult.declined(paymentId, "No result returned by gateway")));
+            }
+            log.debug("Submitted payment batch of {} charges", batch.size());
+        } catch (RuntimeException e) {
+            log.error("Payment batch of {} charges failed", batch.size(), e);
+            batch.forEach(pending -> pending.result().completeExceptionally(e));
+        }
+    }
+
+    private record PendingCharge(ChargeRequest request, CompletableFuture<GatewayResult> result) {
+    }
+}
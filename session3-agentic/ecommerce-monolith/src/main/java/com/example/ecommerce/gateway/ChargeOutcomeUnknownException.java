@@ -0,0 +1,22 @@
+package com.example.ecommerce.gateway;
+
+/**
+ * Thrown when a charge reached the payment gateway but its result never came back.
+ * The customer may or may not have been charged, so the payment must not be failed;
+ * it is left for reconciliation instead.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+public class ChargeOutcomeUnknownException extends IllegalStateException {
+
+    /**
+     * Constructs a new ChargeOutcomeUnknownException.
+     *
+     * @param message The detail message
+     * @param cause Why the result was not received
+     */
+    public ChargeOutcomeUnknownException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.ecommerce.gateway;
+
+import com.example.ecommerce.entity.Payment;
+
+import java.math.BigDecimal;
+
+/**
+ * A charge submitted to the payment gateway.
+ *
+ * @param paymentId ID of the payment being charged, used to match results
+ * @param amount Amount to charge
+ * @param paymentMethod How the customer pays
+ */
+public record ChargeRequest(Long paymentId, BigDecimal amount, Payment.PaymentMethod paymentMethod) {
+
+    public static ChargeRequest from(Payment payment) {
+        return new ChargeRequest(payment.getId(), payment.getAmount().toBigDecimal(), payment.getPaymentMethod());
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.ecommerce.gateway;
+
+/**
+ * The gateway's decision for one charge.
+ *
+ * @param paymentId ID of the payment the result belongs to
+ * @param approved Whether the charge was approved
+ * @param transactionId Gateway transaction ID for approved charges, otherwise null
+ * @param responseMessage Raw response message from the gateway
+ */
+public record GatewayResult(Long paymentId, boolean approved, String transactionId, String responseMessage) {
+
+    public static GatewayResult approved(Long paymentId, String transactionId) {
+        return new GatewayResult(paymentId, true, transactionId, "APPROVED");
+    }
+
+    public static GatewayResult declined(Long paymentId, String responseMessage) {
+        return new GatewayResult(paymentId, false, null, responseMessage);
+    }
+}
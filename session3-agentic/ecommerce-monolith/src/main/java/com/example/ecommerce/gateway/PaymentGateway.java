@@ -0,0 +1,38 @@
+package com.example.ecommerce.gateway;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adapter for an external payment gateway.
+ * Implementations may charge payments one at a time or in batches; callers only
+ * see a result per payment.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+public interface PaymentGateway {
+
+    /**
+     * Charges a single payment. Blocks until the gateway answers.
+     *
+     * @param request The charge to submit
+     * @return The gateway's decision for this payment
+     */
+    GatewayResult charge(ChargeRequest request);
+
+    /**
+     * Charges several payments. Gateways with a batch API override this to make a single call;
+     * the default submits each charge separately.
+     *
+     * @param requests The charges to submit
+     * @return One result per request, in no particular order
+     */
+    default List<GatewayResult> chargeAll(List<ChargeRequest> requests) {
+        List<GatewayResult> results = new ArrayList<>(requests.size());
+        for (ChargeRequest request : requests) {
+            results.add(charge(request));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.ecommerce.gateway;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for a real payment gateway.
+ * Every call, single or batch, costs one round trip of the configured latency and
+ * approves every charge. Counts calls so the cost of per-call pricing can be compared.
+ * Can cap concurrent calls to model a gateway that rate-limits connections.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+public class StubPaymentGateway implements PaymentGateway {
+    private final Duration latency;
+    private final Semaphore connections;
+    private final AtomicLong calls = new AtomicLong();
+
+    /**
+     * Constructs a new StubPaymentGateway with no limit on concurrent calls.
+     *
+     * @param latency Simulated network round trip per gateway call
+     */
+    public StubPaymentGateway(Duration latency) {
+        this(latency, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructs a new StubPaymentGateway.
+     *
+     * @param latency Simulated network round trip per gateway call
+     * @param maxConcurrentCalls Most calls the gateway serves at once; further calls wait
+     */
+    public StubPaymentGateway(Duration latency, int maxConcurrentCalls) {
+        if (maxConcurrentCalls < 1) {
+            throw new IllegalArgumentException("Concurrent calls must be at least 1");
+        }
+        this.latency = latency;
+        this.connections = new Semaphore(maxConcurrentCalls);
+    }
+
+    @Override
+    public GatewayResult charge(ChargeRequest request) {
+        roundTrip();
+        return approve(request);
+    }
+
+    @Override
+    public List<GatewayResult> chargeAll(List<ChargeRequest> requests) {
+        roundTrip();
+        return requests.stream().map(StubPaymentGateway::approve).toList();
+    }
+
+    /**
+     * Returns how many calls have been made to the gateway.
+     *
+     * @return Number of single and batch calls
+     */
+    public long getCallCount() {
+        return calls.get();
+    }
+
+    private void roundTrip() {
+        calls.incrementAndGet();
+        try {
+            connections.acquire();
+            try {
+                Thread.sleep(latency);
+            } finally {
+                connections.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the payment gateway", e);
+        }
+    }
+
+    private static GatewayResult approve(ChargeRequest request) {
+        return GatewayResult.approved(request.paymentId(),
+                "TXN-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.ecommerce.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Business counters and timers, exported with the other application metrics on
+ * {@code /actuator/prometheus}:
+ * <ul>
+ *   <li>{@code ecommerce.orders}: orders created or rejected, tagged with their {@code source} ({@code api} or
+ *       {@code import}) and {@code outcome} ({@code success} or {@code rejected})</li>
+ *   <li>{@code ecommerce.stock.outs}: orders and import records refused for lack of stock, by {@code source}</li>
+ *   <li>{@code ecommerce.payments.processed}: finished payments by {@code outcome}
+ *       ({@code completed}, {@code failed}, or {@code error} when the result could not be recorded)</li>
+ *   <li>{@code ecommerce.payment.gateway.latency}: gateway calls by {@code outcome}
+ *       ({@code approved}, {@code declined} or {@code error}), with a percentile histogram</li>
+ * </ul>
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+@Component
+public class ShopMetrics {
+    public static final String SOURCE_API = "api";
+    public static final String SOURCE_IMPORT = "import";
+
+    private final MeterRegistry registry;
+
+    public ShopMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void ordersCreated(String source, long count) {
+        orders(source, "success").increment(count);
+    }
+
+    public void ordersRejected(String source, long count) {
+        orders(source, "rejected").increment(count);
+    }
+
+    public void stockOuts(String source, long count) {
+        Counter.builder("ecommerce.stock.outs")
+                .description("Orders and import records refused for lack of stock")
+                .tag("source", source)
+                .register(registry)
+                .increment(count);
+    }
+
+    /**
+     * Counts a finished payment.
+     *
+     * @param outcome {@code completed}, {@code failed} or {@code error}
+     */
+    public void paymentProcessed(String outcome) {
+        Counter.builder("ecommerce.payments.processed")
+                .description("Payments that finished processing")
+                .tag("outcome", outcome)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Records how long one gateway charge took.
+     *
+     * @param outcome {@code approved}, {@code declined} or {@code error}
+     */
+    public void gatewayCall(String outcome, Duration latency) {
+        Timer.builder("ecommerce.payment.gateway.latency")
+                .description("Time the payment gateway took to answer a charge")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(latency);
+    }
+
+    private Counter orders(String source, String outcome) {
+        return Counter.builder("ecommerce.orders")
+                .description("Orders by how their creation ended")
+                .tag("source", source)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
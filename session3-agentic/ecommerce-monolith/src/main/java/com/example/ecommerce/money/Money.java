@@ -0,0 +1,126 @@
+package com.example.ecommerce.money;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * An amount of money with a fixed scale of two decimal places, held as a count of minor units (cents).
+ * Pricing arithmetic works on a primitive {@code long}, so adding and multiplying allocate
+ * nothing but the result, unlike {@link BigDecimal}, which allocates intermediate values on every step.
+ * Every operation checks for overflow and throws {@link ArithmeticException} rather than wrapping.
+ * Stored as a {@code numeric} column through {@link MoneyConverter} and written to JSON as a
+ * plain decimal number, so neither the schema nor the REST API change.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+@JsonSerialize(using = MoneyJsonSerializer.class)
+@JsonDeserialize(using = MoneyJsonDeserializer.class)
+public final class Money implements Comparable<Money> {
+    /** Number of decimal places every amount has. */
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0);
+
+    private static final long MINOR_PER_MAJOR = 100;
+
+    private final long minorUnits;
+
+    private Money(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+
+    /**
+     * Creates an amount from a count of minor units.
+     *
+     * @param minorUnits Amount in cents
+     * @return The amount
+     */
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    /**
+     * Creates an amount from a decimal value.
+     *
+     * @param amount Decimal amount with at most two significant decimal places
+     * @return The amount
+     * @throws IllegalArgumentException if the amount has more decimal places than cents
+     * @throws ArithmeticException if the amount does not fit in a {@code long} of cents
+     */
+    public static Money of(BigDecimal amount) {
+        BigDecimal scaled;
+        try {
+            scaled = amount.setScale(SCALE, RoundingMode.UNNECESSARY);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount has more than " + SCALE + " decimal places: " + amount);
+        }
+        return ofMinor(scaled.unscaledValue().longValueExact());
+    }
+
+    /**
+     * Parses a decimal amount such as {@code "12.50"}.
+     *
+     * @param amount Decimal amount with at most two significant decimal places
+     * @return The amount
+     * @throws IllegalArgumentException if the text is not a decimal amount in cents
+     */
+    public static Money of(String amount) {
+        try {
+            return of(new BigDecimal(amount));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a decimal amount: " + amount);
+        }
+    }
+
+    public Money plus(Money other) {
+        return ofMinor(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return ofMinor(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    public Money times(long quantity) {
+        return ofMinor(Math.multiplyExact(minorUnits, quantity));
+    }
+
+    public long minorUnits() {
+        return minorUnits;
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money other && minorUnits == other.minorUnits;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits);
+    }
+
+    /**
+     * Returns the amount as a plain decimal with two places, such as {@code "-3.05"}.
+     */
+    @Override
+    public String toString() {
+        long major = Math.abs(minorUnits / MINOR_PER_MAJOR);
+        long minor = Math.abs(minorUnits % MINOR_PER_MAJOR);
+        return (minorUnits < 0 ? "-" : "") + major + (minor < 10 ? ".0" : ".") + minor;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.ecommerce.money;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * Maps {@link Money} attributes to {@code numeric(38, 2)} columns, the same columns
+ * the {@link BigDecimal} attributes used, so the schema is unchanged.
+ * Applied to every {@code Money} attribute automatically.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+@Converter(autoApply = true)
+public class MoneyConverter implements AttributeConverter<Money, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Money money) {
+        return money == null ? null : money.toBigDecimal();
+    }
+
+    @Override
+    public Money convertToEntityAttribute(BigDecimal amount) {
+        return amount == null ? null : Money.of(amount);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.ecommerce.money;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Reads a {@link Money} from a JSON number or numeric string, such as {@code 12.5} or {@code "12.50"}.
+ * The number is read as a decimal, never through a {@code double}, so no cents are lost;
+ * amounts with fractions of a cent are rejected.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+public class MoneyJsonDeserializer extends StdDeserializer<Money> {
+
+    public MoneyJsonDeserializer() {
+        super(Money.class);
+    }
+
+    @Override
+    public Money deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        JsonToken token = parser.currentToken();
+        try {
+            if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+                return Money.of(parser.getDecimalValue());
+            }
+            if (token == JsonToken.VALUE_STRING) {
+                return Money.of(parser.getText().strip());
+            }
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            return (Money) context.handleWeirdStringValue(Money.class, parser.getText(), e.getMessage());
+        }
+        return (Money) context.handleUnexpectedToken(Money.class, parser);
+    }
+}
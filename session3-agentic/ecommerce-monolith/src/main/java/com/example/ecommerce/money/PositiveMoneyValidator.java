@@ -0,0 +1,21 @@
+package com.example.ecommerce.money;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Lets {@link Positive} be used on {@link Money} attributes, as it was on their {@code BigDecimal}
+ * predecessors. Registered through {@code META-INF/services/jakarta.validation.ConstraintValidator}.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+public class PositiveMoneyValidator implements ConstraintValidator<Positive, Money> {
+
+    @Override
+    public boolean isValid(Money money, ConstraintValidatorContext context) {
+        // Null is left to @NotNull, as with every built-in constraint
+        return money == null || money.signum() > 0;
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.ecommerce.profiling;
+
+import com.example.ecommerce.dto.ProfilingRecording;
+import com.example.ecommerce.dto.ProfilingSummary;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-boxed Java Flight Recorder sessions started on demand.
+ * <p>
+ * A recording runs for the requested time with one of the JDK's built-in settings,
+ * {@code default} (about 1% overhead, safe in production) or {@code profile} (more
+ * samples and lower thresholds, a few percent). When it ends it is written to a
+ * {@code .jfr} file under {@code ecommerce.profiling.directory} and parsed on the
+ * profiling thread into a {@link ProfilingSummary}. At most
+ * {@code ecommerce.profiling.max-concurrent} recordings run or wait to be parsed at a
+ * time, none for longer than {@code ecommerce.profiling.max-duration-seconds}, and only
+ * the newest {@code ecommerce.profiling.max-retained} finished recordings and their files
+ * are kept.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+@Component
+public class FlightRecorderService {
+    private static final Logger log = LoggerFactory.getLogger(FlightRecorderService.class);
+    private static final Set<String> PROFILES = Set.of("default", "profile");
+
+    private final ScheduledExecutorService profilingScheduler;
+    private final RecordingAnalyzer analyzer;
+    private final Path directory;
+    private final int maxConcurrent;
+    private final Duration maxDuration;
+    private final int maxRetained;
+    private final AtomicLong nextId = new AtomicLong();
+    // Guarded by this; oldest first
+    private final Map<Long, Session> sessions = new LinkedHashMap<>();
+
+    /**
+     * @param profilingScheduler Stops recordings when their time is up and parses them
+     * @param directory Where {@code .jfr} files are written
+     * @param maxConcurrent Most recordings running or being parsed at once
+     * @param maxDurationSeconds Longest recording that may be requested
+     * @param maxRetained Most finished recordings to keep, with their files
+     * @param topEntries Most entries per summary section
+     */
+    public FlightRecorderService(@Qualifier("profilingScheduler") ScheduledExecutorService profilingScheduler,
+                                 @Value("${ecommerce.profiling.directory:${java.io.tmpdir}/ecommerce-profiling}") Path directory,
+                                 @Value("${ecommerce.profiling.max-concurrent:1}") int maxConcurrent,
+                                 @Value("${ecommerce.profiling.max-duration-seconds:300}") long maxDurationSeconds,
+                                 @Value("${ecommerce.profiling.max-retained:10}") int maxRetained,
+                                 @Value("${ecommerce.profiling.top-entries:20}") int topEntries) {
+        if (maxConcurrent <= 0 || maxDurationSeconds <= 0 || maxRetained <= 0) {
+            throw new IllegalArgumentException("Profiling limits must be positive");
+        }
+        this.profilingScheduler = profilingScheduler;
+        this.analyzer = new RecordingAnalyzer(topEntries);
+        this.directory = directory;
+        this.maxConcurrent = maxConcurrent;
+        this.maxDuration = Duration.ofSeconds(maxDurationSeconds);
+        this.maxRetained = maxRetained;
+    }
+
+    /**
+     * Starts a recording that stops and is parsed by itself after the given time.
+     *
+     * @param profile JFR settings, {@code default} or {@code profile}
+     * @param duration How long to record
+     * @return The running recording
+     * @throws IllegalArgumentException if the profile is unknown or the duration is not between 1 second and the maximum
+     * @throws IllegalStateException if the maximum number of recordings is already running, or JFR is not available
+     */
+    public synchronized ProfilingRecording start(String profile, Duration duration) {
+        if (!PROFILES.contains(profile)) {
+            throw new IllegalArgumentException("Profile must be one of " + PROFILES + ": " + profile);
+        }
+        if (duration.compareTo(Duration.ofSeconds(1)) < 0 || duration.compareTo(maxDuration) > 0) {
+            throw new IllegalArgumentException("Duration must be between 1 and " + maxDuration.toSeconds() + " seconds");
+        }
+        long active = sessions.values().stream().filter(Session::isActive).count();
+        if (active >= maxConcurrent) {
+            throw new IllegalStateException("Already " + active + " recording(s) in progress; at most "
+                    + maxConcurrent + " may run at once");
+        }
+        if (!FlightRecorder.isAvailable()) {
+            throw new IllegalStateException("Java Flight Recorder is not available in this JVM");
+        }
+
+        long id = nextId.incrementAndGet();
+        LocalDateTime startedAt = LocalDateTime.now();
+        Path file = directory.resolve("ecommerce-" + id + "-" + System.currentTimeMillis() + ".jfr");
+        Recording recording;
+        try {
+            Files.createDirectories(directory);
+            recording = new Recording(Configuration.getConfiguration(profile));
+            recording.setName("ecommerce-" + id);
+            recording.setToDisk(true);
+            recording.setDestination(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot prepare recording in " + directory, e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("JFR settings '" + profile + "' cannot be read", e);
+        }
+        Session session = new Session(id, profile, startedAt, duration, file, recording);
+        recording.start();
+        sessions.put(id, session);
+        evictFinished();
+        profilingScheduler.schedule(() -> finish(session), duration.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Started {} flight recording {} for {} s", profile, id, duration.toSeconds());
+        return session.toRecording();
+    }
+
+    /**
+     * @return Every retained recording, newest first
+     */
+    public synchronized List<ProfilingRecording> getRecordings() {
+        List<ProfilingRecording> recordings = new ArrayList<>(sessions.size());
+        sessions.values().forEach(session -> recordings.addFirst(session.toRecording()));
+        return recordings;
+    }
+
+    /**
+     * @param id Recording ID
+     * @return The recording, with its summary once completed
+     */
+    public synchronized Optional<ProfilingRecording> getRecording(long id) {
+        return Optional.ofNullable(sessions.get(id)).map(Session::toRecording);
+    }
+
+    /**
+     * @param id Recording ID
+     * @return The {@code .jfr} file, if the recording has stopped and its file was written
+     */
+    public synchronized Optional<Path> getRecordingFile(long id) {
+        return Optional.ofNullable(sessions.get(id))
+                .filter(session -> session.status == ProfilingRecording.Status.COMPLETED
+                        || session.status == ProfilingRecording.Status.FAILED)
+                .map(session -> session.file)
+                .filter(Files::isRegularFile);
+    }
+
+    private void finish(Session session) {
+        try {
+            session.recording.stop();
+            session.status = ProfilingRecording.Status.ANALYZING;
+            ProfilingSummary summary = analyzer.summarize(session.file);
+            session.summary = summary;
+            session.status = ProfilingRecording.Status.COMPLETED;
+            log.info("Flight recording {} completed: {} execution samples in {}", session.id,
+                    summary.executionSamples(), session.file);
+        } catch (Exception e) {
+            log.warn("Flight recording {} failed", session.id, e);
+            session.error = e.getMessage();
+            session.status = ProfilingRecording.Status.FAILED;
+        } finally {
+            session.recording.close();
+        }
+    }
+
+    // Drops the oldest finished recordings, and their files, beyond the retention limit
+    private void evictFinished() {
+        long finished = sessions.values().stream().filter(session -> !session.isActive()).count();
+        Iterator<Session> oldestFirst = sessions.values().iterator();
+        while (finished > maxRetained && oldestFirst.hasNext()) {
+            Session session = oldestFirst.next();
+            if (!session.isActive()) {
+                oldestFirst.remove();
+                finished--;
+                try {
+                    Files.deleteIfExists(session.file);
+                } catch (IOException e) {
+                    log.warn("Could not delete flight recording {}", session.file, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Discards recordings still running, so shutdown does not wait for them.
+     */
+    @PreDestroy
+    public synchronized void close() {
+        sessions.values().stream()
+                .filter(session -> session.status == ProfilingRecording.Status.RUNNING)
+                .forEach(session -> session.recording.close());
+    }
+
+    private static final class Session {
+        private final long id;
+        private final String profile;
+        private final LocalDateTime startedAt;
+        private final Duration duration;
+        private final Path file;
+        private final Recording recording;
+        private volatile ProfilingRecording.Status status = ProfilingRecording.Status.RUNNING;
+        private volatile ProfilingSummary summary;
+        private volatile String error;
+
+        Session(long id, String profile, LocalDateTime startedAt, Duration duration, Path file, Recording recording) {
+            this.id = id;
+            this.profile = profile;
+            this.startedAt = startedAt;
+            this.duration = duration;
+            this.file = file;
+            this.recording = recording;
+        }
+
+        boolean isActive() {
+            return status == ProfilingRecording.Status.RUNNING || status == ProfilingRecording.Status.ANALYZING;
+        }
+
+        ProfilingRecording toRecording() {
+            ProfilingRecording.Status current = status;
+            // The file only appears once the recording has stopped
+            long size = current == ProfilingRecording.Status.RUNNING ? 0 : file.toFile().length();
+            return new ProfilingRecording(id, profile, current, startedAt, duration.toSeconds(), size,
+                    current == ProfilingRecording.Status.COMPLETED ? summary : null, error);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.ecommerce.profiling;
+
+import com.example.ecommerce.dto.ProfilingSummary;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads a {@code .jfr} file event by event and sums it into a {@link ProfilingSummary}.
+ * <p>
+ * Hot methods are the top frames of {@code jdk.ExecutionSample}, allocation sites the top
+ * frames of {@code jdk.ObjectAllocationSample} weighted by the bytes each sample stands for,
+ * and GC pauses come from {@code jdk.GarbageCollection}. Lock contention is
+ * {@code jdk.JavaMonitorEnter} plus the {@code jdk.ThreadPark} events parked on a lock
+ * (the {@code Sync} of a {@code ReentrantLock} or {@code ReentrantReadWriteLock}, a
+ * {@code StampedLock} or a {@code Semaphore}); other parks are idle pool threads and futures
+ * being waited on, not contention.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+class RecordingAnalyzer {
+    private static final String NO_STACK = "<no stack trace>";
+    private static final String[] LIBRARY_PACKAGES = {"java.", "javax.", "jdk.", "sun.", "com.sun."};
+
+    private final int topEntries;
+
+    /**
+     * @param topEntries Most entries to list per section
+     */
+    RecordingAnalyzer(int topEntries) {
+        if (topEntries <= 0) {
+            throw new IllegalArgumentException("Top entries must be positive");
+        }
+        this.topEntries = topEntries;
+    }
+
+    /**
+     * Parses a recording.
+     *
+     * @param file The {@code .jfr} file
+     * @return The summary
+     */
+    ProfilingSummary summarize(Path file) throws IOException {
+        Map<String, Long> cpu = new HashMap<>();
+        Map<AllocationKey, Long> allocations = new HashMap<>();
+        Map<LockKey, Tally> locks = new HashMap<>();
+        Map<String, Tally> gc = new HashMap<>();
+        long executionSamples = 0;
+        long sampledBytes = 0;
+
+        try (RecordingFile recording = new RecordingFile(file)) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                switch (event.getEventType().getName()) {
+                    case "jdk.ExecutionSample" -> {
+                        executionSamples++;
+                        cpu.merge(topFrame(event.getStackTrace()), 1L, Long::sum);
+                    }
+                    case "jdk.ObjectAllocationSample" -> {
+                        long weight = event.getLong("weight");
+                        sampledBytes += weight;
+                        allocations.merge(new AllocationKey(topFrame(event.getStackTrace()),
+                                className(event.getClass("objectClass"))), weight, Long::sum);
+                    }
+                    case "jdk.JavaMonitorEnter" -> locks.computeIfAbsent(
+                                    new LockKey(className(event.getClass("monitorClass")), applicationFrame(event.getStackTrace())),
+                                    key -> new Tally())
+                            .add(event.getDuration(), event.getDuration());
+                    case "jdk.ThreadPark" -> {
+                        RecordedClass parkedClass = event.getClass("parkedClass");
+                        if (isLock(parkedClass)) {
+                            locks.computeIfAbsent(new LockKey(parkedClass.getName(), applicationFrame(event.getStackTrace())),
+                                            key -> new Tally())
+                                    .add(event.getDuration(), event.getDuration());
+                        }
+                    }
+                    case "jdk.GarbageCollection" -> gc.computeIfAbsent(event.getString("name"), key -> new Tally())
+                            .add(event.getDuration("sumOfPauses"), event.getDuration("longestPause"));
+                    default -> {
+                    }
+                }
+            }
+        }
+
+        long allSamples = executionSamples;
+        long allBytes = sampledBytes;
+        return new ProfilingSummary(
+                executionSamples,
+                sampledBytes,
+                cpu.entrySet().stream()
+                        .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                        .limit(topEntries)
+                        .map(entry -> new ProfilingSummary.HotMethod(entry.getKey(), entry.getValue(),
+                                share(entry.getValue(), allSamples)))
+                        .toList(),
+                allocations.entrySet().stream()
+                        .sorted(Map.Entry.<AllocationKey, Long>comparingByValue().reversed())
+                        .limit(topEntries)
+                        .map(entry -> new ProfilingSummary.AllocationSite(entry.getKey().method(),
+                                entry.getKey().objectClass(), entry.getValue(), share(entry.getValue(), allBytes)))
+                        .toList(),
+                locks.entrySet().stream()
+                        .sorted(Comparator.comparingLong((Map.Entry<LockKey, Tally> entry) -> entry.getValue().totalNanos).reversed())
+                        .limit(topEntries)
+                        .map(entry -> new ProfilingSummary.LockContention(entry.getKey().lockClass(), entry.getKey().method(),
+                                entry.getValue().events, millis(entry.getValue().totalNanos), millis(entry.getValue().maxNanos)))
+                        .toList(),
+                gc.entrySet().stream()
+                        .sorted(Comparator.comparingLong((Map.Entry<String, Tally> entry) -> entry.getValue().totalNanos).reversed())
+                        .map(entry -> new ProfilingSummary.GcPauses(entry.getKey(), entry.getValue().events,
+                                millis(entry.getValue().totalNanos), millis(entry.getValue().maxNanos)))
+                        .toList());
+    }
+
+    private static String topFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return NO_STACK;
+        }
+        return methodName(stackTrace.getFrames().getFirst());
+    }
+
+    // Lock waits always end in the JDK's park or monitor code, so name the application code that asked for the lock
+    private static String applicationFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return NO_STACK;
+        }
+        return stackTrace.getFrames().stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .filter(frame -> !isLibrary(frame.getMethod().getType().getName()))
+                .findFirst()
+                .map(RecordingAnalyzer::methodName)
+                .orElseGet(() -> methodName(stackTrace.getFrames().getFirst()));
+    }
+
+    private static String methodName(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+
+    private static boolean isLibrary(String className) {
+        for (String prefix : LIBRARY_PACKAGES) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isLock(RecordedClass parkedClass) {
+        if (parkedClass == null) {
+            return false;
+        }
+        String name = parkedClass.getName();
+        return name.startsWith("java.util.concurrent.locks.") && (name.endsWith("Sync") || name.endsWith("StampedLock"))
+                || name.startsWith("java.util.concurrent.Semaphore$");
+    }
+
+    private static String className(RecordedClass recordedClass) {
+        return recordedClass == null ? "<unknown>" : recordedClass.getName();
+    }
+
+    private static double share(long part, long whole) {
+        return whole == 0 ? 0 : (double) part / whole;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private record AllocationKey(String method, String objectClass) {
+    }
+
+    private record LockKey(String lockClass, String method) {
+    }
+
+    private static final class Tally {
+        private long events;
+        private long totalNanos;
+        private long maxNanos;
+
+        void add(Duration total, Duration longest) {
+            events++;
+            totalNanos += total.toNanos();
+            maxNanos = Math.max(maxNanos, longest.toNanos());
+        }
+    }
+}
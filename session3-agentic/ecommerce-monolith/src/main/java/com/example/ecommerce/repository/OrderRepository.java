@@ -1,15 +1,73 @@
 package com.example.ecommerce.repository;
 
 import com.example.ecommerce.entity.Order;
+import com.example.ecommerce.entity.OrderItem;
 import com.example.ecommerce.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
+    /**
+     * Rows the JDBC driver fetches per round trip while an export streams.
+     */
+    int EXPORT_FETCH_SIZE = 500;
+
     List<Order> findByUser(User user);
+
+    @EntityGraph(Order.FULL_GRAPH)
     List<Order> findByUserId(Long userId);
-    List<Order> findByStatus(Order.OrderStatus status);
+
+    @EntityGraph(Order.SUMMARY_GRAPH)
+    Optional<Order> findSummaryById(Long id);
+
+    @EntityGraph(Order.WITH_ITEMS_GRAPH)
+    Optional<Order> findWithItemsById(Long id);
+
+    @EntityGraph(Order.FULL_GRAPH)
+    Optional<Order> findFullById(Long id);
+
+    @Query(value = "SELECT COUNT(*) FROM (SELECT 1 FROM orders LIMIT :cap) capped", nativeQuery = true)
+    long countCapped(@Param("cap") int cap);
+
+    @Query(value = "SELECT COUNT(*) FROM (SELECT 1 FROM orders WHERE user_id = :userId LIMIT :cap) capped", nativeQuery = true)
+    long countByUserIdCapped(@Param("userId") Long userId, @Param("cap") int cap);
+
+    @Query(value = "SELECT COUNT(*) FROM (SELECT 1 FROM orders WHERE status = :status LIMIT :cap) capped", nativeQuery = true)
+    long countByStatusCapped(@Param("status") String status, @Param("cap") int cap);
+
+    /**
+     * Streams the orders matching an export filter in ID order, with their users.
+     * The stream must be read inside a transaction and closed afterwards.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select o from Order o join fetch o.user
+            where (:status is null or o.status = :status)
+              and (:from is null or o.createdAt >= :from)
+              and (:to is null or o.createdAt < :to)
+            order by o.id
+            """)
+    Stream<Order> streamForExport(@Param("status") Order.OrderStatus status,
+                                  @Param("from") LocalDateTime from,
+                                  @Param("to") LocalDateTime to);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select i from OrderItem i join fetch i.product where i.order.id in :orderIds order by i.id")
+    List<OrderItem> findItemsByOrderIds(@Param("orderIds") Collection<Long> orderIds);
 }
@@ -0,0 +1,110 @@
+package com.example.ecommerce.repository;
+
+import com.example.ecommerce.dto.OrderDetail;
+import com.example.ecommerce.dto.OrderItemLine;
+import com.example.ecommerce.dto.OrderSummary;
+import com.example.ecommerce.dto.PageCursor;
+import com.example.ecommerce.entity.Order;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JPA read models for order responses.
+ * Each query selects only the columns a view shows into a DTO constructor expression,
+ * so no entities are loaded, nothing is lazily fetched while the response is written,
+ * and user passwords are never read.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+@Repository
+public class OrderViewRepository {
+    private static final String SUMMARY_SELECT = """
+            select new com.example.ecommerce.dto.OrderSummary(
+                o.id, u.id, u.username, u.email, u.firstName, u.lastName,
+                o.status, o.totalAmount, (select count(i) from OrderItem i where i.order = o), o.createdAt)
+            from Order o join o.user u
+            """;
+    private static final String DETAIL_QUERY = """
+            select new com.example.ecommerce.dto.OrderDetail(
+                o.id, u.id, u.username, u.email, u.firstName, u.lastName,
+                o.status, o.totalAmount, o.shippingAddress, o.billingAddress,
+                o.createdAt, o.updatedAt, o.completedAt)
+            from Order o join o.user u
+            where o.id = :orderId
+            """;
+    private static final String LINES_QUERY = """
+            select new com.example.ecommerce.dto.OrderItemLine(
+                i.id, p.id, p.name, p.sku, i.quantity, i.price, i.subtotal)
+            from OrderItem i join i.product p
+            where i.order.id = :orderId
+            order by i.id
+            """;
+
+    private final EntityManager entityManager;
+
+    public OrderViewRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Loads an order with its lines in two statements, however many lines it has.
+     *
+     * @param orderId The order ID
+     * @return The order detail, if the order exists
+     */
+    public Optional<OrderDetail> findDetail(Long orderId) {
+        return entityManager.createQuery(DETAIL_QUERY, OrderDetail.class)
+                .setParameter("orderId", orderId)
+                .getResultStream()
+                .findFirst()
+                .map(detail -> detail.withItems(findLines(orderId)));
+    }
+
+    public List<OrderItemLine> findLines(Long orderId) {
+        return entityManager.createQuery(LINES_QUERY, OrderItemLine.class)
+                .setParameter("orderId", orderId)
+                .getResultList();
+    }
+
+    /**
+     * Reads order summaries in creation-time, ID order by keyset, in one statement.
+     *
+     * @param userId Only orders of this user, or null for all
+     * @param status Only orders in this status, or null for all
+     * @param after Position to continue after, or null for the start
+     * @param limit Most rows to return
+     * @return Matching summaries
+     */
+    public List<OrderSummary> findSummaries(Long userId, Order.OrderStatus status, PageCursor after, int limit) {
+        StringBuilder jpql = new StringBuilder(SUMMARY_SELECT).append("where 1 = 1");
+        if (userId != null) {
+            jpql.append(" and u.id = :userId");
+        }
+        if (status != null) {
+            jpql.append(" and o.status = :status");
+        }
+        if (after != null) {
+            jpql.append(" and (o.createdAt > :afterCreatedAt or (o.createdAt = :afterCreatedAt and o.id > :afterId))");
+        }
+        jpql.append(" order by o.createdAt, o.id");
+
+        TypedQuery<OrderSummary> query = entityManager.createQuery(jpql.toString(), OrderSummary.class)
+                .setMaxResults(limit);
+        if (userId != null) {
+            query.setParameter("userId", userId);
+        }
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (after != null) {
+            query.setParameter("afterCreatedAt", after.createdAt());
+            query.setParameter("afterId", after.id());
+        }
+        return query.getResultList();
+    }
+}
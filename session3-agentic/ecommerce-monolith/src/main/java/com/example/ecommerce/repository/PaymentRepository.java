@@ -1,13 +1,34 @@
 package com.example.ecommerce.repository;
 
 import com.example.ecommerce.entity.Payment;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
+    // Payments are serialized with their order after the transaction ends, so the order's lines come along
+    @EntityGraph(attributePaths = {"order.user", "order.orderItems.product"})
+    Optional<Payment> findFullById(Long id);
+
+    @EntityGraph(attributePaths = {"order.user", "order.orderItems.product"})
     Optional<Payment> findByOrderId(Long orderId);
+
     Optional<Payment> findByTransactionId(String transactionId);
+    List<Payment> findByStatus(Payment.PaymentStatus status);
+
+    // Moves a payment to the next status only if it is still in the expected one; 0 rows means another caller won
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Payment p set p.status = :next, p.updatedAt = :now where p.id = :id and p.status = :expected")
+    int updateStatus(@Param("id") Long id,
+                     @Param("expected") Payment.PaymentStatus expected,
+                     @Param("next") Payment.PaymentStatus next,
+                     @Param("now") LocalDateTime now);
 }
@@ -1,9 +1,17 @@
 package com.example.ecommerce.repository;
 
 import com.example.ecommerce.entity.Product;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,4 +21,21 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     List<Product> findByCategory(String category);
     List<Product> findByActiveTrue();
     List<Product> findByNameContainingIgnoreCase(String name);
+    Page<Product> findByNameContainingIgnoreCase(String name, Pageable pageable);
+
+    @Query("select p from Product p where p.id in :ids")
+    List<Product> findAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    Window<Product> findAllByOrderByCreatedAtAscIdAsc(ScrollPosition position, Limit limit);
+    Window<Product> findByActiveTrueOrderByCreatedAtAscIdAsc(ScrollPosition position, Limit limit);
+    Window<Product> findByCategoryOrderByCreatedAtAscIdAsc(String category, ScrollPosition position, Limit limit);
+
+    @Query(value = "SELECT COUNT(*) FROM (SELECT 1 FROM products LIMIT :cap) capped", nativeQuery = true)
+    long countCapped(@Param("cap") int cap);
+
+    @Query(value = "SELECT COUNT(*) FROM (SELECT 1 FROM products WHERE active = TRUE LIMIT :cap) capped", nativeQuery = true)
+    long countActiveCapped(@Param("cap") int cap);
+
+    @Query(value = "SELECT COUNT(*) FROM (SELECT 1 FROM products WHERE category = :category LIMIT :cap) capped", nativeQuery = true)
+    long countByCategoryCapped(@Param("category") String category, @Param("cap") int cap);
 }
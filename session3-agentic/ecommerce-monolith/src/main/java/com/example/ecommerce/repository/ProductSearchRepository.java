@@ -0,0 +1,60 @@
+package com.example.ecommerce.repository;
+
+import com.example.ecommerce.dto.ProductFacetEntry;
+import com.example.ecommerce.dto.ProductSearchDocument;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.function.Consumer;
+
+/**
+ * JDBC data access for the fields the in-memory search and browse indexes are built from.
+ * Streams rows straight from the result set so the whole catalog can be
+ * indexed without loading it into the persistence context.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+@Repository
+public class ProductSearchRepository {
+    private static final String SELECT_DOCUMENTS_SQL = "SELECT id, name, description, category, sku FROM products";
+    private static final String SELECT_FACETS_SQL = "SELECT id, category, active FROM products";
+    private static final int FETCH_SIZE = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductSearchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Passes the searchable text of every product to the consumer, one row at a time.
+     *
+     * @param consumer Receives each product document
+     */
+    public void forEachDocument(Consumer<ProductSearchDocument> consumer) {
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(SELECT_DOCUMENTS_SQL);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, rs -> {
+            consumer.accept(new ProductSearchDocument(rs.getLong("id"), rs.getString("name"),
+                    rs.getString("description"), rs.getString("category"), rs.getString("sku")));
+        });
+    }
+
+    /**
+     * Passes the category and active flag of every product to the consumer, one row at a time.
+     *
+     * @param consumer Receives each product's facet values
+     */
+    public void forEachFacetEntry(Consumer<ProductFacetEntry> consumer) {
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(SELECT_FACETS_SQL);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, rs -> {
+            consumer.accept(new ProductFacetEntry(rs.getLong("id"), rs.getString("category"), rs.getBoolean("active")));
+        });
+    }
+}
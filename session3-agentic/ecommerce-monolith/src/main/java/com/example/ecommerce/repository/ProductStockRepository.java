@@ -0,0 +1,129 @@
+package com.example.ecommerce.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * JDBC data access for product stock counters.
+ * Applies stock changes as single guarded UPDATE statements instead of the
+ * read-modify-write cycle of loading and saving a {@code Product} entity, so
+ * concurrent buyers of the same product cannot overwrite each other's changes.
+ * Statements are sent as one JDBC batch and join the caller's transaction.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+@Repository
+public class ProductStockRepository {
+    private static final String DECREMENT_SQL = """
+            UPDATE products
+               SET stock_quantity = stock_quantity - ?, updated_at = ?
+             WHERE id = ? AND stock_quantity >= ?
+            """;
+
+    private static final String ADJUST_SQL = """
+            UPDATE products
+               SET stock_quantity = stock_quantity + ?, updated_at = ?
+             WHERE id = ?
+            """;
+
+    private static final String SELECT_STOCK_SQL = "SELECT id, stock_quantity FROM products WHERE id IN (:ids)";
+
+    private static final String SELECT_ALL_STOCK_SQL = "SELECT id, stock_quantity FROM products";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public ProductStockRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    /**
+     * Reads the current stock quantity of the given products.
+     *
+     * @param ids Product IDs to read
+     * @return Stock quantity per product ID; unknown IDs are absent
+     */
+    public Map<Long, Integer> findStockQuantities(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Integer> stock = new HashMap<>();
+        namedParameterJdbcTemplate.query(SELECT_STOCK_SQL, Map.of("ids", ids),
+                rs -> { stock.put(rs.getLong(1), rs.getInt(2)); });
+        return stock;
+    }
+
+    /**
+     * Reads the current stock quantity of every product.
+     *
+     * @return Stock quantity per product ID
+     */
+    public Map<Long, Integer> findAllStockQuantities() {
+        Map<Long, Integer> stock = new HashMap<>();
+        jdbcTemplate.query(SELECT_ALL_STOCK_SQL, rs -> { stock.put(rs.getLong(1), rs.getInt(2)); });
+        return stock;
+    }
+
+    /**
+     * Decrements stock for every product, but only where enough stock is left.
+     * Rows are updated in ascending product ID order so that concurrent
+     * transactions always acquire row locks in the same order.
+     *
+     * @param quantities Quantity to take per product ID, sorted by product ID
+     * @return IDs of the products whose guard failed (empty if all succeeded)
+     */
+    public List<Long> decrementStock(SortedMap<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return List.of();
+        }
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(quantities.entrySet());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        int[][] counts = jdbcTemplate.batchUpdate(DECREMENT_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setInt(1, entry.getValue());
+            ps.setTimestamp(2, now);
+            ps.setLong(3, entry.getKey());
+            ps.setInt(4, entry.getValue());
+        });
+
+        List<Long> rejected = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            if (counts[0][i] == 0) {
+                rejected.add(entries.get(i).getKey());
+            }
+        }
+        return rejected;
+    }
+
+    /**
+     * Adds a signed amount to the stock of every product without any guard,
+     * e.g. to give stock back when an order is cancelled or to apply net deltas.
+     *
+     * @param deltas Amount to add per product ID (may be negative), sorted by product ID
+     */
+    public void adjustStock(SortedMap<Long, Integer> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(deltas.entrySet());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(ADJUST_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setInt(1, entry.getValue());
+            ps.setTimestamp(2, now);
+            ps.setLong(3, entry.getKey());
+        });
+    }
+}
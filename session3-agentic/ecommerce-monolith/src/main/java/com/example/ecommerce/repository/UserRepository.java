@@ -1,7 +1,12 @@
 package com.example.ecommerce.repository;
 
 import com.example.ecommerce.entity.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -12,4 +17,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    Window<User> findAllByOrderByCreatedAtAscIdAsc(ScrollPosition position, Limit limit);
+
+    @Query(value = "SELECT COUNT(*) FROM (SELECT 1 FROM users LIMIT :cap) capped", nativeQuery = true)
+    long countCapped(@Param("cap") int cap);
 }
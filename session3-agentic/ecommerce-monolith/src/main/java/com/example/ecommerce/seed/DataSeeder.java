@@ -0,0 +1,357 @@
+package com.example.ecommerce.seed;
+
+import com.example.ecommerce.entity.Order;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Fills the database with synthetic users, products and orders for load tests and query tuning.
+ * <p>
+ * Data is skewed the way shop data is: product popularity and the number of orders per user
+ * follow Zipf distributions, a few categories hold most products, prices are log-normal, most
+ * orders have one or two lines and most orders are delivered. Everything is drawn from one
+ * seeded generator, so the same {@link SeedPlan} always yields the same rows.
+ * <p>
+ * Rows bypass JPA and go in through multi-row JDBC batch inserts with explicit IDs, after which
+ * the identity columns and ID sequences are moved past them, so entities saved later through
+ * the application do not collide. Plain secondary indexes are dropped for the load and rebuilt
+ * once at the end, which is several times cheaper than maintaining them row by row. Existing
+ * rows are kept; seeding appends. It uses H2 SQL and is meant for a database nothing else is
+ * writing to at the same time.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+@Component
+public class DataSeeder {
+    private static final Logger log = LoggerFactory.getLogger(DataSeeder.class);
+
+    private static final String[] FIRST_NAMES = {"Ava", "Ben", "Chloe", "Daniel", "Emma", "Felix", "Grace", "Hugo",
+            "Isla", "Jack", "Lena", "Liam", "Mia", "Noah", "Olivia", "Sofia"};
+    private static final String[] LAST_NAMES = {"Anderson", "Brown", "Garcia", "Johnson", "Kim", "Lee", "Martin",
+            "Miller", "Nguyen", "Patel", "Rossi", "Smith", "Taylor", "Wilson"};
+    private static final String[] CITIES = {"Austin", "Boston", "Chicago", "Denver", "Portland", "Seattle"};
+    // Ordered by how many products each holds; the category sampler is skewed towards the front
+    private static final String[] CATEGORIES = {"Electronics", "Home", "Clothing", "Books", "Kitchen", "Sports",
+            "Toys", "Beauty", "Garden", "Office", "Automotive", "Grocery", "Pets", "Music", "Health", "Jewelry"};
+    private static final String[] ADJECTIVES = {"Classic", "Compact", "Deluxe", "Ergonomic", "Portable", "Rugged",
+            "Smart", "Vintage", "Wireless", "Organic"};
+    private static final String[] NOUNS = {"Backpack", "Blender", "Headphones", "Keyboard", "Lamp", "Mug",
+            "Notebook", "Speaker", "Watch", "Jacket", "Chair", "Bottle"};
+    private static final Order.OrderStatus[] STATUSES = {Order.OrderStatus.DELIVERED, Order.OrderStatus.SHIPPED,
+            Order.OrderStatus.PROCESSING, Order.OrderStatus.CONFIRMED, Order.OrderStatus.PENDING, Order.OrderStatus.CANCELLED};
+    private static final int[] STATUS_PERCENT = {62, 10, 5, 6, 10, 7};
+
+    // Median price of 25.00 with a long tail of expensive products
+    private static final double PRICE_LOG_MEAN = Math.log(2_500);
+    private static final double PRICE_LOG_DEVIATION = 1.0;
+    private static final long SECONDS_PER_YEAR = 365L * 24 * 60 * 60;
+    // Matches the allocation size of the order and order item ID sequences
+    private static final int SEQUENCE_ALLOCATION_SIZE = 50;
+
+    private static final String[] USER_COLUMNS = {"id", "username", "email", "password", "first_name", "last_name",
+            "phone", "address", "active", "created_at", "updated_at"};
+    private static final String[] PRODUCT_COLUMNS = {"id", "name", "description", "price", "sku", "stock_quantity",
+            "category", "image_url", "active", "created_at", "updated_at"};
+    private static final String[] ORDER_COLUMNS = {"id", "user_id", "total_amount", "status", "shipping_address",
+            "billing_address", "created_at", "updated_at", "completed_at"};
+    private static final String[] ORDER_ITEM_COLUMNS = {"id", "order_id", "product_id", "quantity", "price", "subtotal"};
+
+    // Secondary indexes of the seeded tables that no constraint depends on, one row per indexed column
+    private static final String DEFERRABLE_INDEXES_SQL = """
+            SELECT i.table_name, i.index_name, c.column_name, c.ordering_specification
+              FROM information_schema.indexes i
+              JOIN information_schema.index_columns c
+                ON c.index_schema = i.index_schema AND c.index_name = i.index_name
+             WHERE i.table_schema = SCHEMA()
+               AND i.table_name IN ('USERS', 'PRODUCTS', 'ORDERS', 'ORDER_ITEMS')
+               AND i.index_type_name = 'INDEX'
+               AND NOT EXISTS (SELECT 1 FROM information_schema.table_constraints t
+                                WHERE t.index_schema = i.index_schema AND t.index_name = i.index_name)
+             ORDER BY i.table_name, i.index_name, c.ordinal_position
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DataSeeder(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * What one seeding run wrote.
+     *
+     * @param firstUserId ID of the first user written; the rest follow without gaps
+     * @param firstProductId ID of the first product written
+     * @param firstOrderId ID of the first order written
+     * @param firstOrderItemId ID of the first order item written
+     */
+    public record Result(
+            long users,
+            long products,
+            long orders,
+            long orderItems,
+            Duration elapsed,
+            long firstUserId,
+            long firstProductId,
+            long firstOrderId,
+            long firstOrderItemId
+    ) {
+        public long rows() {
+            return users + products + orders + orderItems;
+        }
+
+        public long rowsPerSecond() {
+            return rows() * 1000 / Math.max(1, elapsed.toMillis());
+        }
+    }
+
+    /**
+     * Writes the rows the plan describes.
+     *
+     * @param plan What to generate
+     * @return Row counts, time taken and the first ID written per table
+     */
+    public Result seed(SeedPlan plan) {
+        return jdbcTemplate.execute((ConnectionCallback<Result>) connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                return seed(connection, plan);
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        });
+    }
+
+    private Result seed(Connection connection, SeedPlan plan) throws SQLException {
+        long started = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(plan.randomSeed());
+        long firstUserId = queryLong(connection, "SELECT COALESCE(MAX(id), 0) + 1 FROM users");
+        long firstProductId = queryLong(connection, "SELECT COALESCE(MAX(id), 0) + 1 FROM products");
+        long firstOrderId = nextSequenceId(connection, "orders", "orders_seq");
+        long firstOrderItemId = nextSequenceId(connection, "order_items", "order_items_seq");
+        List<String> createIndexes = dropDeferrableIndexes(connection);
+        connection.commit();
+
+        long orderItems = 0;
+        try {
+            writeUsers(connection, plan, random, firstUserId);
+            long[] priceCents = writeProducts(connection, plan, random, firstProductId);
+            orderItems = writeOrders(connection, plan, random, firstUserId, firstProductId, priceCents, firstOrderId, firstOrderItemId);
+        } finally {
+            // Each batch is already committed, so rows written before a failure stay; move the
+            // identities and sequences past them either way so application inserts cannot collide
+            try (Statement statement = connection.createStatement()) {
+                for (String createIndex : createIndexes) {
+                    statement.execute(createIndex);
+                }
+                statement.execute("ALTER TABLE users ALTER COLUMN id RESTART WITH "
+                        + nextFreeId(connection, "users", firstUserId + plan.users()));
+                statement.execute("ALTER TABLE products ALTER COLUMN id RESTART WITH "
+                        + nextFreeId(connection, "products", firstProductId + plan.products()));
+                statement.execute("ALTER SEQUENCE orders_seq RESTART WITH "
+                        + (nextFreeId(connection, "orders", firstOrderId + plan.orders()) + SEQUENCE_ALLOCATION_SIZE));
+                statement.execute("ALTER SEQUENCE order_items_seq RESTART WITH "
+                        + (nextFreeId(connection, "order_items", firstOrderItemId + orderItems) + SEQUENCE_ALLOCATION_SIZE));
+            }
+            connection.commit();
+        }
+
+        Result result = new Result(plan.users(), plan.products(), plan.orders(), orderItems,
+                Duration.ofNanos(System.nanoTime() - started), firstUserId, firstProductId, firstOrderId, firstOrderItemId);
+        log.info("Seeded {} users, {} products, {} orders and {} order items in {} ms ({} rows/s)",
+                result.users(), result.products(), result.orders(), result.orderItems(),
+                result.elapsed().toMillis(), result.rowsPerSecond());
+        return result;
+    }
+
+    private void writeUsers(Connection connection, SeedPlan plan, SplittableRandom random, long firstId) throws SQLException {
+        try (MultiRowInsert users = new MultiRowInsert(connection, "users", plan.rowsPerStatement(), USER_COLUMNS)) {
+            for (int i = 0; i < plan.users(); i++) {
+                long id = firstId + i;
+                String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                LocalDateTime createdAt = plan.asOf().minusSeconds(SECONDS_PER_YEAR + random.nextLong(SECONDS_PER_YEAR));
+                users.add(id, "seed_" + id, "seed_" + id + "@example.com", "Secret123", firstName, lastName,
+                        String.format("+1-555-%07d", random.nextInt(10_000_000)), address(random),
+                        random.nextInt(100) < 97, createdAt, createdAt);
+            }
+        }
+    }
+
+    // Returns each product's price in cents, by position, for pricing order lines
+    private long[] writeProducts(Connection connection, SeedPlan plan, SplittableRandom random, long firstId) throws SQLException {
+        long[] priceCents = new long[plan.products()];
+        ZipfSampler categories = new ZipfSampler(CATEGORIES.length, 1.0);
+        try (MultiRowInsert products = new MultiRowInsert(connection, "products", plan.rowsPerStatement(), PRODUCT_COLUMNS)) {
+            for (int i = 0; i < plan.products(); i++) {
+                long id = firstId + i;
+                String category = CATEGORIES[categories.sample(random)];
+                String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + NOUNS[random.nextInt(NOUNS.length)] + " " + id;
+                priceCents[i] = Math.clamp(Math.round(Math.exp(PRICE_LOG_MEAN + PRICE_LOG_DEVIATION * random.nextGaussian())),
+                        99, 999_999);
+                LocalDateTime createdAt = plan.asOf().minusSeconds(random.nextLong(2 * SECONDS_PER_YEAR));
+                products.add(id, name, name + " for everyday use, from our " + category.toLowerCase() + " range.",
+                        BigDecimal.valueOf(priceCents[i], 2), "SEED-" + id, random.nextInt(1_000), category,
+                        "https://img.example.com/products/" + id + ".jpg", random.nextInt(100) < 95, createdAt, createdAt);
+            }
+        }
+        return priceCents;
+    }
+
+    // Returns the number of order items written
+    private long writeOrders(Connection connection, SeedPlan plan, SplittableRandom random, long firstUserId,
+                             long firstProductId, long[] priceCents, long firstOrderId, long firstOrderItemId) throws SQLException {
+        // Popularity ranks map to shuffled positions so the best sellers are not simply the lowest IDs
+        int[] productByRank = shuffledPositions(plan.products(), random);
+        int[] userByRank = shuffledPositions(plan.users(), random);
+        ZipfSampler products = new ZipfSampler(plan.products(), plan.productSkew());
+        ZipfSampler users = new ZipfSampler(plan.users(), plan.userSkew());
+        ZipfSampler lineCounts = new ZipfSampler(plan.maxItemsPerOrder(), 2.0);
+        ZipfSampler quantities = new ZipfSampler(5, 2.0);
+
+        // Orders go in ahead of their items so every item batch finds its orders written
+        int chunk = plan.rowsPerStatement() * 16;
+        List<Object[]> chunkItems = new ArrayList<>();
+        int[] lineProducts = new int[plan.maxItemsPerOrder()];
+        try (MultiRowInsert orders = new MultiRowInsert(connection, "orders", plan.rowsPerStatement(), ORDER_COLUMNS);
+             MultiRowInsert items = new MultiRowInsert(connection, "order_items", plan.rowsPerStatement(), ORDER_ITEM_COLUMNS)) {
+            for (int i = 0; i < plan.orders(); i++) {
+                long orderId = firstOrderId + i;
+                int lines = 1 + lineCounts.sample(random);
+                long totalCents = 0;
+                for (int line = 0; line < lines; line++) {
+                    int product = distinctProduct(products, productByRank, lineProducts, line, random);
+                    lineProducts[line] = product;
+                    int quantity = 1 + quantities.sample(random);
+                    long subtotalCents = Math.multiplyExact(priceCents[product], quantity);
+                    totalCents = Math.addExact(totalCents, subtotalCents);
+                    chunkItems.add(new Object[]{firstOrderItemId + items.rows() + chunkItems.size(), orderId,
+                            firstProductId + product, quantity, BigDecimal.valueOf(priceCents[product], 2),
+                            BigDecimal.valueOf(subtotalCents, 2)});
+                }
+                Order.OrderStatus status = status(random);
+                LocalDateTime createdAt = plan.asOf().minusSeconds(random.nextLong(SECONDS_PER_YEAR));
+                LocalDateTime updatedAt = status == Order.OrderStatus.PENDING ? createdAt : createdAt.plusHours(1 + random.nextInt(72));
+                LocalDateTime completedAt = status == Order.OrderStatus.DELIVERED ? createdAt.plusDays(2 + random.nextInt(6)) : null;
+                String address = address(random);
+                orders.add(orderId, firstUserId + userByRank[users.sample(random)], BigDecimal.valueOf(totalCents, 2),
+                        status.name(), address, address, createdAt, completedAt != null ? completedAt : updatedAt, completedAt);
+                if ((i + 1) % chunk == 0 || i + 1 == plan.orders()) {
+                    orders.flush();
+                    for (Object[] item : chunkItems) {
+                        items.add(item);
+                    }
+                    chunkItems.clear();
+                }
+            }
+            return items.rows();
+        }
+    }
+
+    // Draws a product not already on the order; gives up on distinctness after a few tries on tiny catalogs
+    private static int distinctProduct(ZipfSampler products, int[] productByRank, int[] chosen, int count, SplittableRandom random) {
+        int product = productByRank[products.sample(random)];
+        for (int attempt = 0; attempt < 8 && contains(chosen, count, product); attempt++) {
+            product = productByRank[random.nextInt(productByRank.length)];
+        }
+        return product;
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int[] shuffledPositions(int n, SplittableRandom random) {
+        int[] positions = new int[n];
+        for (int i = 0; i < n; i++) {
+            positions[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = positions[i];
+            positions[i] = positions[j];
+            positions[j] = swap;
+        }
+        return positions;
+    }
+
+    private static Order.OrderStatus status(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        for (int i = 0; i < STATUSES.length; i++) {
+            roll -= STATUS_PERCENT[i];
+            if (roll < 0) {
+                return STATUSES[i];
+            }
+        }
+        return Order.OrderStatus.PENDING;
+    }
+
+    private static String address(SplittableRandom random) {
+        return (1 + random.nextInt(9_999)) + " Main St, " + CITIES[random.nextInt(CITIES.length)];
+    }
+
+    // Drops the deferrable indexes and returns the statements that recreate them
+    private static List<String> dropDeferrableIndexes(Connection connection) throws SQLException {
+        Map<String, String> tables = new LinkedHashMap<>();
+        Map<String, List<String>> columns = new LinkedHashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(DEFERRABLE_INDEXES_SQL)) {
+            while (resultSet.next()) {
+                String index = resultSet.getString("index_name");
+                tables.put(index, resultSet.getString("table_name"));
+                columns.computeIfAbsent(index, name -> new ArrayList<>())
+                        .add(resultSet.getString("column_name") + " " + resultSet.getString("ordering_specification"));
+            }
+        }
+        List<String> createIndexes = new ArrayList<>();
+        try (Statement statement = connection.createStatement()) {
+            for (Map.Entry<String, String> index : tables.entrySet()) {
+                statement.execute("DROP INDEX " + index.getKey());
+                createIndexes.add("CREATE INDEX " + index.getKey() + " ON " + index.getValue()
+                        + " (" + String.join(", ", columns.get(index.getKey())) + ")");
+            }
+        }
+        return createIndexes;
+    }
+
+    // Returns the next ID free of both existing rows and any block the sequence has handed out
+    private static long nextSequenceId(Connection connection, String table, String sequence) throws SQLException {
+        long maxId = queryLong(connection, "SELECT COALESCE(MAX(id), 0) FROM " + table);
+        long sequenceValue = queryLong(connection, "SELECT NEXT VALUE FOR " + sequence);
+        return Math.max(maxId, sequenceValue + SEQUENCE_ALLOCATION_SIZE) + 1;
+    }
+
+    // The planned next ID, or past the highest row if a failed run stopped short of knowing it
+    private static long nextFreeId(Connection connection, String table, long planned) throws SQLException {
+        return Math.max(planned, queryLong(connection, "SELECT COALESCE(MAX(id), 0) + 1 FROM " + table));
+    }
+
+    private static long queryLong(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
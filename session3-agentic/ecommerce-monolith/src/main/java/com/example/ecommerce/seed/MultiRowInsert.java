@@ -0,0 +1,103 @@
+package com.example.ecommerce.seed;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+
+/**
+ * Writes rows to one table with multi-row {@code INSERT ... VALUES (...), (...)} statements
+ * sent as JDBC batches, so a million rows cost a few hundred round trips instead of a million.
+ * Each batch is committed on its own to keep the database's undo log small.
+ */
+final class MultiRowInsert implements AutoCloseable {
+    private static final int STATEMENTS_PER_BATCH = 16;
+
+    private final Connection connection;
+    private final String table;
+    private final String[] columns;
+    private final int rowsPerStatement;
+    private final PreparedStatement fullStatement;
+    private final Object[] pending;
+    private int pendingRows;
+    private int batchedStatements;
+    private long rows;
+
+    MultiRowInsert(Connection connection, String table, int rowsPerStatement, String... columns) throws SQLException {
+        this.connection = connection;
+        this.table = table;
+        this.columns = columns;
+        this.rowsPerStatement = rowsPerStatement;
+        this.fullStatement = connection.prepareStatement(sql(rowsPerStatement));
+        this.pending = new Object[rowsPerStatement * columns.length];
+    }
+
+    /**
+     * Queues one row; values are in column order.
+     */
+    void add(Object... row) throws SQLException {
+        System.arraycopy(row, 0, pending, pendingRows * columns.length, columns.length);
+        rows++;
+        if (++pendingRows == rowsPerStatement) {
+            bind(fullStatement, pendingRows);
+            fullStatement.addBatch();
+            pendingRows = 0;
+            if (++batchedStatements == STATEMENTS_PER_BATCH) {
+                executeBatch();
+            }
+        }
+    }
+
+    /**
+     * Returns how many rows were added, written or not.
+     */
+    long rows() {
+        return rows;
+    }
+
+    /**
+     * Writes and commits every row added so far.
+     */
+    void flush() throws SQLException {
+        if (batchedStatements > 0) {
+            executeBatch();
+        }
+        if (pendingRows > 0) {
+            // The last partial statement needs a placeholder list of its own length
+            try (PreparedStatement remainder = connection.prepareStatement(sql(pendingRows))) {
+                bind(remainder, pendingRows);
+                remainder.executeUpdate();
+            }
+            pendingRows = 0;
+            connection.commit();
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            flush();
+        } finally {
+            fullStatement.close();
+        }
+    }
+
+    private void executeBatch() throws SQLException {
+        fullStatement.executeBatch();
+        batchedStatements = 0;
+        connection.commit();
+    }
+
+    private void bind(PreparedStatement statement, int rowCount) throws SQLException {
+        int values = rowCount * columns.length;
+        for (int i = 0; i < values; i++) {
+            statement.setObject(i + 1, pending[i]);
+        }
+    }
+
+    private String sql(int rowCount) {
+        String placeholders = "(" + String.join(", ", Collections.nCopies(columns.length, "?")) + ")";
+        return "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES "
+                + String.join(", ", Collections.nCopies(rowCount, placeholders));
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.ecommerce.seed;
+
+import java.time.LocalDateTime;
+
+/**
+ * What the data seeder generates. The same plan always produces the same rows.
+ *
+ * @param users Users to create
+ * @param products Products to create
+ * @param orders Orders to create
+ * @param maxItemsPerOrder Most lines an order has; most orders have one or two
+ * @param productSkew Zipf exponent of product popularity; 0 is uniform, around 1 is a typical long tail
+ * @param userSkew Zipf exponent of how many orders each user places
+ * @param randomSeed Seed every random choice derives from
+ * @param asOf Latest creation time; users and orders are spread over the two years before it
+ * @param rowsPerStatement Rows per multi-row {@code INSERT} statement
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+public record SeedPlan(
+        int users,
+        int products,
+        int orders,
+        int maxItemsPerOrder,
+        double productSkew,
+        double userSkew,
+        long randomSeed,
+        LocalDateTime asOf,
+        int rowsPerStatement
+) {
+    public SeedPlan {
+        if (users <= 0 || products <= 0 || orders < 0) {
+            throw new IllegalArgumentException("Seed plan needs at least one user and product, and no negative order count");
+        }
+        if (maxItemsPerOrder <= 0 || maxItemsPerOrder > products) {
+            throw new IllegalArgumentException("Max items per order must be between 1 and the number of products");
+        }
+        if (productSkew < 0 || userSkew < 0) {
+            throw new IllegalArgumentException("Skew exponents must not be negative");
+        }
+        if (rowsPerStatement <= 0) {
+            throw new IllegalArgumentException("Rows per statement must be positive");
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.ecommerce.seed;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Seeds the database at startup when the {@code seed} profile is active, before the product
+ * search index and stock ledger load, so they see the seeded catalog.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+@Component
+@Profile("seed")
+public class SeedRunner implements ApplicationRunner {
+    private final DataSeeder dataSeeder;
+    private final SeedPlan plan;
+
+    public SeedRunner(DataSeeder dataSeeder,
+                      @Value("${ecommerce.seed.users:100000}") int users,
+                      @Value("${ecommerce.seed.products:20000}") int products,
+                      @Value("${ecommerce.seed.orders:500000}") int orders,
+                      @Value("${ecommerce.seed.max-items-per-order:5}") int maxItemsPerOrder,
+                      @Value("${ecommerce.seed.product-skew:1.0}") double productSkew,
+                      @Value("${ecommerce.seed.user-skew:0.6}") double userSkew,
+                      @Value("${ecommerce.seed.random-seed:42}") long randomSeed,
+                      @Value("${ecommerce.seed.as-of:2026-01-01T00:00:00}") LocalDateTime asOf,
+                      @Value("${ecommerce.seed.rows-per-statement:100}") int rowsPerStatement) {
+        this.dataSeeder = dataSeeder;
+        this.plan = new SeedPlan(users, products, orders, maxItemsPerOrder, productSkew, userSkew,
+                randomSeed, asOf, rowsPerStatement);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        dataSeeder.seed(plan);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.ecommerce.seed;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Draws ranks {@code 0..n-1} with Zipfian probabilities: rank {@code k} is drawn in proportion
+ * to {@code 1 / (k + 1)^exponent}, so a few ranks take most of the draws and the rest form
+ * a long tail. Sampling is a binary search over the precomputed cumulative distribution.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+public final class ZipfSampler {
+    private final double[] cumulative;
+
+    /**
+     * @param n Number of ranks
+     * @param exponent Skew; 0 draws every rank equally often
+     */
+    public ZipfSampler(int n, double exponent) {
+        if (n <= 0 || exponent < 0) {
+            throw new IllegalArgumentException("Zipf sampler needs a positive size and a non-negative exponent");
+        }
+        cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= sum;
+        }
+    }
+
+    public int sample(RandomGenerator random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        // A miss returns -(insertion point) - 1; the insertion point is the drawn rank
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.dto.IdempotencyStats;
+import com.example.ecommerce.entity.IdempotencyRecord;
+import com.example.ecommerce.repository.IdempotencyRecordRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers the first response sent for each idempotency key so client retries
+ * get the same answer instead of repeating the work.
+ * <p>
+ * Responses are held in a bounded in-memory cache that drops entries after a
+ * time to live. While the first request for a key is still running, duplicates
+ * wait for its response rather than running concurrently. With
+ * {@code ecommerce.idempotency.persistent=true} responses are also written to the
+ * {@code idempotency_records} table and looked up there on a memory miss, so keys
+ * survive restarts.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+@Service
+public class IdempotencyStore {
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final boolean persistent;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+    private final Cache<String, StoredResponse> responses;
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructs a new IdempotencyStore.
+     *
+     * @param recordRepository Repository for the persistent tier
+     * @param ttlSeconds How long a response is kept
+     * @param maxEntries Most responses held in memory
+     * @param waitTimeoutMs Longest time a duplicate waits for the first request
+     * @param persistent Whether responses are also kept in the database
+     */
+    public IdempotencyStore(IdempotencyRecordRepository recordRepository,
+                            @Value("${ecommerce.idempotency.ttl-seconds:86400}") long ttlSeconds,
+                            @Value("${ecommerce.idempotency.max-entries:10000}") long maxEntries,
+                            @Value("${ecommerce.idempotency.wait-timeout-ms:30000}") long waitTimeoutMs,
+                            @Value("${ecommerce.idempotency.persistent:false}") boolean persistent) {
+        this.recordRepository = recordRepository;
+        this.persistent = persistent;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.waitTimeout = Duration.ofMillis(waitTimeoutMs);
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .executor(Runnable::run)
+                .evictionListener((String key, StoredResponse response, RemovalCause cause) -> evictions.increment())
+                .build();
+    }
+
+    /**
+     * Claims a key for a new request or returns the response already stored for it.
+     * If another request holds the key, waits for it to finish first.
+     * An empty result means the caller owns the key and must call
+     * {@link #complete(String, StoredResponse)} or {@link #release(String)}.
+     *
+     * @param key The idempotency key
+     * @return The stored response, or empty if the caller should run the request
+     * @throws IllegalStateException if the first request does not finish in time
+     */
+    public Optional<StoredResponse> claim(String key) {
+        while (true) {
+            StoredResponse stored = responses.getIfPresent(key);
+            if (stored != null) {
+                hits.increment();
+                return Optional.of(stored);
+            }
+
+            CompletableFuture<StoredResponse> claimed = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(key, claimed);
+            if (running == null) {
+                // Re-check: the previous owner may have completed between the two lookups
+                stored = responses.getIfPresent(key);
+                if (stored == null) {
+                    stored = loadPersisted(key);
+                }
+                if (stored != null) {
+                    responses.put(key, stored);
+                    inFlight.remove(key, claimed);
+                    claimed.complete(stored);
+                    hits.increment();
+                    return Optional.of(stored);
+                }
+                misses.increment();
+                return Optional.empty();
+            }
+
+            stored = await(running);
+            if (stored != null) {
+                hits.increment();
+                return Optional.of(stored);
+            }
+            // The first request gave up the key, so try to claim it
+        }
+    }
+
+    /**
+     * Stores the response for a claimed key and hands it to any waiting duplicates.
+     *
+     * @param key The idempotency key
+     * @param response The response to keep
+     */
+    public void complete(String key, StoredResponse response) {
+        responses.put(key, response);
+        if (persistent) {
+            persist(key, response);
+        }
+        CompletableFuture<StoredResponse> claimed = inFlight.remove(key);
+        if (claimed != null) {
+            claimed.complete(response);
+        }
+    }
+
+    /**
+     * Gives up a claimed key without storing a response, e.g. after a server error,
+     * so the next retry runs the request again.
+     *
+     * @param key The idempotency key
+     */
+    public void release(String key) {
+        CompletableFuture<StoredResponse> claimed = inFlight.remove(key);
+        if (claimed != null) {
+            claimed.complete(null);
+        }
+    }
+
+    /**
+     * Returns the hit, miss and eviction counters.
+     *
+     * @return Current store statistics
+     */
+    public IdempotencyStats getStats() {
+        responses.cleanUp();
+        return new IdempotencyStats(hits.sum(), misses.sum(), evictions.sum(),
+                responses.estimatedSize(), inFlight.size());
+    }
+
+    /**
+     * Deletes expired records from the persistent tier.
+     *
+     * @return Number of records deleted
+     */
+    @Scheduled(fixedDelayString = "${ecommerce.idempotency.purge-interval-ms:600000}")
+    public int purgeExpired() {
+        if (!persistent) {
+            return 0;
+        }
+        int deleted = recordRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.debug("Purged {} expired idempotency records", deleted);
+        }
+        return deleted;
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> running) {
+        try {
+            return running.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the original request", e);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("A request with this idempotency key is still in progress", e);
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    private StoredResponse loadPersisted(String key) {
+        if (!persistent) {
+            return null;
+        }
+        return recordRepository.findById(key)
+                .filter(record -> !record.isExpired(LocalDateTime.now()))
+                .map(record -> new StoredResponse(record.getRequestHash(), record.getStatus(), record.getContentType(),
+                        record.getLocation(), record.getBody()))
+                .orElse(null);
+    }
+
+    private void persist(String key, StoredResponse response) {
+        try {
+            recordRepository.save(new IdempotencyRecord(key, response.requestHash(), response.status(),
+                    response.contentType(), response.location(), response.body(), LocalDateTime.now().plus(ttl)));
+        } catch (RuntimeException e) {
+            // The in-memory copy still answers retries until this instance restarts
+            log.warn("Failed to persist idempotency key {}", key, e);
+        }
+    }
+
+    /**
+     * A response captured for replay, with a fingerprint of the request that produced it.
+     *
+     * @param requestHash Hash of the request the response answers; null for records stored without one
+     * @param status HTTP status code
+     * @param contentType Content-Type header, if any
+     * @param location Location header, if any
+     * @param body Response body
+     */
+    public record StoredResponse(String requestHash, int status, String contentType, String location, byte[] body) {
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.dto.CursorPage;
+import com.example.ecommerce.dto.CursorPageRequest;
+import com.example.ecommerce.dto.PageCursor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Shared steps for lists paged by creation time and ID.
+ * <p>
+ * Repositories scroll with a keyset {@link ScrollPosition}, so each page is a range
+ * read on the (created_at, id) index and never skips rows with OFFSET. Totals are
+ * counted only on request and stop at {@link CursorPageRequest#MAX_TOTAL_COUNT}.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+final class KeysetPaging {
+
+    private KeysetPaging() {
+    }
+
+    static ScrollPosition position(CursorPageRequest request) {
+        return request.after() == null ? ScrollPosition.keyset() : ScrollPosition.forward(request.after().toKeys());
+    }
+
+    static Limit limit(CursorPageRequest request) {
+        return Limit.of(request.size());
+    }
+
+    /**
+     * Builds a page from a repository window.
+     *
+     * @param window Rows read after the request's cursor
+     * @param request The page request
+     * @param cursorOf Cursor positioned at a row
+     * @param cappedCount Counts matching rows, stopping after the given number
+     */
+    static <T> CursorPage<T> page(Window<T> window, CursorPageRequest request,
+                                  Function<T, PageCursor> cursorOf, IntToLongFunction cappedCount) {
+        List<T> items = window.getContent();
+        String nextCursor = window.hasNext() && !items.isEmpty() ? cursorOf.apply(items.get(items.size() - 1)).encode() : null;
+        return withTotal(items, nextCursor, request, cappedCount);
+    }
+
+    /**
+     * Builds a page from rows read with one row past the page size, which shows whether
+     * another page follows.
+     *
+     * @param rows Up to {@link #lookaheadLimit(CursorPageRequest)} rows read after the request's cursor
+     * @param request The page request
+     * @param cursorOf Cursor positioned at a row
+     * @param cappedCount Counts matching rows, stopping after the given number
+     */
+    static <T> CursorPage<T> page(List<T> rows, CursorPageRequest request,
+                                  Function<T, PageCursor> cursorOf, IntToLongFunction cappedCount) {
+        boolean hasNext = rows.size() > request.size();
+        List<T> items = hasNext ? List.copyOf(rows.subList(0, request.size())) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(items.get(items.size() - 1)).encode() : null;
+        return withTotal(items, nextCursor, request, cappedCount);
+    }
+
+    static int lookaheadLimit(CursorPageRequest request) {
+        return request.size() + 1;
+    }
+
+    /**
+     * Builds a page from a list already held in memory in creation-time, ID order.
+     *
+     * @param sorted All matching rows
+     * @param request The page request
+     * @param cursorOf Cursor positioned at a row
+     */
+    static <T> CursorPage<T> page(List<T> sorted, CursorPageRequest request, Function<T, PageCursor> cursorOf) {
+        PageCursor after = request.after();
+        int from = 0;
+        if (after != null) {
+            // Binary search for the first row past the cursor
+            int low = 0;
+            int high = sorted.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                PageCursor row = cursorOf.apply(sorted.get(mid));
+                if (after.isBefore(row.createdAt(), row.id())) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            from = low;
+        }
+        int to = Math.min(sorted.size(), from + request.size());
+        List<T> items = new ArrayList<>(sorted.subList(from, to));
+        String nextCursor = to < sorted.size() ? cursorOf.apply(sorted.get(to - 1)).encode() : null;
+        return withTotal(items, nextCursor, request, cap -> Math.min(sorted.size(), cap));
+    }
+
+    private static <T> CursorPage<T> withTotal(List<T> items, String nextCursor, CursorPageRequest request,
+                                               IntToLongFunction cappedCount) {
+        if (!request.includeTotal()) {
+            return new CursorPage<>(items, nextCursor, null, null);
+        }
+        // One row past the cap tells a capped count from an exact one
+        long counted = cappedCount.applyAsLong(CursorPageRequest.MAX_TOTAL_COUNT + 1);
+        boolean capped = counted > CursorPageRequest.MAX_TOTAL_COUNT;
+        return new CursorPage<>(items, nextCursor, Math.min(counted, CursorPageRequest.MAX_TOTAL_COUNT), capped);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.ecommerce.service;
+
+/**
+ * Thrown when a caller stops waiting for an order that was already handed to a group
+ * transaction. The order may still be committed, so the request must not be treated
+ * as failed or run again.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+public class OrderCommitPendingException extends IllegalStateException {
+
+    /**
+     * Constructs a new OrderCommitPendingException.
+     *
+     * @param message The detail message
+     * @param cause Why the caller stopped waiting
+     */
+    public OrderCommitPendingException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.dto.OrderExportFilter;
+import com.example.ecommerce.dto.OrderExportLine;
+import com.example.ecommerce.entity.Order;
+import com.example.ecommerce.entity.OrderItem;
+import com.example.ecommerce.repository.OrderRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Writes orders as newline-delimited JSON, one order with its items per line.
+ * <p>
+ * Orders are read from a database cursor in chunks of
+ * {@link OrderRepository#EXPORT_FETCH_SIZE}. Each chunk's items are loaded in one
+ * query, written and flushed, and then the persistence context is cleared, so memory
+ * use depends on the chunk size and not on how many orders are exported.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+@Service
+public class OrderExportService {
+    private static final Logger log = LoggerFactory.getLogger(OrderExportService.class);
+
+    private final OrderRepository orderRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructs a new OrderExportService.
+     *
+     * @param orderRepository Repository the orders are streamed from
+     * @param entityManager Entity manager cleared after every chunk
+     * @param objectMapper Mapper that writes each line
+     */
+    public OrderExportService(OrderRepository orderRepository, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.orderRepository = orderRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes every order matching the filter to the stream in ID order.
+     * The stream is flushed after every chunk but not closed.
+     *
+     * @param filter Status and creation-time range to export
+     * @param out Stream the NDJSON lines are written to
+     * @return Number of orders written
+     * @throws IOException if writing to the stream fails
+     */
+    @Transactional(readOnly = true)
+    public long export(OrderExportFilter filter, OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        long written = 0;
+        List<Order> chunk = new ArrayList<>(OrderRepository.EXPORT_FETCH_SIZE);
+        try (Stream<Order> orders = orderRepository.streamForExport(filter.status(), filter.from(), filter.to());
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+            Iterator<Order> iterator = orders.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == OrderRepository.EXPORT_FETCH_SIZE) {
+                    written += writeChunk(chunk, generator);
+                }
+            }
+            written += writeChunk(chunk, generator);
+        }
+        log.info("Exported {} orders in {} ms", written, (System.nanoTime() - started) / 1_000_000);
+        return written;
+    }
+
+    private int writeChunk(List<Order> chunk, JsonGenerator generator) throws IOException {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        Map<Long, List<OrderItem>> itemsByOrder = orderRepository
+                .findItemsByOrderIds(chunk.stream().map(Order::getId).toList()).stream()
+                .collect(Collectors.groupingBy(item -> item.getOrder().getId()));
+        for (Order order : chunk) {
+            objectMapper.writeValue(generator, OrderExportLine.from(order, itemsByOrder.getOrDefault(order.getId(), List.of())));
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+
+        int size = chunk.size();
+        chunk.clear();
+        // Detach the chunk so the persistence context does not grow with the export
+        entityManager.clear();
+        return size;
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.entity.Order;
+import com.example.ecommerce.entity.OrderItem;
+import com.example.ecommerce.service.OrderService.OrderOutcome;
+import com.example.ecommerce.service.OrderService.OrderRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Group commit for order creation.
+ * Orders from concurrent callers are queued, and a single writer thread creates up to
+ * {@code maxGroupSize} of them in one transaction once the oldest has waited {@code maxWait},
+ * so their inserts go out as JDBC batches behind one commit instead of one commit per order.
+ * Each caller blocks until its own order is committed or refused, for at most {@code timeout}.
+ * If the group transaction itself fails, its orders are retried one by one so a bad order
+ * cannot fail the rest.
+ * Enabled with {@code ecommerce.order.group-commit.enabled=true}.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+@Service
+@ConditionalOnProperty(name = "ecommerce.order.group-commit.enabled", havingValue = "true")
+public class OrderGroupCommitter implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(OrderGroupCommitter.class);
+
+    private final OrderService orderService;
+    private final int maxGroupSize;
+    private final Duration maxWait;
+    private final Duration timeout;
+    private final BlockingQueue<PendingOrder> queue = new LinkedBlockingQueue<>();
+    private final AtomicLong groupCount = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    /**
+     * Constructs a new OrderGroupCommitter and starts its writer thread.
+     *
+     * @param orderService Creates each group of orders in one transaction
+     * @param maxGroupSize Most orders committed together
+     * @param maxWaitMs Longest time an order waits for its group to fill up
+     * @param timeoutMs Longest time a caller waits for its order to be committed or refused
+     */
+    public OrderGroupCommitter(OrderService orderService,
+                               @Value("${ecommerce.order.group-commit.max-size:100}") int maxGroupSize,
+                               @Value("${ecommerce.order.group-commit.max-wait-ms:2}") long maxWaitMs,
+                               @Value("${ecommerce.order.group-commit.timeout-ms:10000}") long timeoutMs) {
+        if (maxGroupSize < 1) {
+            throw new IllegalArgumentException("Group size must be at least 1");
+        }
+        this.orderService = orderService;
+        this.maxGroupSize = maxGroupSize;
+        this.maxWait = Duration.ofMillis(maxWaitMs);
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.writer = Thread.ofPlatform().daemon().name("order-group-commit").start(this::writeLoop);
+    }
+
+    /**
+     * Creates an order as part of the next group and waits until it is committed.
+     *
+     * @param userId The buyer
+     * @param items The requested lines
+     * @return The committed order
+     * @throws IllegalArgumentException if the order is refused, e.g. for lack of stock
+     * @throws IllegalStateException if the committer is shut down, or the order was never picked up within the timeout
+     * @throws OrderCommitPendingException if the order's group was still running when the timeout passed
+     */
+    public Order createOrder(Long userId, List<OrderItem> items) {
+        if (!running) {
+            throw new IllegalStateException("Order group commit is shut down");
+        }
+        PendingOrder pending = new PendingOrder(new OrderRequest(userId, items), new CompletableFuture<>());
+        queue.add(pending);
+        // close() may have drained the queue between the check above and the add; take the order back if so
+        if (!running && queue.remove(pending)) {
+            throw new IllegalStateException("Order group commit is shut down");
+        }
+        try {
+            return pending.result().get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw giveUp(pending, "Order was not committed within " + timeout.toMillis() + " ms", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw giveUp(pending, "Interrupted while waiting for the order to be committed", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Order group commit failed", e.getCause());
+        }
+    }
+
+    // Still queued means the writer never saw it; otherwise its group may yet commit it
+    private IllegalStateException giveUp(PendingOrder pending, String message, Exception cause) {
+        if (queue.remove(pending)) {
+            return new IllegalStateException(message, cause);
+        }
+        return new OrderCommitPendingException(message + " and may still complete", cause);
+    }
+
+    /**
+     * Returns how many group transactions the writer has run.
+     *
+     * @return Number of groups committed or attempted
+     */
+    public long getGroupCount() {
+        return groupCount.get();
+    }
+
+    /**
+     * Stops accepting orders, commits what is queued and waits for the writer to finish.
+     * Orders the writer did not pick up, e.g. because it was interrupted, fail at once.
+     * If the calling thread is interrupted it stops waiting for the writer and keeps its interrupt status.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<PendingOrder> leftover = new ArrayList<>();
+        queue.drainTo(leftover);
+        IllegalStateException shutDown = new IllegalStateException("Order group commit is shut down");
+        leftover.forEach(pending -> pending.result().completeExceptionally(shutDown));
+    }
+
+    private void writeLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingOrder first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    write(collectGroup(first));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private List<PendingOrder> collectGroup(PendingOrder first) throws InterruptedException {
+        List<PendingOrder> group = new ArrayList<>(maxGroupSize);
+        group.add(first);
+        long deadline = System.nanoTime() + maxWait.toNanos();
+        while (group.size() < maxGroupSize) {
+            queue.drainTo(group, maxGroupSize - group.size());
+            long remaining = deadline - System.nanoTime();
+            if (group.size() >= maxGroupSize || remaining <= 0) {
+                break;
+            }
+            PendingOrder next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            group.add(next);
+        }
+        return group;
+    }
+
+    private void write(List<PendingOrder> group) {
+        groupCount.incrementAndGet();
+        List<OrderOutcome> outcomes;
+        try {
+            outcomes = orderService.createOrders(group.stream().map(PendingOrder::request).toList());
+        } catch (RuntimeException e) {
+            log.warn("Group commit of {} orders failed, committing them one by one", group.size(), e);
+            group.forEach(this::writeAlone);
+            return;
+        }
+        for (int i = 0; i < group.size(); i++) {
+            OrderOutcome outcome = outcomes.get(i);
+            if (outcome.error() != null) {
+                group.get(i).result().completeExceptionally(outcome.error());
+            } else {
+                group.get(i).result().complete(outcome.order());
+            }
+        }
+        log.debug("Committed order group of {} orders", group.size());
+    }
+
+    private void writeAlone(PendingOrder pending) {
+        try {
+            pending.result().complete(orderService.createOrder(pending.request().userId(), pending.request().items()));
+        } catch (RuntimeException e) {
+            pending.result().completeExceptionally(e);
+        }
+    }
+
+    private record PendingOrder(OrderRequest request, CompletableFuture<Order> result) {
+    }
+}
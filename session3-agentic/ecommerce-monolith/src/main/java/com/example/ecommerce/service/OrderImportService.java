@@ -0,0 +1,334 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.dto.OrderImportRecord;
+import com.example.ecommerce.dto.OrderImportResult;
+import com.example.ecommerce.entity.Order;
+import com.example.ecommerce.entity.OrderItem;
+import com.example.ecommerce.entity.Product;
+import com.example.ecommerce.entity.User;
+import com.example.ecommerce.metrics.ShopMetrics;
+import com.example.ecommerce.repository.ProductRepository;
+import com.example.ecommerce.repository.ProductStockRepository;
+import com.example.ecommerce.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Creates orders in bulk from newline-delimited JSON, one {@link OrderImportRecord} per line,
+ * and writes one {@link OrderImportResult} line back per record.
+ * <p>
+ * Records are read with a streaming parser and handled in chunks of
+ * {@code ecommerce.order.import.chunk-size}. For each chunk the referenced users, products and
+ * stock levels are read in one query each, stock is checked in memory, and the accepted orders
+ * are inserted as JDBC batches with one guarded stock update, all in one transaction. Results
+ * are flushed after every chunk, so memory use depends on the chunk size and not on the feed size.
+ * A rejected record does not affect the rest of its chunk. If other buyers take the stock between
+ * the check and the update, the chunk is rolled back and checked again.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+@Service
+public class OrderImportService {
+    private static final Logger log = LoggerFactory.getLogger(OrderImportService.class);
+    private static final int MAX_ATTEMPTS = 3;
+    private static final String INSUFFICIENT_STOCK = "Insufficient stock for product: ";
+
+    private final UserRepository userRepository;
+    private final ProductRepository productRepository;
+    private final ProductStockRepository productStockRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final StockLedger stockLedger;
+    private final ShopMetrics shopMetrics;
+    private final int chunkSize;
+
+    /**
+     * Constructs a new OrderImportService.
+     *
+     * @param userRepository Repository the ordering users are looked up in
+     * @param productRepository Repository the ordered products are looked up in
+     * @param productStockRepository Repository stock is checked and taken through
+     * @param entityManager Entity manager the orders are persisted with
+     * @param transactionTemplate Runs each chunk in its own transaction
+     * @param objectMapper Mapper that reads records and writes results
+     * @param stockLedger The stock ledger, when enabled, which is then the authority on stock
+     * @param shopMetrics Counts created and rejected orders and stock-outs
+     * @param chunkSize Most records handled per transaction
+     */
+    public OrderImportService(UserRepository userRepository,
+                              ProductRepository productRepository,
+                              ProductStockRepository productStockRepository,
+                              EntityManager entityManager,
+                              TransactionTemplate transactionTemplate,
+                              ObjectMapper objectMapper,
+                              ObjectProvider<StockLedger> stockLedger,
+                              ShopMetrics shopMetrics,
+                              @Value("${ecommerce.order.import.chunk-size:500}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be at least 1");
+        }
+        this.userRepository = userRepository;
+        this.productRepository = productRepository;
+        this.productStockRepository = productStockRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.stockLedger = stockLedger.getIfAvailable();
+        this.shopMetrics = shopMetrics;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Imports every record of the feed and writes a result line for each.
+     * Malformed JSON ends the import: records before it are still imported, and a
+     * rejected result for the malformed line is written last. Neither stream is closed.
+     *
+     * @param in NDJSON feed of order records
+     * @param out Stream the NDJSON results are written to
+     * @return How many orders were created and how many records were rejected
+     * @throws IOException if reading the feed or writing the results fails
+     */
+    public Summary importOrders(InputStream in, OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        Summary summary = new Summary(0, 0);
+        List<ParsedRecord> chunk = new ArrayList<>(chunkSize);
+        try (JsonParser parser = objectMapper.createParser(in);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+            OrderImportResult malformed = null;
+            while (true) {
+                ParsedRecord parsed;
+                try {
+                    if (parser.nextToken() == null) {
+                        break;
+                    }
+                    long line = parser.currentTokenLocation().getLineNr();
+                    parsed = bind(line, objectMapper.readTree(parser));
+                } catch (JsonProcessingException e) {
+                    // The parser cannot find the next record after a syntax error
+                    long line = e.getLocation() == null ? 0 : e.getLocation().getLineNr();
+                    malformed = OrderImportResult.rejected(line, null, "Malformed JSON, import stopped: " + e.getOriginalMessage());
+                    break;
+                }
+                chunk.add(parsed);
+                if (chunk.size() == chunkSize) {
+                    summary = summary.plus(write(importChunk(chunk), generator));
+                    chunk.clear();
+                }
+            }
+            summary = summary.plus(write(importChunk(chunk), generator));
+            if (malformed != null) {
+                summary = summary.plus(write(List.of(malformed), generator));
+            }
+        }
+        log.info("Imported {} orders, rejected {} records in {} ms", summary.created(), summary.rejected(),
+                (System.nanoTime() - started) / 1_000_000);
+        return summary;
+    }
+
+    private ParsedRecord bind(long line, JsonNode node) {
+        String reference = node.path("reference").isTextual() ? node.path("reference").asText() : null;
+        OrderImportRecord record;
+        try {
+            record = objectMapper.treeToValue(node, OrderImportRecord.class);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            return ParsedRecord.rejected(line, reference, "Invalid record: " + e.getMessage().lines().findFirst().orElse(""));
+        }
+        if (record == null || record.userId() == null) {
+            return ParsedRecord.rejected(line, reference, "User ID is required");
+        }
+        if (record.items() == null || record.items().isEmpty()) {
+            return ParsedRecord.rejected(line, reference, "At least one item is required");
+        }
+        for (OrderImportRecord.Item item : record.items()) {
+            if (item == null || item.productId() == null) {
+                return ParsedRecord.rejected(line, reference, "Product ID is required");
+            }
+            if (item.quantity() == null || item.quantity() < 1) {
+                return ParsedRecord.rejected(line, reference, "Quantity must be positive");
+            }
+        }
+        return new ParsedRecord(line, reference, record, null);
+    }
+
+    private List<OrderImportResult> importChunk(List<ParsedRecord> chunk) {
+        if (chunk.isEmpty()) {
+            return List.of();
+        }
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            List<OrderImportResult> results = transactionTemplate.execute(status -> persistChunk(chunk, status));
+            if (results != null) {
+                return results;
+            }
+            log.debug("Stock changed while importing a chunk of {} records, attempt {}", chunk.size(), attempt);
+        }
+        return chunk.stream()
+                .map(parsed -> parsed.error() != null
+                        ? OrderImportResult.rejected(parsed.line(), parsed.reference(), parsed.error())
+                        : OrderImportResult.rejected(parsed.line(), parsed.reference(), "Stock changed during import, send the record again"))
+                .toList();
+    }
+
+    // Returns null, after marking the transaction for rollback, when the stock update finds less stock than was checked
+    private List<OrderImportResult> persistChunk(List<ParsedRecord> chunk, TransactionStatus status) {
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> productIds = new HashSet<>();
+        for (ParsedRecord parsed : chunk) {
+            if (parsed.error() == null) {
+                userIds.add(parsed.record().userId());
+                parsed.record().items().forEach(item -> productIds.add(item.productId()));
+            }
+        }
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<Long, Product> products = productRepository.findAllByIdIn(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        Map<Long, Integer> available = availableStock(products.keySet());
+
+        // Sorted by product ID so stock rows are always locked in the same order
+        SortedMap<Long, Integer> taken = new TreeMap<>();
+        List<OrderImportResult> results = new ArrayList<>(chunk.size());
+        int stockOuts = 0;
+        for (ParsedRecord parsed : chunk) {
+            String error = parsed.error() != null ? parsed.error() : check(parsed.record(), users, products, available);
+            if (error != null) {
+                results.add(OrderImportResult.rejected(parsed.line(), parsed.reference(), error));
+                if (error.startsWith(INSUFFICIENT_STOCK)) {
+                    stockOuts++;
+                }
+                continue;
+            }
+            Order order = toOrder(parsed.record(), users, products);
+            for (OrderItem item : order.getOrderItems()) {
+                taken.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
+            }
+            entityManager.persist(order);
+            results.add(OrderImportResult.created(parsed.line(), parsed.reference(), order.getId()));
+        }
+
+        if (!reserve(taken)) {
+            status.setRollbackOnly();
+            return null;
+        }
+        int chunkStockOuts = stockOuts;
+        TransactionCallbacks.afterCommit(() -> shopMetrics.stockOuts(ShopMetrics.SOURCE_IMPORT, chunkStockOuts));
+        return results;
+    }
+
+    // Checks one record against the chunk's lookups and takes its stock from the in-memory levels
+    private static String check(OrderImportRecord record, Map<Long, User> users, Map<Long, Product> products,
+                                Map<Long, Integer> available) {
+        if (!users.containsKey(record.userId())) {
+            return "User not found";
+        }
+        Map<Long, Integer> quantities = new HashMap<>();
+        for (OrderImportRecord.Item item : record.items()) {
+            if (!products.containsKey(item.productId())) {
+                return "Product not found: " + item.productId();
+            }
+            quantities.merge(item.productId(), item.quantity(), Integer::sum);
+        }
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            if (available.getOrDefault(entry.getKey(), 0) < entry.getValue()) {
+                return INSUFFICIENT_STOCK + products.get(entry.getKey()).getName();
+            }
+        }
+        quantities.forEach((productId, quantity) -> available.merge(productId, -quantity, Integer::sum));
+        return null;
+    }
+
+    private static Order toOrder(OrderImportRecord record, Map<Long, User> users, Map<Long, Product> products) {
+        Order order = new Order(users.get(record.userId()));
+        order.setShippingAddress(record.shippingAddress());
+        order.setBillingAddress(record.billingAddress());
+        for (OrderImportRecord.Item item : record.items()) {
+            Product product = products.get(item.productId());
+            order.addOrderItem(new OrderItem(product, item.quantity(), product.getPrice()));
+        }
+        return order;
+    }
+
+    private Map<Long, Integer> availableStock(Set<Long> productIds) {
+        if (stockLedger == null) {
+            return new HashMap<>(productStockRepository.findStockQuantities(productIds));
+        }
+        return stockLedger.getAvailable(productIds);
+    }
+
+    private boolean reserve(SortedMap<Long, Integer> taken) {
+        if (taken.isEmpty()) {
+            return true;
+        }
+        if (stockLedger == null) {
+            return productStockRepository.decrementStock(taken).isEmpty();
+        }
+        if (!stockLedger.tryReserve(taken).isEmpty()) {
+            return false;
+        }
+        TransactionCallbacks.afterRollback(() -> stockLedger.release(taken));
+        return true;
+    }
+
+    private Summary write(List<OrderImportResult> results, JsonGenerator generator) throws IOException {
+        long created = 0;
+        for (OrderImportResult result : results) {
+            objectMapper.writeValue(generator, result);
+            generator.writeRaw('\n');
+            if (result.status() == OrderImportResult.Status.CREATED) {
+                created++;
+            }
+        }
+        generator.flush();
+        shopMetrics.ordersCreated(ShopMetrics.SOURCE_IMPORT, created);
+        shopMetrics.ordersRejected(ShopMetrics.SOURCE_IMPORT, results.size() - created);
+        return new Summary(created, results.size() - created);
+    }
+
+    /**
+     * Totals of an import.
+     *
+     * @param created Orders created
+     * @param rejected Records rejected
+     */
+    public record Summary(long created, long rejected) {
+        Summary plus(Summary other) {
+            return new Summary(created + other.created, rejected + other.rejected);
+        }
+    }
+
+    private record ParsedRecord(long line, String reference, OrderImportRecord record, String error) {
+        static ParsedRecord rejected(long line, String reference, String error) {
+            return new ParsedRecord(line, reference, null, error);
+        }
+    }
+}
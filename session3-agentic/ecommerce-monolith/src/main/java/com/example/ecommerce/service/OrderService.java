@@ -1,73 +1,210 @@
 package com.example.ecommerce.service;
 
+import com.example.ecommerce.dto.CursorPage;
+import com.example.ecommerce.dto.CursorPageRequest;
+import com.example.ecommerce.dto.OrderDetail;
+import com.example.ecommerce.dto.OrderSummary;
+import com.example.ecommerce.dto.PageCursor;
 import com.example.ecommerce.entity.Order;
 import com.example.ecommerce.entity.OrderItem;
 import com.example.ecommerce.entity.Product;
 import com.example.ecommerce.entity.User;
+import com.example.ecommerce.metrics.ShopMetrics;
 import com.example.ecommerce.repository.OrderRepository;
+import com.example.ecommerce.repository.OrderViewRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 @Service
 @Transactional
+@Timed(value = "ecommerce.service", description = "Service method calls", histogram = true)
 public class OrderService {
+    // Stock-outs are rejections like any other, told apart by this message to count them
+    private static final String INSUFFICIENT_STOCK = "Insufficient stock for product: ";
+
     private final OrderRepository orderRepository;
+    private final OrderViewRepository orderViewRepository;
     private final UserService userService;
     private final ProductService productService;
+    private final StockLedger stockLedger;
+    private final ShopMetrics shopMetrics;
 
     public OrderService(OrderRepository orderRepository,
+                       OrderViewRepository orderViewRepository,
                        UserService userService,
-                       ProductService productService) {
+                       ProductService productService,
+                       ObjectProvider<StockLedger> stockLedger,
+                       ShopMetrics shopMetrics) {
         this.orderRepository = orderRepository;
+        this.orderViewRepository = orderViewRepository;
         this.userService = userService;
         this.productService = productService;
+        this.stockLedger = stockLedger.getIfAvailable();
+        this.shopMetrics = shopMetrics;
     }
 
     public Order createOrder(Long userId, List<OrderItem> items) {
+        Order order;
+        try {
+            order = orderRepository.save(prepareOrder(userId, items));
+        } catch (IllegalArgumentException e) {
+            // The rejection rolls this transaction back, so there is no commit to wait for
+            shopMetrics.ordersRejected(ShopMetrics.SOURCE_API, 1);
+            if (isStockOut(e)) {
+                shopMetrics.stockOuts(ShopMetrics.SOURCE_API, 1);
+            }
+            throw e;
+        }
+        TransactionCallbacks.afterCommit(() -> shopMetrics.ordersCreated(ShopMetrics.SOURCE_API, 1));
+        return order;
+    }
+
+    /**
+     * Creates several orders in one transaction, so their inserts go out as JDBC batches
+     * and share a single commit. An order that fails validation or runs short of stock
+     * is reported in its outcome and does not affect the others.
+     *
+     * @param requests Orders to create
+     * @return One outcome per request, in request order
+     */
+    public List<OrderOutcome> createOrders(List<OrderRequest> requests) {
+        List<OrderOutcome> outcomes = new ArrayList<>(requests.size());
+        for (OrderRequest request : requests) {
+            try {
+                outcomes.add(OrderOutcome.created(orderRepository.save(prepareOrder(request.userId(), request.items()))));
+            } catch (IllegalArgumentException e) {
+                outcomes.add(OrderOutcome.failed(e));
+            }
+        }
+        long created = outcomes.stream().filter(outcome -> outcome.error() == null).count();
+        long stockOuts = outcomes.stream().filter(outcome -> isStockOut(outcome.error())).count();
+        // Only once committed: a group that rolls back is retried order by order, which records its own outcomes
+        TransactionCallbacks.afterCommit(() -> {
+            shopMetrics.ordersCreated(ShopMetrics.SOURCE_API, created);
+            shopMetrics.ordersRejected(ShopMetrics.SOURCE_API, outcomes.size() - created);
+            shopMetrics.stockOuts(ShopMetrics.SOURCE_API, stockOuts);
+        });
+        return outcomes;
+    }
+
+    // Validates the order and reserves its stock; throws before writing anything else
+    private Order prepareOrder(Long userId, List<OrderItem> items) {
         User user = userService.getUserById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
+        // Sorted by product ID so stock rows are always locked in the same order
+        SortedMap<Long, Integer> quantities = new TreeMap<>();
+        for (OrderItem item : items) {
+            quantities.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
+        }
+        Map<Long, Product> products = productService.getProductsByIds(quantities.keySet());
+
         Order order = new Order(user);
 
         for (OrderItem item : items) {
-            Product product = productService.getProductById(item.getProduct().getId())
-                    .orElseThrow(() -> new IllegalArgumentException("Product not found"));
+            Product product = products.get(item.getProduct().getId());
+            if (product == null) {
+                throw new IllegalArgumentException("Product not found");
+            }
 
-            if (product.getStockQuantity() < item.getQuantity()) {
-                throw new IllegalArgumentException("Insufficient stock for product: " + product.getName());
+            // The ledger, when enabled, is the authority on stock instead of the products table
+            if (stockLedger == null && product.getStockQuantity() < quantities.get(product.getId())) {
+                throw insufficientStock(product);
             }
 
             OrderItem orderItem = new OrderItem(product, item.getQuantity(), product.getPrice());
             order.addOrderItem(orderItem);
+        }
 
-            // Update stock
-            productService.updateStock(product.getId(), -item.getQuantity());
+        if (stockLedger != null) {
+            reserveFromLedger(quantities, products);
+        } else {
+            // Guarded decrement catches concurrent buyers that passed the check above
+            List<Long> rejected = productService.tryReserveStock(quantities);
+            if (!rejected.isEmpty()) {
+                throw insufficientStock(products.get(rejected.get(0)));
+            }
         }
+        return order;
+    }
 
-        return orderRepository.save(order);
+    private static IllegalArgumentException insufficientStock(Product product) {
+        return new IllegalArgumentException(INSUFFICIENT_STOCK + product.getName());
     }
 
+    private static boolean isStockOut(IllegalArgumentException e) {
+        return e != null && e.getMessage() != null && e.getMessage().startsWith(INSUFFICIENT_STOCK);
+    }
+
+    private void reserveFromLedger(SortedMap<Long, Integer> quantities, Map<Long, Product> products) {
+        List<Long> rejected = stockLedger.tryReserve(quantities);
+        if (!rejected.isEmpty()) {
+            throw insufficientStock(products.get(rejected.get(0)));
+        }
+        TransactionCallbacks.afterRollback(() -> stockLedger.release(quantities));
+    }
+
+    /**
+     * Finds an order with its items, their products and its user loaded in one statement,
+     * for callers that use or serialize the whole aggregate.
+     *
+     * @param id The order ID
+     * @return The order, if it exists
+     */
     public Optional<Order> getOrderById(Long id) {
-        return orderRepository.findById(id);
+        return orderRepository.findFullById(id);
     }
 
-    public List<Order> getAllOrders() {
-        return orderRepository.findAll();
+    /**
+     * Returns an order with its lines and user as a read model, in two SQL statements.
+     *
+     * @param id The order ID
+     * @return The order detail, if the order exists
+     */
+    @Transactional(readOnly = true)
+    public Optional<OrderDetail> getOrderDetail(Long id) {
+        return orderViewRepository.findDetail(id);
     }
 
-    public List<Order> getOrdersByUserId(Long userId) {
-        return orderRepository.findByUserId(userId);
+    /**
+     * Returns one page of order summaries in creation order.
+     *
+     * @param request Cursor, page size and whether to count the total
+     * @return The page and the cursor of the next one
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<OrderSummary> getOrders(CursorPageRequest request) {
+        return KeysetPaging.page(
+                orderViewRepository.findSummaries(null, null, request.after(), KeysetPaging.lookaheadLimit(request)),
+                request, OrderService::cursorOf, orderRepository::countCapped);
     }
 
-    public List<Order> getOrdersByStatus(Order.OrderStatus status) {
-        return orderRepository.findByStatus(status);
+    @Transactional(readOnly = true)
+    public CursorPage<OrderSummary> getOrdersByUserId(Long userId, CursorPageRequest request) {
+        return KeysetPaging.page(
+                orderViewRepository.findSummaries(userId, null, request.after(), KeysetPaging.lookaheadLimit(request)),
+                request, OrderService::cursorOf, cap -> orderRepository.countByUserIdCapped(userId, cap));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<OrderSummary> getOrdersByStatus(Order.OrderStatus status, CursorPageRequest request) {
+        return KeysetPaging.page(
+                orderViewRepository.findSummaries(null, status, request.after(), KeysetPaging.lookaheadLimit(request)),
+                request, OrderService::cursorOf, cap -> orderRepository.countByStatusCapped(status.name(), cap));
     }
 
     public Order updateOrderStatus(Long orderId, Order.OrderStatus newStatus) {
-        Order order = orderRepository.findById(orderId)
+        // Only the order row changes
+        Order order = orderRepository.findSummaryById(orderId)
                 .orElseThrow(() -> new IllegalArgumentException("Order not found"));
 
         order.setStatus(newStatus);
@@ -80,7 +217,8 @@ public class OrderService {
     }
 
     public void cancelOrder(Long orderId) {
-        Order order = orderRepository.findById(orderId)
+        // Items and products are needed to give the stock back
+        Order order = orderRepository.findWithItemsById(orderId)
                 .orElseThrow(() -> new IllegalArgumentException("Order not found"));
 
         if (order.getStatus() != Order.OrderStatus.PENDING &&
@@ -89,11 +227,40 @@ public class OrderService {
         }
 
         // Restore stock
+        SortedMap<Long, Integer> quantities = new TreeMap<>();
         for (OrderItem item : order.getOrderItems()) {
-            productService.updateStock(item.getProduct().getId(), item.getQuantity());
+            quantities.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
+        }
+        if (stockLedger != null) {
+            TransactionCallbacks.afterCommit(() -> stockLedger.release(quantities));
+        } else {
+            productService.releaseStock(quantities);
         }
 
         order.setStatus(Order.OrderStatus.CANCELLED);
         orderRepository.save(order);
     }
+
+    private static PageCursor cursorOf(OrderSummary order) {
+        return new PageCursor(order.createdAt(), order.id());
+    }
+
+    /**
+     * An order to create: the buyer and the requested lines.
+     */
+    public record OrderRequest(Long userId, List<OrderItem> items) {
+    }
+
+    /**
+     * What happened to one order of {@link #createOrders}: the created order or why it was refused.
+     */
+    public record OrderOutcome(Order order, IllegalArgumentException error) {
+        static OrderOutcome created(Order order) {
+            return new OrderOutcome(order, null);
+        }
+
+        static OrderOutcome failed(IllegalArgumentException error) {
+            return new OrderOutcome(null, error);
+        }
+    }
 }
@@ -0,0 +1,161 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.entity.Payment;
+import com.example.ecommerce.gateway.ChargeOutcomeUnknownException;
+import com.example.ecommerce.gateway.ChargeRequest;
+import com.example.ecommerce.gateway.GatewayResult;
+import com.example.ecommerce.gateway.PaymentGateway;
+import com.example.ecommerce.metrics.ShopMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drives payments through the asynchronous processing state machine:
+ * PENDING to PROCESSING (committed), then the gateway call on a virtual thread
+ * outside any transaction, then COMPLETED or FAILED in a second short transaction.
+ * <p>
+ * This class is deliberately not transactional; each step that touches the
+ * database goes through {@link PaymentService} and commits on its own.
+ * Callers may wait for a payment in flight to finish with {@link #awaitCompletion}.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+@Service
+public class PaymentProcessor {
+    private static final Logger log = LoggerFactory.getLogger(PaymentProcessor.class);
+
+    private final PaymentService paymentService;
+    private final PaymentGateway paymentGateway;
+    private final ExecutorService paymentExecutor;
+    private final ShopMetrics shopMetrics;
+    private final Map<Long, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new PaymentProcessor.
+     *
+     * @param paymentService The payment service for the transactional steps
+     * @param paymentGateway The gateway adapter that charges payments
+     * @param paymentExecutor The executor that runs gateway calls
+     * @param shopMetrics Records gateway latency and payment outcomes
+     */
+    public PaymentProcessor(PaymentService paymentService,
+                            PaymentGateway paymentGateway,
+                            @Qualifier("paymentExecutor") ExecutorService paymentExecutor,
+                            ShopMetrics shopMetrics) {
+        this.paymentService = paymentService;
+        this.paymentGateway = paymentGateway;
+        this.paymentExecutor = paymentExecutor;
+        this.shopMetrics = shopMetrics;
+    }
+
+    /**
+     * Accepts a payment for processing and returns without waiting for the gateway.
+     *
+     * @param paymentId The payment ID
+     * @return The payment in PROCESSING status
+     * @throws IllegalArgumentException if the payment does not exist
+     * @throws IllegalStateException if the payment is not PENDING
+     */
+    public Payment submit(Long paymentId) {
+        Payment payment = paymentService.startProcessing(paymentId);
+        ChargeRequest request = ChargeRequest.from(payment);
+        inFlight.put(paymentId, new CompletableFuture<>());
+        paymentExecutor.execute(() -> process(request));
+        log.debug("Payment {} accepted for processing", paymentId);
+        return payment;
+    }
+
+    /**
+     * Resumes payments left in PROCESSING by a previous run, e.g. after a crash.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInFlightPayments() {
+        List<ChargeRequest> requests = paymentService.getProcessingPayments().stream()
+                .map(ChargeRequest::from)
+                .toList();
+        if (!requests.isEmpty()) {
+            log.info("Resuming {} payments left in PROCESSING", requests.size());
+            requests.forEach(request -> {
+                inFlight.put(request.paymentId(), new CompletableFuture<>());
+                paymentExecutor.execute(() -> process(request));
+            });
+        }
+    }
+
+    /**
+     * Waits for a payment this instance is processing to reach COMPLETED or FAILED.
+     * The caller's thread blocks for up to the timeout, so a long wait is cheap on a
+     * virtual thread but holds one of a fixed pool of platform request threads.
+     *
+     * @param paymentId The payment ID
+     * @param timeout Longest time to wait
+     * @return Whether the payment is no longer being processed here; true at once if it never was
+     */
+    public boolean awaitCompletion(Long paymentId, Duration timeout) throws InterruptedException {
+        CompletableFuture<Void> done = inFlight.get(paymentId);
+        if (done == null) {
+            return true;
+        }
+        try {
+            done.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (ExecutionException e) {
+            return true;
+        }
+    }
+
+    private void process(ChargeRequest request) {
+        try {
+            charge(request);
+        } finally {
+            CompletableFuture<Void> done = inFlight.remove(request.paymentId());
+            if (done != null) {
+                done.complete(null);
+            }
+        }
+    }
+
+    private void charge(ChargeRequest request) {
+        GatewayResult result;
+        long started = System.nanoTime();
+        try {
+            result = paymentGateway.charge(request);
+            shopMetrics.gatewayCall(result.approved() ? "approved" : "declined", Duration.ofNanos(System.nanoTime() - started));
+        } catch (ChargeOutcomeUnknownException e) {
+            // The customer may have been charged, so the payment stays PROCESSING and is resumed on the next startup
+            shopMetrics.gatewayCall("unknown", Duration.ofNanos(System.nanoTime() - started));
+            log.warn("Payment gateway outcome unknown for payment {}; leaving it PROCESSING", request.paymentId(), e);
+            return;
+        } catch (RuntimeException e) {
+            shopMetrics.gatewayCall("error", Duration.ofNanos(System.nanoTime() - started));
+            log.warn("Payment gateway call failed for payment {}", request.paymentId(), e);
+            result = GatewayResult.declined(request.paymentId(), "Gateway error: " + e.getMessage());
+        }
+        try {
+            Payment payment = paymentService.completeProcessing(request.paymentId(), result);
+            shopMetrics.paymentProcessed(payment.getStatus() == Payment.PaymentStatus.COMPLETED ? "completed" : "failed");
+            log.info("Payment {} finished with status {}", request.paymentId(), payment.getStatus());
+        } catch (RuntimeException e) {
+            // The payment stays PROCESSING and is picked up again on the next startup
+            shopMetrics.paymentProcessed("error");
+            log.error("Failed to record gateway result for payment {}", request.paymentId(), e);
+        }
+    }
+}
@@ -2,16 +2,19 @@ package com.example.ecommerce.service;
 
 import com.example.ecommerce.entity.Order;
 import com.example.ecommerce.entity.Payment;
+import com.example.ecommerce.gateway.GatewayResult;
 import com.example.ecommerce.repository.PaymentRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 
 @Service
 @Transactional
+@Timed(value = "ecommerce.service", description = "Service method calls", histogram = true)
 public class PaymentService {
     private final PaymentRepository paymentRepository;
     private final OrderService orderService;
@@ -36,50 +39,79 @@ public class PaymentService {
     }
 
     public Optional<Payment> getPaymentById(Long id) {
-        return paymentRepository.findById(id);
+        return paymentRepository.findFullById(id);
     }
 
     public Optional<Payment> getPaymentByOrderId(Long orderId) {
         return paymentRepository.findByOrderId(orderId);
     }
 
-    public Payment processPayment(Long paymentId) {
+    /**
+     * First step of processing: moves a PENDING payment to PROCESSING and commits,
+     * so the gateway call that follows holds neither a transaction nor a connection.
+     * The move is a single guarded UPDATE, so of two concurrent callers only one gets
+     * the payment back and goes on to charge it.
+     *
+     * @param paymentId The payment ID
+     * @return The payment in PROCESSING status
+     * @throws IllegalArgumentException if the payment does not exist
+     * @throws IllegalStateException if the payment is not PENDING
+     */
+    public Payment startProcessing(Long paymentId) {
+        int claimed = paymentRepository.updateStatus(paymentId, Payment.PaymentStatus.PENDING,
+                Payment.PaymentStatus.PROCESSING, LocalDateTime.now());
         Payment payment = paymentRepository.findById(paymentId)
                 .orElseThrow(() -> new IllegalArgumentException("Payment not found"));
 
-        if (payment.getStatus() != Payment.PaymentStatus.PENDING) {
+        if (claimed != 1) {
             throw new IllegalStateException("Payment cannot be processed in current status");
         }
+        return payment;
+    }
 
-        payment.setStatus(Payment.PaymentStatus.PROCESSING);
-        paymentRepository.save(payment);
-
-        // Simulate payment processing
-        boolean paymentSuccess = processPaymentWithGateway(payment);
+    /**
+     * Last step of processing: applies the gateway outcome in a short transaction and
+     * confirms the order when the payment succeeded.
+     *
+     * @param paymentId The payment ID
+     * @param result The gateway's decision for the payment
+     * @return The payment in COMPLETED or FAILED status
+     * @throws IllegalArgumentException if the payment does not exist
+     * @throws IllegalStateException if the payment is not PROCESSING
+     */
+    public Payment completeProcessing(Long paymentId, GatewayResult result) {
+        Payment payment = paymentRepository.findById(paymentId)
+                .orElseThrow(() -> new IllegalArgumentException("Payment not found"));
 
-        if (paymentSuccess) {
-            payment.setStatus(Payment.PaymentStatus.COMPLETED);
+        payment.setPaymentGatewayResponse(result.responseMessage());
+        if (result.approved()) {
+            payment.transitionTo(Payment.PaymentStatus.COMPLETED);
             payment.setCompletedAt(LocalDateTime.now());
-            payment.setTransactionId(generateTransactionId());
+            payment.setTransactionId(result.transactionId());
 
             // Update order status
             orderService.updateOrderStatus(payment.getOrder().getId(), Order.OrderStatus.CONFIRMED);
         } else {
-            payment.setStatus(Payment.PaymentStatus.FAILED);
+            payment.transitionTo(Payment.PaymentStatus.FAILED);
         }
 
         return paymentRepository.save(payment);
     }
 
+    @Transactional(readOnly = true)
+    public List<Payment> getProcessingPayments() {
+        return paymentRepository.findByStatus(Payment.PaymentStatus.PROCESSING);
+    }
+
     public Payment refundPayment(Long paymentId) {
-        Payment payment = paymentRepository.findById(paymentId)
+        Payment payment = paymentRepository.findFullById(paymentId)
                 .orElseThrow(() -> new IllegalArgumentException("Payment not found"));
 
         if (payment.getStatus() != Payment.PaymentStatus.COMPLETED) {
             throw new IllegalStateException("Only completed payments can be refunded");
         }
 
-        payment.setStatus(Payment.PaymentStatus.REFUNDED);
+        payment.transitionTo(Payment.PaymentStatus.REFUNDED);
         paymentRepository.save(payment);
 
         // Update order status
@@ -87,20 +119,4 @@ public class PaymentService {
 
         return payment;
     }
-
-    private boolean processPaymentWithGateway(Payment payment) {
-        // Simulate payment gateway processing
-        // In a real application, this would integrate with a payment gateway API
-        try {
-            Thread.sleep(1000); // Simulate network delay
-            return true; // Assume payment is successful
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return false;
-        }
-    }
-
-    private String generateTransactionId() {
-        return "TXN-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-    }
 }
@@ -0,0 +1,160 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.dto.CacheStats;
+import com.example.ecommerce.entity.Product;
+import com.example.ecommerce.event.ProductChangedEvent;
+import com.example.ecommerce.repository.ProductRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache for catalog lookups by ID and SKU and for the
+ * active and per-category product lists.
+ * <p>
+ * Entries are invalidated after every committed product write published as a
+ * {@link ProductChangedEvent}: the product's ID and SKU entries, the active list and
+ * the lists of its old and new category. Lists are held in creation-time, ID
+ * order so they can be paged by cursor without another query. Stock taken or given back by orders is
+ * not published, so cached stock can lag by up to the time to live; callers that
+ * need exact stock read through {@link ProductService} with the cache bypassed.
+ * <p>
+ * Misses are loaded on the calling thread but outside the cache's own locks: a plain
+ * {@code Cache.get(key, loader)} runs the query inside {@code ConcurrentHashMap.compute},
+ * whose monitor pins a virtual thread to its carrier for as long as the database takes.
+ * Concurrent callers missing the same key still share one load.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+@Service
+public class ProductCache {
+    private static final Logger log = LoggerFactory.getLogger(ProductCache.class);
+    private static final String ACTIVE_KEY = "active";
+    private static final String CATEGORY_KEY_PREFIX = "category:";
+    private static final Comparator<Product> CREATION_ORDER =
+            Comparator.comparing(Product::getCreatedAt).thenComparing(Product::getId);
+
+    private final ProductRepository productRepository;
+    private final AsyncCache<Long, Product> byId;
+    private final AsyncCache<String, Product> bySku;
+    private final AsyncCache<String, List<Product>> lists;
+
+    /**
+     * Constructs a new ProductCache.
+     *
+     * @param productRepository Repository the cache loads from
+     * @param maxEntries Most entries held per cache
+     * @param ttlSeconds Longest time an entry is kept
+     */
+    public ProductCache(ProductRepository productRepository,
+                        @Value("${ecommerce.product.cache.max-entries:10000}") long maxEntries,
+                        @Value("${ecommerce.product.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.productRepository = productRepository;
+        this.byId = newCache(maxEntries, ttlSeconds);
+        this.bySku = newCache(maxEntries, ttlSeconds);
+        this.lists = newCache(maxEntries, ttlSeconds);
+    }
+
+    public Optional<Product> getById(Long id) {
+        return Optional.ofNullable(load(byId, id, key -> productRepository.findById(key).orElse(null)));
+    }
+
+    public Optional<Product> getBySku(String sku) {
+        return Optional.ofNullable(load(bySku, sku, key -> productRepository.findBySku(key).orElse(null)));
+    }
+
+    public List<Product> getActive() {
+        return load(lists, ACTIVE_KEY, key -> sorted(productRepository.findByActiveTrue()));
+    }
+
+    public List<Product> getByCategory(String category) {
+        return load(lists, CATEGORY_KEY_PREFIX + category,
+                key -> sorted(productRepository.findByCategory(category)));
+    }
+
+    /**
+     * Drops every entry a committed product write may have made stale.
+     *
+     * @param event The product change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        Product product = event.product();
+        byId.synchronous().invalidate(product.getId());
+        bySku.synchronous().invalidate(product.getSku());
+        lists.synchronous().invalidate(ACTIVE_KEY);
+        lists.synchronous().invalidate(CATEGORY_KEY_PREFIX + product.getCategory());
+        lists.synchronous().invalidate(CATEGORY_KEY_PREFIX + event.previousCategory());
+        log.debug("Invalidated cached product {} after {}", product.getId(), event.type());
+    }
+
+    /**
+     * Drops all cached entries.
+     */
+    public void invalidateAll() {
+        byId.synchronous().invalidateAll();
+        bySku.synchronous().invalidateAll();
+        lists.synchronous().invalidateAll();
+    }
+
+    /**
+     * Returns hit ratio, load time and size for each cache.
+     *
+     * @return Statistics for the ID, SKU and list caches
+     */
+    public List<CacheStats> getStats() {
+        return List.of(
+                CacheStats.from("products.byId", byId.synchronous()),
+                CacheStats.from("products.bySku", bySku.synchronous()),
+                CacheStats.from("products.lists", lists.synchronous()));
+    }
+
+    /**
+     * Returns the cached value, or loads it on this thread if no caller is loading it yet.
+     * Only installing the pending future happens under the cache's lock; a caller that
+     * finds another's pending load waits on the future, which parks rather than pins.
+     * A {@code null} value completes the load but is not kept.
+     */
+    private static <K, V> V load(AsyncCache<K, V> cache, K key, Function<K, V> loader) {
+        CompletableFuture<V> loading = new CompletableFuture<>();
+        CompletableFuture<V> value = cache.get(key, (k, executor) -> loading);
+        if (value == loading) {
+            try {
+                loading.complete(loader.apply(key));
+            } catch (RuntimeException e) {
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return value.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private static List<Product> sorted(List<Product> products) {
+        return products.stream().sorted(CREATION_ORDER).toList();
+    }
+
+    private static <K, V> AsyncCache<K, V> newCache(long maxEntries, long ttlSeconds) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .buildAsync();
+    }
+}
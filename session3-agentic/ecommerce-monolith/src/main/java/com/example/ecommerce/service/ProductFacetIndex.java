@@ -0,0 +1,291 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.dto.ProductFacetEntry;
+import com.example.ecommerce.dto.ProductFacets;
+import com.example.ecommerce.event.ProductChangedEvent;
+import com.example.ecommerce.repository.ProductSearchRepository;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Compressed-bitmap index of product IDs by category and active flag for catalog browsing.
+ * <p>
+ * Products are kept in one Roaring bitmap of IDs per category and active flag
+ * combination, so every facet count is the cardinality of a precomputed bitmap
+ * and matching IDs are the union of the bitmaps selected by the filters. Answering
+ * never touches the database and takes microseconds even for large catalogs.
+ * <p>
+ * The index is built from the {@code products} table at startup, or on first use if
+ * that comes earlier, and then kept current from committed {@link ProductChangedEvent}s.
+ * A rebuild scans into fresh bitmaps outside the lock and replays the changes committed
+ * meanwhile before swapping them in. Product IDs must fit in an {@code int}.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+@Service
+public class ProductFacetIndex {
+    private static final Logger log = LoggerFactory.getLogger(ProductFacetIndex.class);
+
+    private final ProductSearchRepository searchRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private FacetData data = new FacetData();
+    private List<Consumer<FacetData>> changesDuringRebuild;
+    private volatile boolean built;
+
+    /**
+     * Constructs a new ProductFacetIndex.
+     *
+     * @param searchRepository Repository the index is built from
+     */
+    public ProductFacetIndex(ProductSearchRepository searchRepository) {
+        this.searchRepository = searchRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        long started = System.nanoTime();
+        int products = rebuild();
+        log.info("Built product facet index over {} products in {} ms", products, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Rebuilds the index from the database. Queries keep using the old index until
+     * the new one is complete, and writes made meanwhile are applied to both.
+     *
+     * @return Number of products indexed
+     */
+    public int rebuild() {
+        rebuildLock.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            FacetData fresh = new FacetData();
+            try {
+                searchRepository.forEachFacetEntry(fresh::put);
+            } catch (RuntimeException e) {
+                lock.writeLock().lock();
+                try {
+                    changesDuringRebuild = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw e;
+            }
+
+            // Replay and swap under one lock, so no write can land only in the index being replaced
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild.forEach(change -> change.accept(fresh));
+                changesDuringRebuild = null;
+                data = fresh;
+                built = true;
+                return (int) fresh.all.count(null);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Keeps the index in step with committed product writes.
+     *
+     * @param event The product change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.type() == ProductChangedEvent.ChangeType.STOCK_CHANGED) {
+            return;
+        }
+        Consumer<FacetData> change;
+        if (event.type() == ProductChangedEvent.ChangeType.DELETED) {
+            int productId = toIndexId(event.productId());
+            change = facetData -> facetData.remove(productId);
+        } else {
+            ProductFacetEntry entry = ProductFacetEntry.from(event.product());
+            change = facetData -> facetData.put(entry);
+        }
+        // Applied even before the first build; the build replaces it, and replays it if it was scanning
+        lock.writeLock().lock();
+        try {
+            change.accept(data);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the products matching the filters and counts every facet value.
+     *
+     * @param categories Categories to include, any of which may match; empty for all
+     * @param activeFilter Required active flag, or null for both
+     * @param offset Number of matching IDs to skip
+     * @param limit Most matching IDs to return
+     * @return Matching IDs and facet counts
+     */
+    public ProductFacets query(Collection<String> categories, Boolean activeFilter, int offset, int limit) {
+        if (!built) {
+            rebuildLock.lock();
+            try {
+                if (!built) {
+                    rebuild();
+                }
+            } finally {
+                rebuildLock.unlock();
+            }
+        }
+        lock.readLock().lock();
+        try {
+            Map<String, FacetBitmaps> byCategory = data.byCategory;
+            List<FacetBitmaps> selected = categories.isEmpty() ? List.of(data.all) : categories.stream()
+                    .distinct()
+                    .map(byCategory::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+
+            Map<String, Long> categoryCounts = new TreeMap<>();
+            byCategory.forEach((category, bitmaps) -> categoryCounts.put(category, bitmaps.count(activeFilter)));
+            Map<Boolean, Long> activeCounts = Map.of(
+                    true, selected.stream().mapToLong(bitmaps -> bitmaps.count(true)).sum(),
+                    false, selected.stream().mapToLong(bitmaps -> bitmaps.count(false)).sum());
+
+            // Categories are disjoint, so the total is a sum and the IDs a merge
+            long totalMatches = selected.stream().mapToLong(bitmaps -> bitmaps.count(activeFilter)).sum();
+            List<RoaringBitmap> matching = new ArrayList<>();
+            selected.forEach(bitmaps -> bitmaps.collect(activeFilter, matching));
+
+            return new ProductFacets(totalMatches, window(matching, offset, limit), categoryCounts, activeCounts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Merges disjoint bitmaps in ascending ID order and returns one window of the result,
+     * without building their union.
+     */
+    private static List<Long> window(List<RoaringBitmap> bitmaps, int offset, int limit) {
+        PriorityQueue<PeekableIntIterator> iterators = new PriorityQueue<>(Comparator.comparingInt(PeekableIntIterator::peekNext));
+        for (RoaringBitmap bitmap : bitmaps) {
+            if (!bitmap.isEmpty()) {
+                iterators.add(bitmap.getIntIterator());
+            }
+        }
+        List<Long> productIds = new ArrayList<>(limit);
+        long position = 0;
+        while (!iterators.isEmpty() && productIds.size() < limit) {
+            PeekableIntIterator lowest = iterators.poll();
+            int productId = lowest.next();
+            if (position++ >= offset) {
+                productIds.add((long) productId);
+            }
+            if (lowest.hasNext()) {
+                iterators.add(lowest);
+            }
+        }
+        return productIds;
+    }
+
+    private static int toIndexId(Long productId) {
+        return Math.toIntExact(productId);
+    }
+
+    /**
+     * Bitmaps of every facet value, plus each product's category for moving it on update.
+     * Not thread-safe; guarded by the index lock once published.
+     */
+    private static final class FacetData {
+        private final Map<String, FacetBitmaps> byCategory = new HashMap<>();
+        private final Map<Integer, String> categoryByProduct = new HashMap<>();
+        private final FacetBitmaps all = new FacetBitmaps();
+
+        void put(ProductFacetEntry entry) {
+            int productId = toIndexId(entry.productId());
+            remove(productId);
+            all.add(productId, entry.active());
+            if (entry.category() != null) {
+                byCategory.computeIfAbsent(entry.category(), key -> new FacetBitmaps()).add(productId, entry.active());
+                categoryByProduct.put(productId, entry.category());
+            }
+        }
+
+        void remove(int productId) {
+            all.remove(productId);
+            String category = categoryByProduct.remove(productId);
+            if (category != null) {
+                FacetBitmaps bitmaps = byCategory.get(category);
+                bitmaps.remove(productId);
+                if (bitmaps.isEmpty()) {
+                    byCategory.remove(category);
+                }
+            }
+        }
+    }
+
+    /**
+     * Active and inactive product IDs of one facet value.
+     */
+    private static final class FacetBitmaps {
+        private final RoaringBitmap active = new RoaringBitmap();
+        private final RoaringBitmap inactive = new RoaringBitmap();
+
+        void add(int productId, boolean isActive) {
+            (isActive ? active : inactive).add(productId);
+        }
+
+        void remove(int productId) {
+            active.remove(productId);
+            inactive.remove(productId);
+        }
+
+        boolean isEmpty() {
+            return active.isEmpty() && inactive.isEmpty();
+        }
+
+        long count(Boolean activeFilter) {
+            if (activeFilter == null) {
+                return active.getLongCardinality() + inactive.getLongCardinality();
+            }
+            return activeFilter ? active.getLongCardinality() : inactive.getLongCardinality();
+        }
+
+        void collect(Boolean activeFilter, List<RoaringBitmap> into) {
+            if (activeFilter == null || activeFilter) {
+                into.add(active);
+            }
+            if (activeFilter == null || !activeFilter) {
+                into.add(inactive);
+            }
+        }
+    }
+}
@@ -0,0 +1,421 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.dto.ProductSearchDocument;
+import com.example.ecommerce.event.ProductChangedEvent;
+import com.example.ecommerce.repository.ProductSearchRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory inverted index for product search.
+ * <p>
+ * Name, description, category and SKU are split into lower-case terms, and each term
+ * points to the products containing it, weighted by the field it came from. Every term
+ * is also indexed by its trigrams, so a query token matches any term that contains it,
+ * like {@code LIKE '%token%'}, without scanning the catalog. Tokens shorter than three
+ * characters match terms starting with them. Results must match every query token and
+ * are ranked by field weight and how rare the matched terms are, with exact term
+ * matches ahead of partial ones.
+ * <p>
+ * The index is built from the {@code products} table at startup and then kept current
+ * from committed {@link ProductChangedEvent}s. Updated and deleted products leave
+ * tombstones that are cleared by rebuilding in the background once they pile up.
+ * Until the first build finishes, {@link #search} returns empty and callers fall back
+ * to the database. Disabled with {@code ecommerce.search.index.enabled=false}.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+@Service
+public class ProductSearchIndex {
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    static final float NAME_WEIGHT = 3.0f;
+    static final float SKU_WEIGHT = 3.0f;
+    static final float CATEGORY_WEIGHT = 2.0f;
+    static final float DESCRIPTION_WEIGHT = 1.0f;
+    private static final float PARTIAL_MATCH_FACTOR = 0.5f;
+    private static final int GRAM_LENGTH = 3;
+    private static final int MIN_TOMBSTONES_BEFORE_COMPACTION = 10_000;
+
+    private final ProductSearchRepository searchRepository;
+    private final boolean enabled;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private IndexData data = new IndexData();
+    private List<Consumer<IndexData>> changesDuringRebuild;
+    private volatile boolean ready;
+
+    /**
+     * Constructs a new ProductSearchIndex.
+     *
+     * @param searchRepository Repository the index is built from
+     * @param enabled Whether the index is built and used at all
+     */
+    public ProductSearchIndex(ProductSearchRepository searchRepository,
+                              @Value("${ecommerce.search.index.enabled:true}") boolean enabled) {
+        this.searchRepository = searchRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (enabled) {
+            long started = System.nanoTime();
+            int documents = rebuild();
+            log.info("Built product search index over {} products in {} ms",
+                    documents, (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    /**
+     * Rebuilds the index from the database. Searches keep using the old index until
+     * the new one is complete, and writes made meanwhile are applied to both.
+     *
+     * @return Number of products indexed
+     */
+    public int rebuild() {
+        rebuildLock.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            IndexData fresh = new IndexData();
+            try {
+                searchRepository.forEachDocument(fresh::add);
+            } catch (RuntimeException e) {
+                lock.writeLock().lock();
+                try {
+                    changesDuringRebuild = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw e;
+            }
+
+            // Replay and swap under one lock, so no write can land only in the index being replaced
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild.forEach(change -> change.accept(fresh));
+                changesDuringRebuild = null;
+                data = fresh;
+                ready = true;
+                return fresh.liveDocs;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Keeps the index in step with committed product writes.
+     *
+     * @param event The product change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        switch (event.type()) {
+            case CREATED, UPDATED -> index(ProductSearchDocument.from(event.product()));
+            case DELETED -> remove(event.productId());
+            case STOCK_CHANGED -> {
+                // Stock is not searchable
+            }
+        }
+    }
+
+    /**
+     * Adds a product to the index, replacing any earlier version of it.
+     *
+     * @param document The product's searchable text
+     */
+    public void index(ProductSearchDocument document) {
+        apply(indexData -> indexData.add(document));
+    }
+
+    /**
+     * Removes a product from the index.
+     *
+     * @param productId The product ID
+     */
+    public void remove(Long productId) {
+        apply(indexData -> indexData.remove(productId));
+    }
+
+    /**
+     * Finds products matching every token of the query, best match first.
+     *
+     * @param query Free-text query
+     * @param page Zero-based page number
+     * @param size Page size
+     * @return The requested page of hits, or empty if the index is not available yet
+     */
+    public Optional<SearchHits> search(String query, int page, int size) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        List<String> tokens = new ArrayList<>(tokenize(query));
+        lock.readLock().lock();
+        try {
+            return Optional.of(data.search(tokens, page, size));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    private void apply(Consumer<IndexData> change) {
+        boolean compact;
+        lock.writeLock().lock();
+        try {
+            change.accept(data);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+            compact = data.tombstones > Math.max(MIN_TOMBSTONES_BEFORE_COMPACTION, data.liveDocs / 4);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (compact && compacting.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("product-search-compaction").start(() -> {
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    log.warn("Product search index compaction failed", e);
+                } finally {
+                    compacting.set(false);
+                }
+            });
+        }
+    }
+
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * One page of ranked search hits.
+     *
+     * @param hits Hits on the requested page, best first
+     * @param totalHits Number of products matching the query
+     */
+    public record SearchHits(List<Hit> hits, int totalHits) {
+
+        public List<Long> productIds() {
+            return hits.stream().map(Hit::productId).toList();
+        }
+    }
+
+    /**
+     * A matching product and its relevance score.
+     *
+     * @param productId The product ID
+     * @param score Relevance, higher is better
+     */
+    public record Hit(long productId, float score) {
+    }
+
+    /**
+     * The index structures, replaced as a whole on rebuild. Guarded by the outer lock.
+     */
+    private static final class IndexData {
+        private final Map<String, Postings> postings = new HashMap<>();
+        private final Map<String, Set<String>> termsByGram = new HashMap<>();
+        private final NavigableSet<String> terms = new TreeSet<>();
+        private final Map<Long, Integer> docIds = new HashMap<>();
+        private final BitSet deleted = new BitSet();
+        private long[] productIds = new long[1024];
+        private int nextDocId;
+        private int liveDocs;
+        private int tombstones;
+
+        void add(ProductSearchDocument document) {
+            remove(document.productId());
+            int docId = nextDocId++;
+            if (docId == productIds.length) {
+                productIds = Arrays.copyOf(productIds, productIds.length * 2);
+            }
+            productIds[docId] = document.productId();
+            docIds.put(document.productId(), docId);
+            liveDocs++;
+
+            Map<String, Float> weights = new HashMap<>();
+            addField(weights, document.name(), NAME_WEIGHT);
+            addField(weights, document.sku(), SKU_WEIGHT);
+            addField(weights, document.category(), CATEGORY_WEIGHT);
+            addField(weights, document.description(), DESCRIPTION_WEIGHT);
+            weights.forEach((term, weight) -> {
+                Postings termPostings = postings.get(term);
+                if (termPostings == null) {
+                    termPostings = new Postings();
+                    postings.put(term, termPostings);
+                    registerTerm(term);
+                }
+                termPostings.add(docId, weight);
+            });
+        }
+
+        void remove(Long productId) {
+            Integer docId = docIds.remove(productId);
+            if (docId != null) {
+                deleted.set(docId);
+                liveDocs--;
+                tombstones++;
+            }
+        }
+
+        SearchHits search(List<String> tokens, int page, int size) {
+            if (tokens.isEmpty()) {
+                return new SearchHits(List.of(), 0);
+            }
+            Map<Integer, Float> scores = null;
+            for (String token : tokens) {
+                Map<Integer, Float> tokenScores = score(token);
+                scores = scores == null ? tokenScores : intersect(scores, tokenScores);
+                if (scores.isEmpty()) {
+                    return new SearchHits(List.of(), 0);
+                }
+            }
+
+            List<Hit> ranked = new ArrayList<>(scores.size());
+            scores.forEach((docId, score) -> ranked.add(new Hit(productIds[docId], score)));
+            ranked.sort(Comparator.comparingDouble(Hit::score).reversed().thenComparingLong(Hit::productId));
+            int from = (int) Math.min((long) page * size, ranked.size());
+            int to = Math.min(from + size, ranked.size());
+            return new SearchHits(List.copyOf(ranked.subList(from, to)), ranked.size());
+        }
+
+        private Map<Integer, Float> score(String token) {
+            Map<Integer, Float> tokenScores = new HashMap<>();
+            for (String term : matchingTerms(token)) {
+                Postings termPostings = postings.get(term);
+                float idf = (float) Math.log(1.0 + (double) Math.max(liveDocs, 1) / termPostings.size);
+                float factor = term.equals(token) ? 1.0f : PARTIAL_MATCH_FACTOR;
+                for (int i = 0; i < termPostings.size; i++) {
+                    int docId = termPostings.docIds[i];
+                    if (!deleted.get(docId)) {
+                        tokenScores.merge(docId, termPostings.weights[i] * idf * factor, Math::max);
+                    }
+                }
+            }
+            return tokenScores;
+        }
+
+        private Collection<String> matchingTerms(String token) {
+            if (token.length() < GRAM_LENGTH) {
+                return terms.subSet(token, true, token + Character.MAX_VALUE, false);
+            }
+            // Every term containing the token contains all of its grams, so the rarest gram bounds the candidates
+            Set<String> candidates = null;
+            for (String gram : grams(token)) {
+                Set<String> withGram = termsByGram.get(gram);
+                if (withGram == null) {
+                    return List.of();
+                }
+                if (candidates == null || withGram.size() < candidates.size()) {
+                    candidates = withGram;
+                }
+            }
+            return candidates.stream().filter(term -> term.contains(token)).toList();
+        }
+
+        private void registerTerm(String term) {
+            terms.add(term);
+            for (String gram : grams(term)) {
+                termsByGram.computeIfAbsent(gram, key -> new HashSet<>()).add(term);
+            }
+        }
+
+        private static Map<Integer, Float> intersect(Map<Integer, Float> left, Map<Integer, Float> right) {
+            Map<Integer, Float> smaller = left.size() <= right.size() ? left : right;
+            Map<Integer, Float> larger = smaller == left ? right : left;
+            Map<Integer, Float> result = new HashMap<>();
+            smaller.forEach((docId, score) -> {
+                Float other = larger.get(docId);
+                if (other != null) {
+                    result.put(docId, score + other);
+                }
+            });
+            return result;
+        }
+
+        private static void addField(Map<String, Float> weights, String text, float weight) {
+            for (String token : tokenize(text)) {
+                weights.merge(token, weight, Float::sum);
+            }
+        }
+
+        private static List<String> grams(String term) {
+            List<String> grams = new ArrayList<>(Math.max(term.length() - GRAM_LENGTH + 1, 0));
+            for (int i = 0; i + GRAM_LENGTH <= term.length(); i++) {
+                grams.add(term.substring(i, i + GRAM_LENGTH));
+            }
+            return grams;
+        }
+    }
+
+    /**
+     * Growable parallel arrays of document IDs and term weights for one term.
+     */
+    private static final class Postings {
+        private int[] docIds = new int[4];
+        private float[] weights = new float[4];
+        private int size;
+
+        void add(int docId, float weight) {
+            if (size == docIds.length) {
+                docIds = Arrays.copyOf(docIds, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docIds[size] = docId;
+            weights[size] = weight;
+            size++;
+        }
+    }
+}
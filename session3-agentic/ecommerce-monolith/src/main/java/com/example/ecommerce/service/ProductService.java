@@ -1,83 +1,300 @@
 package com.example.ecommerce.service;
 
+import com.example.ecommerce.dto.CursorPage;
+import com.example.ecommerce.dto.CursorPageRequest;
+import com.example.ecommerce.dto.PageCursor;
+import com.example.ecommerce.dto.ProductFacets;
+import com.example.ecommerce.dto.ProductSearchPage;
 import com.example.ecommerce.entity.Product;
+import com.example.ecommerce.event.ProductChangedEvent;
 import com.example.ecommerce.repository.ProductRepository;
+import com.example.ecommerce.repository.ProductStockRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
+@Timed(value = "ecommerce.service", description = "Service method calls", histogram = true)
 public class ProductService {
     private final ProductRepository productRepository;
+    private final ProductStockRepository productStockRepository;
+    private final ProductCache productCache;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductFacetIndex productFacetIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockLedger stockLedger;
 
-    public ProductService(ProductRepository productRepository) {
+    public ProductService(ProductRepository productRepository,
+                          ProductStockRepository productStockRepository,
+                          ProductCache productCache,
+                          ProductSearchIndex productSearchIndex,
+                          ProductFacetIndex productFacetIndex,
+                          ApplicationEventPublisher eventPublisher,
+                          ObjectProvider<StockLedger> stockLedger) {
         this.productRepository = productRepository;
+        this.productStockRepository = productStockRepository;
+        this.productCache = productCache;
+        this.productSearchIndex = productSearchIndex;
+        this.productFacetIndex = productFacetIndex;
+        this.eventPublisher = eventPublisher;
+        this.stockLedger = stockLedger.getIfAvailable();
     }
 
     public Product createProduct(Product product) {
         if (productRepository.findBySku(product.getSku()).isPresent()) {
             throw new IllegalArgumentException("Product with this SKU already exists");
         }
-        return productRepository.save(product);
+        Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.created(savedProduct));
+        return savedProduct;
     }
 
     public Optional<Product> getProductById(Long id) {
-        return productRepository.findById(id);
+        return getProductById(id, false);
+    }
+
+    /**
+     * Finds a product by ID, from the product cache unless told to bypass it.
+     *
+     * @param id The product ID
+     * @param bypassCache Whether to read the database directly, e.g. for exact stock
+     * @return The product, if it exists
+     */
+    public Optional<Product> getProductById(Long id, boolean bypassCache) {
+        return bypassCache ? productRepository.findById(id) : productCache.getById(id);
+    }
+
+    public Map<Long, Product> getProductsByIds(Collection<Long> ids) {
+        return productRepository.findAllByIdIn(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
     }
 
     public Optional<Product> getProductBySku(String sku) {
-        return productRepository.findBySku(sku);
+        return getProductBySku(sku, false);
+    }
+
+    public Optional<Product> getProductBySku(String sku, boolean bypassCache) {
+        return bypassCache ? productRepository.findBySku(sku) : productCache.getBySku(sku);
     }
 
     public List<Product> getAllProducts() {
         return productRepository.findAll();
     }
 
+    /**
+     * Returns one page of all products in creation order.
+     *
+     * @param request Cursor, page size and whether to count the total
+     * @return The page and the cursor of the next one
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Product> getProducts(CursorPageRequest request) {
+        return KeysetPaging.page(
+                productRepository.findAllByOrderByCreatedAtAscIdAsc(KeysetPaging.position(request), KeysetPaging.limit(request)),
+                request, ProductService::cursorOf, productRepository::countCapped);
+    }
+
     public List<Product> getActiveProducts() {
-        return productRepository.findByActiveTrue();
+        return getActiveProducts(false);
+    }
+
+    public List<Product> getActiveProducts(boolean bypassCache) {
+        return bypassCache ? productRepository.findByActiveTrue() : productCache.getActive();
+    }
+
+    /**
+     * Returns one page of active products in creation order, sliced from the cached
+     * list unless told to bypass the cache.
+     *
+     * @param request Cursor, page size and whether to count the total
+     * @param bypassCache Whether to read the database directly
+     * @return The page and the cursor of the next one
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Product> getActiveProducts(CursorPageRequest request, boolean bypassCache) {
+        if (!bypassCache) {
+            return KeysetPaging.page(productCache.getActive(), request, ProductService::cursorOf);
+        }
+        return KeysetPaging.page(
+                productRepository.findByActiveTrueOrderByCreatedAtAscIdAsc(KeysetPaging.position(request), KeysetPaging.limit(request)),
+                request, ProductService::cursorOf, productRepository::countActiveCapped);
     }
 
     public List<Product> getProductsByCategory(String category) {
-        return productRepository.findByCategory(category);
+        return getProductsByCategory(category, false);
+    }
+
+    public List<Product> getProductsByCategory(String category, boolean bypassCache) {
+        return bypassCache ? productRepository.findByCategory(category) : productCache.getByCategory(category);
     }
 
-    public List<Product> searchProducts(String searchTerm) {
-        return productRepository.findByNameContainingIgnoreCase(searchTerm);
+    /**
+     * Returns one page of a category's products in creation order, sliced from the
+     * cached list unless told to bypass the cache.
+     *
+     * @param category The category
+     * @param request Cursor, page size and whether to count the total
+     * @param bypassCache Whether to read the database directly
+     * @return The page and the cursor of the next one
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Product> getProductsByCategory(String category, CursorPageRequest request, boolean bypassCache) {
+        if (!bypassCache) {
+            return KeysetPaging.page(productCache.getByCategory(category), request, ProductService::cursorOf);
+        }
+        return KeysetPaging.page(
+                productRepository.findByCategoryOrderByCreatedAtAscIdAsc(category, KeysetPaging.position(request), KeysetPaging.limit(request)),
+                request, ProductService::cursorOf, cap -> productRepository.countByCategoryCapped(category, cap));
+    }
+
+    /**
+     * Searches name, description, category and SKU, best match first.
+     * Uses the in-memory search index, or a name-only database query while the
+     * index is not available.
+     *
+     * @param query Free-text query
+     * @param page Zero-based page number
+     * @param size Page size
+     * @return The requested page of matching products
+     */
+    @Transactional(readOnly = true)
+    public ProductSearchPage searchProducts(String query, int page, int size) {
+        Optional<ProductSearchIndex.SearchHits> hits = productSearchIndex.search(query, page, size);
+        if (hits.isEmpty()) {
+            Page<Product> result = productRepository.findByNameContainingIgnoreCase(query, PageRequest.of(page, size));
+            return new ProductSearchPage(query, page, size, result.getTotalElements(), result.getContent());
+        }
+
+        List<Long> productIds = hits.get().productIds();
+        Map<Long, Product> products = getProductsByIds(productIds);
+        List<Product> ranked = productIds.stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new ProductSearchPage(query, page, size, hits.get().totalHits(), ranked);
+    }
+
+    /**
+     * Browses the catalog by category and active flag from the in-memory facet index.
+     * Runs without a transaction since it never reads the database once the index is built.
+     *
+     * @param categories Categories to include, any of which may match; empty for all
+     * @param active Required active flag, or null for both
+     * @param offset Number of matching IDs to skip
+     * @param limit Most matching IDs to return
+     * @return Matching product IDs and per-facet counts
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ProductFacets getFacets(Collection<String> categories, Boolean active, int offset, int limit) {
+        return productFacetIndex.query(categories, active, offset, limit);
     }
 
     public Product updateProduct(Long id, Product updatedProduct) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Product not found"));
+        String previousCategory = product.getCategory();
 
         product.setName(updatedProduct.getName());
         product.setDescription(updatedProduct.getDescription());
         product.setPrice(updatedProduct.getPrice());
-        product.setStockQuantity(updatedProduct.getStockQuantity());
+        if (stockLedger == null) {
+            product.setStockQuantity(updatedProduct.getStockQuantity());
+        }
         product.setCategory(updatedProduct.getCategory());
         product.setImageUrl(updatedProduct.getImageUrl());
 
-        return productRepository.save(product);
+        Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(savedProduct, previousCategory));
+        if (stockLedger != null) {
+            // The ledger owns stock; the row's stock_quantity is left alone and catches up on the next flush.
+            // The entity is no longer flushed after commit, so setting it there only corrects the returned value.
+            int stockQuantity = updatedProduct.getStockQuantity();
+            TransactionCallbacks.afterCommit(() -> savedProduct.setStockQuantity(stockLedger.setAvailable(id, stockQuantity)));
+        }
+        return savedProduct;
     }
 
     public void deleteProduct(Long id) {
-        if (!productRepository.existsById(id)) {
-            throw new IllegalArgumentException("Product not found");
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Product not found"));
+        productRepository.delete(product);
+        eventPublisher.publishEvent(ProductChangedEvent.deleted(product));
+        if (stockLedger != null) {
+            TransactionCallbacks.afterCommit(() -> stockLedger.remove(id));
         }
-        productRepository.deleteById(id);
     }
 
     public void updateStock(Long productId, Integer quantity) {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new IllegalArgumentException("Product not found"));
 
+        if (stockLedger != null) {
+            // The row and therefore any reloaded cache entry lag the ledger until the next flush, so there is nothing to publish
+            updateLedgerStock(productId, quantity);
+            return;
+        }
         if (product.getStockQuantity() + quantity < 0) {
             throw new IllegalArgumentException("Insufficient stock");
         }
-
         product.setStockQuantity(product.getStockQuantity() + quantity);
         productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.stockChanged(product));
+    }
+
+    private void updateLedgerStock(Long productId, Integer quantity) {
+        SortedMap<Long, Integer> change = new TreeMap<>(Map.of(productId, Math.abs(quantity)));
+        if (quantity >= 0) {
+            stockLedger.release(change);
+        } else if (!stockLedger.tryReserve(change).isEmpty()) {
+            throw new IllegalArgumentException("Insufficient stock");
+        }
+    }
+
+    /**
+     * Takes stock for several products only if every product has enough left.
+     * A shortage does not roll back the surrounding transaction: decrements already applied
+     * are given back and the short products are returned, so one order of a group commit
+     * can fail without failing the others.
+     *
+     * @param quantities Quantity to take per product ID
+     * @return IDs of the products without enough stock (empty if the reservation succeeded)
+     */
+    public List<Long> tryReserveStock(SortedMap<Long, Integer> quantities) {
+        List<Long> rejected = productStockRepository.decrementStock(quantities);
+        if (!rejected.isEmpty()) {
+            SortedMap<Long, Integer> taken = new TreeMap<>(quantities);
+            taken.keySet().removeAll(rejected);
+            productStockRepository.adjustStock(taken);
+        }
+        return rejected;
+    }
+
+    /**
+     * Gives previously reserved stock back using a single batched update.
+     *
+     * @param quantities Quantity to give back per product ID
+     */
+    public void releaseStock(SortedMap<Long, Integer> quantities) {
+        productStockRepository.adjustStock(quantities);
+    }
+
+    private static PageCursor cursorOf(Product product) {
+        return new PageCursor(product.getCreatedAt(), product.getId());
     }
 }
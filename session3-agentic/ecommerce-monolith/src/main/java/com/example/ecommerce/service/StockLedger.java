@@ -0,0 +1,372 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.repository.ProductStockRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory inventory ledger for flash sales.
+ * Holds the available stock of every product it has seen and reserves or releases
+ * stock without any database I/O. Products are spread over a fixed set of lock
+ * stripes, so buyers of different products rarely contend while buyers of the same
+ * product are serialized on one lock instead of one database row.
+ * <p>
+ * Net stock changes are written behind to the {@code products} table in periodic
+ * batches. On startup the ledger is rebuilt from the table, and on shutdown all
+ * pending changes are flushed, so the table is the recovery point across restarts.
+ * Changes made since the last flush are lost if the process is killed, so keep the
+ * flush interval short.
+ * <p>
+ * Enabled with {@code ecommerce.inventory.ledger.enabled=true}.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+@Service
+@ConditionalOnProperty(name = "ecommerce.inventory.ledger.enabled", havingValue = "true")
+public class StockLedger {
+    private static final Logger log = LoggerFactory.getLogger(StockLedger.class);
+
+    private final ProductStockRepository productStockRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock[] stripes;
+    private final Map<Long, Slot> slots = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    /**
+     * Constructs a new StockLedger.
+     *
+     * @param productStockRepository JDBC access to product stock counters
+     * @param transactionTemplate Template used to write each flush in one transaction
+     * @param stripeCount Number of lock stripes; more stripes mean less contention between products
+     */
+    public StockLedger(ProductStockRepository productStockRepository,
+                       TransactionTemplate transactionTemplate,
+                       @Value("${ecommerce.inventory.ledger.stripes:64}") int stripeCount) {
+        this.productStockRepository = productStockRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Reserves stock for several products at once.
+     * Either every product has enough stock and all quantities are taken, or nothing changes.
+     *
+     * @param quantities Quantity to take per product ID
+     * @return IDs of the products without enough stock (empty if the reservation succeeded)
+     * @throws IllegalArgumentException if a product does not exist
+     */
+    public List<Long> tryReserve(SortedMap<Long, Integer> quantities) {
+        ensureLoaded(quantities.keySet());
+        List<ReentrantLock> locks = lockStripes(quantities.keySet());
+        try {
+            List<Long> rejected = new ArrayList<>();
+            quantities.forEach((productId, quantity) -> {
+                if (slot(productId) == null) {
+                    throw new IllegalArgumentException("Product not found");
+                }
+                if (slot(productId).available < quantity) {
+                    rejected.add(productId);
+                }
+            });
+            if (rejected.isEmpty()) {
+                quantities.forEach((productId, quantity) -> slot(productId).add(-quantity));
+            }
+            return rejected;
+        } finally {
+            unlock(locks);
+        }
+    }
+
+    /**
+     * Gives previously reserved stock back.
+     *
+     * @param quantities Quantity to give back per product ID
+     */
+    public void release(SortedMap<Long, Integer> quantities) {
+        ensureLoaded(quantities.keySet());
+        List<ReentrantLock> locks = lockStripes(quantities.keySet());
+        try {
+            quantities.forEach((productId, quantity) -> {
+                Slot slot = slot(productId);
+                if (slot != null) {
+                    slot.add(quantity);
+                }
+            });
+        } finally {
+            unlock(locks);
+        }
+    }
+
+    /**
+     * Returns the stock the ledger currently considers available for a product.
+     *
+     * @param productId The product ID
+     * @return Available stock including changes that have not been flushed yet
+     */
+    public int getAvailable(Long productId) {
+        ensureLoaded(List.of(productId));
+        ReentrantLock lock = stripeFor(productId);
+        lock.lock();
+        try {
+            Slot slot = slot(productId);
+            if (slot == null) {
+                throw new IllegalArgumentException("Product not found");
+            }
+            return slot.available;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the stock the ledger currently considers available for several products,
+     * loading the missing ones with one query and reading all of them under their stripe locks.
+     *
+     * @param productIds The product IDs
+     * @return Available stock per product ID, including changes that have not been flushed yet
+     * @throws IllegalArgumentException if a product does not exist
+     */
+    public Map<Long, Integer> getAvailable(Collection<Long> productIds) {
+        ensureLoaded(productIds);
+        List<ReentrantLock> locks = lockStripes(productIds);
+        try {
+            Map<Long, Integer> available = new HashMap<>();
+            for (Long productId : productIds) {
+                Slot slot = slot(productId);
+                if (slot == null) {
+                    throw new IllegalArgumentException("Product not found");
+                }
+                available.put(productId, slot.available);
+            }
+            return available;
+        } finally {
+            unlock(locks);
+        }
+    }
+
+    /**
+     * Sets a product's available stock to an absolute value (e.g. from a product update).
+     * The difference from the current count is recorded as a pending change, so the next
+     * flush brings the table to the same value; the products table itself must not be
+     * written with the absolute value, or a flush would add older changes on top of it.
+     * Reservations made before this call are absorbed by the new value, later ones count against it.
+     *
+     * @param productId The product ID
+     * @param stockQuantity The new absolute stock quantity
+     * @return The available stock, which is now {@code stockQuantity}
+     * @throws IllegalArgumentException if the product does not exist
+     */
+    public int setAvailable(Long productId, int stockQuantity) {
+        ensureLoaded(List.of(productId));
+        ReentrantLock lock = stripeFor(productId);
+        lock.lock();
+        try {
+            Slot slot = slot(productId);
+            if (slot == null) {
+                throw new IllegalArgumentException("Product not found");
+            }
+            slot.add(stockQuantity - slot.available);
+            return slot.available;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Forgets a product, e.g. after it was deleted.
+     *
+     * @param productId The product ID
+     */
+    public void remove(Long productId) {
+        flushLock.lock();
+        try {
+            ReentrantLock lock = stripeFor(productId);
+            lock.lock();
+            try {
+                slots.remove(productId);
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Writes the net stock change of every product since the last flush to the database
+     * in one batched transaction. If the write fails the changes are kept for the next flush.
+     *
+     * @return Number of products whose stock was written
+     */
+    @Scheduled(fixedDelayString = "${ecommerce.inventory.ledger.flush-interval-ms:200}")
+    public int flush() {
+        flushLock.lock();
+        try {
+            SortedMap<Long, Integer> deltas = drainPendingDeltas();
+            if (deltas.isEmpty()) {
+                return 0;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> productStockRepository.adjustStock(deltas));
+            } catch (RuntimeException e) {
+                log.error("Failed to flush stock changes for {} products, retrying on next flush", deltas.size(), e);
+                restorePendingDeltas(deltas);
+                return 0;
+            }
+            log.debug("Flushed stock changes for {} products", deltas.size());
+            return deltas.size();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the ledger from the products table after a restart.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        flushLock.lock();
+        try {
+            Map<Long, Integer> stock = productStockRepository.findAllStockQuantities();
+            slots.clear();
+            stock.forEach((productId, quantity) -> slots.put(productId, new Slot(quantity)));
+            log.info("Stock ledger recovered {} products from the database", stock.size());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        int flushed = flush();
+        log.info("Stock ledger flushed {} products on shutdown", flushed);
+    }
+
+    private void ensureLoaded(Iterable<Long> productIds) {
+        List<Long> missing = new ArrayList<>();
+        for (Long productId : productIds) {
+            if (!slots.containsKey(productId)) {
+                missing.add(productId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        // A product has no pending changes until its slot exists, so the table is current
+        Map<Long, Integer> stock = productStockRepository.findStockQuantities(missing);
+        for (Long productId : missing) {
+            Integer quantity = stock.get(productId);
+            if (quantity == null) {
+                throw new IllegalArgumentException("Product not found");
+            }
+            slots.putIfAbsent(productId, new Slot(quantity));
+        }
+    }
+
+    private SortedMap<Long, Integer> drainPendingDeltas() {
+        SortedMap<Long, Integer> deltas = new TreeMap<>();
+        slots.forEach((productId, slot) -> {
+            ReentrantLock lock = stripeFor(productId);
+            lock.lock();
+            try {
+                if (slot.pendingDelta != 0) {
+                    deltas.put(productId, slot.pendingDelta);
+                    slot.pendingDelta = 0;
+                }
+            } finally {
+                lock.unlock();
+            }
+        });
+        return deltas;
+    }
+
+    private void restorePendingDeltas(SortedMap<Long, Integer> deltas) {
+        deltas.forEach((productId, delta) -> {
+            ReentrantLock lock = stripeFor(productId);
+            lock.lock();
+            try {
+                Slot slot = slots.get(productId);
+                if (slot != null) {
+                    slot.pendingDelta += delta;
+                }
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    private Slot slot(Long productId) {
+        return slots.get(productId);
+    }
+
+    private ReentrantLock stripeFor(Long productId) {
+        return stripes[stripeIndex(productId)];
+    }
+
+    private int stripeIndex(Long productId) {
+        return Math.floorMod(Long.hashCode(productId), stripes.length);
+    }
+
+    /**
+     * Locks the stripes of all given products in ascending stripe order, which keeps
+     * multi-product reservations free of deadlocks.
+     */
+    private List<ReentrantLock> lockStripes(Iterable<Long> productIds) {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (Long productId : productIds) {
+            indexes.add(stripeIndex(productId));
+        }
+        List<ReentrantLock> locks = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            stripes[index].lock();
+            locks.add(stripes[index]);
+        }
+        return locks;
+    }
+
+    private static void unlock(List<ReentrantLock> locks) {
+        for (int i = locks.size() - 1; i >= 0; i--) {
+            locks.get(i).unlock();
+        }
+    }
+
+    /**
+     * Stock counters of one product, guarded by the product's stripe lock.
+     */
+    private static final class Slot {
+        private int available;
+        private int pendingDelta;
+
+        private Slot(int available) {
+            this.available = available;
+        }
+
+        private void add(int delta) {
+            available += delta;
+            pendingDelta += delta;
+        }
+    }
+}
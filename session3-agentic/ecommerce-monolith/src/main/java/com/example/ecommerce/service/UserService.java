@@ -1,7 +1,11 @@
 package com.example.ecommerce.service;
 
+import com.example.ecommerce.dto.CursorPage;
+import com.example.ecommerce.dto.CursorPageRequest;
+import com.example.ecommerce.dto.PageCursor;
 import com.example.ecommerce.entity.User;
 import com.example.ecommerce.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -20,6 +24,7 @@ import java.util.Optional;
  */
 @Service
 @Transactional
+@Timed(value = "ecommerce.service", description = "Service method calls", histogram = true)
 public class UserService {
     private static final Logger log = LoggerFactory.getLogger(UserService.class);
     
@@ -121,6 +126,22 @@ public class UserService {
         return users;
     }
 
+    /**
+     * Retrieves one page of users in creation order.
+     * 
+     * @param request Cursor, page size and whether to count the total
+     * @return The page of users and the cursor of the next one
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<User> getUsers(CursorPageRequest request) {
+        log.debug("Retrieving {} users after cursor {}", request.size(), request.after());
+        CursorPage<User> page = KeysetPaging.page(
+                userRepository.findAllByOrderByCreatedAtAscIdAsc(KeysetPaging.position(request), KeysetPaging.limit(request)),
+                request, user -> new PageCursor(user.getCreatedAt(), user.getId()), userRepository::countCapped);
+        log.debug("Retrieved {} users", page.items().size());
+        return page;
+    }
+
     /**
      * Updates an existing user's profile information.
      * Only updates firstName, lastName, phone, and address fields.
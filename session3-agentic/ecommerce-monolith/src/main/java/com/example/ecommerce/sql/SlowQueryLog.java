@@ -0,0 +1,254 @@
+package com.example.ecommerce.sql;
+
+import com.example.ecommerce.EcommerceApplication;
+import com.example.ecommerce.dto.SlowQuery;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.StatementType;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.regex.Pattern;
+
+/**
+ * datasource-proxy listener that keeps the statements slower than a threshold in a
+ * bounded ring buffer, newest replacing oldest.
+ * <p>
+ * datasource-proxy times every statement; the rare one over
+ * {@code ecommerce.sql.slow-query.threshold-ms} is charged to its call site, found by
+ * walking the stack for a repository proxy, and counted in the {@code ecommerce.sql.slow}
+ * timer tagged with that {@code site}. Its {@code EXPLAIN} plan is then fetched with the
+ * original bind values on the explain executor, on a connection of its own, so the slow
+ * request is not held up any further; the entry joins the buffer once the plan is in.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+public class SlowQueryLog implements QueryExecutionListener {
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLog.class);
+    private static final String BASE_PACKAGE = EcommerceApplication.class.getPackageName() + ".";
+    private static final String OWN_PACKAGE = SlowQueryLog.class.getPackageName() + ".";
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final List<String> EXPLAINABLE = List.of("select", "with", "insert", "update", "delete", "merge");
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private final ObjectProvider<DataSource> dataSource;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Executor explainExecutor;
+    private final long thresholdMillis;
+    private final boolean explain;
+    // Ring buffer guarded by itself; next is where the next entry goes
+    private final SlowQuery[] buffer;
+    private int next;
+    private long recorded;
+
+    /**
+     * @param dataSource Where plans are fetched from; looked up on first use, as this listener is part of the data source
+     * @param meterRegistry Registry for the {@code ecommerce.sql.slow} timer, looked up on first use for the same reason
+     * @param explainExecutor Runs {@code EXPLAIN} off the request thread
+     * @param thresholdMillis Statements taking at least this long are logged
+     * @param capacity Most entries kept
+     * @param explain Whether to fetch plans
+     */
+    public SlowQueryLog(ObjectProvider<DataSource> dataSource, ObjectProvider<MeterRegistry> meterRegistry,
+                        Executor explainExecutor, long thresholdMillis, int capacity, boolean explain) {
+        if (thresholdMillis < 0) {
+            throw new IllegalArgumentException("Slow-query threshold cannot be negative");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Slow-query log capacity must be positive");
+        }
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+        this.explainExecutor = explainExecutor;
+        this.thresholdMillis = thresholdMillis;
+        this.explain = explain;
+        this.buffer = new SlowQuery[capacity];
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() < thresholdMillis || queryInfoList.isEmpty()) {
+            return;
+        }
+        QueryInfo query = queryInfoList.getFirst();
+        String sql = query.getQuery();
+        if (sql.regionMatches(true, 0, "EXPLAIN", 0, 7)) {
+            return;
+        }
+        String callSite = callSite();
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            Timer.builder("ecommerce.sql.slow")
+                    .description("SQL statements slower than the slow-query threshold")
+                    .tag("site", callSite)
+                    .register(registry)
+                    .record(Duration.ofMillis(execInfo.getElapsedTime()));
+        }
+
+        List<ParameterSetOperation> parameters = query.getParametersList().isEmpty()
+                ? List.of()
+                : query.getParametersList().getFirst().stream()
+                        .filter(operation -> operation.getArgs().length >= 2)
+                        .sorted(Comparator.comparingInt(operation -> ((Number) operation.getArgs()[0]).intValue()))
+                        .toList();
+        SlowQuery entry = new SlowQuery(
+                LocalDateTime.now(),
+                execInfo.getElapsedTime(),
+                shape(sql),
+                parameters.stream().map(SlowQueryLog::typeOf).toList(),
+                execInfo.isBatch() ? execInfo.getBatchSize() : 0,
+                callSite,
+                execInfo.isSuccess(),
+                null);
+        log.warn("Slow SQL ({} ms) from {}: {}", entry.elapsedMillis(), callSite, entry.sql());
+
+        if (!explain || !isExplainable(sql) || execInfo.getStatementType() == StatementType.CALLABLE) {
+            add(entry);
+            return;
+        }
+        List<Object> values = parameters.stream().map(SlowQueryLog::valueOf).toList();
+        try {
+            explainExecutor.execute(() -> add(withPlan(entry, explain(sql, values))));
+        } catch (RejectedExecutionException e) {
+            // Too many plans waiting; keep the statement without one
+            add(entry);
+        }
+    }
+
+    /**
+     * @param limit Most entries to return
+     * @return The newest slow statements, newest first
+     */
+    public List<SlowQuery> getSlowQueries(int limit) {
+        synchronized (buffer) {
+            int size = (int) Math.min(recorded, buffer.length);
+            List<SlowQuery> newestFirst = new ArrayList<>(Math.min(size, limit));
+            for (int i = 1; i <= Math.min(size, limit); i++) {
+                newestFirst.add(buffer[Math.floorMod(next - i, buffer.length)]);
+            }
+            return newestFirst;
+        }
+    }
+
+    /**
+     * Empties the buffer, e.g. to see whether a fix made a statement fast.
+     */
+    public void clear() {
+        synchronized (buffer) {
+            Arrays.fill(buffer, null);
+            next = 0;
+            recorded = 0;
+        }
+    }
+
+    private void add(SlowQuery entry) {
+        synchronized (buffer) {
+            buffer[next] = entry;
+            next = (next + 1) % buffer.length;
+            recorded++;
+        }
+    }
+
+    private String explain(String sql, List<Object> values) {
+        try (Connection connection = dataSource.getObject().getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < values.size(); i++) {
+                statement.setObject(i + 1, values.get(i));
+            }
+            try (ResultSet plan = statement.executeQuery()) {
+                List<String> lines = new ArrayList<>();
+                while (plan.next()) {
+                    lines.add(plan.getString(1));
+                }
+                return String.join("\n", lines);
+            }
+        } catch (SQLException e) {
+            log.debug("Could not explain slow statement: {}", sql, e);
+            return null;
+        }
+    }
+
+    private static SlowQuery withPlan(SlowQuery entry, String plan) {
+        return new SlowQuery(entry.occurredAt(), entry.elapsedMillis(), entry.sql(), entry.parameterTypes(),
+                entry.batchSize(), entry.callSite(), entry.success(), plan);
+    }
+
+    // The repository method if the statement came from one, else the first application method below this listener
+    private static String callSite() {
+        return STACK_WALKER.walk(frames -> {
+            String firstApplicationMethod = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                Class<?> type = frame.getDeclaringClass();
+                if (Proxy.isProxyClass(type)) {
+                    for (Class<?> contract : type.getInterfaces()) {
+                        if (contract.getName().startsWith(BASE_PACKAGE)) {
+                            return contract.getSimpleName() + "." + frame.getMethodName();
+                        }
+                    }
+                } else if (firstApplicationMethod == null && type.getName().startsWith(BASE_PACKAGE)
+                        && !type.getName().startsWith(OWN_PACKAGE)) {
+                    firstApplicationMethod = userClassName(type) + "." + frame.getMethodName();
+                }
+            }
+            return firstApplicationMethod != null ? firstApplicationMethod : "unknown";
+        });
+    }
+
+    private static String userClassName(Class<?> type) {
+        String name = type.getSimpleName();
+        int generated = name.indexOf("$$");
+        return generated < 0 ? name : name.substring(0, generated);
+    }
+
+    private static String shape(String sql) {
+        String withoutStrings = STRING_LITERAL.matcher(sql).replaceAll("?");
+        String withoutNumbers = NUMBER_LITERAL.matcher(withoutStrings).replaceAll("?");
+        return WHITESPACE.matcher(withoutNumbers).replaceAll(" ").strip();
+    }
+
+    private static boolean isExplainable(String sql) {
+        String keyword = sql.stripLeading().split("\\s", 2)[0].toLowerCase(Locale.ROOT);
+        return EXPLAINABLE.contains(keyword);
+    }
+
+    private static String typeOf(ParameterSetOperation operation) {
+        if (ParameterSetOperation.isSetNullParameterOperation(operation) || operation.getArgs()[1] == null) {
+            return "null";
+        }
+        String method = operation.getMethod().getName();
+        return "setObject".equals(method)
+                ? operation.getArgs()[1].getClass().getSimpleName()
+                : method.substring("set".length());
+    }
+
+    private static Object valueOf(ParameterSetOperation operation) {
+        return ParameterSetOperation.isSetNullParameterOperation(operation) ? null : operation.getArgs()[1];
+    }
+}
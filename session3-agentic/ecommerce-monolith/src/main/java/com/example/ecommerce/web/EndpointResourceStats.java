@@ -0,0 +1,106 @@
+package com.example.ecommerce.web;
+
+import com.example.ecommerce.dto.EndpointResourceUsage;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Heap allocation and CPU time per endpoint, fed by {@link ResourceUsageFilter}.
+ * Each endpoint's requests go into two percentile histograms,
+ * {@code ecommerce.request.allocated} (bytes) and {@code ecommerce.request.cpu} (seconds),
+ * tagged with the endpoint, and into running totals for {@link #topAllocators}.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+@Component
+public class EndpointResourceStats {
+    private final MeterRegistry registry;
+    private final Map<String, EndpointTotals> endpoints = new ConcurrentHashMap<>();
+
+    public EndpointResourceStats(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Charges one request to its endpoint.
+     *
+     * @param endpoint Controller simple name and method name
+     * @param allocatedBytes Bytes the request thread allocated
+     * @param cpuNanos CPU time the request thread used
+     */
+    public void record(String endpoint, long allocatedBytes, long cpuNanos) {
+        endpoints.computeIfAbsent(endpoint, this::newTotals).record(allocatedBytes, cpuNanos);
+    }
+
+    /**
+     * Lists the endpoints that allocated the most since startup.
+     *
+     * @param limit Most endpoints to list
+     * @return Endpoints by allocated bytes, largest first
+     */
+    public List<EndpointResourceUsage> topAllocators(int limit) {
+        long allBytes = endpoints.values().stream().mapToLong(totals -> totals.allocatedBytes.sum()).sum();
+        return endpoints.entrySet().stream()
+                .map(entry -> entry.getValue().toUsage(entry.getKey(), allBytes))
+                .sorted(Comparator.comparingLong(EndpointResourceUsage::allocatedBytes).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private EndpointTotals newTotals(String endpoint) {
+        return new EndpointTotals(
+                DistributionSummary.builder("ecommerce.request.allocated")
+                        .description("Heap bytes allocated by the request thread")
+                        .baseUnit("bytes")
+                        .tag("endpoint", endpoint)
+                        .publishPercentileHistogram()
+                        .register(registry),
+                Timer.builder("ecommerce.request.cpu")
+                        .description("CPU time used by the request thread")
+                        .tag("endpoint", endpoint)
+                        .publishPercentileHistogram()
+                        .register(registry));
+    }
+
+    private static final class EndpointTotals {
+        private final DistributionSummary allocated;
+        private final Timer cpu;
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+        private final LongAccumulator maxAllocatedBytes = new LongAccumulator(Math::max, 0);
+        private final LongAdder cpuNanos = new LongAdder();
+
+        EndpointTotals(DistributionSummary allocated, Timer cpu) {
+            this.allocated = allocated;
+            this.cpu = cpu;
+        }
+
+        void record(long bytes, long nanos) {
+            requests.increment();
+            allocatedBytes.add(bytes);
+            maxAllocatedBytes.accumulate(bytes);
+            cpuNanos.add(nanos);
+            allocated.record(bytes);
+            cpu.record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        EndpointResourceUsage toUsage(String endpoint, long allBytes) {
+            long count = Math.max(1, requests.sum());
+            long bytes = allocatedBytes.sum();
+            double cpuMillis = cpuNanos.sum() / 1_000_000.0;
+            return new EndpointResourceUsage(endpoint, requests.sum(), bytes, allBytes == 0 ? 0 : (double) bytes / allBytes,
+                    bytes / count, maxAllocatedBytes.get(), cpuMillis, cpuMillis / count);
+        }
+    }
+}
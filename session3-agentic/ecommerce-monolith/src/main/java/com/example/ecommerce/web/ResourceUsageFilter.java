@@ -0,0 +1,81 @@
+package com.example.ecommerce.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Charges the heap bytes allocated and the CPU time used by each request's thread to the
+ * request's handler method, in {@link EndpointResourceStats}.
+ * <p>
+ * Both readings come from the JVM's per-thread counters, which it maintains anyway, so a
+ * request costs two counter reads at the start and two at the end. Only the request thread is
+ * measured: work handed to other threads, such as the streamed part of an asynchronous response
+ * or a payment charge, is not counted, and neither are requests served on virtual threads, for
+ * which the JVM keeps no such counters. Turn it off with {@code ecommerce.resource.metrics.enabled=false}.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class ResourceUsageFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(ResourceUsageFilter.class);
+
+    private final EndpointResourceStats stats;
+    private final com.sun.management.ThreadMXBean threads;
+    private final boolean enabled;
+
+    /**
+     * Constructs a new ResourceUsageFilter.
+     *
+     * @param stats Where the measurements are charged
+     * @param enabled Whether to measure; also off when the JVM cannot measure per-thread allocation and CPU time
+     */
+    public ResourceUsageFilter(EndpointResourceStats stats,
+                               @Value("${ecommerce.resource.metrics.enabled:true}") boolean enabled) {
+        this.stats = stats;
+        this.threads = ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean ? bean : null;
+        boolean supported = threads != null
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()
+                && threads.isCurrentThreadCpuTimeSupported() && threads.isThreadCpuTimeEnabled();
+        if (enabled && !supported) {
+            log.warn("This JVM cannot measure per-thread allocation and CPU time; endpoint resource metrics are off");
+        }
+        this.enabled = enabled && supported;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long cpuBefore = threads.getCurrentThreadCpuTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long allocatedAfter = threads.getCurrentThreadAllocatedBytes();
+            long cpuAfter = threads.getCurrentThreadCpuTime();
+            String endpoint = SqlBudgetFilter.endpoint(request);
+            // The counters read -1 on virtual threads
+            if (endpoint != null && allocatedBefore >= 0 && cpuBefore >= 0) {
+                stats.record(endpoint, allocatedAfter - allocatedBefore, cpuAfter - cpuBefore);
+            }
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.ecommerce.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts the SQL statements, rows and DB time of each HTTP request.
+ * The counts go out in a {@code Server-Timing} header, written just before the response is
+ * committed, and a warning is logged when a request runs more statements than its endpoint's budget.
+ * Budgets are keyed by controller and method, e.g.
+ * {@code ecommerce.sql.budget.endpoints.OrderController.getOrderById=2}, and default to
+ * {@code ecommerce.sql.budget.default-max-statements}.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class SqlBudgetFilter extends OncePerRequestFilter {
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private static final Logger log = LoggerFactory.getLogger(SqlBudgetFilter.class);
+    private static final String BUDGET_PREFIX = "ecommerce.sql.budget.endpoints.";
+
+    private final SqlStatementListener listener;
+    private final Environment environment;
+    private final int defaultMaxStatements;
+    private final Map<String, Integer> budgets = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new SqlBudgetFilter.
+     *
+     * @param listener Source of per-request SQL counts; the filter does nothing without it
+     * @param environment Where per-endpoint budgets are read from
+     */
+    public SqlBudgetFilter(ObjectProvider<SqlStatementListener> listener, Environment environment) {
+        this.listener = listener.getIfAvailable();
+        this.environment = environment;
+        this.defaultMaxStatements = environment.getProperty("ecommerce.sql.budget.default-max-statements", Integer.class, 20);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return listener == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatementStats stats = listener.begin();
+        ServerTimingResponse timedResponse = new ServerTimingResponse(response, stats);
+        try {
+            chain.doFilter(request, timedResponse);
+        } finally {
+            listener.end(stats);
+            if (!request.isAsyncStarted()) {
+                timedResponse.addServerTiming();
+            }
+            timedResponse.close();
+        }
+        checkBudget(request, stats);
+    }
+
+    /**
+     * Returns the statement budget of an endpoint.
+     *
+     * @param endpoint Controller simple name and method name, e.g. {@code OrderController.getOrderById}
+     * @return Most statements a request to the endpoint should run
+     */
+    public int budgetFor(String endpoint) {
+        return budgets.computeIfAbsent(endpoint, key ->
+                environment.getProperty(BUDGET_PREFIX + key, Integer.class, defaultMaxStatements));
+    }
+
+    private void checkBudget(HttpServletRequest request, SqlStatementStats stats) {
+        String endpoint = endpoint(request);
+        int budget = endpoint == null ? defaultMaxStatements : budgetFor(endpoint);
+        if (stats.statements() > budget) {
+            log.warn("SQL budget exceeded: {} {} ({}) ran {} (budget {} statements)", request.getMethod(),
+                    request.getRequestURI(), endpoint == null ? "unmapped" : endpoint, stats, budget);
+        }
+    }
+
+    static String endpoint(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler) {
+            return handler.getBeanType().getSimpleName() + "." + handler.getMethod().getName();
+        }
+        return null;
+    }
+
+    static String serverTiming(SqlStatementStats stats) {
+        return String.format(Locale.ROOT, "db;dur=%.2f, db-statements;desc=\"%d\", db-rows;desc=\"%d\"",
+                stats.dbTimeMillis(), stats.statements(), stats.rows());
+    }
+
+    /**
+     * Adds the {@code Server-Timing} header the first time the body is about to be written,
+     * while headers can still be set. SQL run after that, e.g. while rendering a streamed
+     * body, is logged against the budget but not shown in the header.
+     */
+    private static final class ServerTimingResponse extends HttpServletResponseWrapper {
+        private final SqlStatementStats stats;
+        private boolean done;
+
+        ServerTimingResponse(HttpServletResponse response, SqlStatementStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        void addServerTiming() {
+            if (!done && !isCommitted()) {
+                ((HttpServletResponse) getResponse()).addHeader(SERVER_TIMING_HEADER, serverTiming(stats));
+            }
+            done = true;
+        }
+
+        void close() {
+            done = true;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addServerTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addServerTiming();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addServerTiming();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            addServerTiming();
+            super.sendRedirect(location);
+        }
+    }
+}
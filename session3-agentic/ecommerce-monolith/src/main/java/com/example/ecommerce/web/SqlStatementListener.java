@@ -0,0 +1,98 @@
+package com.example.ecommerce.web;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.ResultSet;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * datasource-proxy listener that charges the statements, rows and DB time of the
+ * current thread to every {@link SqlStatementStats} open on it.
+ * Scopes nest: a test can measure a block while the request filter measures each
+ * request inside it. Work done on other threads, such as the streamed part of an
+ * asynchronous response, is not counted.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+public class SqlStatementListener implements QueryExecutionListener, MethodExecutionListener {
+    private static final String STARTED_AT = SqlStatementListener.class.getName() + ".startedAt";
+
+    private final ThreadLocal<Deque<SqlStatementStats>> open = new ThreadLocal<>();
+
+    /**
+     * Starts counting on the current thread.
+     *
+     * @return The stats the current thread's SQL work is added to until {@link #end} is called
+     */
+    public SqlStatementStats begin() {
+        Deque<SqlStatementStats> scopes = open.get();
+        if (scopes == null) {
+            scopes = new ArrayDeque<>();
+            open.set(scopes);
+        }
+        SqlStatementStats stats = new SqlStatementStats();
+        scopes.push(stats);
+        return stats;
+    }
+
+    /**
+     * Stops counting into the given stats.
+     *
+     * @param stats Stats returned by {@link #begin} on this thread
+     */
+    public void end(SqlStatementStats stats) {
+        Deque<SqlStatementStats> scopes = open.get();
+        if (scopes == null || !scopes.remove(stats)) {
+            throw new IllegalStateException("SQL stats were not started on this thread");
+        }
+        if (scopes.isEmpty()) {
+            open.remove();
+        }
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (open.get() != null) {
+            execInfo.addCustomValue(STARTED_AT, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Deque<SqlStatementStats> scopes = open.get();
+        Long startedAt = execInfo.getCustomValue(STARTED_AT, Long.class);
+        if (scopes == null || startedAt == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - startedAt;
+        for (SqlStatementStats stats : scopes) {
+            stats.recordStatement(elapsed);
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (!"next".equals(executionContext.getMethod().getName())
+                || !(executionContext.getTarget() instanceof ResultSet)
+                || !Boolean.TRUE.equals(executionContext.getResult())) {
+            return;
+        }
+        Deque<SqlStatementStats> scopes = open.get();
+        if (scopes != null) {
+            for (SqlStatementStats stats : scopes) {
+                stats.recordRow();
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.ecommerce.web;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL work done by one HTTP request or one measured block of code:
+ * statements executed, rows read from result sets and time spent executing statements.
+ * A JDBC batch counts as one statement. Instances are confined to the thread that
+ * started them and are not thread-safe.
+ *
+ * @author E-Commerce Team
+ * @since 1.1.0
+ */
+public final class SqlStatementStats {
+    private long statements;
+    private long rows;
+    private long dbTimeNanos;
+
+    void recordStatement(long elapsedNanos) {
+        statements++;
+        dbTimeNanos += elapsedNanos;
+    }
+
+    void recordRow() {
+        rows++;
+    }
+
+    public long statements() {
+        return statements;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    public long dbTimeNanos() {
+        return dbTimeNanos;
+    }
+
+    public double dbTimeMillis() {
+        return dbTimeNanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d statements, %d rows, %.2f ms", statements, rows, dbTimeMillis());
+    }
+}
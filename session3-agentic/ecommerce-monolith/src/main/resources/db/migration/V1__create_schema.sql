@@ -0,0 +1,122 @@
+-- Baseline schema, as Hibernate generated it from the entities, plus the indexes the repositories need.
+-- Every lookup a repository runs must be served by an index below; RepositoryQueryPlanTest checks
+-- the plan of each derived query and fails on a full table scan.
+
+-- Orders and their items take IDs from pooled sequences so inserts can be batched (allocation size 50)
+CREATE SEQUENCE orders_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE order_items_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    username VARCHAR(50) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(100) NOT NULL,
+    first_name VARCHAR(100),
+    last_name VARCHAR(100),
+    phone VARCHAR(255),
+    address VARCHAR(500),
+    active BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE products (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name VARCHAR(255) NOT NULL,
+    description VARCHAR(1000),
+    price NUMERIC(38, 2) NOT NULL,
+    sku VARCHAR(255) NOT NULL,
+    stock_quantity INTEGER NOT NULL,
+    category VARCHAR(255),
+    image_url VARCHAR(255),
+    active BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    CONSTRAINT pk_products PRIMARY KEY (id),
+    CONSTRAINT uk_products_sku UNIQUE (sku)
+);
+
+CREATE TABLE orders (
+    id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    total_amount NUMERIC(38, 2) NOT NULL,
+    status ENUM ('CANCELLED', 'CONFIRMED', 'DELIVERED', 'PENDING', 'PROCESSING', 'SHIPPED') NOT NULL,
+    shipping_address VARCHAR(255),
+    billing_address VARCHAR(255),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    completed_at TIMESTAMP(6),
+    CONSTRAINT pk_orders PRIMARY KEY (id)
+);
+
+CREATE TABLE order_items (
+    id BIGINT NOT NULL,
+    order_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    quantity INTEGER NOT NULL,
+    price NUMERIC(38, 2) NOT NULL,
+    subtotal NUMERIC(38, 2) NOT NULL,
+    CONSTRAINT pk_order_items PRIMARY KEY (id)
+);
+
+CREATE TABLE payments (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    order_id BIGINT NOT NULL,
+    amount NUMERIC(38, 2) NOT NULL,
+    payment_method ENUM ('BANK_TRANSFER', 'CASH_ON_DELIVERY', 'CREDIT_CARD', 'DEBIT_CARD', 'PAYPAL') NOT NULL,
+    status ENUM ('COMPLETED', 'FAILED', 'PENDING', 'PROCESSING', 'REFUNDED') NOT NULL,
+    transaction_id VARCHAR(255),
+    payment_gateway_response VARCHAR(255),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    completed_at TIMESTAMP(6),
+    CONSTRAINT pk_payments PRIMARY KEY (id),
+    -- One payment per order; also serves PaymentRepository.findByOrderId
+    CONSTRAINT uk_payments_order_id UNIQUE (order_id)
+);
+
+CREATE TABLE idempotency_records (
+    idempotency_key VARCHAR(512) NOT NULL,
+    status INTEGER NOT NULL,
+    content_type VARCHAR(255),
+    location VARCHAR(255),
+    body BLOB,
+    created_at TIMESTAMP(6) NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_idempotency_records PRIMARY KEY (idempotency_key)
+);
+
+-- Keyset pages of all users, oldest first
+CREATE INDEX idx_users_created_at_id ON users (created_at, id);
+
+-- Keyset pages of all, active and per-category products; the leading column also serves
+-- ProductRepository.findByActiveTrue and findByCategory
+CREATE INDEX idx_products_created_at_id ON products (created_at, id);
+CREATE INDEX idx_products_active_created_at_id ON products (active, created_at, id);
+CREATE INDEX idx_products_category_created_at_id ON products (category, created_at, id);
+
+-- Keyset pages of all, per-user and per-status orders; the leading column also serves
+-- OrderRepository.findByUser, findByUserId and findByStatus, and the user foreign key
+CREATE INDEX idx_orders_created_at_id ON orders (created_at, id);
+CREATE INDEX idx_orders_user_id_created_at_id ON orders (user_id, created_at, id);
+CREATE INDEX idx_orders_status_created_at_id ON orders (status, created_at, id);
+
+-- Items of an order, fetched with every order graph; and the product foreign key
+CREATE INDEX idx_order_items_order_id ON order_items (order_id);
+CREATE INDEX idx_order_items_product_id ON order_items (product_id);
+
+-- PaymentRepository.findByStatus and findByTransactionId (gateway callbacks)
+CREATE INDEX idx_payments_status ON payments (status);
+CREATE INDEX idx_payments_transaction_id ON payments (transaction_id);
+
+-- Purge of expired idempotency records
+CREATE INDEX idx_idempotency_expires_at ON idempotency_records (expires_at);
+
+-- Foreign keys come last so they reuse the indexes above instead of H2 creating its own
+ALTER TABLE orders ADD CONSTRAINT fk_orders_user FOREIGN KEY (user_id) REFERENCES users (id);
+ALTER TABLE order_items ADD CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders (id);
+ALTER TABLE order_items ADD CONSTRAINT fk_order_items_product FOREIGN KEY (product_id) REFERENCES products (id);
+ALTER TABLE payments ADD CONSTRAINT fk_payments_order FOREIGN KEY (order_id) REFERENCES orders (id);
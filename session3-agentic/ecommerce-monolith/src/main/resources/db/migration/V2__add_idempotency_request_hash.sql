@@ -0,0 +1,3 @@
+-- Fingerprint of the request that claimed each idempotency key, so a retry that reuses the key
+-- for a different request is rejected instead of replayed. Rows written before this column have none.
+ALTER TABLE idempotency_records ADD COLUMN request_hash VARCHAR(64);
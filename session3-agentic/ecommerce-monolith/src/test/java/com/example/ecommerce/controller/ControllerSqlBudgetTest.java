@@ -0,0 +1,148 @@
+package com.example.ecommerce.controller;
+
+import com.example.ecommerce.entity.OrderItem;
+import com.example.ecommerce.entity.Payment;
+import com.example.ecommerce.entity.Product;
+import com.example.ecommerce.entity.User;
+import com.example.ecommerce.repository.UserRepository;
+import com.example.ecommerce.service.OrderService;
+import com.example.ecommerce.service.PaymentService;
+import com.example.ecommerce.service.ProductService;
+import com.example.ecommerce.support.SqlBudget;
+import com.example.ecommerce.support.SqlBudgetExtension;
+import com.example.ecommerce.web.SqlBudgetFilter;
+import com.example.ecommerce.web.SqlStatementStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Pins the SQL budget of the main read endpoint of each controller, and checks the
+ * {@code Server-Timing} header and the over-budget warning of {@link SqlBudgetFilter}.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "ecommerce.sql.budget.endpoints.OrderController.getOrdersByUserId=0"
+})
+@AutoConfigureMockMvc
+@ExtendWith({SqlBudgetExtension.class, OutputCaptureExtension.class})
+@DisplayName("Controller SQL Budget Tests")
+class ControllerSqlBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+    private Product product;
+    private Long orderId;
+    private Long paymentId;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        user = userRepository.save(new User("budget_" + suffix, "budget_" + suffix + "@example.com", "Secret123"));
+        product = productService.createProduct(new Product("Lamp", "BUDGET-" + suffix, new BigDecimal("12.00"), 20));
+        orderId = orderService.createOrder(user.getId(), List.of(
+                new OrderItem(product, 1, product.getPrice()),
+                new OrderItem(product, 2, product.getPrice()))).getId();
+        paymentId = paymentService.createPayment(orderId, Payment.PaymentMethod.CREDIT_CARD).getId();
+    }
+
+    @Test
+    @SqlBudget(maxStatements = 2, maxRows = 3)
+    @DisplayName("OrderController should read an order in its budget")
+    void getOrderById_WithinBudget() throws Exception {
+        mockMvc.perform(get("/api/orders/" + orderId)).andExpect(status().isOk());
+    }
+
+    @Test
+    @SqlBudget(maxStatements = 1, maxRows = 1)
+    @DisplayName("ProductController should read a product past the cache in its budget")
+    void getProductById_WithinBudget() throws Exception {
+        mockMvc.perform(get("/api/products/" + product.getId()).header(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @SqlBudget(maxStatements = 1, maxRows = 1)
+    @DisplayName("UserController should read a user in its budget")
+    void getUserById_WithinBudget() throws Exception {
+        mockMvc.perform(get("/api/users/" + user.getId())).andExpect(status().isOk());
+    }
+
+    @Test
+    @SqlBudget(maxStatements = 2, maxRows = 3)
+    @DisplayName("PaymentController should read a payment in its budget")
+    void getPaymentById_WithinBudget() throws Exception {
+        // The payment with its order and user, then the order's two lines while the response is written
+        mockMvc.perform(get("/api/payments/" + paymentId)).andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should report statements, rows and DB time in a Server-Timing header")
+    void serverTimingHeader(SqlStatementStats stats) throws Exception {
+        // When
+        String serverTiming = mockMvc.perform(get("/api/orders/" + orderId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(SqlBudgetFilter.SERVER_TIMING_HEADER);
+
+        // Then
+        assertThat(stats.statements()).isPositive();
+        assertThat(serverTiming)
+                .matches("db;dur=\\d+\\.\\d{2}, db-statements;desc=\"\\d+\", db-rows;desc=\"\\d+\"")
+                .contains("db-statements;desc=\"" + stats.statements() + "\"")
+                .contains("db-rows;desc=\"" + stats.rows() + "\"");
+    }
+
+    @Test
+    @DisplayName("Should add a Server-Timing header to responses without a body")
+    void serverTimingHeader_NotFound() throws Exception {
+        mockMvc.perform(get("/api/users/" + Long.MAX_VALUE))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string(SqlBudgetFilter.SERVER_TIMING_HEADER, containsString("db-statements;desc=\"1\"")));
+    }
+
+    @Test
+    @DisplayName("Should warn when a request runs more statements than its endpoint budget")
+    void overBudget_LogsWarning(CapturedOutput output) throws Exception {
+        // When - the test properties give this endpoint a budget of zero statements
+        mockMvc.perform(get("/api/orders/user/" + user.getId())).andExpect(status().isOk());
+        mockMvc.perform(get("/api/users/" + user.getId())).andExpect(status().isOk());
+
+        // Then
+        assertThat(output.getOut())
+                .contains("SQL budget exceeded: GET /api/orders/user/" + user.getId() + " (OrderController.getOrdersByUserId)")
+                .doesNotContain("SQL budget exceeded: GET /api/users/");
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.ecommerce.controller;
+
+import com.example.ecommerce.entity.Order;
+import com.example.ecommerce.entity.OrderItem;
+import com.example.ecommerce.entity.Product;
+import com.example.ecommerce.entity.User;
+import com.example.ecommerce.repository.UserRepository;
+import com.example.ecommerce.service.OrderService;
+import com.example.ecommerce.service.ProductService;
+import com.example.ecommerce.support.SqlStatementCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Pins the number of SQL statements each order endpoint and fetch plan costs, so an N+1
+ * regression fails the build. Orders have several lines, so any per-row or per-line
+ * query would show up in the counts.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@AutoConfigureMockMvc
+@DisplayName("Order SQL Statement Count Tests")
+class OrderControllerStatementCountTest {
+
+    private static final int LINES = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private SqlStatementCounter sql;
+    private User user;
+    private List<Long> orderIds;
+
+    @BeforeEach
+    void setUp() {
+        sql = new SqlStatementCounter(entityManagerFactory);
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        user = userRepository.save(new User("sql_" + suffix, "sql_" + suffix + "@example.com", "Secret123"));
+        List<OrderItem> items = new ArrayList<>();
+        for (int i = 0; i < LINES; i++) {
+            Product product = productService.createProduct(new Product("Part " + i, "SQL-" + suffix + "-" + i, new BigDecimal("2.50"), 100));
+            items.add(new OrderItem(product, 1, product.getPrice()));
+        }
+        orderIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            orderIds.add(orderService.createOrder(user.getId(), items).getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Should read order endpoints in a fixed number of statements")
+    void readEndpoints_HaveFixedStatementCounts() throws Exception {
+        Long orderId = orderIds.get(0);
+
+        sql.assertStatements(2, "GET /api/orders/{id}", () -> get200("/api/orders/" + orderId));
+        sql.assertStatements(1, "GET /api/orders", () -> get200("/api/orders?size=50"));
+        sql.assertStatements(2, "GET /api/orders with total", () -> get200("/api/orders?size=50&includeTotal=true"));
+        sql.assertStatements(1, "GET /api/orders/user/{userId}", () -> get200("/api/orders/user/" + user.getId()));
+        sql.assertStatements(1, "GET /api/orders/status/{status}", () -> get200("/api/orders/status/PENDING?size=50"));
+        sql.assertStatements(2, "GET /api/orders/export", () -> {
+            MvcResult started = mockMvc.perform(get("/api/orders/export").param("status", "PENDING"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            return mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk()).andReturn();
+        });
+    }
+
+    @Test
+    @DisplayName("Should change order status in a fixed number of statements")
+    void writeEndpoints_HaveFixedStatementCounts() throws Exception {
+        // Load the order row, update it, then read the detail response
+        sql.assertStatements(4, "PATCH /api/orders/{id}/status", () -> mockMvc
+                .perform(patch("/api/orders/" + orderIds.get(0) + "/status").param("status", "CONFIRMED"))
+                .andExpect(status().isOk())
+                .andReturn());
+        // Load the order with its items and products, then update it; stock goes back through JDBC
+        sql.assertStatements(2, "DELETE /api/orders/{id}", () -> mockMvc
+                .perform(delete("/api/orders/" + orderIds.get(1)))
+                .andExpect(status().isNoContent())
+                .andReturn());
+    }
+
+    @Test
+    @DisplayName("Should create an order from a JSON list of product IDs and quantities")
+    void createOrder_BindsJsonLines() throws Exception {
+        // Given - lines name a product and quantity; the price is taken from the product
+        List<Long> productIds = orderService.getOrderById(orderIds.get(0)).orElseThrow().getOrderItems().stream()
+                .map(item -> item.getProduct().getId())
+                .toList();
+        String body = "[{\"productId\":" + productIds.get(0) + ",\"quantity\":2},"
+                + "{\"productId\":" + productIds.get(1) + ",\"quantity\":1}]";
+
+        // When / Then
+        mockMvc.perform(post("/api/orders").param("userId", user.getId().toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.totalAmount").value(7.50))
+                .andExpect(jsonPath("$.items.length()").value(2));
+        mockMvc.perform(post("/api/orders").param("userId", user.getId().toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"productId\":" + productIds.get(0) + ",\"quantity\":0}]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should import a bulk feed with batched lookups and inserts whatever the number of records")
+    void bulkImport_HasBoundedStatementCount() throws Exception {
+        // Given - 30 orders of four lines each
+        List<Long> productIds = orderService.getOrderById(orderIds.get(0)).orElseThrow().getOrderItems().stream()
+                .map(item -> item.getProduct().getId())
+                .toList();
+        StringBuilder feed = new StringBuilder();
+        for (int i = 0; i < 30; i++) {
+            feed.append("{\"reference\":\"bulk-").append(i).append("\",\"userId\":").append(user.getId()).append(",\"items\":[");
+            for (int line = 0; line < LINES; line++) {
+                feed.append(line == 0 ? "" : ",").append("{\"productId\":").append(productIds.get(line)).append(",\"quantity\":1}");
+            }
+            feed.append("]}\n");
+        }
+
+        // When
+        MvcResult[] response = new MvcResult[1];
+        long statements = sql.count(() -> {
+            MvcResult started = mockMvc.perform(post("/api/orders/bulk")
+                            .contentType(MediaType.APPLICATION_NDJSON)
+                            .content(feed.toString()))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            return response[0] = mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk()).andReturn();
+        });
+
+        // Then - users, products, two insert batches and a few sequence calls; stock goes through JDBC
+        assertThat(response[0].getResponse().getContentAsString().lines())
+                .hasSize(30)
+                .allSatisfy(line -> assertThat(line).contains("\"status\":\"CREATED\""));
+        assertThat(statements).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should load the full fetch plan in one statement whatever the number of lines")
+    void fetchPlan_LoadsInOneStatement() throws Exception {
+        // Full plan: orders, items, products and users together
+        sql.assertStatements(1, "getOrderById", () -> {
+            Order order = orderService.getOrderById(orderIds.get(0)).orElseThrow();
+            assertThat(order.getOrderItems()).hasSize(LINES)
+                    .allSatisfy(item -> assertThat(item.getProduct().getName()).startsWith("Part"));
+            return order.getUser().getUsername();
+        });
+    }
+
+    private MvcResult get200(String uri) throws Exception {
+        return mockMvc.perform(get(uri)).andExpect(status().isOk()).andReturn();
+    }
+}
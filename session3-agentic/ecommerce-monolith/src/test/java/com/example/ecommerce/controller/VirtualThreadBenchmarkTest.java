@@ -0,0 +1,190 @@
+package com.example.ecommerce.controller;
+
+import com.example.ecommerce.EcommerceApplication;
+import com.example.ecommerce.entity.Order;
+import com.example.ecommerce.entity.OrderItem;
+import com.example.ecommerce.entity.Product;
+import com.example.ecommerce.entity.User;
+import com.example.ecommerce.repository.ProductRepository;
+import com.example.ecommerce.repository.UserRepository;
+import com.example.ecommerce.service.OrderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Compares payments per second, p50 and p99 of the payment flow with requests served by
+ * Tomcat's platform thread pool and by virtual threads ({@code spring.threads.virtual.enabled}).
+ * <p>
+ * Each client creates a payment and submits it with {@code waitMs}, holding the request
+ * thread until the gateway answers, so once there are more clients than pool threads,
+ * platform mode queues payments behind each other's gateway calls. The pool is cut to
+ * 10 threads and the gateway slowed to 2s so the pool runs out long before the CPU; the largest
+ * concurrency whose p99 stays within {@link #P99_BOUND} is reported as the most concurrent
+ * payments each mode serves. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Virtual Thread Benchmark")
+class VirtualThreadBenchmarkTest {
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadBenchmarkTest.class);
+
+    private static final Duration GATEWAY_LATENCY = Duration.ofSeconds(2);
+    private static final int PLATFORM_THREADS = 10;
+    private static final Duration P99_BOUND = GATEWAY_LATENCY.multipliedBy(3).dividedBy(2);
+    private static final int[] CONCURRENCY = {5, 10, 20, 40};
+    private static final int PAYMENTS_PER_CLIENT = 2;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    @Test
+    @DisplayName("Virtual threads should serve more concurrent payments within the p99 bound than the platform pool")
+    void virtualVersusPlatformThreads() throws Exception {
+        Map<Integer, Result> platform = runAll(false);
+        Map<Integer, Result> virtual = runAll(true);
+
+        log.info(String.format("%-12s %-9s %12s %10s %10s", "concurrency", "mode", "payments/s", "p50 ms", "p99 ms"));
+        for (int concurrency : CONCURRENCY) {
+            print(concurrency, "platform", platform.get(concurrency));
+            print(concurrency, "virtual", virtual.get(concurrency));
+        }
+        int platformMax = maxConcurrentPayments(platform);
+        int virtualMax = maxConcurrentPayments(virtual);
+        log.info("Most concurrent payments with p99 within {} ms: platform {}, virtual {}",
+                P99_BOUND.toMillis(), platformMax, virtualMax);
+
+        assertThat(virtualMax).isGreaterThan(platformMax);
+        int highest = CONCURRENCY[CONCURRENCY.length - 1];
+        assertThat(virtual.get(highest).p99Millis()).isLessThan(platform.get(highest).p99Millis());
+    }
+
+    private Map<Integer, Result> runAll(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(EcommerceApplication.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--server.tomcat.threads.max=" + PLATFORM_THREADS,
+                "--spring.datasource.url=jdbc:h2:mem:benchmark-" + mode,
+                "--ecommerce.payment.gateway.latency-ms=" + GATEWAY_LATENCY.toMillis(),
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.example.ecommerce=WARN",
+                "--logging.level." + VirtualThreadBenchmarkTest.class.getName() + "=INFO")) {
+            URI baseUrl = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/");
+            Map<Integer, Result> results = new LinkedHashMap<>();
+            // Warm up with a few rounds within the pool size
+            run(baseUrl, createOrders(context, PLATFORM_THREADS * 4), PLATFORM_THREADS);
+            for (int concurrency : CONCURRENCY) {
+                results.put(concurrency, run(baseUrl, createOrders(context, concurrency * PAYMENTS_PER_CLIENT), concurrency));
+            }
+            return results;
+        }
+    }
+
+    private Result run(URI baseUrl, List<Long> orderIds, int concurrency) throws Exception {
+        Queue<Long> unpaid = new ConcurrentLinkedQueue<>(orderIds);
+        Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+        long started = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> runs = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                runs.add(clients.submit(() -> {
+                    Long orderId;
+                    while ((orderId = unpaid.poll()) != null) {
+                        long paymentStarted = System.nanoTime();
+                        pay(baseUrl, orderId);
+                        latencies.add(System.nanoTime() - paymentStarted);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> run : runs) {
+                run.get();
+            }
+        }
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        return new Result(sorted.length / seconds, percentileMillis(sorted, 50), percentileMillis(sorted, 99));
+    }
+
+    private void pay(URI baseUrl, long orderId) throws IOException, InterruptedException {
+        long paymentId = objectMapper.readTree(send(baseUrl, "POST", "api/payments?paymentMethod=CREDIT_CARD&orderId=" + orderId))
+                .path("id").asLong();
+        String status = objectMapper.readTree(send(baseUrl, "POST", "api/payments/" + paymentId + "/process?waitMs=30000"))
+                .path("status").asText();
+        assertThat(status).isIn("COMPLETED", "FAILED");
+    }
+
+    private String send(URI baseUrl, String method, String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(baseUrl.resolve(path))
+                .method(method, HttpRequest.BodyPublishers.noBody())
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode() / 100).as("%s %s: %s", method, path, response.body()).isEqualTo(2);
+        return response.body();
+    }
+
+    // Orders are placed directly through the service so that only the payment flow is timed
+    private static List<Long> createOrders(ConfigurableApplicationContext context, int count) {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User buyer = context.getBean(UserRepository.class)
+                .save(new User("bench_" + suffix, "bench_" + suffix + "@example.com", "Password1"));
+        Product product = context.getBean(ProductRepository.class)
+                .save(new Product("Benchmark " + suffix, "BENCH-" + suffix, new BigDecimal("9.99"), 1_000_000));
+        OrderService orderService = context.getBean(OrderService.class);
+        List<Long> orderIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Order order = orderService.createOrder(buyer.getId(), List.of(new OrderItem(product, 1, product.getPrice())));
+            orderIds.add(order.getId());
+        }
+        return orderIds;
+    }
+
+    private static int maxConcurrentPayments(Map<Integer, Result> results) {
+        return Arrays.stream(CONCURRENCY)
+                .filter(concurrency -> results.get(concurrency).p99Millis() <= P99_BOUND.toMillis())
+                .max()
+                .orElse(0);
+    }
+
+    private static double percentileMillis(long[] sortedNanos, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private static void print(int concurrency, String mode, Result result) {
+        log.info(String.format("%-12d %-9s %12.1f %10.1f %10.1f",
+                concurrency, mode, result.paymentsPerSecond(), result.p50Millis(), result.p99Millis()));
+    }
+
+    private record Result(double paymentsPerSecond, double p50Millis, double p99Millis) {
+    }
+}
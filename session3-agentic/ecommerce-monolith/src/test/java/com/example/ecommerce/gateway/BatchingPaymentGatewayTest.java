@@ -0,0 +1,216 @@
+package com.example.ecommerce.gateway;
+
+import com.example.ecommerce.entity.Payment;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for BatchingPaymentGateway.
+ * Tests cover the size and time triggers, fanning results back to each caller, and
+ * callers never waiting past the timeout or a shutdown.
+ */
+@DisplayName("BatchingPaymentGateway Unit Tests")
+class BatchingPaymentGatewayTest {
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(1);
+
+    private final ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor();
+    private BatchingPaymentGateway gateway;
+
+    @AfterEach
+    void tearDown() {
+        callers.close();
+        if (gateway != null) {
+            gateway.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should send a full batch in one gateway call")
+    void charge_SizeTriggersBatch() throws Exception {
+        // Given
+        StubPaymentGateway stub = new StubPaymentGateway(Duration.ofMillis(10));
+        gateway = new BatchingPaymentGateway(stub, 5, Duration.ofSeconds(10), TIMEOUT);
+
+        // When
+        List<GatewayResult> results = chargeConcurrently(5);
+
+        // Then - the long max wait never elapses, so only the size trigger can have fired
+        assertThat(results).allMatch(GatewayResult::approved);
+        assertThat(stub.getCallCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should send a partial batch once the max wait has elapsed")
+    void charge_TimeTriggersBatch() {
+        // Given
+        StubPaymentGateway stub = new StubPaymentGateway(Duration.ZERO);
+        gateway = new BatchingPaymentGateway(stub, 100, Duration.ofMillis(50), TIMEOUT);
+
+        // When
+        long started = System.nanoTime();
+        GatewayResult result = gateway.charge(request(1L));
+
+        // Then
+        assertThat(result.approved()).isTrue();
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isGreaterThanOrEqualTo(Duration.ofMillis(50));
+        assertThat(stub.getCallCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should return each caller the result for its own payment")
+    void charge_FansOutResultsByPayment() throws Exception {
+        // Given - the gateway answers in reverse order and declines even payment IDs
+        PaymentGateway reversing = new PaymentGateway() {
+            @Override
+            public GatewayResult charge(ChargeRequest request) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public List<GatewayResult> chargeAll(List<ChargeRequest> requests) {
+                return requests.reversed().stream()
+                        .map(request -> request.paymentId() % 2 == 0
+                                ? GatewayResult.declined(request.paymentId(), "Declined " + request.paymentId())
+                                : GatewayResult.approved(request.paymentId(), "TXN-" + request.paymentId()))
+                        .toList();
+            }
+        };
+        gateway = new BatchingPaymentGateway(reversing, 4, Duration.ofSeconds(10), TIMEOUT);
+
+        // When
+        List<GatewayResult> results = chargeConcurrently(4);
+
+        // Then
+        for (int i = 0; i < results.size(); i++) {
+            long paymentId = i + 1;
+            GatewayResult result = results.get(i);
+            assertThat(result.paymentId()).isEqualTo(paymentId);
+            assertThat(result.approved()).isEqualTo(paymentId % 2 != 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Should decline a charge the gateway returned no result for")
+    void charge_MissingResultIsDeclined() {
+        // Given
+        gateway = new BatchingPaymentGateway(new PaymentGateway() {
+            @Override
+            public GatewayResult charge(ChargeRequest request) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public List<GatewayResult> chargeAll(List<ChargeRequest> requests) {
+                return List.of();
+            }
+        }, 1, Duration.ofMillis(10), TIMEOUT);
+
+        // When
+        GatewayResult result = gateway.charge(request(1L));
+
+        // Then
+        assertThat(result.approved()).isFalse();
+        assertThat(result.responseMessage()).contains("No result");
+    }
+
+    @Test
+    @DisplayName("Should report an unknown outcome for a sent charge whose result is not back within the timeout")
+    void charge_TimesOutAfterSending() {
+        // Given - the gateway does not answer until the test ends
+        CountDownLatch release = new CountDownLatch(1);
+        gateway = new BatchingPaymentGateway(new PaymentGateway() {
+            @Override
+            public GatewayResult charge(ChargeRequest request) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public List<GatewayResult> chargeAll(List<ChargeRequest> requests) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return List.of();
+            }
+        }, 1, Duration.ZERO, Duration.ofMillis(100));
+
+        // When / Then
+        try {
+            assertThatThrownBy(() -> gateway.charge(request(1L)))
+                    .isInstanceOf(ChargeOutcomeUnknownException.class)
+                    .hasMessageContaining("within 100 ms");
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer or refuse every charge that races with close instead of leaving it waiting")
+    void close_ConcurrentChargesNeverHang() throws Exception {
+        // Given - the timeout is far longer than the test may take, so it cannot be what ends a wait
+        gateway = new BatchingPaymentGateway(new StubPaymentGateway(Duration.ZERO), 10, Duration.ofMillis(5), TIMEOUT);
+        List<Future<GatewayResult>> futures = new ArrayList<>();
+        for (long paymentId = 1; paymentId <= 500; paymentId++) {
+            ChargeRequest request = request(paymentId);
+            futures.add(callers.submit(() -> gateway.charge(request)));
+        }
+        // On a single CPU the callers may not have run yet; wait for one answer so close races with a live gateway
+        assertThat(futures.get(0).get(10, TimeUnit.SECONDS).approved()).isTrue();
+
+        // When
+        gateway.close();
+
+        // Then
+        int approved = 0;
+        for (Future<GatewayResult> future : futures) {
+            try {
+                assertThat(future.get(10, TimeUnit.SECONDS).approved()).isTrue();
+                approved++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(IllegalStateException.class).hasMessageContaining("shut down");
+            }
+        }
+        assertThat(approved).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException for a batch size below one")
+    void constructor_InvalidBatchSize() {
+        assertThatThrownBy(() -> new BatchingPaymentGateway(new StubPaymentGateway(Duration.ZERO), 0, Duration.ZERO, TIMEOUT))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Batch size");
+    }
+
+    private List<GatewayResult> chargeConcurrently(int count) throws Exception {
+        List<Future<GatewayResult>> futures = new ArrayList<>();
+        for (long paymentId = 1; paymentId <= count; paymentId++) {
+            ChargeRequest request = request(paymentId);
+            futures.add(callers.submit(() -> gateway.charge(request)));
+        }
+        List<GatewayResult> results = new ArrayList<>();
+        for (Future<GatewayResult> future : futures) {
+            results.add(future.get());
+        }
+        return results;
+    }
+
+    private static ChargeRequest request(Long paymentId) {
+        return new ChargeRequest(paymentId, new BigDecimal("9.99"), Payment.PaymentMethod.CREDIT_CARD);
+    }
+}
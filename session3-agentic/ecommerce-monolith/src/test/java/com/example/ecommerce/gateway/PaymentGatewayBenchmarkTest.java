@@ -0,0 +1,83 @@
+package com.example.ecommerce.gateway;
+
+import com.example.ecommerce.entity.Payment;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Compares payments per second and gateway calls with and without micro-batching.
+ * The stub gateway has 50ms latency and serves at most 8 calls at once, like a
+ * rate-limited provider. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Payment Gateway Benchmark")
+class PaymentGatewayBenchmarkTest {
+    private static final Logger log = LoggerFactory.getLogger(PaymentGatewayBenchmarkTest.class);
+
+    private static final Duration LATENCY = Duration.ofMillis(50);
+    private static final int GATEWAY_CONNECTIONS = 8;
+    private static final Duration RUN_TIME = Duration.ofSeconds(2);
+
+    @Test
+    @DisplayName("Batching should raise throughput and cut gateway calls under concurrency")
+    void batchingVersusSingleCalls() throws InterruptedException {
+        log.info(String.format("%-12s %-9s %14s %14s", "concurrency", "mode", "payments/s", "gateway calls"));
+        for (int concurrency : new int[]{1, 8, 64, 256}) {
+            StubPaymentGateway single = new StubPaymentGateway(LATENCY, GATEWAY_CONNECTIONS);
+            Result singleResult = run(single, concurrency);
+            print(concurrency, "single", singleResult, single);
+
+            StubPaymentGateway batched = new StubPaymentGateway(LATENCY, GATEWAY_CONNECTIONS);
+            Result batchedResult;
+            try (BatchingPaymentGateway batching = new BatchingPaymentGateway(batched, 50, Duration.ofMillis(20), Duration.ofSeconds(30))) {
+                batchedResult = run(batching, concurrency);
+            }
+            print(concurrency, "batched", batchedResult, batched);
+
+            if (concurrency >= 64) {
+                assertThat(batchedResult.paymentsPerSecond()).isGreaterThan(singleResult.paymentsPerSecond());
+                assertThat(batched.getCallCount()).isLessThan(single.getCallCount());
+            }
+        }
+    }
+
+    private Result run(PaymentGateway gateway, int concurrency) throws InterruptedException {
+        AtomicLong payments = new AtomicLong();
+        AtomicLong nextPaymentId = new AtomicLong();
+        long deadline = System.nanoTime() + RUN_TIME.toNanos();
+        long started = System.nanoTime();
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                callers.execute(() -> {
+                    while (System.nanoTime() < deadline) {
+                        ChargeRequest request = new ChargeRequest(nextPaymentId.incrementAndGet(),
+                                new BigDecimal("9.99"), Payment.PaymentMethod.CREDIT_CARD);
+                        if (gateway.charge(request).approved()) {
+                            payments.incrementAndGet();
+                        }
+                    }
+                });
+            }
+        }
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        return new Result(payments.get() / seconds);
+    }
+
+    private static void print(int concurrency, String mode, Result result, StubPaymentGateway gateway) {
+        log.info(String.format("%-12d %-9s %14.1f %14d", concurrency, mode, result.paymentsPerSecond(), gateway.getCallCount()));
+    }
+
+    private record Result(double paymentsPerSecond) {
+    }
+}
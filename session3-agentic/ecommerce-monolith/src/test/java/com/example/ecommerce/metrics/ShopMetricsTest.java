@@ -0,0 +1,74 @@
+package com.example.ecommerce.metrics;
+
+import com.example.ecommerce.entity.Product;
+import com.example.ecommerce.entity.User;
+import com.example.ecommerce.repository.UserRepository;
+import com.example.ecommerce.service.ProductService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Checks that service timers, business counters, Hibernate statistics and Hikari pool
+ * gauges reach the Prometheus endpoint.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@DisplayName("Shop Metrics Tests")
+class ShopMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    @DisplayName("Should export order outcomes, stock-outs and service timers in Prometheus format")
+    void prometheus_ExportsOrderMetrics() throws Exception {
+        // Given
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User user = userRepository.save(new User("metrics_" + suffix, "metrics_" + suffix + "@example.com", "Secret123"));
+        Product product = productService.createProduct(new Product("Gauge", "MET-" + suffix, new BigDecimal("4.00"), 1));
+
+        // When - one order takes the last unit, the next runs out of stock
+        for (int expectedStatus : new int[]{201, 400}) {
+            mockMvc.perform(post("/api/orders").param("userId", user.getId().toString())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[{\"productId\":" + product.getId() + ",\"quantity\":1}]"))
+                    .andExpect(status().is(expectedStatus));
+        }
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Then
+        assertThat(scrape)
+                .containsPattern("ecommerce_orders_total\\{[^}]*outcome=\"success\",source=\"api\"[^}]*} [1-9]")
+                .containsPattern("ecommerce_orders_total\\{[^}]*outcome=\"rejected\",source=\"api\"[^}]*} [1-9]")
+                .containsPattern("ecommerce_stock_outs_total\\{[^}]*source=\"api\"[^}]*} [1-9]")
+                .containsPattern("ecommerce_service_seconds_bucket\\{[^}]*class=\"com.example.ecommerce.service.OrderService\"[^}]*method=\"createOrder\"")
+                .containsPattern("ecommerce_service_seconds_count\\{[^}]*exception=\"IllegalArgumentException\"[^}]*method=\"createOrder\"")
+                .contains("hibernate_statements_total", "hikaricp_connections_active");
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.ecommerce.money;
+
+import com.example.ecommerce.entity.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for Money.
+ * Tests cover the arithmetic, overflow checks, conversions and the JSON and validation bindings.
+ */
+@DisplayName("Money Unit Tests")
+class MoneyTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should add, subtract and multiply in cents")
+    void arithmetic() {
+        // Given
+        Money price = Money.of("19.99");
+
+        // When / Then
+        assertThat(price.times(3)).isEqualTo(Money.of("59.97"));
+        assertThat(price.plus(Money.of("0.01"))).isEqualTo(Money.of("20"));
+        assertThat(price.minus(Money.of("20.04"))).isEqualTo(Money.ofMinor(-5));
+        assertThat(price.times(0)).isSameAs(Money.ZERO);
+        assertThat(price.compareTo(Money.of("20.00"))).isNegative();
+    }
+
+    @Test
+    @DisplayName("Should throw rather than wrap when a result overflows")
+    void arithmetic_Overflow() {
+        // Given
+        Money large = Money.ofMinor(Long.MAX_VALUE / 2 + 1);
+
+        // When / Then
+        assertThatThrownBy(() -> large.times(2)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> large.plus(large)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.ofMinor(Long.MIN_VALUE).minus(Money.ofMinor(1))).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    @DisplayName("Should convert to and from decimals without losing or inventing cents")
+    void decimalConversion() {
+        // When / Then
+        assertThat(Money.of(new BigDecimal("12.5")).minorUnits()).isEqualTo(1250);
+        assertThat(Money.of(new BigDecimal("12.500")).minorUnits()).isEqualTo(1250);
+        assertThat(Money.ofMinor(1250).toBigDecimal()).isEqualTo(new BigDecimal("12.50"));
+        assertThat(Money.ofMinor(-305)).hasToString("-3.05");
+        assertThat(Money.ofMinor(7)).hasToString("0.07");
+        assertThatThrownBy(() -> Money.of(new BigDecimal("0.005"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Money.of("ten")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should round-trip through the JPA converter as a two-place decimal")
+    void converter() {
+        // Given
+        MoneyConverter converter = new MoneyConverter();
+
+        // When
+        BigDecimal column = converter.convertToDatabaseColumn(Money.of("4.20"));
+
+        // Then
+        assertThat(column).isEqualTo(new BigDecimal("4.20"));
+        assertThat(converter.convertToEntityAttribute(column)).isEqualTo(Money.of("4.2"));
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should write JSON numbers as BigDecimal amounts were written and read numbers or strings")
+    void json() throws Exception {
+        // When / Then
+        assertThat(objectMapper.writeValueAsString(Map.of("price", Money.of("12.5")))).isEqualTo("{\"price\":12.50}");
+        assertThat(objectMapper.readValue("12.5", Money.class)).isEqualTo(Money.of("12.50"));
+        assertThat(objectMapper.readValue("3", Money.class)).isEqualTo(Money.ofMinor(300));
+        assertThat(objectMapper.readValue("\"0.99\"", Money.class)).isEqualTo(Money.ofMinor(99));
+        assertThatThrownBy(() -> objectMapper.readValue("1.001", Money.class)).isInstanceOf(InvalidFormatException.class);
+    }
+
+    @Test
+    @DisplayName("Should apply @Positive to Money prices")
+    void positiveValidation() {
+        // Given
+        try (ValidatorFactory factory = Validation.buildDefaultValidatorFactory()) {
+            Validator validator = factory.getValidator();
+
+            // When / Then
+            assertThat(validator.validate(new Product("Pen", "PEN-1", Money.of("1.50"), 1))).isEmpty();
+            assertThat(validator.validate(new Product("Pen", "PEN-1", Money.ZERO, 1)))
+                    .extracting(violation -> violation.getMessage())
+                    .containsExactly("Price must be positive");
+        }
+    }
+}
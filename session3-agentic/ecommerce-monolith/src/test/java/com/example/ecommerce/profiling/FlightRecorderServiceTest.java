@@ -0,0 +1,151 @@
+package com.example.ecommerce.profiling;
+
+import com.example.ecommerce.dto.ProfilingRecording;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "ecommerce.profiling.directory=build/profiling-test",
+        "ecommerce.profiling.max-duration-seconds=10"
+})
+@AutoConfigureMockMvc
+@DisplayName("Flight Recorder Profiling Tests")
+class FlightRecorderServiceTest {
+    private static final long FINISH_TIMEOUT_MILLIS = 60_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private FlightRecorderService flightRecorderService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Should summarise hot methods, allocations, lock contention and GC pauses and serve the file")
+    void recording_SummarisesWorkload() throws Exception {
+        // Given
+        MvcResult started = mockMvc.perform(post("/api/admin/profiling/recordings")
+                        .param("durationSeconds", "2")
+                        .param("profile", "profile"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.status").value("RUNNING"))
+                .andReturn();
+        long id = objectMapper.readTree(started.getResponse().getContentAsString()).path("id").asLong();
+        assertThat(started.getResponse().getHeader("Location")).endsWith("/api/admin/profiling/recordings/" + id);
+
+        // When - burn CPU, allocate, contend for a monitor and collect garbage while recording
+        Object lock = new Object();
+        CountDownLatch held = new CountDownLatch(1);
+        Thread holder = Thread.ofPlatform().start(() -> {
+            synchronized (lock) {
+                held.countDown();
+                sleep(300);
+            }
+        });
+        held.await();
+        synchronized (lock) {
+            busyWork(1_000);
+        }
+        holder.join();
+        System.gc();
+        awaitFinished(id);
+
+        // Then
+        String body = mockMvc.perform(get("/api/admin/profiling/recordings/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.fileSizeBytes").value(greaterThan(0)))
+                .andReturn().getResponse().getContentAsString();
+        JsonNode summary = objectMapper.readTree(body).path("summary");
+        assertThat(summary.path("executionSamples").asLong()).isPositive();
+        assertThat(summary.path("topCpuMethods")).isNotEmpty();
+        assertThat(summary.path("topAllocationSites")).isNotEmpty();
+        assertThat(summary.path("lockContention").findValuesAsText("method"))
+                .contains(FlightRecorderServiceTest.class.getName() + ".recording_SummarisesWorkload");
+        assertThat(summary.path("gcPauses")).isNotEmpty();
+
+        byte[] file = mockMvc.perform(get("/api/admin/profiling/recordings/" + id + "/jfr"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", containsString(".jfr")))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertThat(new String(Arrays.copyOf(file, 3), StandardCharsets.US_ASCII)).isEqualTo("FLR");
+
+        mockMvc.perform(get("/api/admin/profiling/recordings"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", hasItem((int) id)));
+    }
+
+    @Test
+    @DisplayName("Should refuse a second concurrent recording, an overlong duration and an unknown profile")
+    void start_EnforcesCaps() throws Exception {
+        // Given
+        long id = flightRecorderService.start("default", Duration.ofSeconds(1)).id();
+
+        // When / Then
+        mockMvc.perform(post("/api/admin/profiling/recordings").param("durationSeconds", "1"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(get("/api/admin/profiling/recordings/" + id + "/jfr"))
+                .andExpect(status().isNotFound());
+        awaitFinished(id);
+
+        mockMvc.perform(post("/api/admin/profiling/recordings").param("durationSeconds", "11"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/admin/profiling/recordings").param("profile", "everything"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/admin/profiling/recordings/999999"))
+                .andExpect(status().isNotFound());
+    }
+
+    private void awaitFinished(long id) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + FINISH_TIMEOUT_MILLIS;
+        ProfilingRecording.Status status;
+        while ((status = flightRecorderService.getRecording(id).orElseThrow().status()) == ProfilingRecording.Status.RUNNING
+                || status == ProfilingRecording.Status.ANALYZING) {
+            assertThat(System.currentTimeMillis()).as("recording %d finished in time", id).isLessThan(deadline);
+            Thread.sleep(100);
+        }
+    }
+
+    private static void busyWork(long millis) {
+        long end = System.nanoTime() + millis * 1_000_000;
+        List<int[]> garbage = new ArrayList<>();
+        while (System.nanoTime() < end) {
+            garbage.add(new int[1024]);
+            if (garbage.size() > 1000) {
+                garbage.clear();
+            }
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.ecommerce.repository;
+
+import com.example.ecommerce.dto.SlowQuery;
+import com.example.ecommerce.entity.Order;
+import com.example.ecommerce.entity.OrderItem;
+import com.example.ecommerce.entity.Payment;
+import com.example.ecommerce.entity.Product;
+import com.example.ecommerce.entity.User;
+import com.example.ecommerce.money.Money;
+import com.example.ecommerce.service.OrderService;
+import com.example.ecommerce.service.PaymentService;
+import com.example.ecommerce.sql.SlowQueryLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.jpa.repository.Query;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Runs every derived query of the core repositories against the migrated schema and checks
+ * its {@code EXPLAIN} plan, captured by the slow-query log with a zero threshold, for full
+ * table scans. A new derived query fails here until an index serves it, or it is added to
+ * {@link #ACCEPTED_SCANS} with the reason a scan is acceptable.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.com.example.ecommerce.sql=ERROR",
+        "ecommerce.sql.slow-query.threshold-ms=0",
+        "ecommerce.sql.slow-query.capacity=1000"
+})
+@DisplayName("Repository Query Plan Tests")
+class RepositoryQueryPlanTest {
+    private static final List<Class<?>> REPOSITORIES = List.of(
+            OrderRepository.class, ProductRepository.class, PaymentRepository.class, UserRepository.class);
+    private static final String TABLE_SCAN = ".tableScan";
+    private static final Map<String, String> ACCEPTED_SCANS = Map.of(
+            "ProductRepository.findByNameContainingIgnoreCase",
+            "a substring match cannot use a B-tree index; product search is served by ProductSearchIndex");
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    @Autowired
+    @Qualifier("slowQueryExplainExecutor")
+    private ExecutorService slowQueryExplainExecutor;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    private final Map<String, Object> samples = new HashMap<>();
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        user = userRepository.save(new User("plan_" + suffix, "plan_" + suffix + "@example.com", "Secret123"));
+        Product product = new Product("Plan lamp " + suffix, "PLAN-" + suffix, new BigDecimal("12.50"), 100);
+        product.setCategory("Plan-" + suffix);
+        product = productRepository.save(product);
+        Order order = orderService.createOrder(user.getId(),
+                List.of(new OrderItem(product, 2, Money.of(new BigDecimal("12.50")))));
+        Payment payment = paymentService.createPayment(order.getId(), Payment.PaymentMethod.CREDIT_CARD);
+
+        samples.put("userId", user.getId());
+        samples.put("orderId", order.getId());
+        samples.put("id", order.getId());
+        samples.put("sku", product.getSku());
+        samples.put("category", product.getCategory());
+        samples.put("name", "lamp");
+        samples.put("username", user.getUsername());
+        samples.put("email", user.getEmail());
+        samples.put("transactionId", payment.getTransactionId() != null ? payment.getTransactionId() : "txn-" + suffix);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("derivedQueries")
+    @DisplayName("Derived query should not scan a whole table")
+    void derivedQuery_UsesIndexes(String name, Class<?> repositoryType, Method method) throws Exception {
+        // Given
+        Object repository = applicationContext.getBean(repositoryType);
+        Object[] arguments = Arrays.stream(method.getParameters()).map(this::sample).toArray();
+        slowQueryLog.clear();
+
+        // When
+        method.invoke(repository, arguments);
+        // Plans are fetched in order on a single thread, so once this no-op has run every plan is in
+        slowQueryExplainExecutor.submit(() -> { }).get();
+        List<SlowQuery> statements = slowQueryLog.getSlowQueries(1000).stream()
+                .filter(statement -> statement.callSite().equals(name))
+                .toList();
+
+        // Then
+        assertThat(statements).as("statements run by %s", name).isNotEmpty();
+        for (SlowQuery statement : statements) {
+            assertThat(statement.plan()).as("plan of %s", statement.sql()).isNotNull();
+            if (!ACCEPTED_SCANS.containsKey(name)) {
+                assertThat(statement.plan()).as("plan of %s", name).doesNotContain(TABLE_SCAN);
+            }
+        }
+    }
+
+    static Stream<Arguments> derivedQueries() {
+        return REPOSITORIES.stream()
+                .flatMap(repository -> Arrays.stream(repository.getDeclaredMethods())
+                        .filter(method -> !method.isDefault() && !method.isSynthetic()
+                                && !Modifier.isStatic(method.getModifiers())
+                                && !method.isAnnotationPresent(Query.class))
+                        .sorted(Comparator.comparing(Method::getName).thenComparing(Method::getParameterCount))
+                        .map(method -> Arguments.of(
+                                repository.getSimpleName() + "." + method.getName(), repository, method)));
+    }
+
+    // A value for a query parameter, by type, or by name for IDs and strings
+    private Object sample(Parameter parameter) {
+        Class<?> type = parameter.getType();
+        if (type == User.class) {
+            return user;
+        }
+        if (type.isEnum()) {
+            return type.getEnumConstants()[0];
+        }
+        if (type == ScrollPosition.class) {
+            // The position after the first row, as KeysetPaging resumes a page
+            return ScrollPosition.forward(Map.of("createdAt", user.getCreatedAt(), "id", 1L));
+        }
+        if (type == Limit.class) {
+            return Limit.of(20);
+        }
+        if (type == Pageable.class) {
+            return PageRequest.of(0, 20);
+        }
+        assertThat(samples).as("sample value for parameter '%s'; add one in setUp", parameter.getName())
+                .containsKey(parameter.getName());
+        return samples.get(parameter.getName());
+    }
+}
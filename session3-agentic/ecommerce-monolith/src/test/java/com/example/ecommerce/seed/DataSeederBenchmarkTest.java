@@ -0,0 +1,68 @@
+package com.example.ecommerce.seed;
+
+import com.example.ecommerce.entity.User;
+import com.example.ecommerce.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Measures seeding throughput at a few million rows against saving entities through JPA.
+ * The plan defaults to 200k users, 50k products and 1M orders (about 2.8M rows with their
+ * lines) and can be scaled with {@code -Dbenchmark.seed.orders=2000000}. Run with
+ * {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:seed-benchmark",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.com.example.ecommerce=INFO"
+})
+@DisplayName("Data Seeder Benchmark")
+class DataSeederBenchmarkTest {
+    private static final Logger log = LoggerFactory.getLogger(DataSeederBenchmarkTest.class);
+
+    private static final int JPA_USERS = 20_000;
+
+    @Autowired
+    private DataSeeder dataSeeder;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("Seeder should write rows at least ten times faster than JPA")
+    void seedMillionsOfRows() {
+        int orders = Integer.getInteger("benchmark.seed.orders", 1_000_000);
+        SeedPlan plan = new SeedPlan(orders / 5, orders / 20, orders, 5, 1.0, 0.6, 42L,
+                LocalDateTime.of(2026, 1, 1, 0, 0), Integer.getInteger("benchmark.seed.rows-per-statement", 100));
+
+        DataSeeder.Result result = dataSeeder.seed(plan);
+
+        List<User> users = new ArrayList<>(JPA_USERS);
+        for (int i = 0; i < JPA_USERS; i++) {
+            users.add(new User("jpa_" + i, "jpa_" + i + "@example.com", "Secret123"));
+        }
+        long jpaStarted = System.nanoTime();
+        userRepository.saveAll(users);
+        double jpaRowsPerSecond = JPA_USERS / ((System.nanoTime() - jpaStarted) / 1e9);
+
+        log.info(String.format("Seeder: %,d rows (%,d users, %,d products, %,d orders, %,d items) in %,d ms: %,d rows/s",
+                result.rows(), result.users(), result.products(), result.orders(), result.orderItems(),
+                result.elapsed().toMillis(), result.rowsPerSecond()));
+        log.info(String.format("JPA saveAll: %,d users: %,.0f rows/s", JPA_USERS, jpaRowsPerSecond));
+        assertThat((double) result.rowsPerSecond()).isGreaterThan(10 * jpaRowsPerSecond);
+    }
+}
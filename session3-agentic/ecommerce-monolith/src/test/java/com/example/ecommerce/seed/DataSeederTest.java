@@ -0,0 +1,175 @@
+package com.example.ecommerce.seed;
+
+import com.example.ecommerce.entity.Order;
+import com.example.ecommerce.entity.OrderItem;
+import com.example.ecommerce.entity.Product;
+import com.example.ecommerce.entity.User;
+import com.example.ecommerce.repository.UserRepository;
+import com.example.ecommerce.service.OrderService;
+import com.example.ecommerce.service.ProductService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:seed-test",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@DisplayName("Data Seeder Tests")
+class DataSeederTest {
+
+    private static final LocalDateTime AS_OF = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    @Autowired
+    private DataSeeder dataSeeder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Test
+    @DisplayName("Should write the planned rows with order totals matching their lines")
+    void seed_WritesConsistentRows() {
+        // Given
+        SeedPlan plan = new SeedPlan(200, 50, 1_000, 4, 1.0, 0.6, 7L, AS_OF, 64);
+
+        // When
+        DataSeeder.Result result = dataSeeder.seed(plan);
+
+        // Then
+        assertThat(count("users WHERE id >= ?", result.firstUserId())).isEqualTo(200);
+        assertThat(count("products WHERE id >= ?", result.firstProductId())).isEqualTo(50);
+        assertThat(count("orders WHERE id >= ?", result.firstOrderId())).isEqualTo(1_000);
+        assertThat(count("order_items WHERE id >= ?", result.firstOrderItemId())).isEqualTo(result.orderItems());
+        assertThat(result.orderItems()).isBetween(1_000L, 4_000L);
+        assertThat(count("orders o WHERE o.id >= ? AND o.total_amount <> "
+                + "(SELECT SUM(i.subtotal) FROM order_items i WHERE i.order_id = o.id)", result.firstOrderId())).isZero();
+        assertThat(count("orders WHERE id >= ? AND created_at > ?", result.firstOrderId(), AS_OF)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should generate the same data from the same seed")
+    void seed_IsDeterministic() {
+        // Given
+        SeedPlan plan = new SeedPlan(100, 40, 300, 3, 1.0, 0.6, 99L, AS_OF, 32);
+
+        // When - compare rows relative to where each run started
+        DataSeeder.Result first = dataSeeder.seed(plan);
+        DataSeeder.Result second = dataSeeder.seed(plan);
+
+        // Then
+        assertThat(orderLines(second)).isEqualTo(orderLines(first));
+        assertThat(jdbcTemplate.queryForList("SELECT price, category, stock_quantity FROM products WHERE id >= ? AND id < ? ORDER BY id",
+                second.firstProductId(), second.firstProductId() + 40))
+                .isEqualTo(jdbcTemplate.queryForList("SELECT price, category, stock_quantity FROM products WHERE id >= ? AND id < ? ORDER BY id",
+                        first.firstProductId(), first.firstProductId() + 40));
+    }
+
+    @Test
+    @DisplayName("Should skew orders towards a few popular products")
+    void seed_SkewsProductPopularity() {
+        // Given
+        SeedPlan plan = new SeedPlan(500, 1_000, 5_000, 1, 1.1, 0.6, 3L, AS_OF, 100);
+
+        // When
+        DataSeeder.Result result = dataSeeder.seed(plan);
+
+        // Then - with uniform picks the 10 best sellers would hold about 1% of the lines
+        List<Long> lineCounts = jdbcTemplate.queryForList(
+                "SELECT COUNT(*) FROM order_items WHERE id >= ? GROUP BY product_id ORDER BY COUNT(*) DESC LIMIT 10",
+                Long.class, result.firstOrderItemId());
+        assertThat(lineCounts.stream().mapToLong(Long::longValue).sum()).isGreaterThan(result.orderItems() / 5);
+    }
+
+    @Test
+    @DisplayName("Should leave IDs free so the application can keep creating users and orders")
+    void seed_ThenApplicationWritesDoNotCollide() {
+        // Given
+        DataSeeder.Result result = dataSeeder.seed(new SeedPlan(50, 20, 200, 3, 1.0, 0.6, 11L, AS_OF, 16));
+
+        // When
+        User user = userRepository.save(new User("after_seed", "after_seed@example.com", "Secret123"));
+        Product product = productService.createProduct(new Product("After Seed", "AFTER-SEED", new BigDecimal("9.99"), 10));
+        Order order = orderService.createOrder(user.getId(), List.of(new OrderItem(product, 2, product.getPrice())));
+
+        // Then
+        assertThat(user.getId()).isGreaterThanOrEqualTo(result.firstUserId() + 50);
+        assertThat(product.getId()).isGreaterThanOrEqualTo(result.firstProductId() + 20);
+        assertThat(order.getId()).isGreaterThanOrEqualTo(result.firstOrderId() + 200);
+        assertThat(order.getOrderItems().get(0).getId()).isGreaterThanOrEqualTo(result.firstOrderItemId() + result.orderItems());
+    }
+
+    @Test
+    @DisplayName("Should move IDs past the rows a failed run already committed")
+    void seed_FailureStillAdvancesIds() {
+        // Given - a user already holds the username the seeder's 41st user would get
+        long firstUserId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 2 FROM users", Long.class);
+        userRepository.save(new User("seed_" + (firstUserId + 40), "taken_seed@example.com", "Secret123"));
+
+        // When - two batches of 16 single-row statements are committed before the third fails
+        assertThatThrownBy(() -> dataSeeder.seed(new SeedPlan(50, 20, 200, 3, 1.0, 0.6, 13L, AS_OF, 1)))
+                .isInstanceOf(RuntimeException.class);
+        Long committed = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE id >= ?", Long.class, firstUserId);
+        User user = userRepository.save(new User("after_failed_seed", "after_failed_seed@example.com", "Secret123"));
+
+        // Then
+        assertThat(committed).isBetween(32L, 49L);
+        assertThat(user.getId()).isGreaterThanOrEqualTo(firstUserId + 50);
+    }
+
+    @Test
+    @DisplayName("Should draw Zipf ranks with the expected head share")
+    void zipfSampler_FavoursLowRanks() {
+        // Given - with exponent 1 over 100 ranks, rank 0 has probability 1 / H(100), about 19%
+        ZipfSampler sampler = new ZipfSampler(100, 1.0);
+        SplittableRandom random = new SplittableRandom(1);
+        int[] counts = new int[100];
+
+        // When
+        for (int i = 0; i < 100_000; i++) {
+            counts[sampler.sample(random)]++;
+        }
+
+        // Then
+        assertThat(counts[0]).isBetween(18_500, 20_000);
+        assertThat(counts[0]).isGreaterThan(counts[1]);
+        assertThat(counts[1]).isGreaterThan(counts[50]);
+        assertThatThrownBy(() -> new ZipfSampler(0, 1.0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private long count(String fromWhere, Object... args) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + fromWhere, Long.class, args);
+    }
+
+    // Each line as (order, product, quantity, subtotal) relative to the run's first IDs
+    private List<List<Object>> orderLines(DataSeeder.Result result) {
+        return jdbcTemplate.queryForList("SELECT order_id, product_id, quantity, subtotal FROM order_items WHERE id >= ? AND id < ? ORDER BY id",
+                        result.firstOrderItemId(), result.firstOrderItemId() + result.orderItems()).stream()
+                .map((Map<String, Object> row) -> List.<Object>of(
+                        ((Number) row.get("ORDER_ID")).longValue() - result.firstOrderId(),
+                        ((Number) row.get("PRODUCT_ID")).longValue() - result.firstProductId(),
+                        row.get("QUANTITY"),
+                        row.get("SUBTOTAL")))
+                .toList();
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.dto.CursorPage;
+import com.example.ecommerce.dto.CursorPageRequest;
+import com.example.ecommerce.dto.PageCursor;
+import com.example.ecommerce.entity.Product;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for keyset pagination of product lists, from the database and from the cache.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@DisplayName("Cursor Paging Integration Tests")
+class CursorPagingTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    @DisplayName("Should return every product once in creation order, including rows created at the same time")
+    void categoryPages_CoverAllRowsWithoutGapsOrDuplicates() {
+        // Given - 25 products, groups of five sharing a creation time so ID breaks the tie
+        String category = "Paging-" + UUID.randomUUID().toString().substring(0, 8);
+        List<Long> expected = createProducts(category, 25);
+
+        for (boolean bypassCache : new boolean[] {true, false}) {
+            // When
+            List<Long> seen = new ArrayList<>();
+            List<Long> totals = new ArrayList<>();
+            String cursor = null;
+            do {
+                CursorPage<Product> page = productService.getProductsByCategory(category,
+                        CursorPageRequest.of(cursor, 10, true), bypassCache);
+                page.items().forEach(product -> seen.add(product.getId()));
+                totals.add(page.totalCount());
+                assertThat(page.totalCountCapped()).isFalse();
+                cursor = page.nextCursor();
+            } while (cursor != null);
+
+            // Then
+            assertThat(seen).as("bypassCache=%s", bypassCache).containsExactlyElementsOf(expected);
+            assertThat(totals).containsExactly(25L, 25L, 25L);
+        }
+    }
+
+    @Test
+    @DisplayName("Should leave totals out unless asked and end on a page without a cursor")
+    void lastPage_HasNoNextCursor() {
+        // Given
+        String category = "Paging-" + UUID.randomUUID().toString().substring(0, 8);
+        List<Long> expected = createProducts(category, 3);
+
+        // When
+        CursorPage<Product> page = productService.getProductsByCategory(category, CursorPageRequest.first(3), true);
+
+        // Then
+        assertThat(page.items()).extracting(Product::getId).containsExactlyElementsOf(expected);
+        assertThat(page.nextCursor()).isNull();
+        assertThat(page.totalCount()).isNull();
+        assertThat(page.totalCountCapped()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should page through all products without repeating one")
+    void allProducts_PagedWithoutDuplicates() {
+        // Given
+        createProducts("Paging-" + UUID.randomUUID().toString().substring(0, 8), 7);
+
+        // When
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<Product> page = productService.getProducts(CursorPageRequest.of(cursor, 4, false));
+            page.items().forEach(product -> seen.add(product.getId()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        // Then
+        assertThat(seen).doesNotHaveDuplicates().hasSizeGreaterThanOrEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Should round-trip a cursor and reject a malformed one")
+    void cursor_EncodesAndRejectsGarbage() {
+        // Given
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2025, 1, 2, 3, 4, 5, 6000), 42L);
+
+        // When / Then
+        assertThat(PageCursor.decode(cursor.encode())).isEqualTo(cursor);
+        assertThatThrownBy(() -> CursorPageRequest.of("not-a-cursor", 10, false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid page cursor");
+    }
+
+    private List<Long> createProducts(String category, int count) {
+        LocalDateTime base = LocalDateTime.of(2024, 6, 1, 12, 0);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Product product = new Product("Paged " + i, category + "-" + i, new BigDecimal("5.00"), 1);
+            product.setCategory(category);
+            product.setCreatedAt(base.plusMinutes(i / 5));
+            ids.add(productService.createProduct(product).getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.dto.IdempotencyStats;
+import com.example.ecommerce.entity.IdempotencyRecord;
+import com.example.ecommerce.repository.IdempotencyRecordRepository;
+import com.example.ecommerce.service.IdempotencyStore.StoredResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for IdempotencyStore.
+ * Tests cover claiming, replaying, waiting duplicates, eviction and the persistent tier.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotencyStore Unit Tests")
+class IdempotencyStoreTest {
+
+    @Mock
+    private IdempotencyRecordRepository recordRepository;
+
+    @Test
+    @DisplayName("Should let the first request run and replay its response to retries")
+    void claim_ReplaysFirstResponse() {
+        // Given
+        IdempotencyStore store = memoryStore(100, 60);
+
+        // When
+        Optional<StoredResponse> first = store.claim("key-1");
+        store.complete("key-1", response("created"));
+        Optional<StoredResponse> retry = store.claim("key-1");
+
+        // Then
+        assertThat(first).isEmpty();
+        assertThat(retry).hasValueSatisfying(stored -> assertThat(body(stored)).isEqualTo("created"));
+        IdempotencyStats stats = store.getStats();
+        assertThat(stats.misses()).isEqualTo(1);
+        assertThat(stats.hits()).isEqualTo(1);
+        verifyNoInteractions(recordRepository);
+    }
+
+    @Test
+    @DisplayName("Should make a concurrent duplicate wait for the first response")
+    void claim_DuplicateWaitsForFirstRequest() throws Exception {
+        // Given
+        IdempotencyStore store = memoryStore(100, 60);
+        store.claim("key-1");
+        CountDownLatch started = new CountDownLatch(1);
+
+        // When
+        CompletableFuture<Optional<StoredResponse>> duplicate = CompletableFuture.supplyAsync(() -> {
+            started.countDown();
+            return store.claim("key-1");
+        });
+        started.await();
+        Thread.sleep(50);
+        assertThat(duplicate).isNotDone();
+        store.complete("key-1", response("created"));
+
+        // Then
+        assertThat(duplicate.get(5, TimeUnit.SECONDS))
+                .hasValueSatisfying(stored -> assertThat(body(stored)).isEqualTo("created"));
+    }
+
+    @Test
+    @DisplayName("Should let the next retry run the request after the first one is released")
+    void release_AllowsRetry() {
+        // Given
+        IdempotencyStore store = memoryStore(100, 60);
+        store.claim("key-1");
+
+        // When
+        store.release("key-1");
+
+        // Then
+        assertThat(store.claim("key-1")).isEmpty();
+        assertThat(store.getStats().misses()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should count evictions once the store is full")
+    void complete_EvictsBeyondMaxEntries() {
+        // Given
+        IdempotencyStore store = memoryStore(2, 60);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            store.claim("key-" + i);
+            store.complete("key-" + i, response("created " + i));
+        }
+
+        // Then
+        IdempotencyStats stats = store.getStats();
+        assertThat(stats.size()).isEqualTo(2);
+        assertThat(stats.evictions()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should answer from the persistent tier on a memory miss")
+    void claim_LoadsFromPersistentTier() {
+        // Given
+        IdempotencyStore store = new IdempotencyStore(recordRepository, 60, 100, 1_000, true);
+        when(recordRepository.findById("key-1")).thenReturn(Optional.of(new IdempotencyRecord("key-1", "hash-1", 201,
+                "application/json", null, "created".getBytes(StandardCharsets.UTF_8), LocalDateTime.now().plusMinutes(1))));
+
+        // When
+        Optional<StoredResponse> first = store.claim("key-1");
+        Optional<StoredResponse> second = store.claim("key-1");
+
+        // Then
+        assertThat(first).hasValueSatisfying(stored -> {
+            assertThat(stored.status()).isEqualTo(201);
+            assertThat(stored.requestHash()).isEqualTo("hash-1");
+        });
+        assertThat(second).isPresent();
+        verify(recordRepository, times(1)).findById("key-1");
+    }
+
+    @Test
+    @DisplayName("Should write completed responses to the persistent tier")
+    void complete_PersistsResponse() {
+        // Given
+        IdempotencyStore store = new IdempotencyStore(recordRepository, 60, 100, 1_000, true);
+        when(recordRepository.findById("key-1")).thenReturn(Optional.empty());
+        store.claim("key-1");
+
+        // When
+        store.complete("key-1", response("created"));
+
+        // Then
+        verify(recordRepository).save(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    @DisplayName("Should ignore expired records in the persistent tier")
+    void claim_IgnoresExpiredRecord() {
+        // Given
+        IdempotencyStore store = new IdempotencyStore(recordRepository, 60, 100, 1_000, true);
+        when(recordRepository.findById("key-1")).thenReturn(Optional.of(new IdempotencyRecord("key-1", "hash-1", 201,
+                "application/json", null, new byte[0], LocalDateTime.now().minusMinutes(1))));
+
+        // When/Then
+        assertThat(store.claim("key-1")).isEmpty();
+    }
+
+    private IdempotencyStore memoryStore(long maxEntries, long ttlSeconds) {
+        return new IdempotencyStore(recordRepository, ttlSeconds, maxEntries, 5_000, false);
+    }
+
+    private static StoredResponse response(String body) {
+        return new StoredResponse("hash-1", 201, "application/json", null, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String body(StoredResponse stored) {
+        return new String(stored.body(), StandardCharsets.UTF_8);
+    }
+}
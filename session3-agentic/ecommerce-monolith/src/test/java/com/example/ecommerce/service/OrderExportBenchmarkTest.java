@@ -0,0 +1,161 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.dto.OrderExportFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Shows that the live heap during an NDJSON order export does not grow with the number of orders.
+ * The live heap is sampled after a full GC at regular points in the output. The database is
+ * a file-backed H2 with lazy query execution, so its bounded page cache is all it adds to the
+ * heap, as a database server would add nothing. Order counts
+ * default to 10k, 100k and 1M and can be changed with {@code -Dbenchmark.export.sizes=10000,100000}.
+ * Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:file:./build/benchmark/export-benchmark;LAZY_QUERY_EXECUTION=TRUE",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.com.example.ecommerce=INFO"
+})
+@DisplayName("Order Export Benchmark")
+class OrderExportBenchmarkTest {
+    private static final Logger log = LoggerFactory.getLogger(OrderExportBenchmarkTest.class);
+
+    private static final int USERS = 100;
+    private static final int PRODUCTS = 100;
+    private static final long SAMPLE_EVERY_BYTES = 8L * 1024 * 1024;
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Live heap during export should stay flat as the order count grows")
+    void liveHeapStaysFlat() throws IOException {
+        int[] sizes = Arrays.stream(System.getProperty("benchmark.export.sizes", "10000,100000,1000000").split(","))
+                .mapToInt(size -> Integer.parseInt(size.strip()))
+                .toArray();
+        seedUsersAndProducts();
+        log.info(String.format("%-10s %10s %12s %14s %16s", "orders", "MB written", "time", "orders/s", "live heap growth"));
+        List<Long> growths = new ArrayList<>();
+        int seeded = 0;
+        for (int size : sizes) {
+            seedOrders(seeded, size);
+            seeded = size;
+
+            long baseline = liveHeap();
+            SamplingOutputStream out = new SamplingOutputStream();
+            long started = System.nanoTime();
+            long written = orderExportService.export(new OrderExportFilter(null, null, null), out);
+            double seconds = (System.nanoTime() - started) / 1e9;
+
+            long growth = Math.max(0, out.maxLiveHeap - baseline);
+            growths.add(growth);
+            log.info(String.format("%-10d %10.1f %10.2f s %14.0f %13.1f MB", written, out.bytes / 1048576.0,
+                    seconds, written / seconds, growth / 1048576.0));
+            assertThat(written).isEqualTo(size);
+        }
+        // Memory depends on the chunk size only; allow GC noise but not per-order growth
+        assertThat(growths).allSatisfy(growth -> assertThat(growth).isLessThan(64L * 1024 * 1024));
+    }
+
+    private void seedUsersAndProducts() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> products = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(new Object[]{"bench_user_" + i, "bench" + i + "@example.com", "password123", true, now});
+        }
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(new Object[]{"Bench Product " + i, 10 + i, "BENCH-" + i, 1_000_000, true, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (username, email, password, active, created_at) VALUES (?, ?, ?, ?, ?)", users);
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO products (name, price, sku, stock_quantity, active, created_at)
+                VALUES (?, ?, ?, ?, ?, ?)
+                """, products);
+    }
+
+    private void seedOrders(int from, int to) {
+        Long firstUser = jdbcTemplate.queryForObject("SELECT MIN(id) FROM users", Long.class);
+        Long firstProduct = jdbcTemplate.queryForObject("SELECT MIN(id) FROM products", Long.class);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> orders = new ArrayList<>(1_000);
+        for (int i = from; i < to; i++) {
+            orders.add(new Object[]{firstUser + i % USERS, 20 + i % PRODUCTS, "PENDING", "1 Main Street", now});
+            if (orders.size() == 1_000) {
+                insertOrders(orders);
+            }
+        }
+        insertOrders(orders);
+        jdbcTemplate.update("""
+                INSERT INTO order_items (id, order_id, product_id, quantity, price, subtotal)
+                SELECT NEXT VALUE FOR order_items_seq, o.id, ? + MOD(o.id, ?), 2, 10, 20 FROM orders o
+                WHERE NOT EXISTS (SELECT 1 FROM order_items i WHERE i.order_id = o.id)
+                """, firstProduct, PRODUCTS);
+    }
+
+    private void insertOrders(List<Object[]> orders) {
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO orders (id, user_id, total_amount, status, shipping_address, created_at)
+                VALUES (NEXT VALUE FOR orders_seq, ?, ?, ?, ?, ?)
+                """, orders);
+        orders.clear();
+    }
+
+    private static long liveHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Discards the export and samples the live heap every few megabytes of output.
+     */
+    private static final class SamplingOutputStream extends OutputStream {
+        private long bytes;
+        private long nextSample = SAMPLE_EVERY_BYTES;
+        private long maxLiveHeap;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+
+        @Override
+        public void flush() {
+            if (bytes >= nextSample) {
+                maxLiveHeap = Math.max(maxLiveHeap, liveHeap());
+                nextSample = bytes + SAMPLE_EVERY_BYTES;
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.dto.OrderExportFilter;
+import com.example.ecommerce.entity.Order;
+import com.example.ecommerce.entity.OrderItem;
+import com.example.ecommerce.entity.Product;
+import com.example.ecommerce.entity.User;
+import com.example.ecommerce.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for the NDJSON order export.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@DisplayName("Order Export Integration Tests")
+class OrderExportServiceTest {
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Should write one line per matching order with its items")
+    void export_WritesOneLinePerOrderWithItems() throws IOException {
+        // Given - three orders in a window of their own, one of them shipped
+        LocalDateTime windowStart = LocalDateTime.of(2001, 1, 1, 0, 0);
+        List<Long> orderIds = createOrders(3, windowStart);
+        orderService.updateOrderStatus(orderIds.get(1), Order.OrderStatus.SHIPPED);
+
+        // When
+        List<JsonNode> all = export(new OrderExportFilter(null, windowStart, windowStart.plusDays(1)));
+        List<JsonNode> shipped = export(new OrderExportFilter(Order.OrderStatus.SHIPPED, windowStart, windowStart.plusDays(1)));
+
+        // Then
+        assertThat(all).extracting(line -> line.get("id").asLong()).containsExactlyElementsOf(orderIds);
+        assertThat(all.get(0).get("items")).hasSize(2);
+        assertThat(all.get(0).get("items").get(0).get("quantity").asInt()).isEqualTo(1);
+        assertThat(all.get(0).get("username").asText()).startsWith("export_");
+        assertThat(shipped).extracting(line -> line.get("id").asLong()).containsExactly(orderIds.get(1));
+    }
+
+    @Test
+    @DisplayName("Should leave out orders outside the date range")
+    void export_HonoursDateRange() throws IOException {
+        // Given
+        LocalDateTime windowStart = LocalDateTime.of(2002, 1, 1, 0, 0);
+        List<Long> orderIds = createOrders(3, windowStart);
+
+        // When - the orders are an hour apart, so the range holds only the second
+        List<JsonNode> lines = export(new OrderExportFilter(null, windowStart.plusMinutes(30), windowStart.plusMinutes(90)));
+
+        // Then
+        assertThat(lines).extracting(line -> line.get("id").asLong()).containsExactly(orderIds.get(1));
+    }
+
+    @Test
+    @DisplayName("Should reject a range that ends before it starts")
+    void filter_RejectsBackwardsRange() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+
+        // When / Then
+        assertThatThrownBy(() -> new OrderExportFilter(null, now, now.minusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<JsonNode> export(OrderExportFilter filter) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = orderExportService.export(filter, out);
+        String body = out.toString(StandardCharsets.UTF_8);
+        if (!body.isEmpty()) {
+            assertThat(body).endsWith("\n");
+        }
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.lines().toList()) {
+            lines.add(objectMapper.readTree(line));
+        }
+        assertThat(lines).hasSize((int) written);
+        return lines;
+    }
+
+    private List<Long> createOrders(int count, LocalDateTime firstCreatedAt) {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User user = userRepository.save(new User("export_" + suffix, "export_" + suffix + "@example.com", "Password123"));
+        Product lamp = productService.createProduct(new Product("Lamp", "EXP-L-" + suffix, new BigDecimal("20.00"), 100));
+        Product desk = productService.createProduct(new Product("Desk", "EXP-D-" + suffix, new BigDecimal("150.00"), 100));
+
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Long orderId = orderService.createOrder(user.getId(), List.of(item(lamp, 1), item(desk, 2))).getId();
+            // created_at is not updatable through JPA
+            jdbcTemplate.update("UPDATE orders SET created_at = ? WHERE id = ?", firstCreatedAt.plusHours(i), orderId);
+            orderIds.add(orderId);
+        }
+        return orderIds;
+    }
+
+    private static OrderItem item(Product product, int quantity) {
+        return new OrderItem(product, quantity, product.getPrice());
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.entity.OrderItem;
+import com.example.ecommerce.entity.Product;
+import com.example.ecommerce.entity.User;
+import com.example.ecommerce.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Compares orders per second and p99 latency of creating each order in its own transaction
+ * against group commit. The database is a file-backed H2 that writes to its file on every commit
+ * ({@code WRITE_DELAY=0}), which is the per-commit cost group commit shares out. Both paths are
+ * warmed up before they are measured.
+ * Concurrency levels default to 1, 16 and 64 and can be changed with
+ * {@code -Dbenchmark.orders.concurrency=1,64}. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:file:./build/benchmark/order-benchmark;WRITE_DELAY=0",
+        "spring.datasource.hikari.maximum-pool-size=16",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.com.example.ecommerce=INFO"
+})
+@DisplayName("Order Group Commit Benchmark")
+class OrderGroupCommitBenchmarkTest {
+    private static final Logger log = LoggerFactory.getLogger(OrderGroupCommitBenchmarkTest.class);
+
+    private static final Duration WARM_UP = Duration.ofSeconds(5);
+    private static final Duration RUN_TIME = Duration.ofSeconds(5);
+    private static final int PRODUCTS = 20;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("Group commit should cut p99 latency under concurrency without losing throughput")
+    void groupCommitVersusSingleTransactions() throws InterruptedException {
+        int[] levels = Arrays.stream(System.getProperty("benchmark.orders.concurrency", "1,16,64").split(","))
+                .mapToInt(level -> Integer.parseInt(level.strip()))
+                .toArray();
+        User user = userRepository.save(new User("bench_orders", "bench_orders@example.com", "Secret123"));
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(productService.createProduct(new Product("Bench " + i, "BENCH-ORDER-" + i, new BigDecimal("5.00"), 100_000_000)));
+        }
+
+        run(4, WARM_UP, products, (userId, items) -> orderService.createOrder(userId, items), user);
+        try (OrderGroupCommitter committer = new OrderGroupCommitter(orderService, 100, 2, 30_000)) {
+            run(4, WARM_UP, products, committer::createOrder, user);
+        }
+
+        log.info(String.format("%-12s %-13s %12s %12s %12s", "concurrency", "mode", "orders/s", "p50 ms", "p99 ms"));
+        for (int concurrency : levels) {
+            Result single = run(concurrency, RUN_TIME, products, (userId, items) -> orderService.createOrder(userId, items), user);
+            print(concurrency, "transaction", single);
+
+            Result grouped;
+            try (OrderGroupCommitter committer = new OrderGroupCommitter(orderService, 100, 2, 30_000)) {
+                grouped = run(concurrency, RUN_TIME, products, committer::createOrder, user);
+            }
+            print(concurrency, "group-commit", grouped);
+
+            // Commits no longer queue behind each other, so the tail shrinks; throughput should not drop
+            if (concurrency >= 16) {
+                assertThat(grouped.p99Millis()).isLessThan(single.p99Millis());
+                assertThat(grouped.ordersPerSecond()).isGreaterThan(single.ordersPerSecond() * 0.9);
+            }
+        }
+    }
+
+    private static Result run(int concurrency, Duration runTime, List<Product> products,
+                              BiConsumer<Long, List<OrderItem>> createOrder, User user) throws InterruptedException {
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        long started = System.nanoTime();
+        long deadline = started + runTime.toNanos();
+        try (ExecutorService callers = Executors.newFixedThreadPool(concurrency)) {
+            for (int i = 0; i < concurrency; i++) {
+                int caller = i;
+                callers.execute(() -> {
+                    int n = caller;
+                    while (System.nanoTime() < deadline) {
+                        Product product = products.get(n++ % products.size());
+                        long begin = System.nanoTime();
+                        createOrder.accept(user.getId(), List.of(new OrderItem(product, 1, product.getPrice())));
+                        latencies.add(System.nanoTime() - begin);
+                    }
+                });
+            }
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        return new Result(sorted.length / seconds, percentile(sorted, 0.50), percentile(sorted, 0.99));
+    }
+
+    private static double percentile(long[] sorted, double fraction) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(fraction * sorted.length) - 1)] / 1e6;
+    }
+
+    private static void print(int concurrency, String mode, Result result) {
+        log.info(String.format("%-12d %-13s %12.1f %12.2f %12.2f", concurrency, mode,
+                result.ordersPerSecond(), result.p50Millis(), result.p99Millis()));
+    }
+
+    private record Result(double ordersPerSecond, double p50Millis, double p99Millis) {
+    }
+}
@@ -0,0 +1,273 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.entity.Order;
+import com.example.ecommerce.entity.OrderItem;
+import com.example.ecommerce.entity.Product;
+import com.example.ecommerce.entity.User;
+import com.example.ecommerce.repository.OrderRepository;
+import com.example.ecommerce.repository.ProductStockRepository;
+import com.example.ecommerce.repository.UserRepository;
+import com.example.ecommerce.service.OrderService.OrderOutcome;
+import com.example.ecommerce.service.OrderService.OrderRequest;
+import com.example.ecommerce.web.SqlStatementListener;
+import com.example.ecommerce.web.SqlStatementStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Integration tests for OrderGroupCommitter and the batched order creation behind it.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "ecommerce.order.group-commit.enabled=true",
+        "ecommerce.order.group-commit.max-wait-ms=200"
+})
+@DisplayName("OrderGroupCommitter Integration Tests")
+class OrderGroupCommitterTest {
+
+    private static final int CALLERS = 8;
+
+    @Autowired
+    private OrderGroupCommitter orderGroupCommitter;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductStockRepository productStockRepository;
+
+    @Autowired
+    private SqlStatementListener sqlStatementListener;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User user;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        user = userRepository.save(new User("group_" + suffix, "group_" + suffix + "@example.com", "Secret123"));
+        product = productService.createProduct(new Product("Kettle", "GROUP-" + suffix, new BigDecimal("20.00"), 100));
+    }
+
+    @Test
+    @DisplayName("Should commit concurrent orders in shared groups and give each caller its own order")
+    void concurrentOrders_CommittedInGroups() throws Exception {
+        // Given
+        long groupsBefore = orderGroupCommitter.getGroupCount();
+
+        // When
+        List<Order> orders = placeConcurrently(Collections.nCopies(CALLERS, 2));
+
+        // Then
+        assertThat(orders).extracting(Order::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(orderGroupCommitter.getGroupCount() - groupsBefore).isLessThan(CALLERS);
+        assertThat(orderRepository.findByUserId(user.getId())).hasSize(CALLERS)
+                .allSatisfy(order -> assertThat(order.getOrderItems()).hasSize(1));
+        assertThat(stock()).isEqualTo(100 - CALLERS * 2);
+    }
+
+    @Test
+    @DisplayName("Should refuse only the order that runs short of stock in its group")
+    void shortOrder_RefusedAlone() throws Exception {
+        // Given - the third order asks for more than is left
+        List<Integer> quantities = List.of(30, 30, 50, 30);
+
+        // When
+        List<Object> results = new ArrayList<>();
+        try (ExecutorService callers = Executors.newFixedThreadPool(quantities.size())) {
+            List<Future<Order>> futures = new ArrayList<>();
+            for (int quantity : quantities) {
+                futures.add(callers.submit(() -> orderGroupCommitter.createOrder(user.getId(), lines(quantity))));
+                Thread.sleep(10); // keep the submission order
+            }
+            for (Future<Order> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (Exception e) {
+                    results.add(e.getCause());
+                }
+            }
+        }
+
+        // Then
+        assertThat(results.get(0)).isInstanceOf(Order.class);
+        assertThat(results.get(1)).isInstanceOf(Order.class);
+        assertThat(results.get(2)).isInstanceOf(IllegalArgumentException.class)
+                .extracting(error -> ((Throwable) error).getMessage()).asString().contains("Insufficient stock");
+        assertThat(results.get(3)).isInstanceOf(Order.class);
+        assertThat(stock()).isEqualTo(10);
+        assertThat(orderRepository.findByUserId(user.getId())).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Should send the inserts of a group as JDBC batches")
+    void createOrders_BatchesInserts() {
+        // Given
+        int orders = 20;
+        List<OrderRequest> requests = new ArrayList<>();
+        for (int i = 0; i < orders; i++) {
+            requests.add(new OrderRequest(user.getId(), lines(1)));
+        }
+        requests.add(new OrderRequest(Long.MAX_VALUE, lines(1)));
+
+        // When
+        SqlStatementStats stats = sqlStatementListener.begin();
+        List<OrderOutcome> outcomes;
+        try {
+            outcomes = orderService.createOrders(requests);
+        } finally {
+            sqlStatementListener.end(stats);
+        }
+
+        // Then - a product read and a stock update per order; the 40 order and item inserts go out as two batches
+        assertThat(outcomes.subList(0, orders)).allSatisfy(outcome -> assertThat(outcome.order().getId()).isNotNull());
+        assertThat(outcomes.get(orders).error()).hasMessage("User not found");
+        assertThat(stats.statements()).isLessThanOrEqualTo(2L * orders + 6);
+        assertThat(orderRepository.findByUserId(user.getId())).hasSize(orders);
+    }
+
+    @Test
+    @DisplayName("Should count a group's rejections and stock-outs only once it commits")
+    void createOrders_CountsOutcomesAfterCommit() {
+        // Given - one order fits the stock, the second does not
+        List<OrderRequest> requests = List.of(new OrderRequest(user.getId(), lines(60)), new OrderRequest(user.getId(), lines(60)));
+        double rejectedBefore = rejectedOrders();
+        double stockOutsBefore = stockOuts();
+
+        // When - the group is rolled back first, as before a one-by-one retry, then committed
+        transactionTemplate.executeWithoutResult(status -> {
+            orderService.createOrders(requests);
+            status.setRollbackOnly();
+        });
+        double rejectedAfterRollback = rejectedOrders();
+        double stockOutsAfterRollback = stockOuts();
+        transactionTemplate.executeWithoutResult(status -> orderService.createOrders(requests));
+
+        // Then
+        assertThat(rejectedAfterRollback).isEqualTo(rejectedBefore);
+        assertThat(stockOutsAfterRollback).isEqualTo(stockOutsBefore);
+        assertThat(rejectedOrders() - rejectedBefore).isEqualTo(1);
+        assertThat(stockOuts() - stockOutsBefore).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should answer or refuse every order that races with close instead of leaving it waiting")
+    void close_ConcurrentOrdersNeverHang() throws Exception {
+        // Given - a committer of its own, with a timeout far longer than the test may take
+        OrderGroupCommitter committer = new OrderGroupCommitter(orderService, 10, 5, 60_000);
+        List<Future<Order>> futures = new ArrayList<>();
+        try (ExecutorService callers = Executors.newFixedThreadPool(CALLERS)) {
+            for (int i = 0; i < 40; i++) {
+                futures.add(callers.submit(() -> committer.createOrder(user.getId(), lines(1))));
+            }
+
+            // When
+            committer.close();
+
+            // Then
+            int committed = 0;
+            for (Future<Order> future : futures) {
+                try {
+                    assertThat(future.get(30, TimeUnit.SECONDS).getId()).isNotNull();
+                    committed++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(IllegalStateException.class).hasMessageContaining("shut down");
+                }
+            }
+            assertThat(orderRepository.findByUserId(user.getId())).hasSize(committed);
+        }
+    }
+
+    @Test
+    @DisplayName("Should report an order whose group is still running at the timeout as pending, not failed")
+    void createOrder_TimesOutWhilePending() {
+        // Given - the group transaction does not return until the test ends
+        CountDownLatch release = new CountDownLatch(1);
+        OrderService stalled = mock(OrderService.class);
+        when(stalled.createOrders(anyList())).thenAnswer(invocation -> {
+            release.await();
+            return List.of(new OrderOutcome(null, new IllegalArgumentException("Abandoned")));
+        });
+        OrderGroupCommitter committer = new OrderGroupCommitter(stalled, 10, 0, 100);
+
+        // When / Then
+        try {
+            assertThatThrownBy(() -> committer.createOrder(user.getId(), lines(1)))
+                    .isInstanceOf(OrderCommitPendingException.class)
+                    .hasMessageContaining("within 100 ms");
+        } finally {
+            release.countDown();
+            committer.close();
+        }
+    }
+
+    private List<Order> placeConcurrently(List<Integer> quantities) throws Exception {
+        try (ExecutorService callers = Executors.newFixedThreadPool(quantities.size())) {
+            List<Future<Order>> futures = new ArrayList<>();
+            for (int quantity : quantities) {
+                futures.add(callers.submit(() -> orderGroupCommitter.createOrder(user.getId(), lines(quantity))));
+            }
+            List<Order> orders = new ArrayList<>();
+            for (Future<Order> future : futures) {
+                orders.add(future.get());
+            }
+            return orders;
+        }
+    }
+
+    private List<OrderItem> lines(int quantity) {
+        return List.of(new OrderItem(product, quantity, product.getPrice()));
+    }
+
+    private double rejectedOrders() {
+        return meterRegistry.counter("ecommerce.orders", "source", "api", "outcome", "rejected").count();
+    }
+
+    private double stockOuts() {
+        return meterRegistry.counter("ecommerce.stock.outs", "source", "api").count();
+    }
+
+    private int stock() {
+        return productStockRepository.findStockQuantities(Set.of(product.getId())).get(product.getId());
+    }
+}
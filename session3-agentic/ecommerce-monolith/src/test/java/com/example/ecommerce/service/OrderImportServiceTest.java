@@ -0,0 +1,179 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.entity.Order;
+import com.example.ecommerce.entity.Product;
+import com.example.ecommerce.entity.User;
+import com.example.ecommerce.money.Money;
+import com.example.ecommerce.repository.OrderRepository;
+import com.example.ecommerce.repository.ProductStockRepository;
+import com.example.ecommerce.repository.UserRepository;
+import com.example.ecommerce.web.SqlStatementListener;
+import com.example.ecommerce.web.SqlStatementStats;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for the NDJSON bulk order import.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "ecommerce.order.import.chunk-size=50"
+})
+@DisplayName("Order Import Integration Tests")
+class OrderImportServiceTest {
+
+    @Autowired
+    private OrderImportService orderImportService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductStockRepository productStockRepository;
+
+    @Autowired
+    private SqlStatementListener sqlStatementListener;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User user;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        user = userRepository.save(new User("import_" + suffix, "import_" + suffix + "@example.com", "Secret123"));
+        product = productService.createProduct(new Product("Candle", "IMPORT-" + suffix, new BigDecimal("4.00"), 10));
+    }
+
+    @Test
+    @DisplayName("Should create valid records and report why each other record was rejected")
+    void importOrders_ReportsEachRecord() throws IOException {
+        // Given
+        String feed = String.join("\n",
+                record("A-1", user.getId(), product.getId(), 3),
+                record("A-2", Long.MAX_VALUE, product.getId(), 1),
+                record("A-3", user.getId(), product.getId(), 8),
+                record("A-4", user.getId(), product.getId(), 0),
+                "{\"reference\":\"A-5\",\"userId\":" + user.getId() + ",\"items\":[{\"productId\":" + product.getId() + ",\"quantity\":\"lots\"}]}",
+                record("A-6", user.getId(), Long.MAX_VALUE, 1),
+                record("A-7", user.getId(), product.getId(), 7));
+
+        // When
+        List<JsonNode> results = new ArrayList<>();
+        OrderImportService.Summary summary = importFeed(feed, results);
+
+        // Then - A-3 asks for 8 after A-1 took 3 of 10; A-7 takes exactly the 7 left
+        assertThat(summary).isEqualTo(new OrderImportService.Summary(2, 5));
+        assertThat(results).extracting(result -> result.get("line").asInt()).containsExactly(1, 2, 3, 4, 5, 6, 7);
+        assertThat(results).extracting(result -> result.get("status").asText())
+                .containsExactly("CREATED", "REJECTED", "REJECTED", "REJECTED", "REJECTED", "REJECTED", "CREATED");
+        assertThat(results.get(1).get("error").asText()).isEqualTo("User not found");
+        assertThat(results.get(2).get("error").asText()).isEqualTo("Insufficient stock for product: Candle");
+        assertThat(results.get(3).get("error").asText()).isEqualTo("Quantity must be positive");
+        assertThat(results.get(4).get("reference").asText()).isEqualTo("A-5");
+        assertThat(results.get(4).get("error").asText()).startsWith("Invalid record");
+        assertThat(results.get(5).get("error").asText()).startsWith("Product not found");
+
+        Order order = orderRepository.findFullById(results.get(6).get("orderId").asLong()).orElseThrow();
+        assertThat(order.getTotalAmount()).isEqualTo(Money.of("28.00"));
+        assertThat(order.getOrderItems()).hasSize(1);
+        assertThat(stock()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should import in chunks with a fixed number of statements per chunk")
+    void importOrders_BatchesEachChunk() throws IOException {
+        // Given - 120 two-line orders, so three chunks of at most 50
+        productStockRepository.adjustStock(new TreeMap<>(Map.of(product.getId(), 1_000)));
+        Product other = productService.createProduct(new Product("Wick", "IMPORT-W-" + UUID.randomUUID().toString().substring(0, 8), new BigDecimal("0.50"), 1_000));
+        StringBuilder feed = new StringBuilder();
+        for (int i = 0; i < 120; i++) {
+            feed.append("{\"reference\":\"B-").append(i).append("\",\"userId\":").append(user.getId())
+                    .append(",\"items\":[{\"productId\":").append(product.getId()).append(",\"quantity\":1},")
+                    .append("{\"productId\":").append(other.getId()).append(",\"quantity\":2}]}\n");
+        }
+
+        // When
+        SqlStatementStats stats = sqlStatementListener.begin();
+        OrderImportService.Summary summary;
+        try {
+            summary = importFeed(feed.toString(), new ArrayList<>());
+        } finally {
+            sqlStatementListener.end(stats);
+        }
+
+        // Then - lookups, sequence calls, two insert batches and one stock update per chunk instead of 6 statements per order
+        assertThat(summary.created()).isEqualTo(120);
+        assertThat(stats.statements()).isLessThanOrEqualTo(3 * 10);
+        assertThat(orderRepository.findByUserId(user.getId())).hasSize(120)
+                .allSatisfy(order -> assertThat(order.getTotalAmount()).isEqualTo(Money.of("5.00")));
+        assertThat(stock()).isEqualTo(1_010 - 120);
+    }
+
+    @Test
+    @DisplayName("Should import the records before malformed JSON and then stop")
+    void importOrders_StopsAtMalformedJson() throws IOException {
+        // Given
+        String feed = record("C-1", user.getId(), product.getId(), 1) + "\n{\"reference\": \"C-2\", \"userId\": \n"
+                + record("C-3", user.getId(), product.getId(), 1);
+
+        // When
+        List<JsonNode> results = new ArrayList<>();
+        OrderImportService.Summary summary = importFeed(feed, results);
+
+        // Then
+        assertThat(summary).isEqualTo(new OrderImportService.Summary(1, 1));
+        assertThat(results.get(0).get("status").asText()).isEqualTo("CREATED");
+        assertThat(results.get(1).get("status").asText()).isEqualTo("REJECTED");
+        assertThat(results.get(1).get("error").asText()).startsWith("Malformed JSON");
+        assertThat(stock()).isEqualTo(9);
+    }
+
+    private OrderImportService.Summary importFeed(String feed, List<JsonNode> results) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        OrderImportService.Summary summary = orderImportService.importOrders(
+                new ByteArrayInputStream(feed.getBytes(StandardCharsets.UTF_8)), out);
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            results.add(objectMapper.readTree(line));
+        }
+        return summary;
+    }
+
+    private static String record(String reference, Long userId, Long productId, int quantity) {
+        return "{\"reference\":\"" + reference + "\",\"userId\":" + userId + ",\"shippingAddress\":\"1 Dock Road\","
+                + "\"items\":[{\"productId\":" + productId + ",\"quantity\":" + quantity + "}]}";
+    }
+
+    private int stock() {
+        return productStockRepository.findStockQuantities(Set.of(product.getId())).get(product.getId());
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.dto.CursorPage;
+import com.example.ecommerce.dto.CursorPageRequest;
+import com.example.ecommerce.dto.OrderDetail;
+import com.example.ecommerce.dto.OrderSummary;
+import com.example.ecommerce.entity.Order;
+import com.example.ecommerce.entity.OrderItem;
+import com.example.ecommerce.entity.Product;
+import com.example.ecommerce.entity.User;
+import com.example.ecommerce.money.Money;
+import com.example.ecommerce.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for the order read models: their content and how many SQL statements they cost.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@DisplayName("Order Read Model Integration Tests")
+class OrderReadModelTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Should load an order detail in two statements however many lines it has")
+    void orderDetail_CostsTwoStatements() throws Exception {
+        // Given - an order with eight lines
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User user = createUser(suffix);
+        List<OrderItem> items = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Product product = productService.createProduct(new Product("Item " + i, "RM-" + suffix + "-" + i, new BigDecimal("3.00"), 10));
+            items.add(new OrderItem(product, i + 1, product.getPrice()));
+        }
+        Long orderId = orderService.createOrder(user.getId(), items).getId();
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        // When
+        OrderDetail detail = orderService.getOrderDetail(orderId).orElseThrow();
+        String json = objectMapper.writeValueAsString(detail);
+
+        // Then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(detail.user().username()).isEqualTo("rm_" + suffix);
+        assertThat(detail.items()).hasSize(8);
+        assertThat(detail.items().get(2).sku()).isEqualTo("RM-" + suffix + "-2");
+        assertThat(detail.items().get(2).productName()).isEqualTo("Item 2");
+        assertThat(detail.items().get(2).subtotal()).isEqualTo(Money.of("9.00"));
+        assertThat(json).doesNotContain("password").doesNotContain("Secret123");
+    }
+
+    @Test
+    @DisplayName("Should list order summaries with line counts in one statement")
+    void orderSummaries_CostOneStatement() {
+        // Given
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User user = createUser(suffix);
+        Product product = productService.createProduct(new Product("Mug", "RM-" + suffix, new BigDecimal("8.00"), 50));
+        for (int i = 0; i < 3; i++) {
+            orderService.createOrder(user.getId(), List.of(new OrderItem(product, 1, product.getPrice())));
+        }
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        // When
+        CursorPage<OrderSummary> page = orderService.getOrdersByUserId(user.getId(), CursorPageRequest.first(2));
+
+        // Then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(page.items()).hasSize(2).allSatisfy(summary -> {
+            assertThat(summary.itemCount()).isEqualTo(1);
+            assertThat(summary.user().id()).isEqualTo(user.getId());
+            assertThat(summary.status()).isEqualTo(Order.OrderStatus.PENDING);
+        });
+        assertThat(page.nextCursor()).isNotNull();
+
+        CursorPage<OrderSummary> last = orderService.getOrdersByUserId(user.getId(), CursorPageRequest.of(page.nextCursor(), 2, false));
+        assertThat(last.items()).hasSize(1);
+        assertThat(last.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should return nothing for an unknown order")
+    void orderDetail_UnknownOrder() {
+        // When / Then
+        assertThat(orderService.getOrderDetail(Long.MAX_VALUE)).isEmpty();
+    }
+
+    private User createUser(String suffix) {
+        return userRepository.save(new User("rm_" + suffix, "rm_" + suffix + "@example.com", "Secret123"));
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
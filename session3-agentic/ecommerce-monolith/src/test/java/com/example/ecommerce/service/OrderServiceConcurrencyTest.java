@@ -0,0 +1,219 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.entity.Order;
+import com.example.ecommerce.entity.OrderItem;
+import com.example.ecommerce.entity.Product;
+import com.example.ecommerce.entity.User;
+import com.example.ecommerce.money.Money;
+import com.example.ecommerce.repository.OrderRepository;
+import com.example.ecommerce.repository.ProductRepository;
+import com.example.ecommerce.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Contention tests for stock reservation in OrderService.
+ * Many threads buy the same hot product at once against the embedded H2 database.
+ * The throughput comparison is tagged {@code benchmark} and runs with {@code ./gradlew benchmark}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.com.example.ecommerce=INFO"
+})
+@DisplayName("OrderService Concurrency Tests")
+class OrderServiceConcurrencyTest {
+    private static final Logger log = LoggerFactory.getLogger(OrderServiceConcurrencyTest.class);
+
+    private static final int THREADS = 32;
+    private static final int CART_SIZE = 5;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User buyer;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        buyer = userRepository.save(new User("buyer_" + suffix, "buyer_" + suffix + "@example.com", "Password1"));
+    }
+
+    @Test
+    @DisplayName("Should never oversell a hot product under concurrent checkouts")
+    void createOrder_ConcurrentBuyersNeverOversell() throws InterruptedException {
+        // Given
+        Product product = createProduct(50);
+        int attempts = 400;
+
+        // When
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        runConcurrently(attempts, () -> {
+            try {
+                orderService.createOrder(buyer.getId(), List.of(lineFor(product, 1)));
+                succeeded.incrementAndGet();
+            } catch (IllegalArgumentException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        // Then
+        assertThat(succeeded.get()).isEqualTo(50);
+        assertThat(rejected.get()).isEqualTo(attempts - 50);
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getStockQuantity()).isZero();
+        assertThat(orderedQuantity(product)).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("Should keep stock consistent for multi-line orders that overlap on products")
+    void createOrder_MultiLineOrdersKeepStockConsistent() throws InterruptedException {
+        // Given
+        Product hot = createProduct(30);
+        Product other = createProduct(1_000);
+
+        // When - lines are listed in both orders so lock ordering is exercised
+        AtomicInteger succeeded = new AtomicInteger();
+        runConcurrently(200, () -> {
+            List<OrderItem> lines = succeeded.get() % 2 == 0
+                    ? List.of(lineFor(hot, 1), lineFor(other, 2))
+                    : List.of(lineFor(other, 2), lineFor(hot, 1));
+            try {
+                orderService.createOrder(buyer.getId(), lines);
+                succeeded.incrementAndGet();
+            } catch (IllegalArgumentException e) {
+                // expected once the hot product sells out
+            }
+        });
+
+        // Then
+        assertThat(succeeded.get()).isEqualTo(30);
+        assertThat(productRepository.findById(hot.getId()).orElseThrow().getStockQuantity()).isZero();
+        assertThat(productRepository.findById(other.getId()).orElseThrow().getStockQuantity()).isEqualTo(1_000 - 60);
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Should place more orders per second than the read-modify-write stock update")
+    void createOrder_GuardedUpdateOutperformsReadModifyWrite() throws InterruptedException {
+        int warmup = 200;
+        int orders = 600;
+
+        // Given - every order buys the same hot product plus a few others, with enough stock for all
+        List<Product> legacyCart = createCart(warmup + orders);
+        List<Product> guardedCart = createCart(warmup + orders);
+        Runnable legacy = () -> transactionTemplate.executeWithoutResult(
+                status -> createOrderReadModifyWrite(legacyCart));
+        Runnable guarded = () -> orderService.createOrder(buyer.getId(),
+                guardedCart.stream().map(product -> lineFor(product, 1)).toList());
+
+        runConcurrently(warmup, legacy);
+        runConcurrently(warmup, guarded);
+
+        // When
+        long legacyNanos = runConcurrently(orders, legacy);
+        long guardedNanos = runConcurrently(orders, guarded);
+
+        double legacyRate = orders / (legacyNanos / 1e9);
+        double guardedRate = orders / (guardedNanos / 1e9);
+        int legacyRemaining = productRepository.findById(legacyCart.get(0).getId()).orElseThrow().getStockQuantity();
+        log.info("Read-modify-write: {} orders/s, hot product stock left {} (expected 0)",
+                Math.round(legacyRate), legacyRemaining);
+        log.info("Guarded update:    {} orders/s", Math.round(guardedRate));
+
+        // Then
+        assertThat(productRepository.findById(guardedCart.get(0).getId()).orElseThrow().getStockQuantity()).isZero();
+        assertThat(guardedRate).isGreaterThan(legacyRate);
+    }
+
+    /**
+     * The stock handling createOrder used before guarded updates: load, check, then save per line.
+     */
+    private void createOrderReadModifyWrite(List<Product> cart) {
+        Order order = new Order(buyer);
+        for (Product product : cart) {
+            Product current = productService.getProductById(product.getId()).orElseThrow();
+            if (current.getStockQuantity() < 1) {
+                throw new IllegalArgumentException("Insufficient stock for product: " + current.getName());
+            }
+            order.addOrderItem(new OrderItem(current, 1, current.getPrice()));
+            productService.updateStock(current.getId(), -1);
+        }
+        orderRepository.save(order);
+    }
+
+    private List<Product> createCart(int stock) {
+        return IntStream.range(0, CART_SIZE).mapToObj(i -> createProduct(stock)).toList();
+    }
+
+    private Product createProduct(int stock) {
+        String sku = "HOT-" + UUID.randomUUID().toString().substring(0, 8);
+        return productRepository.save(new Product("Hot product " + sku, sku, new BigDecimal("19.99"), stock));
+    }
+
+    private static OrderItem lineFor(Product product, int quantity) {
+        Product reference = new Product();
+        reference.setId(product.getId());
+        return new OrderItem(reference, quantity, Money.ZERO);
+    }
+
+    private int orderedQuantity(Product product) {
+        return transactionTemplate.execute(status -> orderRepository.findByUserId(buyer.getId()).stream()
+                .flatMap(order -> order.getOrderItems().stream())
+                .filter(item -> item.getProduct().getId().equals(product.getId()))
+                .mapToInt(OrderItem::getQuantity)
+                .sum());
+    }
+
+    private static long runConcurrently(int tasks, Runnable task) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < tasks; i++) {
+            executor.submit(() -> {
+                start.await();
+                task.run();
+                return null;
+            });
+        }
+        long began = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+        return System.nanoTime() - began;
+    }
+}
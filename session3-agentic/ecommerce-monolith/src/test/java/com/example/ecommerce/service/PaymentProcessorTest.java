@@ -0,0 +1,232 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.entity.Order;
+import com.example.ecommerce.entity.OrderItem;
+import com.example.ecommerce.entity.Payment;
+import com.example.ecommerce.entity.Product;
+import com.example.ecommerce.entity.User;
+import com.example.ecommerce.metrics.ShopMetrics;
+import com.example.ecommerce.gateway.ChargeOutcomeUnknownException;
+import com.example.ecommerce.gateway.GatewayResult;
+import com.example.ecommerce.gateway.PaymentGateway;
+import com.example.ecommerce.gateway.StubPaymentGateway;
+import com.example.ecommerce.repository.ProductRepository;
+import com.example.ecommerce.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for the asynchronous payment state machine.
+ * The connection pool is deliberately smaller than the number of concurrent payments
+ * to prove that gateway calls do not hold a database connection.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@DisplayName("PaymentProcessor Integration Tests")
+class PaymentProcessorTest {
+
+    @Autowired
+    private PaymentProcessor paymentProcessor;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private PaymentGateway paymentGateway;
+
+    @Autowired
+    private ShopMetrics shopMetrics;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    @DisplayName("Should accept more concurrent payments than there are connections and complete them all")
+    void submit_DoesNotHoldConnectionDuringGatewayCall() throws InterruptedException {
+        // Given
+        List<Payment> payments = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            payments.add(paymentService.createPayment(createOrder().getId(), Payment.PaymentMethod.CREDIT_CARD));
+        }
+
+        // When
+        long started = System.nanoTime();
+        for (Payment payment : payments) {
+            Payment accepted = paymentProcessor.submit(payment.getId());
+            assertThat(accepted.getStatus()).isEqualTo(Payment.PaymentStatus.PROCESSING);
+        }
+        Duration acceptTime = Duration.ofNanos(System.nanoTime() - started);
+
+        // Then - accepting never waits for the 1s gateway call
+        assertThat(acceptTime).isLessThan(Duration.ofSeconds(1));
+        for (Payment payment : payments) {
+            Payment finished = awaitFinalStatus(payment.getId());
+            assertThat(finished.getStatus()).isEqualTo(Payment.PaymentStatus.COMPLETED);
+            assertThat(finished.getTransactionId()).startsWith("TXN-");
+            assertThat(orderService.getOrderById(finished.getOrder().getId()).orElseThrow().getStatus())
+                    .isEqualTo(Order.OrderStatus.CONFIRMED);
+        }
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Should reject processing a payment that is not PENDING")
+    void submit_RejectsPaymentAlreadyProcessing() {
+        // Given
+        Payment payment = paymentService.createPayment(createOrder().getId(), Payment.PaymentMethod.PAYPAL);
+        paymentProcessor.submit(payment.getId());
+
+        // When/Then
+        assertThatThrownBy(() -> paymentProcessor.submit(payment.getId()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("cannot be processed");
+    }
+
+    @Test
+    @DisplayName("Should charge each payment once when it is submitted several times at the same time")
+    void submit_ConcurrentSubmitsChargeOnce() throws InterruptedException {
+        // Given
+        StubPaymentGateway gateway = (StubPaymentGateway) paymentGateway;
+        List<Payment> payments = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            payments.add(paymentService.createPayment(createOrder().getId(), Payment.PaymentMethod.CREDIT_CARD));
+        }
+        awaitNoPaymentsProcessing();
+        long callsBefore = gateway.getCallCount();
+
+        // When - eight platform threads race to submit each payment
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(16);
+        for (Payment payment : payments) {
+            for (int i = 0; i < 8; i++) {
+                callers.submit(() -> {
+                    start.await();
+                    try {
+                        paymentProcessor.submit(payment.getId());
+                        accepted.incrementAndGet();
+                    } catch (IllegalStateException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+        }
+        start.countDown();
+        callers.shutdown();
+        assertThat(callers.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+        awaitNoPaymentsProcessing();
+
+        // Then
+        assertThat(accepted.get()).isEqualTo(10);
+        assertThat(rejected.get()).isEqualTo(70);
+        assertThat(gateway.getCallCount() - callsBefore).isEqualTo(10);
+        for (Payment payment : payments) {
+            assertThat(paymentService.getPaymentById(payment.getId()).orElseThrow().getStatus())
+                    .isEqualTo(Payment.PaymentStatus.COMPLETED);
+        }
+    }
+
+    @Test
+    @DisplayName("Should wait for a payment in flight to finish, and not at all for one that is not")
+    void awaitCompletion_ReturnsOnceGatewayCallFinishes() throws InterruptedException {
+        // Given
+        Payment payment = paymentService.createPayment(createOrder().getId(), Payment.PaymentMethod.CREDIT_CARD);
+        paymentProcessor.submit(payment.getId());
+
+        // When
+        boolean timedOut = !paymentProcessor.awaitCompletion(payment.getId(), Duration.ofMillis(10));
+        boolean finished = paymentProcessor.awaitCompletion(payment.getId(), Duration.ofSeconds(10));
+
+        // Then
+        assertThat(timedOut).isTrue();
+        assertThat(finished).isTrue();
+        assertThat(paymentService.getPaymentById(payment.getId()).orElseThrow().getStatus())
+                .isEqualTo(Payment.PaymentStatus.COMPLETED);
+        assertThat(paymentProcessor.awaitCompletion(payment.getId(), Duration.ofSeconds(10))).isTrue();
+        assertThat(paymentProcessor.awaitCompletion(Long.MAX_VALUE, Duration.ofSeconds(10))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should leave a payment PROCESSING when the gateway outcome is unknown")
+    void submit_UnknownOutcomeStaysProcessing() throws InterruptedException {
+        // Given - the charge was sent but its result was lost
+        PaymentGateway lostResult = request -> {
+            throw new ChargeOutcomeUnknownException("No payment gateway result", null);
+        };
+        Payment payment = paymentService.createPayment(createOrder().getId(), Payment.PaymentMethod.CREDIT_CARD);
+
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            PaymentProcessor processor = new PaymentProcessor(paymentService, lostResult, executor, shopMetrics);
+
+            // When
+            processor.submit(payment.getId());
+            assertThat(processor.awaitCompletion(payment.getId(), Duration.ofSeconds(10))).isTrue();
+        }
+
+        // Then - not FAILED, since the customer may have been charged
+        try {
+            assertThat(paymentService.getPaymentById(payment.getId()).orElseThrow().getStatus())
+                    .isEqualTo(Payment.PaymentStatus.PROCESSING);
+        } finally {
+            // Reconcile it so other tests see no payments in flight
+            paymentService.completeProcessing(payment.getId(), GatewayResult.approved(payment.getId(), "TXN-RECONCILED"));
+        }
+    }
+
+    private Payment awaitFinalStatus(Long paymentId) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (System.nanoTime() < deadline) {
+            Payment payment = paymentService.getPaymentById(paymentId).orElseThrow();
+            if (payment.getStatus().isFinal()) {
+                return payment;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Payment " + paymentId + " did not finish in time");
+    }
+
+    // Lets charges started by other tests finish, so gateway call counts are this test's own
+    private void awaitNoPaymentsProcessing() throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!paymentService.getProcessingPayments().isEmpty()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Payments still processing");
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private Order createOrder() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User user = userRepository.save(new User("payer_" + suffix, "payer_" + suffix + "@example.com", "Password1"));
+        Product product = productRepository.save(new Product("Product " + suffix, "SKU-" + suffix, new BigDecimal("9.99"), 10));
+        return orderService.createOrder(user.getId(), List.of(new OrderItem(product, 1, product.getPrice())));
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.dto.CacheStats;
+import com.example.ecommerce.entity.Product;
+import com.example.ecommerce.event.ProductChangedEvent;
+import com.example.ecommerce.repository.ProductRepository;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ProductCache.
+ * Tests cover read-through loading, invalidation on product changes, statistics and
+ * loading from virtual threads.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductCache Unit Tests")
+class ProductCacheTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductCache productCache;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        productCache = new ProductCache(productRepository, 100, 60);
+        product = new Product("Laptop", "LAP-001", new BigDecimal("999.99"), 5);
+        product.setId(1L);
+        product.setCategory("Electronics");
+    }
+
+    @Test
+    @DisplayName("Should load a product once and then serve it from the cache")
+    void getById_LoadsOnce() {
+        // Given
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+
+        // When
+        productCache.getById(1L);
+        Optional<Product> cached = productCache.getById(1L);
+
+        // Then
+        assertThat(cached).contains(product);
+        verify(productRepository, times(1)).findById(1L);
+        CacheStats stats = productCache.getStats().get(0);
+        assertThat(stats.hits()).isEqualTo(1);
+        assertThat(stats.misses()).isEqualTo(1);
+        assertThat(stats.hitRatio()).isEqualTo(0.5);
+        assertThat(stats.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not cache products that do not exist")
+    void getById_DoesNotCacheMissingProduct() {
+        // Given
+        when(productRepository.findById(2L)).thenReturn(Optional.empty());
+
+        // When
+        productCache.getById(2L);
+        Optional<Product> result = productCache.getById(2L);
+
+        // Then
+        assertThat(result).isEmpty();
+        verify(productRepository, times(2)).findById(2L);
+    }
+
+    @Test
+    @DisplayName("Should drop the product, its SKU and its lists when it changes")
+    void onProductChanged_InvalidatesAffectedEntries() {
+        // Given
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.findBySku("LAP-001")).thenReturn(Optional.of(product));
+        when(productRepository.findByActiveTrue()).thenReturn(List.of(product));
+        when(productRepository.findByCategory("Electronics")).thenReturn(List.of(product));
+        when(productRepository.findByCategory("Books")).thenReturn(List.of());
+        productCache.getById(1L);
+        productCache.getBySku("LAP-001");
+        productCache.getActive();
+        productCache.getByCategory("Electronics");
+        productCache.getByCategory("Books");
+
+        // When
+        productCache.onProductChanged(ProductChangedEvent.updated(product, "Books"));
+        productCache.getById(1L);
+        productCache.getBySku("LAP-001");
+        productCache.getActive();
+        productCache.getByCategory("Electronics");
+        productCache.getByCategory("Books");
+
+        // Then
+        verify(productRepository, times(2)).findById(1L);
+        verify(productRepository, times(2)).findBySku("LAP-001");
+        verify(productRepository, times(2)).findByActiveTrue();
+        verify(productRepository, times(2)).findByCategory("Electronics");
+        verify(productRepository, times(2)).findByCategory("Books");
+    }
+
+    @Test
+    @DisplayName("Should keep lists of unrelated categories when a product changes")
+    void onProductChanged_KeepsOtherCategories() {
+        // Given
+        when(productRepository.findByCategory("Toys")).thenReturn(List.of());
+        productCache.getByCategory("Toys");
+
+        // When
+        productCache.onProductChanged(ProductChangedEvent.stockChanged(product));
+        productCache.getByCategory("Toys");
+
+        // Then
+        verify(productRepository, times(1)).findByCategory("Toys");
+    }
+
+    @Test
+    @DisplayName("Should load on virtual threads without pinning them and share one load per key")
+    void getById_DoesNotPinVirtualThreads() throws Exception {
+        // Given - a slow query, parking the caller as a network round trip to the database would
+        when(productRepository.findById(1L)).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return Optional.of(product);
+        });
+
+        // When
+        AtomicInteger pinned = new AtomicInteger();
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", event -> {
+                if (event.getStackTrace() != null && event.getStackTrace().getFrames().stream()
+                        .map(RecordedFrame::getMethod)
+                        .anyMatch(method -> method.getType().getName().equals(ProductCache.class.getName()))) {
+                    pinned.incrementAndGet();
+                }
+            });
+            recording.startAsync();
+            try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<Optional<Product>>> lookups = IntStream.range(0, 8)
+                        .mapToObj(i -> callers.submit(() -> productCache.getById(1L)))
+                        .toList();
+                for (Future<Optional<Product>> lookup : lookups) {
+                    assertThat(lookup.get()).contains(product);
+                }
+            }
+            recording.stop();
+        }
+
+        // Then
+        assertThat(pinned.get()).isZero();
+        verify(productRepository, times(1)).findById(1L);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.dto.ProductFacetEntry;
+import com.example.ecommerce.repository.ProductSearchRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures facet query latency over a synthetic catalog of one million products
+ * in 50 categories. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Product Facet Benchmark")
+class ProductFacetBenchmarkTest {
+    private static final Logger log = LoggerFactory.getLogger(ProductFacetBenchmarkTest.class);
+
+    private static final int PRODUCTS = 1_000_000;
+    private static final int CATEGORIES = 50;
+    private static final int ITERATIONS = 2_000;
+
+    @Test
+    @DisplayName("Facet queries should answer in microseconds")
+    void facetQueryLatency() {
+        // Given
+        ProductSearchRepository repository = mock(ProductSearchRepository.class);
+        doAnswer(invocation -> {
+            Consumer<ProductFacetEntry> consumer = invocation.getArgument(0);
+            SplittableRandom random = new SplittableRandom(42);
+            for (long id = 1; id <= PRODUCTS; id++) {
+                consumer.accept(new ProductFacetEntry(id, "Category-" + random.nextInt(CATEGORIES), random.nextInt(10) > 0));
+            }
+            return null;
+        }).when(repository).forEachFacetEntry(any());
+        ProductFacetIndex index = new ProductFacetIndex(repository);
+        index.rebuild();
+
+        // When
+        double allMicros = averageMicros(() -> index.query(List.of(), null, 0, 100));
+        double filteredMicros = averageMicros(() -> index.query(List.of("Category-7", "Category-21"), true, 0, 100));
+
+        // Then
+        log.info(String.format("%-32s %10.1f us", "no filters", allMicros));
+        log.info(String.format("%-32s %10.1f us", "2 categories + active", filteredMicros));
+        assertThat(filteredMicros).isLessThan(500);
+    }
+
+    private static double averageMicros(Runnable query) {
+        for (int i = 0; i < ITERATIONS; i++) {
+            query.run();
+        }
+        long started = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            query.run();
+        }
+        return (System.nanoTime() - started) / 1_000.0 / ITERATIONS;
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.dto.ProductFacetEntry;
+import com.example.ecommerce.dto.ProductFacets;
+import com.example.ecommerce.entity.Product;
+import com.example.ecommerce.event.ProductChangedEvent;
+import com.example.ecommerce.repository.ProductSearchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Unit tests for ProductFacetIndex.
+ * Tests cover filter intersection, facet counts, paging and incremental updates.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductFacetIndex Unit Tests")
+class ProductFacetIndexTest {
+
+    @Mock
+    private ProductSearchRepository searchRepository;
+
+    private ProductFacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        List<ProductFacetEntry> catalog = List.of(
+                new ProductFacetEntry(1L, "Electronics", true),
+                new ProductFacetEntry(2L, "Electronics", false),
+                new ProductFacetEntry(3L, "Home", true),
+                new ProductFacetEntry(4L, "Home", true),
+                new ProductFacetEntry(5L, "Books", true),
+                new ProductFacetEntry(6L, null, false));
+        doAnswer(invocation -> {
+            Consumer<ProductFacetEntry> consumer = invocation.getArgument(0);
+            catalog.forEach(consumer);
+            return null;
+        }).when(searchRepository).forEachFacetEntry(any());
+        index = new ProductFacetIndex(searchRepository);
+        index.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should intersect the category and active filters")
+    void query_IntersectsFilters() {
+        // When
+        ProductFacets facets = index.query(List.of("Electronics", "Home"), true, 0, 100);
+
+        // Then
+        assertThat(facets.totalMatches()).isEqualTo(3);
+        assertThat(facets.productIds()).containsExactly(1L, 3L, 4L);
+    }
+
+    @Test
+    @DisplayName("Should count each facet with every filter but its own")
+    void query_CountsFacets() {
+        // When
+        ProductFacets facets = index.query(List.of("Electronics"), true, 0, 100);
+
+        // Then
+        assertThat(facets.categoryCounts()).containsEntry("Electronics", 1L).containsEntry("Home", 2L).containsEntry("Books", 1L);
+        assertThat(facets.activeCounts()).containsEntry(true, 1L).containsEntry(false, 1L);
+    }
+
+    @Test
+    @DisplayName("Should match everything without filters and page through the IDs")
+    void query_NoFiltersWithWindow() {
+        // When
+        ProductFacets facets = index.query(List.of(), null, 2, 3);
+
+        // Then
+        assertThat(facets.totalMatches()).isEqualTo(6);
+        assertThat(facets.productIds()).containsExactly(3L, 4L, 5L);
+        assertThat(index.query(List.of(), false, 5, 10).productIds()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should move, add and remove products as they change")
+    void onProductChanged_UpdatesBitmaps() {
+        // Given
+        Product moved = product(3L, "Books");
+        Product added = product(7L, "Garden");
+
+        // When
+        index.onProductChanged(ProductChangedEvent.updated(moved, "Home"));
+        index.onProductChanged(ProductChangedEvent.created(added));
+        index.onProductChanged(ProductChangedEvent.deleted(product(5L, "Books")));
+
+        // Then
+        ProductFacets facets = index.query(List.of("Books"), null, 0, 100);
+        assertThat(facets.productIds()).containsExactly(3L);
+        assertThat(facets.categoryCounts()).containsEntry("Home", 1L).containsEntry("Garden", 1L);
+    }
+
+    @Test
+    @DisplayName("Should keep product changes committed while a rebuild is scanning")
+    void rebuild_KeepsChangesDuringScan() {
+        // Given - a product is added and another deleted after the scan has passed them
+        ProductFacetIndex rebuilding = new ProductFacetIndex(searchRepository);
+        doAnswer(invocation -> {
+            Consumer<ProductFacetEntry> consumer = invocation.getArgument(0);
+            consumer.accept(new ProductFacetEntry(1L, "Electronics", true));
+            consumer.accept(new ProductFacetEntry(3L, "Home", true));
+            rebuilding.onProductChanged(ProductChangedEvent.created(product(7L, "Garden")));
+            rebuilding.onProductChanged(ProductChangedEvent.deleted(product(1L, "Electronics")));
+            return null;
+        }).when(searchRepository).forEachFacetEntry(any());
+
+        // When
+        int indexed = rebuilding.rebuild();
+
+        // Then
+        assertThat(indexed).isEqualTo(2);
+        ProductFacets facets = rebuilding.query(List.of(), null, 0, 100);
+        assertThat(facets.productIds()).containsExactly(3L, 7L);
+        assertThat(facets.categoryCounts()).containsOnlyKeys("Home", "Garden");
+    }
+
+    @Test
+    @DisplayName("Should return an empty result for an unknown category")
+    void query_UnknownCategory() {
+        // When
+        ProductFacets facets = index.query(List.of("Toys"), null, 0, 100);
+
+        // Then
+        assertThat(facets.totalMatches()).isZero();
+        assertThat(facets.productIds()).isEmpty();
+    }
+
+    private static Product product(Long id, String category) {
+        Product product = new Product("Product " + id, "SKU-" + id, new BigDecimal("1.00"), 1);
+        product.setId(id);
+        product.setCategory(category);
+        return product;
+    }
+}
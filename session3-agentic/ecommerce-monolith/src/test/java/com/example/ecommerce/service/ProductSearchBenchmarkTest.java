@@ -0,0 +1,123 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.repository.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Compares search latency of the in-memory index with the {@code LIKE '%term%'} JPA query.
+ * Catalog sizes default to 10k, 100k and 1M products and can be changed with
+ * {@code -Dbenchmark.search.sizes=10000,100000}. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:search-benchmark",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.com.example.ecommerce=INFO"
+})
+@DisplayName("Product Search Benchmark")
+class ProductSearchBenchmarkTest {
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchBenchmarkTest.class);
+
+    private static final String[] ADJECTIVES = {"wireless", "compact", "premium", "steel", "oak", "ergonomic",
+            "portable", "vintage", "smart", "organic", "waterproof", "classic", "modern", "heavy", "mini", "solar"};
+    private static final String[] NOUNS = {"laptop", "lamp", "chair", "kettle", "speaker", "backpack", "desk",
+            "monitor", "blender", "jacket", "camera", "router", "mug", "keyboard", "tent", "watch"};
+    private static final String[] CATEGORIES = {"Electronics", "Home", "Office", "Kitchen", "Outdoor", "Fashion"};
+    private static final List<String> QUERIES = List.of("laptop", "aptop", "steel lamp", "waterproof jacket",
+            "kitchen kettle", "keyb", "nonexistent");
+    private static final int ITERATIONS = 5;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Test
+    @DisplayName("Index search should beat the LIKE query as the catalog grows")
+    void indexVersusLikeQuery() {
+        int[] sizes = Arrays.stream(System.getProperty("benchmark.search.sizes", "10000,100000,1000000").split(","))
+                .mapToInt(size -> Integer.parseInt(size.strip()))
+                .toArray();
+        log.info(String.format("%-10s %12s %14s %14s %9s", "products", "index build", "JPA LIKE", "index", "speedup"));
+        for (int size : sizes) {
+            seedCatalog(size);
+            long buildStarted = System.nanoTime();
+            productSearchIndex.rebuild();
+            double buildMs = (System.nanoTime() - buildStarted) / 1_000_000.0;
+
+            double likeMs = averageMillis(query -> productRepository.findByNameContainingIgnoreCase(query, PageRequest.of(0, 20)));
+            double indexMs = averageMillis(query -> productRepository.findAllByIdIn(
+                    productSearchIndex.search(query, 0, 20).orElseThrow().productIds()));
+            log.info(String.format("%-10d %10.0f ms %11.3f ms %11.3f ms %8.1fx", size, buildMs, likeMs, indexMs, likeMs / indexMs));
+
+            if (size >= 100_000) {
+                assertThat(indexMs).isLessThan(likeMs);
+            }
+        }
+    }
+
+    private double averageMillis(Consumer<String> search) {
+        QUERIES.forEach(search);
+        long started = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            QUERIES.forEach(search);
+        }
+        return (System.nanoTime() - started) / 1_000_000.0 / (ITERATIONS * QUERIES.size());
+    }
+
+    private void seedCatalog(int size) {
+        jdbcTemplate.update("DELETE FROM products");
+        SplittableRandom random = new SplittableRandom(42);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(1_000);
+        for (int i = 0; i < size; i++) {
+            String adjective = ADJECTIVES[random.nextInt(ADJECTIVES.length)];
+            String noun = NOUNS[random.nextInt(NOUNS.length)];
+            String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            batch.add(new Object[]{
+                    capitalize(adjective) + " " + capitalize(noun) + " " + (i % 500),
+                    "A " + ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + noun + " for everyday use",
+                    9.99, "SKU-" + i, 100, category, true, now});
+            if (batch.size() == 1_000) {
+                insert(batch);
+            }
+        }
+        insert(batch);
+    }
+
+    private void insert(List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO products (name, description, price, sku, stock_quantity, category, active, created_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                """, batch);
+        batch.clear();
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.dto.ProductSearchDocument;
+import com.example.ecommerce.entity.Product;
+import com.example.ecommerce.event.ProductChangedEvent;
+import com.example.ecommerce.repository.ProductSearchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Unit tests for ProductSearchIndex.
+ * Tests cover matching, ranking, paging, incremental updates and writes during rebuilds.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductSearchIndex Unit Tests")
+class ProductSearchIndexTest {
+
+    @Mock
+    private ProductSearchRepository searchRepository;
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        List<ProductSearchDocument> catalog = List.of(
+                new ProductSearchDocument(1L, "Gaming Laptop", "Fast laptop for games", "Electronics", "LAP-001"),
+                new ProductSearchDocument(2L, "Laptop Sleeve", "Padded sleeve", "Accessories", "SLV-002"),
+                new ProductSearchDocument(3L, "Desk Lamp", "Reading lamp with laptop stand", "Home", "LMP-003"),
+                new ProductSearchDocument(4L, "Notebook", "Paper notebook", "Stationery", "NTB-004"));
+        doAnswer(invocation -> {
+            Consumer<ProductSearchDocument> consumer = invocation.getArgument(0);
+            catalog.forEach(consumer);
+            return null;
+        }).when(searchRepository).forEachDocument(any());
+        index = new ProductSearchIndex(searchRepository, true);
+        index.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should rank name matches ahead of description matches")
+    void search_RanksByField() {
+        // When
+        ProductSearchIndex.SearchHits hits = index.search("laptop", 0, 10).orElseThrow();
+
+        // Then
+        assertThat(hits.totalHits()).isEqualTo(3);
+        assertThat(hits.productIds()).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    @DisplayName("Should match substrings of terms like a LIKE query")
+    void search_MatchesSubstrings() {
+        // When/Then
+        assertThat(index.search("aptop", 0, 10).orElseThrow().productIds()).containsExactly(1L, 2L, 3L);
+        assertThat(index.search("book", 0, 10).orElseThrow().productIds()).containsExactly(4L);
+    }
+
+    @Test
+    @DisplayName("Should require every query token to match")
+    void search_MatchesAllTokens() {
+        // When
+        ProductSearchIndex.SearchHits hits = index.search("Laptop Electronics", 0, 10).orElseThrow();
+
+        // Then
+        assertThat(hits.productIds()).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Should match short tokens as prefixes and search by SKU")
+    void search_ShortTokensAndSku() {
+        // When/Then
+        assertThat(index.search("de", 0, 10).orElseThrow().productIds()).containsExactly(3L);
+        assertThat(index.search("slv-002", 0, 10).orElseThrow().productIds()).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Should return the requested page and the total hit count")
+    void search_Paginates() {
+        // When
+        ProductSearchIndex.SearchHits page = index.search("laptop", 1, 2).orElseThrow();
+
+        // Then
+        assertThat(page.totalHits()).isEqualTo(3);
+        assertThat(page.productIds()).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("Should reflect created, updated and deleted products")
+    void onProductChanged_UpdatesIndex() {
+        // Given
+        Product product = new Product("Laptop Stand", "STD-005", new BigDecimal("30.00"), 5);
+        product.setId(5L);
+
+        // When
+        index.onProductChanged(ProductChangedEvent.created(product));
+        index.onProductChanged(ProductChangedEvent.deleted(productWithId(2L)));
+        Product renamed = new Product("Office Lamp", "LMP-003", new BigDecimal("20.00"), 5);
+        renamed.setId(3L);
+        index.onProductChanged(ProductChangedEvent.updated(renamed, "Home"));
+
+        // Then
+        assertThat(index.search("laptop", 0, 10).orElseThrow().productIds()).containsExactly(1L, 5L);
+        assertThat(index.search("office", 0, 10).orElseThrow().productIds()).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("Should keep every product indexed while rebuilds run, none lost in the swap")
+    void index_ConcurrentWithRebuilds() throws InterruptedException {
+        // Given - a writer saves and indexes new products while the index is rebuilt over and over
+        int products = 2_000;
+        Queue<ProductSearchDocument> saved = new ConcurrentLinkedQueue<>();
+        doAnswer(invocation -> {
+            Consumer<ProductSearchDocument> consumer = invocation.getArgument(0);
+            saved.forEach(consumer);
+            return null;
+        }).when(searchRepository).forEachDocument(any());
+        AtomicBoolean writing = new AtomicBoolean(true);
+        Thread writer = Thread.ofPlatform().start(() -> {
+            for (long id = 1_000; id < 1_000 + products; id++) {
+                ProductSearchDocument document = new ProductSearchDocument(id, "Widget " + id, "Spare part", "Parts", "WDG-" + id);
+                saved.add(document);
+                index.index(document);
+            }
+            writing.set(false);
+        });
+
+        // When
+        while (writing.get()) {
+            index.rebuild();
+        }
+        writer.join();
+
+        // Then
+        assertThat(index.search("widget", 0, 1).orElseThrow().totalHits()).isEqualTo(products);
+    }
+
+    @Test
+    @DisplayName("Should report no result until the index has been built")
+    void search_EmptyBeforeBuild() {
+        // Given
+        ProductSearchIndex unbuilt = new ProductSearchIndex(searchRepository, true);
+
+        // When/Then
+        assertThat(unbuilt.search("laptop", 0, 10)).isEmpty();
+    }
+
+    private static Product productWithId(Long id) {
+        Product product = new Product("Removed", "RMV-" + id, new BigDecimal("1.00"), 0);
+        product.setId(id);
+        return product;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.entity.Product;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests proving every ProductService write path invalidates the product cache.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@DisplayName("ProductService Cache Integration Tests")
+class ProductServiceCacheTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    @DisplayName("Should show the committed change after update, stock change and delete")
+    void writes_InvalidateCachedReads() {
+        // Given
+        String sku = "SKU-" + UUID.randomUUID().toString().substring(0, 8);
+        Product product = new Product("Desk Lamp", sku, new BigDecimal("25.00"), 10);
+        product.setCategory("Home-" + sku);
+        Long id = productService.createProduct(product).getId();
+        assertThat(productService.getProductsByCategory("Home-" + sku)).hasSize(1);
+        assertThat(productService.getProductBySku(sku)).isPresent();
+
+        // When - update moves the product to another category
+        Product update = new Product("Desk Lamp XL", sku, new BigDecimal("30.00"), 10);
+        update.setCategory("Office-" + sku);
+        productService.updateProduct(id, update);
+
+        // Then
+        assertThat(productService.getProductById(id)).hasValueSatisfying(p -> assertThat(p.getName()).isEqualTo("Desk Lamp XL"));
+        assertThat(productService.getProductsByCategory("Home-" + sku)).isEmpty();
+        assertThat(productService.getProductsByCategory("Office-" + sku)).hasSize(1);
+
+        // When - stock changes
+        productService.updateStock(id, 5);
+
+        // Then
+        assertThat(productService.getProductById(id)).hasValueSatisfying(p -> assertThat(p.getStockQuantity()).isEqualTo(15));
+        assertThat(productService.getProductBySku(sku)).hasValueSatisfying(p -> assertThat(p.getStockQuantity()).isEqualTo(15));
+
+        // When - product is deleted
+        productService.deleteProduct(id);
+
+        // Then
+        assertThat(productService.getProductById(id)).isEmpty();
+        assertThat(productService.getProductBySku(sku)).isEmpty();
+        assertThat(productService.getProductsByCategory("Office-" + sku)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should read exact stock when bypassing the cache")
+    void getProductById_BypassSeesUnpublishedStockChanges() {
+        // Given
+        String sku = "SKU-" + UUID.randomUUID().toString().substring(0, 8);
+        Long id = productService.createProduct(new Product("Mug", sku, new BigDecimal("8.00"), 10)).getId();
+        productService.getProductById(id);
+
+        // When - order reservations change stock without invalidating the cache
+        assertThat(productService.tryReserveStock(new TreeMap<>(Map.of(id, 3)))).isEmpty();
+
+        // Then
+        assertThat(productService.getProductById(id).orElseThrow().getStockQuantity()).isEqualTo(10);
+        assertThat(productService.getProductById(id, true).orElseThrow().getStockQuantity()).isEqualTo(7);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.entity.Product;
+import com.example.ecommerce.repository.ProductStockRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for ProductService stock writes with the in-memory stock ledger enabled.
+ * Scheduled flushes are pushed out of the way so each test decides when the table is written.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "ecommerce.inventory.ledger.enabled=true",
+        "ecommerce.inventory.ledger.flush-interval-ms=3600000"
+})
+@DisplayName("ProductService Stock Ledger Integration Tests")
+class ProductServiceLedgerTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private ProductStockRepository productStockRepository;
+
+    @Test
+    @DisplayName("Should apply an updated stock quantity through the ledger, keeping earlier unflushed sales")
+    void updateProduct_SetsStockThroughLedger() {
+        // Given - 10 in the table, 3 sold but not flushed
+        String sku = "SKU-" + UUID.randomUUID().toString().substring(0, 8);
+        Long id = productService.createProduct(new Product("Desk Lamp", sku, new BigDecimal("25.00"), 10)).getId();
+        productService.updateStock(id, -3);
+
+        // When
+        Product updated = productService.updateProduct(id, new Product("Desk Lamp XL", sku, new BigDecimal("30.00"), 50));
+
+        // Then - the row is written by the next flush only, and then matches the ledger
+        assertThat(updated.getStockQuantity()).isEqualTo(50);
+        assertThat(stockLedger.getAvailable(id)).isEqualTo(50);
+        assertThat(productStockRepository.findStockQuantities(List.of(id))).containsEntry(id, 10);
+        stockLedger.flush();
+        assertThat(productStockRepository.findStockQuantities(List.of(id))).containsEntry(id, 50);
+        assertThat(productService.getProductById(id, true)).hasValueSatisfying(p -> assertThat(p.getName()).isEqualTo("Desk Lamp XL"));
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.repository.ProductStockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for StockLedger.
+ * Tests cover reservations, releases, write-behind flushes, absolute updates and recovery.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StockLedger Unit Tests")
+class StockLedgerTest {
+
+    @Mock
+    private ProductStockRepository productStockRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private StockLedger stockLedger;
+
+    @BeforeEach
+    void setUp() {
+        stockLedger = new StockLedger(productStockRepository, new TransactionTemplate(transactionManager), 8);
+        lenient().when(productStockRepository.findStockQuantities(anyCollection()))
+                .thenReturn(Map.of(1L, 10, 2L, 5));
+    }
+
+    @Test
+    @DisplayName("Should reserve stock without touching the database again once loaded")
+    void tryReserve_Success() {
+        // When
+        List<Long> first = stockLedger.tryReserve(quantities(1L, 3));
+        List<Long> second = stockLedger.tryReserve(quantities(1L, 2));
+
+        // Then
+        assertThat(first).isEmpty();
+        assertThat(second).isEmpty();
+        assertThat(stockLedger.getAvailable(1L)).isEqualTo(5);
+        verify(productStockRepository, times(1)).findStockQuantities(anyCollection());
+        verify(productStockRepository, never()).adjustStock(any());
+    }
+
+    @Test
+    @DisplayName("Should reserve nothing when any product lacks stock")
+    void tryReserve_AllOrNothing() {
+        // Given
+        SortedMap<Long, Integer> order = quantities(1L, 4);
+        order.put(2L, 6);
+
+        // When
+        List<Long> rejected = stockLedger.tryReserve(order);
+
+        // Then
+        assertThat(rejected).containsExactly(2L);
+        assertThat(stockLedger.getAvailable(1L)).isEqualTo(10);
+        assertThat(stockLedger.getAvailable(2L)).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should read the stock of several products with one load")
+    void getAvailable_BulkLoadsOnce() {
+        // Given
+        stockLedger.tryReserve(quantities(1L, 4));
+
+        // When
+        Map<Long, Integer> available = stockLedger.getAvailable(List.of(1L, 2L));
+
+        // Then - product 1 was already loaded, so only product 2 is queried, and only once
+        assertThat(available).containsExactlyInAnyOrderEntriesOf(Map.of(1L, 6, 2L, 5));
+        verify(productStockRepository).findStockQuantities(List.of(2L));
+        verify(productStockRepository, times(2)).findStockQuantities(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException for unknown products")
+    void tryReserve_UnknownProduct() {
+        assertThatThrownBy(() -> stockLedger.tryReserve(quantities(99L, 1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Product not found");
+    }
+
+    @Test
+    @DisplayName("Should never oversell when many threads reserve the same product")
+    void tryReserve_ConcurrentNeverOversells() throws InterruptedException {
+        // Given
+        AtomicInteger succeeded = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+
+        // When
+        for (int i = 0; i < 1_000; i++) {
+            executor.submit(() -> {
+                if (stockLedger.tryReserve(quantities(1L, 1)).isEmpty()) {
+                    succeeded.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        // Then
+        assertThat(succeeded.get()).isEqualTo(10);
+        assertThat(stockLedger.getAvailable(1L)).isZero();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    @DisplayName("Should flush only the net change per product and then nothing")
+    void flush_WritesNetDeltas() {
+        // Given
+        stockLedger.tryReserve(quantities(1L, 4));
+        stockLedger.release(quantities(1L, 1));
+        stockLedger.tryReserve(quantities(2L, 2));
+
+        // When
+        int flushed = stockLedger.flush();
+        int flushedAgain = stockLedger.flush();
+
+        // Then
+        ArgumentCaptor<SortedMap<Long, Integer>> deltas = ArgumentCaptor.forClass(SortedMap.class);
+        verify(productStockRepository, times(1)).adjustStock(deltas.capture());
+        assertThat(deltas.getValue()).containsExactly(entry(1L, -3), entry(2L, -2));
+        assertThat(flushed).isEqualTo(2);
+        assertThat(flushedAgain).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep pending changes when a flush fails")
+    void flush_RetriesAfterFailure() {
+        // Given
+        stockLedger.tryReserve(quantities(1L, 4));
+        doThrow(new IllegalStateException("database down")).doNothing()
+                .when(productStockRepository).adjustStock(any());
+
+        // When
+        int failed = stockLedger.flush();
+        int retried = stockLedger.flush();
+
+        // Then
+        assertThat(failed).isZero();
+        assertThat(retried).isEqualTo(1);
+        verify(productStockRepository, times(2)).adjustStock(quantities(1L, -4));
+    }
+
+    @Test
+    @DisplayName("Should rebuild available stock from the database on recovery")
+    void recover_LoadsAllStock() {
+        // Given
+        when(productStockRepository.findAllStockQuantities()).thenReturn(Map.of(1L, 7));
+
+        // When
+        stockLedger.recover();
+
+        // Then
+        assertThat(stockLedger.getAvailable(1L)).isEqualTo(7);
+        verify(productStockRepository, never()).findStockQuantities(anyCollection());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    @DisplayName("Should bring the table to an absolute stock value through the next flush")
+    void setAvailable_InterleavedWithReservesAndFlushes() {
+        // Given - the table holds 10
+        stockLedger.tryReserve(quantities(1L, 3));
+        stockLedger.flush();
+        stockLedger.tryReserve(quantities(1L, 2));
+
+        // When - the product is updated to 50, then sold on and flushed
+        int available = stockLedger.setAvailable(1L, 50);
+        stockLedger.tryReserve(quantities(1L, 4));
+        stockLedger.flush();
+
+        // Then - the table got 10 - 3 + 47, which is the ledger's count
+        assertThat(available).isEqualTo(50);
+        assertThat(stockLedger.getAvailable(1L)).isEqualTo(46);
+        ArgumentCaptor<SortedMap<Long, Integer>> deltas = ArgumentCaptor.forClass(SortedMap.class);
+        verify(productStockRepository, times(2)).adjustStock(deltas.capture());
+        assertThat(10 + deltas.getAllValues().stream().mapToInt(delta -> delta.get(1L)).sum()).isEqualTo(46);
+    }
+
+    @Test
+    @DisplayName("Should keep the table and the ledger equal while reserves, updates and flushes race")
+    void setAvailable_ConcurrentWithReservesAndFlushes() throws InterruptedException {
+        // Given - a table that applies every flushed change
+        AtomicInteger table = new AtomicInteger(10);
+        doAnswer(invocation -> {
+            SortedMap<Long, Integer> deltas = invocation.getArgument(0);
+            table.addAndGet(deltas.getOrDefault(1L, 0));
+            return null;
+        }).when(productStockRepository).adjustStock(any());
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+
+        // When
+        for (int i = 0; i < 1_000; i++) {
+            int task = i;
+            executor.submit(() -> {
+                switch (task % 10) {
+                    case 0 -> stockLedger.setAvailable(1L, 100);
+                    case 1 -> stockLedger.flush();
+                    default -> stockLedger.tryReserve(quantities(1L, 1));
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        stockLedger.flush();
+
+        // Then
+        assertThat(table.get()).isEqualTo(stockLedger.getAvailable(1L));
+        assertThat(stockLedger.getAvailable(1L)).isNotNegative();
+    }
+
+    private static SortedMap<Long, Integer> quantities(Long productId, int quantity) {
+        return new TreeMap<>(Map.of(productId, quantity));
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.ecommerce.sql;
+
+import com.example.ecommerce.dto.SlowQuery;
+import com.example.ecommerce.entity.Product;
+import com.example.ecommerce.repository.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.StatementType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.com.example.ecommerce.sql=ERROR",
+        // Every statement counts as slow
+        "ecommerce.sql.slow-query.threshold-ms=0"
+})
+@AutoConfigureMockMvc
+@DisplayName("Slow Query Log Tests")
+class SlowQueryLogTest {
+    private static final long PLAN_TIMEOUT_MILLIS = 10_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Should log shape, bind types, repository call site and EXPLAIN plan of a slow statement")
+    void slowStatement_IsLoggedWithPlan() throws Exception {
+        // Given
+        String category = "Slow-" + UUID.randomUUID().toString().substring(0, 8);
+        productRepository.save(new Product("Slow lamp", "SQL-" + category, new BigDecimal("4.00"), 3));
+        slowQueryLog.clear();
+
+        // When
+        productRepository.findByCategory(category);
+        SlowQuery logged = awaitPlan("ProductRepository.findByCategory");
+
+        // Then
+        assertThat(logged.sql()).containsIgnoringCase("from products").endsWith("=?").doesNotContain(category);
+        assertThat(logged.parameterTypes()).containsExactly("String");
+        assertThat(logged.success()).isTrue();
+        assertThat(logged.plan()).contains("\"PUBLIC\".\"PRODUCTS\"").contains("/* PUBLIC.");
+        assertThat(meterRegistry.get("ecommerce.sql.slow").tag("site", "ProductRepository.findByCategory").timer().count())
+                .isPositive();
+
+        mockMvc.perform(get("/api/admin/slow-queries").param("limit", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].callSite", hasItem("ProductRepository.findByCategory")));
+        mockMvc.perform(delete("/api/admin/slow-queries")).andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/admin/slow-queries").param("limit", "0")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should keep only the newest entries and replace literals in the SQL shape")
+    void ringBuffer_KeepsNewest() {
+        // Given
+        @SuppressWarnings("unchecked")
+        ObjectProvider<DataSource> dataSource = mock(ObjectProvider.class);
+        @SuppressWarnings("unchecked")
+        ObjectProvider<MeterRegistry> registry = mock(ObjectProvider.class);
+        SlowQueryLog log = new SlowQueryLog(dataSource, registry, Runnable::run, 10, 2, false);
+
+        // When
+        log.afterQuery(execution(5), List.of(new QueryInfo("select * from orders where id = 1")));
+        log.afterQuery(execution(20), List.of(new QueryInfo("select *\n  from orders where id = 2")));
+        log.afterQuery(execution(30), List.of(new QueryInfo("select * from users where name = 'O''Brien' and age > 40")));
+        log.afterQuery(execution(40), List.of(new QueryInfo("update products set price = 9.99 where id = 3")));
+
+        // Then
+        assertThat(log.getSlowQueries(10)).extracting(SlowQuery::sql).containsExactly(
+                "update products set price = ? where id = ?",
+                "select * from users where name = ? and age > ?");
+        assertThat(log.getSlowQueries(1)).extracting(SlowQuery::elapsedMillis).containsExactly(40L);
+        assertThat(log.getSlowQueries(10)).allSatisfy(entry -> assertThat(entry.plan()).isNull());
+    }
+
+    private SlowQuery awaitPlan(String callSite) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + PLAN_TIMEOUT_MILLIS;
+        while (true) {
+            Optional<SlowQuery> logged = slowQueryLog.getSlowQueries(1000).stream()
+                    .filter(entry -> entry.callSite().equals(callSite))
+                    .findFirst();
+            if (logged.isPresent()) {
+                return logged.get();
+            }
+            assertThat(System.currentTimeMillis()).as("%s logged in time", callSite).isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+
+    private static ExecutionInfo execution(long elapsedMillis) {
+        ExecutionInfo execution = new ExecutionInfo();
+        execution.setElapsedTime(elapsedMillis);
+        execution.setStatementType(StatementType.STATEMENT);
+        execution.setSuccess(true);
+        return execution;
+    }
+}
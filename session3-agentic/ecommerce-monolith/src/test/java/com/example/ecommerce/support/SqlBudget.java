@@ -0,0 +1,31 @@
+package com.example.ecommerce.support;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails a Spring test when the test method runs more SQL statements, or reads more rows,
+ * than allowed. Only the test method is measured, not its setup.
+ * On a class, it applies to every test method that does not declare its own budget.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ExtendWith(SqlBudgetExtension.class)
+public @interface SqlBudget {
+
+    /**
+     * Most statements the test may run.
+     */
+    long maxStatements();
+
+    /**
+     * Most result-set rows the test may read, or -1 for no limit.
+     */
+    long maxRows() default -1;
+}
@@ -0,0 +1,70 @@
+package com.example.ecommerce.support;
+
+import com.example.ecommerce.web.SqlStatementListener;
+import com.example.ecommerce.web.SqlStatementStats;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JUnit extension that counts the SQL a Spring test method runs through the application's
+ * {@link SqlStatementListener} and checks it against the method's {@link SqlBudget}.
+ * Test methods can take a {@link SqlStatementStats} parameter to read the counts so far.
+ * Only SQL run on the test thread is counted, which includes MockMvc requests.
+ */
+public class SqlBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback, ParameterResolver {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(SqlBudgetExtension.class);
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        SqlStatementListener listener = SpringExtension.getApplicationContext(context).getBean(SqlStatementListener.class);
+        store(context).put(SqlStatementListener.class, listener);
+        store(context).put(SqlStatementStats.class, listener.begin());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        SqlStatementListener listener = store(context).remove(SqlStatementListener.class, SqlStatementListener.class);
+        SqlStatementStats stats = store(context).remove(SqlStatementStats.class, SqlStatementStats.class);
+        listener.end(stats);
+        if (context.getExecutionException().isPresent()) {
+            return;
+        }
+        budget(context).ifPresent(budget -> {
+            String test = context.getRequiredTestMethod().getName();
+            assertThat(stats.statements()).as("SQL statements run by %s (%s)", test, stats)
+                    .isLessThanOrEqualTo(budget.maxStatements());
+            if (budget.maxRows() >= 0) {
+                assertThat(stats.rows()).as("SQL rows read by %s (%s)", test, stats)
+                        .isLessThanOrEqualTo(budget.maxRows());
+            }
+        });
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == SqlStatementStats.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return store(extensionContext).get(SqlStatementStats.class, SqlStatementStats.class);
+    }
+
+    private static Optional<SqlBudget> budget(ExtensionContext context) {
+        return AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), SqlBudget.class)
+                .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), SqlBudget.class));
+    }
+
+    private static ExtensionContext.Store store(ExtensionContext context) {
+        return context.getStore(NAMESPACE);
+    }
+}
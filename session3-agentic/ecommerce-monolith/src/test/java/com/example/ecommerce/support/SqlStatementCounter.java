@@ -0,0 +1,55 @@
+package com.example.ecommerce.support;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test harness that counts the SQL statements Hibernate prepares while an action runs,
+ * using Hibernate statistics. Statements sent through {@code JdbcTemplate} are not counted.
+ */
+public final class SqlStatementCounter {
+    private final Statistics statistics;
+
+    public SqlStatementCounter(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+    /**
+     * Runs the action and returns how many statements it prepared.
+     *
+     * @param action The code to measure
+     * @return Number of statements prepared
+     */
+    public long count(Callable<?> action) throws Exception {
+        statistics.clear();
+        action.call();
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Runs the action and asserts it prepared exactly the expected number of statements.
+     *
+     * @param expected Expected statement count
+     * @param description What is measured, shown when the assertion fails
+     * @param action The code to measure
+     */
+    public void assertStatements(long expected, String description, Callable<?> action) throws Exception {
+        long actual = count(action);
+        assertThat(actual).as("SQL statements for %s", description).isEqualTo(expected);
+    }
+
+    /**
+     * Returns how many entities were loaded since the last count started.
+     *
+     * @return Entity load count
+     */
+    public long entityLoads() {
+        return statistics.getEntityLoadCount();
+    }
+}
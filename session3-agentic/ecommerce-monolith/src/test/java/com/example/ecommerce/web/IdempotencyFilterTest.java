@@ -0,0 +1,171 @@
+package com.example.ecommerce.web;
+
+import com.example.ecommerce.repository.IdempotencyRecordRepository;
+import com.example.ecommerce.service.IdempotencyStore;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for IdempotencyFilter.
+ * Tests cover replaying responses, key scoping, rejecting reused keys and not keeping server errors.
+ */
+@DisplayName("IdempotencyFilter Unit Tests")
+class IdempotencyFilterTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private final List<String> bodies = new ArrayList<>();
+    private IdempotencyFilter filter;
+    private int status;
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdempotencyFilter(new IdempotencyStore(mock(IdempotencyRecordRepository.class), 60, 100, 1_000, false));
+        status = HttpServletResponse.SC_CREATED;
+    }
+
+    @Test
+    @DisplayName("Should run the request once and replay the response to a retry")
+    void doFilter_ReplaysRetry() throws Exception {
+        // When
+        MockHttpServletResponse first = perform(post("/api/payments", "orderId=1", "key-1"));
+        MockHttpServletResponse retry = perform(post("/api/payments", "orderId=1", "key-1"));
+
+        // Then
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString()).isEqualTo("{\"call\":1}");
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(first.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject the same key on a different query string with 422")
+    void doFilter_RejectsKeyReusedWithDifferentQuery() throws Exception {
+        // When
+        perform(post("/api/payments", "orderId=1", "key-1"));
+        MockHttpServletResponse reused = perform(post("/api/payments", "orderId=2", "key-1"));
+
+        // Then
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(reused.getStatus()).isEqualTo(422);
+    }
+
+    @Test
+    @DisplayName("Should reject the same key on a different body with 422 and pass the body on otherwise")
+    void doFilter_RejectsKeyReusedWithDifferentBody() throws Exception {
+        // Given
+        MockHttpServletRequest first = post("/api/orders", null, "key-1");
+        first.setContent("{\"userId\":1}".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletRequest retry = post("/api/orders", null, "key-1");
+        retry.setContent("{\"userId\":1}".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletRequest reused = post("/api/orders", null, "key-1");
+        reused.setContent("{\"userId\":2}".getBytes(StandardCharsets.UTF_8));
+
+        // When
+        perform(first);
+        MockHttpServletResponse replayed = perform(retry);
+        MockHttpServletResponse rejected = perform(reused);
+
+        // Then
+        assertThat(bodies).containsExactly("{\"userId\":1}");
+        assertThat(replayed.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(rejected.getStatus()).isEqualTo(422);
+    }
+
+    @Test
+    @DisplayName("Should keep keys on different paths apart")
+    void doFilter_ScopesKeyToPath() throws Exception {
+        // When
+        perform(post("/api/orders", "orderId=1", "key-1"));
+        perform(post("/api/payments", "orderId=1", "key-1"));
+
+        // Then
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should run the request again after a server error")
+    void doFilter_DoesNotKeepServerErrors() throws Exception {
+        // Given
+        status = HttpServletResponse.SC_SERVICE_UNAVAILABLE;
+        perform(post("/api/orders", "userId=1", "key-1"));
+
+        // When
+        status = HttpServletResponse.SC_CREATED;
+        MockHttpServletResponse retry = perform(post("/api/orders", "userId=1", "key-1"));
+
+        // Then
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(retry.getStatus()).isEqualTo(201);
+    }
+
+    @Test
+    @DisplayName("Should pass through requests without a key or on other paths")
+    void doFilter_IgnoresOtherRequests() throws Exception {
+        // When
+        MockHttpServletRequest withoutKey = new MockHttpServletRequest("POST", "/api/orders");
+        perform(withoutKey);
+        perform(withoutKey);
+        perform(post("/api/payments/1/refund", null, "key-1"));
+        perform(post("/api/payments/1/refund", null, "key-1"));
+
+        // Then
+        assertThat(calls.get()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should reject an over-long key with 400")
+    void doFilter_RejectsLongKey() throws Exception {
+        // When
+        MockHttpServletResponse response = perform(post("/api/orders", "userId=1", "k".repeat(256)));
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(400);
+        assertThat(calls.get()).isZero();
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                int call = calls.incrementAndGet();
+                bodies.add(new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+                resp.setStatus(status);
+                resp.setContentType("application/json");
+                resp.getWriter().write("{\"call\":" + call + "}");
+            }
+        }));
+        return response;
+    }
+
+    private static MockHttpServletRequest post(String path, String query, String key) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setQueryString(query);
+        if (query != null) {
+            // A servlet container parses the query string into parameters; the mock does not
+            for (String pair : query.split("&")) {
+                String[] nameAndValue = pair.split("=", 2);
+                request.addParameter(nameAndValue[0], nameAndValue.length > 1 ? nameAndValue[1] : "");
+            }
+        }
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        return request;
+    }
+}
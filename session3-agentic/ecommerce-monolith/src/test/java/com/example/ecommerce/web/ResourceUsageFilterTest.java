@@ -0,0 +1,94 @@
+package com.example.ecommerce.web;
+
+import com.example.ecommerce.entity.Product;
+import com.example.ecommerce.service.ProductService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@AutoConfigureMockMvc
+@DisplayName("Endpoint Resource Usage Tests")
+class ResourceUsageFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Should charge allocation and CPU time to the handler method and list top allocators")
+    void filter_ChargesHandlerMethod() throws Exception {
+        // Given
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        Product product = productService.createProduct(new Product("Meter", "RES-" + suffix, new BigDecimal("3.00"), 5));
+
+        // When - a page of products allocates far more than a single product
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/api/products").param("size", "100")).andExpect(status().isOk());
+            mockMvc.perform(get("/api/products/" + product.getId())).andExpect(status().isOk());
+        }
+
+        // Then
+        DistributionSummary allocated = meterRegistry.get("ecommerce.request.allocated")
+                .tag("endpoint", "ProductController.getAllProducts")
+                .summary();
+        assertThat(allocated.count()).isGreaterThanOrEqualTo(5);
+        assertThat(allocated.totalAmount()).isPositive();
+        assertThat(meterRegistry.get("ecommerce.request.cpu").tag("endpoint", "ProductController.getProductById").timer().count())
+                .isGreaterThanOrEqualTo(5);
+
+        mockMvc.perform(get("/api/admin/allocations").param("limit", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.endpoint == 'ProductController.getAllProducts')].requests", contains(greaterThanOrEqualTo(5))))
+                .andExpect(jsonPath("$[?(@.endpoint == 'ProductController.getProductById')].meanAllocatedBytes", contains(greaterThan(0))))
+                .andExpect(jsonPath("$[0].allocatedBytes", greaterThanOrEqualTo(0)));
+        mockMvc.perform(get("/api/admin/allocations").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should list endpoints by allocated bytes, largest first, with their share of the total")
+    void topAllocators_SortsByAllocatedBytes() {
+        // Given
+        EndpointResourceStats stats = new EndpointResourceStats(new SimpleMeterRegistry());
+        stats.record("OrderController.getAllOrders", 6_000, 2_000_000);
+        stats.record("OrderController.getAllOrders", 2_000, 1_000_000);
+        stats.record("UserController.getUserById", 2_000, 500_000);
+
+        // When / Then
+        assertThat(stats.topAllocators(10)).satisfiesExactly(
+                first -> {
+                    assertThat(first.endpoint()).isEqualTo("OrderController.getAllOrders");
+                    assertThat(first.requests()).isEqualTo(2);
+                    assertThat(first.allocationShare()).isEqualTo(0.8);
+                    assertThat(first.meanAllocatedBytes()).isEqualTo(4_000);
+                    assertThat(first.maxAllocatedBytes()).isEqualTo(6_000);
+                    assertThat(first.meanCpuMillis()).isEqualTo(1.5);
+                },
+                second -> assertThat(second.endpoint()).isEqualTo("UserController.getUserById"));
+        assertThat(stats.topAllocators(1)).hasSize(1);
+    }
+}